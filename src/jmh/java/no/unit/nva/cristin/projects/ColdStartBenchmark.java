@@ -0,0 +1,126 @@
+package no.unit.nva.cristin.projects;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLSession;
+import nva.commons.apigateway.RequestInfo;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.core.Environment;
+import nva.commons.core.ioutils.IoUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures time-to-first-response in a fresh JVM, with and without ColdStartPrimer having run during initialization.
+ * Every fork measures one single request: creating the handler, processing a lookup and serializing the response.
+ * Cristin is replaced by a local response, so the numbers show the JVM and library warm-up cost only.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class ColdStartBenchmark {
+
+    private static final String PROJECT_RESPONSE = "coldStartProject.json";
+    private static final String PROJECT_ID = "456789";
+
+    @Param({"false", "true"})
+    public boolean primed;
+
+    private CristinApiClient cristinApiClient;
+
+    @Setup
+    public void setup() {
+        cristinApiClient = new LocalCristinApiClient();
+        if (primed) {
+            new ColdStartPrimer(cristinApiClient, false).prime();
+        }
+    }
+
+    @Benchmark
+    public String firstLookupResponse() throws ApiGatewayException, IOException {
+        FetchOneCristinProject handler = new FetchOneCristinProject(cristinApiClient, new Environment());
+        RequestInfo requestInfo = new RequestInfo();
+        requestInfo.setPathParameters(Map.of(Constants.ID, PROJECT_ID));
+        requestInfo.setQueryParameters(Map.of());
+        return Constants.OBJECT_MAPPER.writeValueAsString(handler.processInput(null, requestInfo, null));
+    }
+
+    private static class LocalCristinApiClient extends CristinApiClient {
+
+        @Override
+        protected HttpResponse<String> fetchGetResult(URI uri) {
+            return new LocalResponse(uri, IoUtils.stringFromResources(Path.of(PROJECT_RESPONSE)));
+        }
+    }
+
+    private static class LocalResponse implements HttpResponse<String> {
+
+        private final URI uri;
+        private final String body;
+
+        LocalResponse(URI uri, String body) {
+            this.uri = uri;
+            this.body = body;
+        }
+
+        @Override
+        public int statusCode() {
+            return 200;
+        }
+
+        @Override
+        public HttpRequest request() {
+            return HttpRequest.newBuilder(uri).build();
+        }
+
+        @Override
+        public Optional<HttpResponse<String>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return HttpHeaders.of(Map.of(), (name, value) -> true);
+        }
+
+        @Override
+        public String body() {
+            return body;
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return Optional.empty();
+        }
+
+        @Override
+        public URI uri() {
+            return uri;
+        }
+
+        @Override
+        public Version version() {
+            return Version.HTTP_1_1;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package no.unit.nva.cristin.projects;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import no.unit.nva.cristin.projects.model.nva.NvaProject;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures project lookups against a corpus recorded with CRISTIN_TRANSPORT_MODE=RECORD, read from
+ * CRISTIN_CORPUS_PATH. The recorded lookups are replayed in turn, so payload sizes, participant counts and title
+ * lengths are those of production. With replayTimings the recorded latencies of Cristin are replayed as well.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class CorpusReplayBenchmark {
+
+    private static final Pattern LOOKUP_URI = Pattern.compile(".*/projects/(\\d+)\\?lang=(\\w+)$");
+
+    @Param({"false", "true"})
+    public boolean replayTimings;
+
+    private final AtomicInteger nextLookup = new AtomicInteger();
+    private List<List<String>> lookups;
+    private CristinApiClient cristinApiClient;
+
+    @Setup
+    public void setup() throws IOException {
+        List<RecordedExchange> exchanges = new TrafficCorpus(Path.of(Constants.CRISTIN_CORPUS_PATH)).read();
+        lookups = exchanges.stream()
+            .map(RecordedExchange::getUri)
+            .map(URI::toString)
+            .map(LOOKUP_URI::matcher)
+            .filter(Matcher::matches)
+            .map(matcher -> List.of(matcher.group(1), matcher.group(2)))
+            .collect(Collectors.toList());
+        if (lookups.isEmpty()) {
+            throw new IllegalStateException("No project lookups in corpus " + Constants.CRISTIN_CORPUS_PATH);
+        }
+        cristinApiClient = new CristinApiClient(RetryPolicy.defaultPolicy(), RequestHedger.defaultHedger(),
+            CircuitBreaker.defaultBreaker(), ConcurrencyLimiter.defaultLimiter(),
+            new ReplayCristinTransport(exchanges, replayTimings), ProjectStore.empty(), false);
+    }
+
+    @Benchmark
+    public NvaProject lookupRecordedProject() throws ApiGatewayException {
+        List<String> lookup = lookups.get(Math.floorMod(nextLookup.getAndIncrement(), lookups.size()));
+        return cristinApiClient.queryOneCristinProjectUsingIdIntoNvaProject(lookup.get(0), lookup.get(1));
+    }
+}
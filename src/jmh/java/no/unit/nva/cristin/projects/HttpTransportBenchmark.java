@@ -0,0 +1,130 @@
+package no.unit.nva.cristin.projects;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import nva.commons.core.ioutils.IoUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures throughput and latency percentiles of 16 threads fetching a page of 20 projects through the HttpClient
+ * built from HttpClientSettings, for each combination of HTTP version, gzip and executor size. The upstream is a local
+ * server answering after upstreamLatencyMillis. It only speaks HTTP/1.1, so HTTP_2 measures the cost of the cleartext
+ * upgrade attempt here, while against Cristin HTTP/2 is negotiated during the TLS handshake.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class HttpTransportBenchmark {
+
+    private static final String PROJECT_RESPONSE = "coldStartProject.json";
+    private static final int PROJECTS_PER_PAGE = 20;
+    private static final int UPSTREAM_THREADS = 64;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Param({"HTTP_1_1", "HTTP_2"})
+    public String version;
+
+    @Param({"false", "true"})
+    public boolean acceptGzip;
+
+    @Param({"0", "4"})
+    public int threads;
+
+    @Param({"5"})
+    public long upstreamLatencyMillis;
+
+    private HttpServer upstream;
+    private ExecutorService upstreamExecutor;
+    private byte[] page;
+    private byte[] compressedPage;
+    private HttpClientSettings settings;
+    private HttpClient client;
+    private URI uri;
+
+    @Setup
+    public void setup() throws IOException {
+        String project = IoUtils.stringFromResources(Path.of(PROJECT_RESPONSE));
+        page = ("[" + String.join(",", Collections.nCopies(PROJECTS_PER_PAGE, project)) + "]")
+            .getBytes(StandardCharsets.UTF_8);
+        compressedPage = gzip(page);
+        upstreamExecutor = Executors.newFixedThreadPool(UPSTREAM_THREADS, new DaemonThreadFactory("upstream"));
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.setExecutor(upstreamExecutor);
+        upstream.createContext("/", this::respond);
+        upstream.start();
+        uri = URI.create("http://localhost:" + upstream.getAddress().getPort() + "/v2/projects/");
+        settings = new HttpClientSettings(Version.valueOf(version), TIMEOUT, TIMEOUT, threads, acceptGzip);
+        client = settings.newHttpClient();
+    }
+
+    @TearDown
+    public void tearDown() {
+        upstream.stop(0);
+        upstreamExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public int fetchPage() throws IOException, InterruptedException {
+        HttpRequest request = settings.newRequest(uri).GET().build();
+        return client.send(request, settings.bodyHandler()).body().length;
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        try {
+            Thread.sleep(upstreamLatencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        boolean gzip = HttpClientSettings.GZIP.equals(
+            exchange.getRequestHeaders().getFirst(HttpClientSettings.ACCEPT_ENCODING));
+        byte[] body = gzip ? compressedPage : page;
+        if (gzip) {
+            exchange.getResponseHeaders().set(HttpClientSettings.CONTENT_ENCODING, HttpClientSettings.GZIP);
+        }
+        exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,85 @@
+package no.unit.nva.cristin.projects;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures searches in a TitleIndex of generated projects, with titles in two languages drawn from a vocabulary where
+ * a few terms are common and most are rare, as in real project titles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TitleIndexBenchmark {
+
+    private static final int VOCABULARY_SIZE = 20_000;
+    private static final int TERMS_PER_TITLE = 8;
+    private static final long SEED = 42;
+
+    @Param({"10000", "100000"})
+    public int numberOfProjects;
+
+    @Param({"common", "common rare", "rare rare"})
+    public String queryShape;
+
+    private TitleIndex titleIndex;
+    private String query;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(SEED);
+        TitleIndex.Builder builder = TitleIndex.builder();
+        IntStream.range(0, numberOfProjects)
+            .mapToObj(id -> project(id, title(random), title(random)))
+            .forEach(builder::add);
+        titleIndex = builder.build();
+        query = Arrays.stream(queryShape.split(" "))
+            .map(shape -> "common".equals(shape) ? term(0) : term(VOCABULARY_SIZE / 100 + random.nextInt(50)))
+            .collect(Collectors.joining("+"));
+    }
+
+    @Benchmark
+    public int[] search() {
+        return titleIndex.search(query);
+    }
+
+    private static CristinProject project(int id, String englishTitle, String norwegianTitle) {
+        CristinProject project = new CristinProject();
+        project.setCristinProjectId(String.valueOf(id));
+        project.setTitle(Map.of("en", englishTitle, "nb", norwegianTitle));
+        return project;
+    }
+
+    private static String title(Random random) {
+        return IntStream.range(0, TERMS_PER_TITLE)
+            .mapToObj(i -> term(zipfian(random)))
+            .collect(Collectors.joining(" "));
+    }
+
+    private static int zipfian(Random random) {
+        return (int) Math.min(VOCABULARY_SIZE - 1, Math.floor(Math.pow(VOCABULARY_SIZE, random.nextDouble())) - 1);
+    }
+
+    private static String term(int rank) {
+        return "term" + rank;
+    }
+}
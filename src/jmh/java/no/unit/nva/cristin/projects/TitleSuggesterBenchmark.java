@@ -0,0 +1,68 @@
+package no.unit.nva.cristin.projects;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures title suggestions from a TitleSuggester of generated projects, for prefixes typed one character at a time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TitleSuggesterBenchmark {
+
+    private static final int VOCABULARY_SIZE = 20_000;
+    private static final int WORDS_PER_TITLE = 8;
+    private static final int NUMBER_OF_PROJECTS = 100_000;
+    private static final long SEED = 42;
+
+    @Param({"w", "wor", "word1", "word12 wo"})
+    public String prefix;
+
+    private TitleSuggester titleSuggester;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(SEED);
+        titleSuggester = TitleSuggester.of(IntStream.range(0, NUMBER_OF_PROJECTS)
+            .mapToObj(id -> project(id, title(random), title(random)))
+            .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<TitleSuggester.Suggestion> suggest() {
+        return titleSuggester.suggest(prefix, TitleSuggester.MAX_SUGGESTIONS);
+    }
+
+    private static CristinProject project(int id, String englishTitle, String norwegianTitle) {
+        CristinProject project = new CristinProject();
+        project.setCristinProjectId(String.valueOf(id));
+        project.setTitle(Map.of("en", englishTitle, "nb", norwegianTitle));
+        return project;
+    }
+
+    private static String title(Random random) {
+        return IntStream.range(0, WORDS_PER_TITLE)
+            .mapToObj(i -> "word" + random.nextInt(VOCABULARY_SIZE))
+            .collect(Collectors.joining(" "));
+    }
+}
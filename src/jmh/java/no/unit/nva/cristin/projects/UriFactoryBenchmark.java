@@ -0,0 +1,81 @@
+package no.unit.nva.cristin.projects;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the quoting URI constructors previously used on every hit with UriFactory. Run with ./gradlew jmh and
+ * add -prof gc in the jmh block of build.gradle to compare allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UriFactoryBenchmark {
+
+    private static final String HTTPS = "https";
+    private static final String NVA_DOMAIN_NAME = "api.dev.nva.aws.unit.no";
+    private static final String CRISTIN_API_HOST = "api.cristin.no";
+
+    @Param({"reindeer", "reindeer+in+Sámi"})
+    public String title;
+
+    private UriFactory uriFactory;
+    private Map<String, String> queryParameters;
+
+    @Setup
+    public void setup() {
+        uriFactory = new UriFactory(NVA_DOMAIN_NAME, "project", CRISTIN_API_HOST);
+        queryParameters = Map.of("title", title, "lang", "nb", "page", "1", "per_page", "5");
+    }
+
+    @Benchmark
+    public URI legacyNvaProjectUri() throws URISyntaxException {
+        return new URI(HTTPS, NVA_DOMAIN_NAME, "/project/" + "538786", null);
+    }
+
+    @Benchmark
+    public URI factoryNvaProjectUri() {
+        return uriFactory.nvaProjectUri("538786");
+    }
+
+    @Benchmark
+    public URI legacyCristinPersonUri() throws URISyntaxException {
+        return new URI(String.join("/", "https://" + CRISTIN_API_HOST + "/v2", "persons", "12345"));
+    }
+
+    @Benchmark
+    public URI factoryCristinPersonUri() {
+        return uriFactory.cristinPersonUri("12345");
+    }
+
+    @Benchmark
+    public URI legacyCristinQueryUri() throws URISyntaxException {
+        String query = new TreeMap<>(queryParameters).entrySet().stream()
+            .map(entry -> String.join("=", entry.getKey(), entry.getValue()))
+            .collect(Collectors.joining("&"));
+        return new URI(HTTPS, CRISTIN_API_HOST, "/v2/projects/", query, null);
+    }
+
+    @Benchmark
+    public URI factoryCristinQueryUri() {
+        return uriFactory.cristinProjectsUriWithParams(queryParameters);
+    }
+}
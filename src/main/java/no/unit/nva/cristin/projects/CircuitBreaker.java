@@ -0,0 +1,252 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_CIRCUIT_BREAKER_HALF_OPEN_PROBES;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_CIRCUIT_BREAKER_MINIMUM_CALLS;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_CIRCUIT_BREAKER_OPEN_DURATION_MILLIS;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_CIRCUIT_BREAKER_SLOW_CALL_MILLIS;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_CIRCUIT_BREAKER_WINDOW_SIZE;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_CIRCUIT_BREAKER_OPEN;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stops calling Cristin while it is failing or slow. The outcomes of the latest windowSize calls are kept, and once
+ * minimumCalls have been seen the breaker opens when the share of failed calls reaches failureRateThreshold or the
+ * share of calls slower than slowCallDuration reaches slowCallRateThreshold. An open breaker rejects all calls for
+ * openDuration and then lets halfOpenProbes calls through. The breaker closes when all of them succeed in time, and
+ * opens again as soon as one of them does not. Calls rejected before reaching Cristin are not counted. The breaker is
+ * passed after a permit of the concurrency limiter has been granted, so only the time spent in Cristin is measured.
+ */
+public class CircuitBreaker {
+
+    public static final String STATE = "cristin.circuitBreaker.state";
+    public static final String TRANSITIONS = "cristin.circuitBreaker.transitions.";
+    public static final String REJECTED_CALLS = "cristin.circuitBreaker.rejectedCalls";
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+    private static final byte SUCCESSFUL = 0;
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final transient byte[] outcomes;
+    private final transient int minimumCalls;
+    private final transient double failureRateThreshold;
+    private final transient long slowCallNanos;
+    private final transient double slowCallRateThreshold;
+    private final transient long openNanos;
+    private final transient int halfOpenProbes;
+    private final transient UpstreamMetrics metrics;
+
+    private transient State state = State.CLOSED;
+    private transient int next;
+    private transient int calls;
+    private transient int failedCalls;
+    private transient int slowCalls;
+    private transient long openUntil;
+    private transient int permittedProbes;
+    private transient int successfulProbes;
+
+    /**
+     * Creates a closed circuit breaker.
+     *
+     * @param windowSize            number of latest calls considered
+     * @param minimumCalls          calls needed in the window before the breaker can open
+     * @param failureRateThreshold  share of failed calls opening the breaker, e.g. 0.5
+     * @param slowCallDuration      calls taking longer are counted as slow
+     * @param slowCallRateThreshold share of slow calls opening the breaker
+     * @param openDuration          time the breaker rejects calls before letting probes through
+     * @param halfOpenProbes        calls let through while half-open
+     * @param metrics               metrics the state and transitions are added to
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration slowCallDuration,
+                          double slowCallRateThreshold, Duration openDuration, int halfOpenProbes,
+                          UpstreamMetrics metrics) {
+        this.outcomes = new byte[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.metrics = metrics;
+        metrics.registerGauge(STATE, () -> getState().ordinal());
+    }
+
+    /**
+     * Creates a circuit breaker configured by the CRISTIN_CIRCUIT_BREAKER_* environment variables.
+     *
+     * @return a closed circuit breaker
+     */
+    public static CircuitBreaker defaultBreaker() {
+        return new CircuitBreaker(CRISTIN_CIRCUIT_BREAKER_WINDOW_SIZE,
+            CRISTIN_CIRCUIT_BREAKER_MINIMUM_CALLS,
+            CRISTIN_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD,
+            Duration.ofMillis(CRISTIN_CIRCUIT_BREAKER_SLOW_CALL_MILLIS),
+            CRISTIN_CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD,
+            Duration.ofMillis(CRISTIN_CIRCUIT_BREAKER_OPEN_DURATION_MILLIS),
+            CRISTIN_CIRCUIT_BREAKER_HALF_OPEN_PROBES,
+            UpstreamMetrics.defaultMetrics());
+    }
+
+    /**
+     * Makes the call if the breaker permits it, and records its outcome.
+     *
+     * @param call            the call to make
+     * @param isFailureResult tells whether a result counts as a failure
+     * @param <T>             type of the result
+     * @return the result of the call
+     * @throws CircuitBreakerOpenException if the breaker does not permit the call
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public <T> T execute(Supplier<T> call, Predicate<T> isFailureResult) {
+        acquirePermission();
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            onResult(System.nanoTime() - start, isFailureResult.test(result));
+            return result;
+        } catch (RuntimeException e) {
+            onFailure(System.nanoTime() - start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Makes the asynchronous call if the breaker permits it, and records its outcome when it completes.
+     *
+     * @param call            the call to make
+     * @param isFailureResult tells whether a result counts as a failure
+     * @param <T>             type of the result
+     * @return the future of the call, or a future failed with CircuitBreakerOpenException
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call, Predicate<T> isFailureResult) {
+        try {
+            acquirePermission();
+        } catch (CircuitBreakerOpenException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long start = System.nanoTime();
+        try {
+            return call.get().whenComplete((result, failure) -> {
+                if (failure == null) {
+                    onResult(System.nanoTime() - start, isFailureResult.test(result));
+                } else {
+                    onFailure(System.nanoTime() - start, failure);
+                }
+            });
+        } catch (RuntimeException e) {
+            onFailure(System.nanoTime() - start, e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Returns the state of the breaker, moving it from OPEN to HALF_OPEN when the open duration has passed.
+     *
+     * @return the current state
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() - openUntil >= 0) {
+            transitionTo(State.HALF_OPEN);
+        }
+        return state;
+    }
+
+    private synchronized void acquirePermission() {
+        State current = getState();
+        boolean permitted = current == State.CLOSED
+            || current == State.HALF_OPEN && permittedProbes < halfOpenProbes;
+        if (!permitted) {
+            metrics.increment(REJECTED_CALLS);
+            throw new CircuitBreakerOpenException(ERROR_MESSAGE_CIRCUIT_BREAKER_OPEN);
+        }
+        if (current == State.HALF_OPEN) {
+            permittedProbes++;
+        }
+    }
+
+    private void onFailure(long durationNanos, Throwable failure) {
+        if (UpstreamCallRejectedException.isCauseOf(failure)) {
+            onRejection();
+        } else {
+            onResult(durationNanos, true);
+        }
+    }
+
+    private synchronized void onRejection() {
+        if (state == State.HALF_OPEN && permittedProbes > 0) {
+            permittedProbes--;
+        }
+    }
+
+    private synchronized void onResult(long durationNanos, boolean failed) {
+        byte outcome = failed ? FAILED : durationNanos > slowCallNanos ? SLOW : SUCCESSFUL;
+        if (state == State.HALF_OPEN) {
+            onProbeResult(outcome);
+        } else if (state == State.CLOSED) {
+            recordInWindow(outcome);
+            if (calls >= minimumCalls && thresholdIsReached()) {
+                open();
+            }
+        }
+    }
+
+    private void onProbeResult(byte outcome) {
+        if (outcome != SUCCESSFUL) {
+            open();
+        } else if (++successfulProbes >= halfOpenProbes) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    private void recordInWindow(byte outcome) {
+        if (calls == outcomes.length) {
+            forget(outcomes[next]);
+        } else {
+            calls++;
+        }
+        outcomes[next] = outcome;
+        failedCalls += outcome == FAILED ? 1 : 0;
+        slowCalls += outcome == SLOW ? 1 : 0;
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void forget(byte outcome) {
+        failedCalls -= outcome == FAILED ? 1 : 0;
+        slowCalls -= outcome == SLOW ? 1 : 0;
+    }
+
+    private boolean thresholdIsReached() {
+        return failedCalls >= failureRateThreshold * calls || slowCalls >= slowCallRateThreshold * calls;
+    }
+
+    private void open() {
+        openUntil = System.nanoTime() + openNanos;
+        transitionTo(State.OPEN);
+    }
+
+    private void transitionTo(State newState) {
+        logger.warn("Circuit breaker for Cristin changed from {} to {}", state, newState);
+        metrics.increment(TRANSITIONS + newState);
+        state = newState;
+        permittedProbes = 0;
+        successfulProbes = 0;
+        if (newState == State.CLOSED) {
+            calls = 0;
+            next = 0;
+            failedCalls = 0;
+            slowCalls = 0;
+        }
+    }
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+}
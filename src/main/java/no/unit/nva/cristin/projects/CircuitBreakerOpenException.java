@@ -0,0 +1,11 @@
+package no.unit.nva.cristin.projects;
+
+/**
+ * Thrown instead of calling Cristin while the circuit breaker does not permit calls.
+ */
+public class CircuitBreakerOpenException extends UpstreamCallRejectedException {
+
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
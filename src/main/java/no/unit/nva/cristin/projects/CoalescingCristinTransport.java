@@ -0,0 +1,44 @@
+package no.unit.nva.cristin.projects;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends concurrent requests for the same URI only once, giving every caller the same response. Each caller gets its
+ * own copy of the future, so a caller cancelling its request does not cancel it for the others. Hedged requests are
+ * coalesced as well, so this decorator should not be combined with hedging.
+ */
+public class CoalescingCristinTransport implements CristinTransport {
+
+    private final transient CristinTransport delegate;
+    private final transient Map<URI, CompletableFuture<TransportResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public CoalescingCristinTransport(CristinTransport delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(URI uri) {
+        CompletableFuture<TransportResponse> created = new CompletableFuture<>();
+        CompletableFuture<TransportResponse> shared = inFlight.putIfAbsent(uri, created);
+        if (shared == null) {
+            shared = created;
+            delegate.sendAsync(uri).whenComplete((response, failure) -> {
+                inFlight.remove(uri, created);
+                if (failure == null) {
+                    created.complete(response);
+                } else {
+                    created.completeExceptionally(failure);
+                }
+            });
+        }
+        return shared.copy();
+    }
+
+    @Override
+    public CompletableFuture<Void> openConnection(URI uri) {
+        return delegate.openConnection(uri);
+    }
+}
@@ -0,0 +1,116 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.COLD_START_PRIME_CONNECTION;
+import static no.unit.nva.cristin.projects.Constants.COLD_START_PRIMING_ENABLED;
+import static no.unit.nva.cristin.projects.Constants.DEFAULT_NUMBER_OF_RESULTS;
+import static no.unit.nva.cristin.projects.Constants.FIRST_PAGE;
+import static no.unit.nva.cristin.projects.Constants.LANGUAGE;
+import static no.unit.nva.cristin.projects.Constants.NUMBER_OF_RESULTS;
+import static no.unit.nva.cristin.projects.Constants.OBJECT_MAPPER;
+import static no.unit.nva.cristin.projects.Constants.PAGE;
+import static no.unit.nva.cristin.projects.Constants.PROJECT_LOOKUP_CONTEXT_URL;
+import static no.unit.nva.cristin.projects.Constants.PROJECT_SEARCH_CONTEXT_URL;
+import static no.unit.nva.cristin.projects.Constants.QUERY;
+import static no.unit.nva.cristin.projects.Constants.X_TOTAL_COUNT;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_PRIMING_FAILED;
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import no.unit.nva.cristin.projects.model.nva.NvaProject;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.core.ioutils.IoUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the code paths of a request once before the first real request arrives. The bundled sample responses are
+ * deserialized, transformed and serialized, so Jackson has built its serializers, LanguageMapper and the URI factory
+ * are initialized and the classes are loaded. Optionally a connection to the Cristin host is opened in the background.
+ */
+public class ColdStartPrimer {
+
+    public static final String PRIMING_PROJECT_RESOURCE = "priming/cristinProject.json";
+    public static final String PRIMING_QUERY_RESOURCE = "priming/cristinQueryProjects.json";
+    private static final Map<String, String> PRIMING_QUERY_PARAMETERS =
+        Map.of(QUERY, "priming", LANGUAGE, "nb", PAGE, FIRST_PAGE, NUMBER_OF_RESULTS, DEFAULT_NUMBER_OF_RESULTS);
+
+    private static final Logger logger = LoggerFactory.getLogger(ColdStartPrimer.class);
+    private static final AtomicBoolean primed = new AtomicBoolean();
+
+    private final transient CristinApiClient cristinApiClient;
+    private final transient boolean openConnection;
+
+    public ColdStartPrimer(CristinApiClient cristinApiClient, boolean openConnection) {
+        this.cristinApiClient = cristinApiClient;
+        this.openConnection = openConnection;
+    }
+
+    /**
+     * Primes once per JVM unless disabled with COLD_START_PRIMING_ENABLED. Later calls return immediately.
+     *
+     * @param cristinApiClient client used to open a connection to Cristin when COLD_START_PRIME_CONNECTION is set
+     */
+    public static void primeOnceIfEnabled(CristinApiClient cristinApiClient) {
+        if (COLD_START_PRIMING_ENABLED && primed.compareAndSet(false, true)) {
+            new ColdStartPrimer(cristinApiClient, COLD_START_PRIME_CONNECTION).prime();
+        }
+    }
+
+    /**
+     * Pushes the bundled sample responses through the request pipeline. Failures are logged and never thrown, as
+     * priming must not prevent the handler from starting.
+     *
+     * @return the time spent priming
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public Duration prime() {
+        long start = System.nanoTime();
+        if (openConnection) {
+            cristinApiClient.openConnectionToCristin()
+                .exceptionally(ColdStartPrimer::logFailure);
+        }
+        try {
+            primeSerialization();
+        } catch (IOException | BadRequestException | RuntimeException e) {
+            logFailure(e);
+        }
+        Duration timeSpent = Duration.ofNanos(System.nanoTime() - start);
+        logger.info("Primed in {} ms", timeSpent.toMillis());
+        return timeSpent;
+    }
+
+    protected String primeSerialization() throws IOException, BadRequestException {
+        CristinProject project = OBJECT_MAPPER.readValue(readResource(PRIMING_PROJECT_RESOURCE), CristinProject.class);
+        NvaProject lookupResponse = new NvaProjectBuilder(project).withContext(PROJECT_LOOKUP_CONTEXT_URL).build();
+
+        CristinProject[] hits = OBJECT_MAPPER.readValue(readResource(PRIMING_QUERY_RESOURCE), CristinProject[].class);
+        List<NvaProject> nvaHits = Arrays.stream(hits)
+            .filter(CristinProject::hasValidContent)
+            .map(CristinProject::toNvaProject)
+            .collect(Collectors.toList());
+        HttpHeaders headers = HttpHeaders.of(Map.of(X_TOTAL_COUNT, List.of(String.valueOf(hits.length))),
+            (name, value) -> true);
+        ProjectsWrapper searchResponse = new ProjectsWrapper()
+            .usingHeadersAndQueryParams(headers, PRIMING_QUERY_PARAMETERS)
+            .withHits(nvaHits);
+        searchResponse.setContext(PROJECT_SEARCH_CONTEXT_URL);
+
+        return OBJECT_MAPPER.writeValueAsString(lookupResponse) + OBJECT_MAPPER.writeValueAsString(searchResponse);
+    }
+
+    private static String readResource(String resource) {
+        return IoUtils.stringFromResources(Path.of(resource));
+    }
+
+    private static Void logFailure(Throwable failure) {
+        logger.warn(ERROR_MESSAGE_PRIMING_FAILED, failure);
+        return null;
+    }
+}
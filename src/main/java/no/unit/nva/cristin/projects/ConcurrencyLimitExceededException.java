@@ -0,0 +1,11 @@
+package no.unit.nva.cristin.projects;
+
+/**
+ * Thrown instead of calling Cristin when the concurrency limit is reached and the call could not be queued.
+ */
+public class ConcurrencyLimitExceededException extends UpstreamCallRejectedException {
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,286 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_CONCURRENCY_INITIAL_LIMIT;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_CONCURRENCY_MAX_LIMIT;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_CONCURRENCY_MAX_QUEUE_MILLIS;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_CONCURRENCY_MAX_QUEUE_SIZE;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_CONCURRENCY_MIN_LIMIT;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_CONCURRENCY_RTT_TOLERANCE;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_CONCURRENCY_LIMIT_EXCEEDED;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of concurrent calls to Cristin, adapting the limit to the round-trip times observed (AIMD). A call
+ * completing within rttTolerance times the no-load round-trip time, while at least half of the limit was in use,
+ * raises the limit by one. A failed call, or a call slower than that, multiplies the limit by BACKOFF_RATIO, at most
+ * once per round trip: calls that were already in flight when the limit was lowered do not lower it again. The no-load
+ * round-trip time is the fastest call of the previous RTT_WINDOW_SIZE calls. Calls exceeding the limit wait in
+ * a queue for at most maxQueueTime, and are rejected at once when the queue is full.
+ */
+public class ConcurrencyLimiter {
+
+    public static final String LIMIT = "cristin.concurrency.limit";
+    public static final String IN_FLIGHT = "cristin.concurrency.inFlight";
+    public static final String QUEUED = "cristin.concurrency.queued";
+    public static final String QUEUED_CALLS = "cristin.concurrency.queuedCalls";
+    public static final String REJECTED_CALLS = "cristin.concurrency.rejectedCalls";
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int RTT_WINDOW_SIZE = 100;
+
+    private final transient int minLimit;
+    private final transient int maxLimit;
+    private final transient double rttTolerance;
+    private final transient int maxQueueSize;
+    private final transient long maxQueueNanos;
+    private final transient UpstreamMetrics metrics;
+    private final transient Deque<CompletableFuture<Void>> queue = new ArrayDeque<>();
+
+    private transient double limit;
+    private transient int inFlight;
+    private transient long noLoadRttNanos = Long.MAX_VALUE;
+    private transient long windowMinimumRttNanos = Long.MAX_VALUE;
+    private transient int windowSamples;
+    private transient long lastDecreaseNanos = Long.MIN_VALUE;
+
+    /**
+     * Creates a limiter.
+     *
+     * @param initialLimit concurrent calls allowed before any call has been observed
+     * @param minLimit     the limit is never lowered below this
+     * @param maxLimit     the limit is never raised above this
+     * @param rttTolerance round-trip times up to this multiple of the no-load round-trip time are not seen as queueing
+     *                     in Cristin
+     * @param maxQueueSize calls waiting for a permit at most
+     * @param maxQueueTime time a call waits for a permit at most
+     * @param metrics      metrics the limit, in-flight and queued calls are added to
+     */
+    public ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double rttTolerance, int maxQueueSize,
+                              Duration maxQueueTime, UpstreamMetrics metrics) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.maxQueueSize = maxQueueSize;
+        this.maxQueueNanos = maxQueueTime.toNanos();
+        this.metrics = metrics;
+        metrics.registerGauge(LIMIT, this::getLimit);
+        metrics.registerGauge(IN_FLIGHT, this::getInFlight);
+        metrics.registerGauge(QUEUED, this::getQueued);
+    }
+
+    /**
+     * Creates a limiter configured by the CRISTIN_CONCURRENCY_* environment variables.
+     *
+     * @return a limiter starting at CRISTIN_CONCURRENCY_INITIAL_LIMIT
+     */
+    public static ConcurrencyLimiter defaultLimiter() {
+        return new ConcurrencyLimiter(CRISTIN_CONCURRENCY_INITIAL_LIMIT,
+            CRISTIN_CONCURRENCY_MIN_LIMIT,
+            CRISTIN_CONCURRENCY_MAX_LIMIT,
+            CRISTIN_CONCURRENCY_RTT_TOLERANCE,
+            CRISTIN_CONCURRENCY_MAX_QUEUE_SIZE,
+            Duration.ofMillis(CRISTIN_CONCURRENCY_MAX_QUEUE_MILLIS),
+            UpstreamMetrics.defaultMetrics());
+    }
+
+    /**
+     * Makes the call on the calling thread once a permit is available, waiting for one if needed.
+     *
+     * @param call            the call to make
+     * @param isFailureResult tells whether a result counts as a failure, lowering the limit
+     * @param <T>             type of the result
+     * @return the result of the call
+     * @throws ConcurrencyLimitExceededException if no permit became available in time
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public <T> T execute(Supplier<T> call, Predicate<T> isFailureResult) {
+        try {
+            acquire().join();
+        } catch (CompletionException e) {
+            throw (ConcurrencyLimitExceededException) e.getCause();
+        }
+        int inFlightAtStart = getInFlight();
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            release(start, inFlightAtStart, isFailureResult.test(result));
+            return result;
+        } catch (RuntimeException e) {
+            releaseAfterFailure(start, inFlightAtStart, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Makes the asynchronous call once a permit is available. No thread is blocked while waiting for a permit.
+     * Cancelling the returned future while the call waits for a permit removes it from the queue, so the call is never
+     * made. A call already made is not aborted, and keeps its permit until it completes.
+     *
+     * @param call            the call to make
+     * @param isFailureResult tells whether a result counts as a failure, lowering the limit
+     * @param <T>             type of the result
+     * @return the future of the call, or a future failed with ConcurrencyLimitExceededException
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call, Predicate<T> isFailureResult) {
+        CompletableFuture<Void> permit = acquire();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        result.whenComplete((response, failure) -> {
+            if (result.isCancelled()) {
+                cancelWaiting(permit);
+            }
+        });
+        permit.whenComplete((granted, failure) -> {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else if (result.isDone()) {
+                releaseUnusedPermit();
+            } else {
+                callWithPermit(call, isFailureResult).whenComplete((response, callFailure) -> {
+                    if (callFailure == null) {
+                        result.complete(response);
+                    } else {
+                        result.completeExceptionally(callFailure);
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private <T> CompletableFuture<T> callWithPermit(Supplier<CompletableFuture<T>> call,
+                                                    Predicate<T> isFailureResult) {
+        int inFlightAtStart = getInFlight();
+        long start = System.nanoTime();
+        try {
+            return call.get().whenComplete((result, failure) -> {
+                if (failure == null) {
+                    release(start, inFlightAtStart, isFailureResult.test(result));
+                } else {
+                    releaseAfterFailure(start, inFlightAtStart, failure);
+                }
+            });
+        } catch (RuntimeException e) {
+            releaseAfterFailure(start, inFlightAtStart, e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private synchronized CompletableFuture<Void> acquire() {
+        if (inFlight < (int) limit && queue.isEmpty()) {
+            inFlight++;
+            return CompletableFuture.completedFuture(null);
+        }
+        if (queue.size() >= maxQueueSize) {
+            return rejected();
+        }
+        CompletableFuture<Void> waiting = new CompletableFuture<>();
+        queue.addLast(waiting);
+        metrics.increment(QUEUED_CALLS);
+        CompletableFuture.delayedExecutor(maxQueueNanos, TimeUnit.NANOSECONDS).execute(() -> expire(waiting));
+        return waiting;
+    }
+
+    private synchronized void expire(CompletableFuture<Void> waiting) {
+        if (queue.remove(waiting)) {
+            waiting.completeExceptionally(rejection());
+        }
+    }
+
+    private synchronized void cancelWaiting(CompletableFuture<Void> waiting) {
+        if (queue.remove(waiting)) {
+            waiting.cancel(false);
+        }
+    }
+
+    private void release(long startNanos, int inFlightAtStart, boolean failed) {
+        synchronized (this) {
+            adjustLimit(startNanos, inFlightAtStart, failed);
+        }
+        releaseUnusedPermit();
+    }
+
+    /**
+     * Releases the permit of a failed call. A call rejected before reaching Cristin, e.g. by the circuit breaker, tells
+     * nothing about the load on Cristin, so the limit is left unchanged.
+     */
+    private void releaseAfterFailure(long startNanos, int inFlightAtStart, Throwable failure) {
+        if (UpstreamCallRejectedException.isCauseOf(failure)) {
+            releaseUnusedPermit();
+        } else {
+            release(startNanos, inFlightAtStart, true);
+        }
+    }
+
+    /**
+     * Hands the permit to the calls waiting, without adjusting the limit.
+     */
+    private void releaseUnusedPermit() {
+        releaseAndGrantQueuedPermits().forEach(waiting -> waiting.complete(null));
+    }
+
+    private synchronized List<CompletableFuture<Void>> releaseAndGrantQueuedPermits() {
+        inFlight--;
+        List<CompletableFuture<Void>> granted = new ArrayList<>();
+        while (inFlight < (int) limit && !queue.isEmpty()) {
+            inFlight++;
+            granted.add(queue.removeFirst());
+        }
+        return granted;
+    }
+
+    private void adjustLimit(long startNanos, int inFlightAtStart, boolean failed) {
+        long now = System.nanoTime();
+        long rttNanos = now - startNanos;
+        updateNoLoadRtt(rttNanos);
+        if (failed || rttNanos > rttTolerance * noLoadRttNanos) {
+            if (startNanos > lastDecreaseNanos) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                lastDecreaseNanos = now;
+            }
+        } else if (inFlightAtStart * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    private void updateNoLoadRtt(long rttNanos) {
+        windowMinimumRttNanos = Math.min(windowMinimumRttNanos, rttNanos);
+        noLoadRttNanos = Math.min(noLoadRttNanos, rttNanos);
+        if (++windowSamples >= RTT_WINDOW_SIZE) {
+            noLoadRttNanos = windowMinimumRttNanos;
+            windowMinimumRttNanos = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+    }
+
+    private CompletableFuture<Void> rejected() {
+        return CompletableFuture.failedFuture(rejection());
+    }
+
+    private ConcurrencyLimitExceededException rejection() {
+        metrics.increment(REJECTED_CALLS);
+        return new ConcurrencyLimitExceededException(ERROR_MESSAGE_CONCURRENCY_LIMIT_EXCEEDED);
+    }
+}
@@ -1,6 +1,7 @@
 package no.unit.nva.cristin.projects;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Set;
 import nva.commons.core.Environment;
 import nva.commons.core.JacocoGenerated;
 import nva.commons.core.JsonUtils;
@@ -31,6 +32,117 @@ public class Constants {
     public static final String FIRST_PAGE = "1";
     public static final String NUMBER_OF_RESULTS = "results";
     public static final String DEFAULT_NUMBER_OF_RESULTS = "5";
+    public static final int MAX_NUMBER_OF_RESULTS = 500;
+    public static final String DEFAULT_NUMBER_OF_SUGGESTIONS = "5";
+    public static final String SUGGEST_PATH = "suggest";
+    public static final String PERSON_PROJECTS_PATH = "person";
+    public static final String ORGANIZATION_PROJECTS_PATH = "organization";
+    public static final String START_DATE_FROM = "startDateFrom";
+    public static final String START_DATE_TO = "startDateTo";
+    public static final String STATUS = "status";
+    public static final String SORT = "sort";
+    public static final Set<String> PROJECT_STATUSES = Set.of("ACTIVE", "CONCLUDED", "NOT_STARTED");
+    public static final int CRISTIN_MAX_UPSTREAM_PAGE_SIZE =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("CRISTIN_MAX_UPSTREAM_PAGE_SIZE").orElse("20"));
+    public static final int CRISTIN_TRANSFORMATION_THREADS =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("CRISTIN_TRANSFORMATION_THREADS")
+            .orElse(String.valueOf(Math.max(2, Runtime.getRuntime().availableProcessors()))));
+    public static final int INTERN_CACHE_MAXIMUM_SIZE =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("INTERN_CACHE_MAXIMUM_SIZE").orElse("10000"));
+    public static final int SERVER_PORT = Integer.parseInt(ENVIRONMENT.readEnvOpt("SERVER_PORT").orElse("8080"));
+    public static final int SERVER_THREADS =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("SERVER_THREADS")
+            .orElse(String.valueOf(2 * Runtime.getRuntime().availableProcessors())));
+    public static final boolean COLD_START_PRIMING_ENABLED =
+        Boolean.parseBoolean(ENVIRONMENT.readEnvOpt("COLD_START_PRIMING_ENABLED").orElse("true"));
+    public static final boolean COLD_START_PRIME_CONNECTION =
+        Boolean.parseBoolean(ENVIRONMENT.readEnvOpt("COLD_START_PRIME_CONNECTION").orElse("false"));
+    public static final int WARM_UP_REFRESH_COUNT =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("WARM_UP_REFRESH_COUNT").orElse("10"));
+    public static final long WARM_UP_TIME_BUDGET_MILLIS =
+        Long.parseLong(ENVIRONMENT.readEnvOpt("WARM_UP_TIME_BUDGET_MILLIS").orElse("10000"));
+    public static final long WARM_UP_RESPONSE_MAX_AGE_MILLIS =
+        Long.parseLong(ENVIRONMENT.readEnvOpt("WARM_UP_RESPONSE_MAX_AGE_MILLIS").orElse("360000"));
+    public static final int TRACKED_REQUESTS_MAXIMUM_SIZE =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("TRACKED_REQUESTS_MAXIMUM_SIZE").orElse("1000"));
+    public static final int CRISTIN_RETRY_MAX_ATTEMPTS =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("CRISTIN_RETRY_MAX_ATTEMPTS").orElse("3"));
+    public static final long CRISTIN_RETRY_BASE_DELAY_MILLIS =
+        Long.parseLong(ENVIRONMENT.readEnvOpt("CRISTIN_RETRY_BASE_DELAY_MILLIS").orElse("100"));
+    public static final long CRISTIN_RETRY_MAX_DELAY_MILLIS =
+        Long.parseLong(ENVIRONMENT.readEnvOpt("CRISTIN_RETRY_MAX_DELAY_MILLIS").orElse("1000"));
+    public static final long CRISTIN_RETRY_DEADLINE_MILLIS =
+        Long.parseLong(ENVIRONMENT.readEnvOpt("CRISTIN_RETRY_DEADLINE_MILLIS").orElse("5000"));
+    public static final double CRISTIN_RETRY_BUDGET_RATIO =
+        Double.parseDouble(ENVIRONMENT.readEnvOpt("CRISTIN_RETRY_BUDGET_RATIO").orElse("0.1"));
+    public static final int CRISTIN_RETRY_BUDGET_MAXIMUM_RETRIES =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("CRISTIN_RETRY_BUDGET_MAXIMUM_RETRIES").orElse("10"));
+    public static final boolean CRISTIN_HEDGING_ENABLED =
+        Boolean.parseBoolean(ENVIRONMENT.readEnvOpt("CRISTIN_HEDGING_ENABLED").orElse("false"));
+    public static final double CRISTIN_HEDGING_PERCENTILE =
+        Double.parseDouble(ENVIRONMENT.readEnvOpt("CRISTIN_HEDGING_PERCENTILE").orElse("0.95"));
+    public static final long CRISTIN_HEDGING_MINIMUM_DELAY_MILLIS =
+        Long.parseLong(ENVIRONMENT.readEnvOpt("CRISTIN_HEDGING_MINIMUM_DELAY_MILLIS").orElse("20"));
+    public static final double CRISTIN_HEDGING_BUDGET_RATIO =
+        Double.parseDouble(ENVIRONMENT.readEnvOpt("CRISTIN_HEDGING_BUDGET_RATIO").orElse("0.05"));
+    public static final int CRISTIN_CIRCUIT_BREAKER_WINDOW_SIZE =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("CRISTIN_CIRCUIT_BREAKER_WINDOW_SIZE").orElse("50"));
+    public static final int CRISTIN_CIRCUIT_BREAKER_MINIMUM_CALLS =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("CRISTIN_CIRCUIT_BREAKER_MINIMUM_CALLS").orElse("20"));
+    public static final double CRISTIN_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD =
+        Double.parseDouble(ENVIRONMENT.readEnvOpt("CRISTIN_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD").orElse("0.5"));
+    public static final long CRISTIN_CIRCUIT_BREAKER_SLOW_CALL_MILLIS =
+        Long.parseLong(ENVIRONMENT.readEnvOpt("CRISTIN_CIRCUIT_BREAKER_SLOW_CALL_MILLIS").orElse("3000"));
+    public static final double CRISTIN_CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD =
+        Double.parseDouble(ENVIRONMENT.readEnvOpt("CRISTIN_CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD").orElse("0.8"));
+    public static final long CRISTIN_CIRCUIT_BREAKER_OPEN_DURATION_MILLIS =
+        Long.parseLong(ENVIRONMENT.readEnvOpt("CRISTIN_CIRCUIT_BREAKER_OPEN_DURATION_MILLIS").orElse("10000"));
+    public static final int CRISTIN_CIRCUIT_BREAKER_HALF_OPEN_PROBES =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("CRISTIN_CIRCUIT_BREAKER_HALF_OPEN_PROBES").orElse("3"));
+    public static final int CRISTIN_CONCURRENCY_INITIAL_LIMIT =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("CRISTIN_CONCURRENCY_INITIAL_LIMIT").orElse("20"));
+    public static final int CRISTIN_CONCURRENCY_MIN_LIMIT =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("CRISTIN_CONCURRENCY_MIN_LIMIT").orElse("4"));
+    public static final int CRISTIN_CONCURRENCY_MAX_LIMIT =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("CRISTIN_CONCURRENCY_MAX_LIMIT").orElse("200"));
+    public static final double CRISTIN_CONCURRENCY_RTT_TOLERANCE =
+        Double.parseDouble(ENVIRONMENT.readEnvOpt("CRISTIN_CONCURRENCY_RTT_TOLERANCE").orElse("2.0"));
+    public static final int CRISTIN_CONCURRENCY_MAX_QUEUE_SIZE =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("CRISTIN_CONCURRENCY_MAX_QUEUE_SIZE").orElse("100"));
+    public static final long CRISTIN_CONCURRENCY_MAX_QUEUE_MILLIS =
+        Long.parseLong(ENVIRONMENT.readEnvOpt("CRISTIN_CONCURRENCY_MAX_QUEUE_MILLIS").orElse("500"));
+    public static final int CRISTIN_ENRICHMENT_CONCURRENCY =
+        Math.max(1, Integer.parseInt(ENVIRONMENT.readEnvOpt("CRISTIN_ENRICHMENT_CONCURRENCY").orElse("10")));
+    public static final String CRISTIN_HTTP_VERSION = ENVIRONMENT.readEnvOpt("CRISTIN_HTTP_VERSION").orElse("HTTP_2");
+    public static final long CRISTIN_CONNECT_TIMEOUT_MILLIS =
+        Long.parseLong(ENVIRONMENT.readEnvOpt("CRISTIN_CONNECT_TIMEOUT_MILLIS").orElse("2000"));
+    public static final long CRISTIN_REQUEST_TIMEOUT_MILLIS =
+        Long.parseLong(ENVIRONMENT.readEnvOpt("CRISTIN_REQUEST_TIMEOUT_MILLIS").orElse("5000"));
+    public static final int CRISTIN_HTTP_THREADS =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("CRISTIN_HTTP_THREADS")
+            .orElse(String.valueOf(2 * Runtime.getRuntime().availableProcessors())));
+    public static final boolean CRISTIN_ACCEPT_GZIP =
+        Boolean.parseBoolean(ENVIRONMENT.readEnvOpt("CRISTIN_ACCEPT_GZIP").orElse("true"));
+    public static final String CRISTIN_TRANSPORT_MODE =
+        ENVIRONMENT.readEnvOpt("CRISTIN_TRANSPORT_MODE").orElse("NETWORK");
+    public static final String CRISTIN_CORPUS_PATH =
+        ENVIRONMENT.readEnvOpt("CRISTIN_CORPUS_PATH").orElse("cristin-corpus.bin.gz");
+    public static final String CRISTIN_CORPUS_PSEUDONYM_KEY =
+        ENVIRONMENT.readEnvOpt("CRISTIN_CORPUS_PSEUDONYM_KEY").orElse("");
+    public static final int CRISTIN_CORPUS_MAX_PENDING_EXCHANGES =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("CRISTIN_CORPUS_MAX_PENDING_EXCHANGES").orElse("10000"));
+    public static final boolean CRISTIN_LOCAL_STORE_ENABLED =
+        Boolean.parseBoolean(ENVIRONMENT.readEnvOpt("CRISTIN_LOCAL_STORE_ENABLED").orElse("false"));
+    public static final boolean CRISTIN_SNAPSHOT_FALLBACK_ENABLED =
+        Boolean.parseBoolean(ENVIRONMENT.readEnvOpt("CRISTIN_SNAPSHOT_FALLBACK_ENABLED").orElse("false"));
+    public static final boolean CRISTIN_SEARCH_STOP_WORDS_REMOVED =
+        Boolean.parseBoolean(ENVIRONMENT.readEnvOpt("CRISTIN_SEARCH_STOP_WORDS_REMOVED").orElse("false"));
+    public static final String CRISTIN_STORE_PATH =
+        ENVIRONMENT.readEnvOpt("CRISTIN_STORE_PATH").orElse("cristin-store");
+    public static final String CRISTIN_HARVEST_LANGUAGE =
+        ENVIRONMENT.readEnvOpt("CRISTIN_HARVEST_LANGUAGE").orElse("nb");
+    public static final int CRISTIN_HARVEST_PAGE_SIZE =
+        Integer.parseInt(ENVIRONMENT.readEnvOpt("CRISTIN_HARVEST_PAGE_SIZE").orElse("100"));
     public static final String LINK = "link";
     public static final String REL_NEXT = "rel=\"next\"";
     public static final String REL_PREV = "rel=\"prev\"";
@@ -1,6 +1,12 @@
 package no.unit.nva.cristin.projects;
 
 import static java.util.Arrays.asList;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_API_BASE_URL;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_ENRICHMENT_CONCURRENCY;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_HARVEST_LANGUAGE;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_LOCAL_STORE_ENABLED;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_MAX_UPSTREAM_PAGE_SIZE;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_TRANSFORMATION_THREADS;
 import static no.unit.nva.cristin.projects.Constants.LANGUAGE;
 import static no.unit.nva.cristin.projects.Constants.NUMBER_OF_RESULTS;
 import static no.unit.nva.cristin.projects.Constants.OBJECT_MAPPER;
@@ -11,10 +17,17 @@ import static no.unit.nva.cristin.projects.Constants.QueryType.QUERY_USING_GRANT
 import static no.unit.nva.cristin.projects.Constants.QueryType.QUERY_USING_TITLE;
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_BACKEND_FAILED_WITH_STATUSCODE;
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_BACKEND_FETCH_FAILED;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_BACKEND_UNAVAILABLE;
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_CRISTIN_PROJECT_MATCHING_ID_IS_NOT_VALID;
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_FETCHING_CRISTIN_PROJECT_WITH_ID;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_FILTERING_LANGUAGE_NOT_SUPPORTED;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_FILTERING_NOT_AVAILABLE;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_PARTICIPANT_PROJECTS_NOT_AVAILABLE;
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_QUERY_WITH_PARAMS_FAILED;
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_READING_RESPONSE_FAIL;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_READING_STORED_PROJECT_FAILED;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_STORE_INDEXING_FAILED;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_SUGGESTIONS_NOT_AVAILABLE;
 import static no.unit.nva.cristin.projects.UriUtils.getNvaProjectUriWithId;
 import static no.unit.nva.cristin.projects.UriUtils.getNvaProjectUriWithParams;
 import static no.unit.nva.cristin.projects.UriUtils.queryParameters;
@@ -24,23 +37,28 @@ import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpResponse;
-import java.net.http.HttpResponse.BodyHandlers;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import no.unit.nva.cristin.projects.Constants.QueryType;
+import no.unit.nva.cristin.projects.ParticipantIndex.Participant;
 import no.unit.nva.cristin.projects.model.cristin.CristinProject;
 import no.unit.nva.cristin.projects.model.nva.NvaProject;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
 import nva.commons.apigateway.exceptions.BadGatewayException;
+import nva.commons.apigateway.exceptions.BadRequestException;
 import nva.commons.apigateway.exceptions.NotFoundException;
 import nva.commons.core.JacocoGenerated;
 import nva.commons.core.attempt.Failure;
@@ -54,7 +72,83 @@ public class CristinApiClient {
 
     private static final int FIRST_NON_SUCCESS_CODE = 300;
 
-    private static final HttpClient client = HttpClient.newHttpClient();
+    @SuppressWarnings("PMD.DoNotUseThreads")
+    private static final ExecutorService transformationExecutor = Executors.newFixedThreadPool(
+        CRISTIN_TRANSFORMATION_THREADS, new DaemonThreadFactory("cristin-transformation"));
+    @SuppressWarnings("PMD.DoNotUseThreads")
+    private static final ExecutorService storeIndexingExecutor = Executors.newSingleThreadExecutor(
+        new DaemonThreadFactory("cristin-store-indexing"));
+
+    private final transient RetryPolicy retryPolicy;
+    private final transient RequestHedger requestHedger;
+    private final transient CircuitBreaker circuitBreaker;
+    private final transient ConcurrencyLimiter concurrencyLimiter;
+    private final transient CristinTransport transport;
+    private final transient ProjectStore projectStore;
+    private final transient boolean readStoreFirst;
+    private final transient AtomicReference<StoreIndexes> storeIndexes =
+        new AtomicReference<>(StoreIndexes.NOT_BUILT);
+
+    public CristinApiClient() {
+        this(RetryPolicy.defaultPolicy(), RequestHedger.defaultHedger());
+    }
+
+    public CristinApiClient(CristinTransport transport) {
+        this(transport, ProjectStore.defaultStore());
+    }
+
+    public CristinApiClient(CristinTransport transport, ProjectStore projectStore) {
+        this(RetryPolicy.defaultPolicy(), RequestHedger.defaultHedger(), CircuitBreaker.defaultBreaker(),
+            ConcurrencyLimiter.defaultLimiter(), transport, projectStore);
+    }
+
+    public CristinApiClient(RetryPolicy retryPolicy) {
+        this(retryPolicy, RequestHedger.defaultHedger());
+    }
+
+    public CristinApiClient(RetryPolicy retryPolicy, RequestHedger requestHedger) {
+        this(retryPolicy, requestHedger, CircuitBreaker.defaultBreaker());
+    }
+
+    public CristinApiClient(RetryPolicy retryPolicy, RequestHedger requestHedger, CircuitBreaker circuitBreaker) {
+        this(retryPolicy, requestHedger, circuitBreaker, ConcurrencyLimiter.defaultLimiter());
+    }
+
+    public CristinApiClient(RetryPolicy retryPolicy, RequestHedger requestHedger, CircuitBreaker circuitBreaker,
+                            ConcurrencyLimiter concurrencyLimiter) {
+        this(retryPolicy, requestHedger, circuitBreaker, concurrencyLimiter, TransportMode.defaultTransport(),
+            ProjectStore.defaultStore(), CRISTIN_LOCAL_STORE_ENABLED);
+    }
+
+    public CristinApiClient(RetryPolicy retryPolicy, RequestHedger requestHedger, CircuitBreaker circuitBreaker,
+                            ConcurrencyLimiter concurrencyLimiter, CristinTransport transport,
+                            ProjectStore projectStore) {
+        this(retryPolicy, requestHedger, circuitBreaker, concurrencyLimiter, transport, projectStore,
+            CRISTIN_LOCAL_STORE_ENABLED);
+    }
+
+    /**
+     * Creates a client calling Cristin over the supplied transport through the supplied resilience policies.
+     *
+     * @param retryPolicy        policy retrying failed calls
+     * @param requestHedger      hedger for the project lookups made while enriching search results
+     * @param circuitBreaker     breaker each call to Cristin, including retries and hedges, passes inside its permit
+     * @param concurrencyLimiter limiter shared by all requests sent to Cristin, including hedges
+     * @param transport          transport sending the requests to Cristin
+     * @param projectStore       local copy of Cristin projects, also served as snapshot when Cristin is unavailable
+     * @param readStoreFirst     answer lookups from the store before calling Cristin
+     */
+    public CristinApiClient(RetryPolicy retryPolicy, RequestHedger requestHedger, CircuitBreaker circuitBreaker,
+                            ConcurrencyLimiter concurrencyLimiter, CristinTransport transport,
+                            ProjectStore projectStore, boolean readStoreFirst) {
+        this.retryPolicy = retryPolicy;
+        this.requestHedger = requestHedger;
+        this.circuitBreaker = circuitBreaker;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.transport = transport;
+        this.projectStore = projectStore;
+        this.readStoreFirst = readStoreFirst;
+    }
 
     /**
      * Creates a NvaProject object containing a single transformed Cristin Project. Is used for serialization to the
@@ -78,7 +172,10 @@ public class CristinApiClient {
 
     /**
      * Creates a wrapper object containing Cristin Projects transformed to NvaProjects with additional metadata. Is used
-     * for serialization to the client.
+     * for serialization to the client. Searches in CRISTIN_HARVEST_LANGUAGE are answered from the title index of the
+     * local store when the store is read first. Searches filtered or sorted by date or status are always answered from
+     * the local store, since Cristin cannot filter or sort by them, and are rejected in other languages than
+     * CRISTIN_HARVEST_LANGUAGE, since the store only holds the titles harvested in that language.
      *
      * @param requestQueryParams Request parameters from client containing title and language
      * @return a ProjectsWrapper filled with transformed Cristin Projects and metadata
@@ -87,20 +184,35 @@ public class CristinApiClient {
     public ProjectsWrapper queryCristinProjectsIntoWrapperObjectWithAdditionalMetadata(
         Map<String, String> requestQueryParams) throws ApiGatewayException {
 
+        if (LocalProjectSearch.hasFiltersOrSortOrder(requestQueryParams)) {
+            if (!CRISTIN_HARVEST_LANGUAGE.equals(requestQueryParams.get(LANGUAGE))) {
+                throw new BadRequestException(
+                    String.format(ERROR_MESSAGE_FILTERING_LANGUAGE_NOT_SUPPORTED, CRISTIN_HARVEST_LANGUAGE));
+            }
+            return queryCristinProjectsFromSnapshot(requestQueryParams)
+                .orElseThrow(() -> new ServiceUnavailableException(ERROR_MESSAGE_FILTERING_NOT_AVAILABLE));
+        }
+        if (readStoreFirst && CRISTIN_HARVEST_LANGUAGE.equals(requestQueryParams.get(LANGUAGE))) {
+            Optional<ProjectsWrapper> localResult = queryCristinProjectsFromSnapshot(requestQueryParams);
+            if (localResult.isPresent()) {
+                return localResult.get();
+            }
+        }
+
         long startRequestTime = System.currentTimeMillis();
         QueryType queryType = getQueryTypeBasedOnParams(requestQueryParams);
-        HttpResponse<String> response = queryProjects(requestQueryParams, queryType);
-        List<CristinProject> cristinProjects =
-            getEnrichedProjectsUsingQueryResponse(response, requestQueryParams.get(LANGUAGE));
-        if (cristinProjects.isEmpty() && queryType == QUERY_USING_GRANT_ID) {
-            response = queryProjects(requestQueryParams, QUERY_USING_TITLE);
-            cristinProjects = getEnrichedProjectsUsingQueryResponse(response, requestQueryParams.get(LANGUAGE));
+        CristinPageWindow pageWindow = getPageWindowBasedOnParams(requestQueryParams);
+        List<HttpResponse<String>> responses = queryProjectsInPageWindow(requestQueryParams, queryType, pageWindow);
+        List<NvaProject> nvaProjects =
+            getEnrichedProjectsUsingQueryResponses(responses, pageWindow, requestQueryParams.get(LANGUAGE));
+        if (nvaProjects.isEmpty() && queryType == QUERY_USING_GRANT_ID) {
+            responses = queryProjectsInPageWindow(requestQueryParams, QUERY_USING_TITLE, pageWindow);
+            nvaProjects =
+                getEnrichedProjectsUsingQueryResponses(responses, pageWindow, requestQueryParams.get(LANGUAGE));
         }
-        List<NvaProject> nvaProjects = mapValidCristinProjectsToNvaProjects(cristinProjects);
         long endRequestTime = System.currentTimeMillis();
 
-        return new ProjectsWrapper()
-            .usingHeadersAndQueryParams(response.headers(), requestQueryParams)
+        return createWrapperWithPagination(responses, pageWindow, requestQueryParams)
             .withProcessingTime(calculateProcessingTime(startRequestTime, endRequestTime))
             .withHits(nvaProjects);
     }
@@ -117,87 +229,397 @@ public class CristinApiClient {
                 logError(ERROR_MESSAGE_QUERY_WITH_PARAMS_FAILED, queryParameters(parameters), failure.getException()))
             .orElseThrow();
 
-        HttpResponse<String> response = fetchQueryResults(uri);
+        HttpResponse<String> response = fetchWithResilience(() -> fetchQueryResults(uri));
 
         checkHttpStatusCode(getNvaProjectUriWithParams(parameters).toString(), response.statusCode());
 
         return response;
     }
 
+    protected List<HttpResponse<String>> queryProjectsInPageWindow(Map<String, String> parameters, QueryType queryType,
+                                                                   CristinPageWindow pageWindow)
+        throws ApiGatewayException {
+
+        if (pageWindow.isSingleUpstreamPage()) {
+            return List.of(queryProjects(parameters, queryType));
+        }
+
+        List<CompletableFuture<HttpResponse<String>>> responsesContainer = pageWindow.getUpstreamPages().stream()
+            .map(upstreamPage -> parametersForUpstreamPage(parameters, upstreamPage, pageWindow))
+            .map(upstreamParameters -> queryProjectsAsync(upstreamParameters, queryType))
+            .collect(Collectors.toList());
+
+        List<HttpResponse<String>> responses = waitForAllResponses(responsesContainer);
+        for (HttpResponse<String> response : responses) {
+            checkHttpStatusCode(getNvaProjectUriWithParams(parameters).toString(), response.statusCode());
+        }
+
+        return responses;
+    }
+
+    private CompletableFuture<HttpResponse<String>> queryProjectsAsync(Map<String, String> parameters,
+                                                                       QueryType queryType) {
+        URI uri = attempt(() -> generateQueryProjectsUrl(parameters, queryType))
+            .toOptional(failure ->
+                logError(ERROR_MESSAGE_QUERY_WITH_PARAMS_FAILED, queryParameters(parameters), failure.getException()))
+            .orElseThrow();
+
+        return fetchWithResilienceAsync(() -> guarded(() -> fetchQueryResultsAsync(uri)));
+    }
+
+    private Map<String, String> parametersForUpstreamPage(Map<String, String> parameters, Long upstreamPage,
+                                                          CristinPageWindow pageWindow) {
+        Map<String, String> upstreamParameters = new ConcurrentHashMap<>(parameters);
+        upstreamParameters.put(PAGE, String.valueOf(upstreamPage));
+        upstreamParameters.put(NUMBER_OF_RESULTS, String.valueOf(pageWindow.getUpstreamPageSize()));
+        return upstreamParameters;
+    }
+
+    private CristinPageWindow getPageWindowBasedOnParams(Map<String, String> requestQueryParams) {
+        return CristinPageWindow.fromClientPage(
+            Integer.parseInt(requestQueryParams.get(PAGE)),
+            Integer.parseInt(requestQueryParams.get(NUMBER_OF_RESULTS)),
+            CRISTIN_MAX_UPSTREAM_PAGE_SIZE);
+    }
+
+    private ProjectsWrapper createWrapperWithPagination(List<HttpResponse<String>> responses,
+                                                        CristinPageWindow pageWindow,
+                                                        Map<String, String> requestQueryParams)
+        throws BadRequestException {
+
+        HttpHeaders headers = responses.get(0).headers();
+        return pageWindow.isSingleUpstreamPage()
+            ? new ProjectsWrapper().usingHeadersAndQueryParams(headers, requestQueryParams)
+            : new ProjectsWrapper().usingMergedHeadersAndQueryParams(headers, requestQueryParams);
+    }
+
     protected CristinProject getProject(String id, String language) throws ApiGatewayException {
+        Optional<CristinProject> storedProject = getStoredProject(id, language);
+        return storedProject.isPresent() ? storedProject.get() : fetchProjectFromCristin(id, language);
+    }
+
+    /**
+     * Fetches a project from Cristin, without looking in the local store.
+     *
+     * @param id       the Cristin id of the project
+     * @param language language used for some properties in the Cristin response
+     * @return the project
+     * @throws ApiGatewayException if Cristin does not have the project or fails
+     */
+    protected CristinProject fetchProjectFromCristin(String id, String language) throws ApiGatewayException {
         URI uri = attempt(() -> generateGetProjectUri(id, language))
             .toOptional(failure -> logError(ERROR_MESSAGE_FETCHING_CRISTIN_PROJECT_WITH_ID, id, failure.getException()))
             .orElseThrow();
 
-        HttpResponse<String> response = fetchGetResult(uri);
+        HttpResponse<String> response = fetchWithResilience(() -> fetchGetResult(uri));
 
         checkHttpStatusCode(getNvaProjectUriWithId(id).toString(), response.statusCode());
 
         return getDeserializedResponse(response, CristinProject.class);
     }
 
-    protected List<CristinProject> getEnrichedProjectsUsingQueryResponse(HttpResponse<String> response,
-                                                                         String language)
+    /**
+     * Fetches a page of the project listing of Cristin, as used when harvesting all projects.
+     *
+     * @param page     the page, starting with 1
+     * @param pageSize projects per page
+     * @param language language used for some properties in the Cristin response
+     * @return the projects on the page, an empty list after the last page
+     * @throws ApiGatewayException if Cristin fails
+     */
+    protected List<CristinProject> fetchProjectPage(long page, int pageSize, String language)
         throws ApiGatewayException {
 
-        List<CristinProject> projectsFromQuery = asList(getDeserializedResponse(response, CristinProject[].class));
-        List<URI> cristinUris = extractCristinUrisFromProjects(language, projectsFromQuery);
-        List<HttpResponse<String>> individualResponses = fetchQueryResultsOneByOne(cristinUris);
+        URI uri = attempt(() -> new CristinQuery()
+            .withLanguage(language)
+            .withFromPage(String.valueOf(page))
+            .withItemsPerPage(String.valueOf(pageSize))
+            .toURI())
+            .orElseThrow();
+
+        HttpResponse<String> response = fetchWithResilience(() -> fetchQueryResults(uri));
 
-        List<CristinProject> enrichedCristinProjects = mapValidResponsesToCristinProjects(individualResponses);
+        checkHttpStatusCode(uri.toString(), response.statusCode());
 
-        return allProjectsWereEnriched(projectsFromQuery, enrichedCristinProjects)
-            ? enrichedCristinProjects
-            : combineResultsWithQueryInCaseEnrichmentFails(projectsFromQuery, enrichedCristinProjects);
+        return asList(getDeserializedResponse(response, CristinProject[].class));
     }
 
-    protected List<CristinProject> combineResultsWithQueryInCaseEnrichmentFails(
-        List<CristinProject> projectsFromQuery,
-        List<CristinProject> enrichedProjects) {
+    /**
+     * Returns the last harvested version of a project from the local store, for serving while Cristin is unavailable.
+     * The stored version is returned whatever language is requested.
+     *
+     * @param id       the Cristin id of the project
+     * @param language language of the request
+     * @return the stored project, or empty if it is not stored or cannot be read
+     */
+    public Optional<NvaProject> queryOneCristinProjectFromSnapshot(String id, String language) {
+        return readStoredProject(id)
+            .map(NvaProjectBuilder::new)
+            .map(builder -> builder.withContext(PROJECT_LOOKUP_CONTEXT_URL))
+            .map(NvaProjectBuilder::build);
+    }
 
-        Set<String> enrichedProjectIds = enrichedProjects.stream()
-            .map(CristinProject::getCristinProjectId)
-            .collect(Collectors.toSet());
+    /**
+     * Searches the projects of the local store using the title index of the latest refreshStoreIndexes. Answers
+     * searches when the store is read first, and while Cristin is unavailable.
+     *
+     * @param requestQueryParams request parameters containing language, page and number of results, and optionally
+     *                           query, filters and sort order
+     * @return a page of matching stored projects, or empty if there are no stored projects to search, or they have not
+     *     been indexed yet
+     * @throws BadRequestException if the page requested is beyond the matching projects
+     */
+    public Optional<ProjectsWrapper> queryCristinProjectsFromSnapshot(Map<String, String> requestQueryParams)
+        throws BadRequestException {
 
-        List<CristinProject> missingProjects = projectsFromQuery.stream()
-            .filter(queryProject -> !enrichedProjectIds.contains(queryProject.getCristinProjectId()))
-            .collect(Collectors.toList());
+        LocalProjectSearch localProjectSearch = storeIndexes.get().search;
+        if (localProjectSearch.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(localProjectSearch.search(requestQueryParams));
+    }
 
-        ArrayList<CristinProject> result = new ArrayList<>();
-        result.addAll(enrichedProjects);
-        result.addAll(missingProjects);
-        return result;
+    /**
+     * Lists the projects a person or an organization takes part in, using the participant indexes of the latest
+     * refreshStoreIndexes. Cristin is never called, since it cannot list projects by participant.
+     *
+     * @param participant        whether the id is of a person or an organization
+     * @param id                 the Cristin id of the person, institution or unit
+     * @param requestQueryParams request parameters containing page and number of results
+     * @return a page of projects of the participant, newest start date first
+     * @throws ApiGatewayException if there are no stored projects, or the page requested is beyond the projects
+     */
+    public ProjectsWrapper queryProjectsOfParticipant(Participant participant, String id,
+                                                      Map<String, String> requestQueryParams)
+        throws ApiGatewayException {
+
+        LocalProjectSearch localProjectSearch = storeIndexes.get().search;
+        if (localProjectSearch.isEmpty()) {
+            throw new ServiceUnavailableException(ERROR_MESSAGE_PARTICIPANT_PROJECTS_NOT_AVAILABLE);
+        }
+        return localProjectSearch.projectsOf(participant, id, requestQueryParams);
     }
 
-    protected List<HttpResponse<String>> fetchQueryResultsOneByOne(List<URI> uris) {
-        List<CompletableFuture<HttpResponse<String>>> responsesContainer =
-            uris.stream().map(this::fetchGetResultAsync).collect(Collectors.toList());
+    /**
+     * Suggests titles of projects in the local store starting with the prefix, or having a word starting with it, using
+     * the suggestions of the latest refreshStoreIndexes. Cristin is never called.
+     *
+     * @param prefix              the prefix typed by the user
+     * @param numberOfSuggestions the maximum number of suggestions
+     * @return the suggestions, best first
+     * @throws ServiceUnavailableException if there are no stored titles to suggest, or they have not been indexed yet
+     */
+    public ProjectSuggestions suggestProjectTitles(String prefix, int numberOfSuggestions)
+        throws ServiceUnavailableException {
 
-        return collectSuccessfulResponsesOrThrowException(responsesContainer);
+        long startRequestTime = System.currentTimeMillis();
+        TitleSuggester titleSuggester = storeIndexes.get().suggester;
+        if (titleSuggester.size() == 0) {
+            throw new ServiceUnavailableException(ERROR_MESSAGE_SUGGESTIONS_NOT_AVAILABLE);
+        }
+        List<TitleSuggester.Suggestion> suggestions = titleSuggester.suggest(prefix, numberOfSuggestions);
+        return new ProjectSuggestions(prefix,
+            calculateProcessingTime(startRequestTime, System.currentTimeMillis()), suggestions);
     }
 
-    private boolean allProjectsWereEnriched(List<CristinProject> projectsFromQuery,
-                                            List<CristinProject> enrichedCristinProjects) {
-        return projectsFromQuery.size() == enrichedCristinProjects.size();
+    /**
+     * Builds the title index, participant indexes and title suggestions of the local store, and swaps them in for the
+     * ones answering requests, unless they were built from the same complete harvest. Requests are never blocked while
+     * the indexes are built, and go on using the previous ones until the swap.
+     *
+     * @return true if new indexes were swapped in
+     */
+    public synchronized boolean refreshStoreIndexes() {
+        Optional<Instant> snapshotTime = projectStore.snapshotTime();
+        StoreIndexes current = storeIndexes.get();
+        if (current != StoreIndexes.NOT_BUILT && current.snapshotTime.equals(snapshotTime)) {
+            return false;
+        }
+        StoreIndexes rebuilt = new StoreIndexes(snapshotTime, new LocalProjectSearch(projectStore),
+            TitleSuggester.of(LocalProjectSearch.readProjects(projectStore)::iterator));
+        storeIndexes.set(rebuilt);
+        logger.info("Indexed local store harvested at {}", snapshotTime.map(Instant::toString).orElse("unknown time"));
+        return true;
     }
 
-    @JacocoGenerated
-    protected CompletableFuture<HttpResponse<String>> fetchGetResultAsync(URI uri) {
-        return client.sendAsync(
-            HttpRequest.newBuilder(uri).GET().build(),
-            BodyHandlers.ofString(StandardCharsets.UTF_8));
+    /**
+     * Runs refreshStoreIndexes on a background thread. Failures are logged, and the previous indexes kept.
+     *
+     * @return a future completing when the indexes are refreshed or found up to date
+     */
+    public CompletableFuture<Boolean> refreshStoreIndexesAsync() {
+        return CompletableFuture.supplyAsync(this::refreshStoreIndexes, storeIndexingExecutor)
+            .exceptionally(failure -> {
+                logger.warn(ERROR_MESSAGE_STORE_INDEXING_FAILED, failure);
+                return false;
+            });
+    }
+
+    /**
+     * Time since the local store was last harvested completely.
+     *
+     * @return the age of the snapshot, or empty if it is not known
+     */
+    public Optional<Duration> snapshotAge() {
+        return projectStore.snapshotTime().map(time -> Duration.between(time, Instant.now()));
+    }
+
+    private Optional<CristinProject> getStoredProject(String id, String language) {
+        if (!readStoreFirst || !CRISTIN_HARVEST_LANGUAGE.equals(language)) {
+            return Optional.empty();
+        }
+        return readStoredProject(id);
+    }
+
+    private Optional<CristinProject> readStoredProject(String id) {
+        return attempt(() -> projectStore.getProject(id))
+            .toOptional(failure -> logError(ERROR_MESSAGE_READING_STORED_PROJECT_FAILED, id, failure.getException()))
+            .flatMap(project -> project)
+            .filter(CristinProject::hasValidContent);
+    }
+
+    protected List<NvaProject> getEnrichedProjectsUsingQueryResponses(List<HttpResponse<String>> responses,
+                                                                      CristinPageWindow pageWindow,
+                                                                      String language)
+        throws ApiGatewayException {
+
+        if (pageWindow.isSingleUpstreamPage()) {
+            return getEnrichedProjectsUsingQueryResponse(responses.get(0), language);
+        }
+
+        List<CristinProject> mergedProjectsFromQuery = new ArrayList<>();
+        for (HttpResponse<String> response : responses) {
+            mergedProjectsFromQuery.addAll(asList(getDeserializedResponse(response, CristinProject[].class)));
+        }
+
+        return getEnrichedProjects(pageWindow.sliceMergedResults(mergedProjectsFromQuery), language);
+    }
+
+    protected List<NvaProject> getEnrichedProjectsUsingQueryResponse(HttpResponse<String> response, String language)
+        throws ApiGatewayException {
+
+        return getEnrichedProjects(asList(getDeserializedResponse(response, CristinProject[].class)), language);
     }
 
-    private List<HttpResponse<String>> collectSuccessfulResponsesOrThrowException(
-        List<CompletableFuture<HttpResponse<String>>> responsesContainer) {
+    /**
+     * Enriches the hits with at most CRISTIN_ENRICHMENT_CONCURRENCY lookups in flight for the request. Each hit is
+     * looked up when the hit CRISTIN_ENRICHMENT_CONCURRENCY places before it is done, so a page of many hits waits here
+     * instead of filling the queue of the concurrency limiter shared with other requests.
+     */
+    private List<NvaProject> getEnrichedProjects(List<CristinProject> projectsFromQuery, String language) {
+        List<CompletableFuture<Optional<NvaProject>>> hits = new ArrayList<>(projectsFromQuery.size());
+        for (CristinProject projectFromQuery : projectsFromQuery) {
+            int previousInLane = hits.size() - CRISTIN_ENRICHMENT_CONCURRENCY;
+            CompletableFuture<?> laneReady = previousInLane < 0
+                ? CompletableFuture.completedFuture(null)
+                : hits.get(previousInLane);
+            hits.add(laneReady.handle((previous, failure) -> projectFromQuery)
+                .thenCompose(project -> enrichAndTransformAsync(project, language)));
+        }
 
-        return responsesContainer.stream()
-            .map(attempt(CompletableFuture::get))
-            .map(Try::orElseThrow)
-            .filter(this::isSuccessfulRequest)
+        return hits.stream()
+            .map(CompletableFuture::join)
+            .flatMap(Optional::stream)
             .collect(Collectors.toList());
     }
 
+    /**
+     * Fetches the full project and transforms it as soon as its response arrives. Deserialization and transformation
+     * run on a bounded pool while the responses of the other hits are still in flight. Slow fetches are hedged by the
+     * RequestHedger. The project from the query response is used when the full project cannot be fetched or read,
+     * which includes when the circuit breaker is open or the concurrency limit is exceeded.
+     *
+     * @param projectFromQuery the project as returned by the query
+     * @param language         language used for some properties in Cristin API response
+     * @return the transformed project, or empty if neither version of the project has valid content
+     */
+    protected CompletableFuture<Optional<NvaProject>> enrichAndTransformAsync(CristinProject projectFromQuery,
+                                                                             String language) {
+        URI uri = attempt(() -> generateGetProjectUri(projectFromQuery.getCristinProjectId(), language)).orElseThrow();
+
+        return fetchWithResilienceAsync(() -> requestHedger.hedge(() -> guarded(() -> fetchGetResultAsync(uri))))
+            .handleAsync((response, failure) -> enrichedOrQueryProject(projectFromQuery, response, failure),
+                transformationExecutor)
+            .thenApply(project -> Optional.of(project)
+                .filter(CristinProject::hasValidContent)
+                .map(CristinProject::toNvaProject));
+    }
+
+    private CristinProject enrichedOrQueryProject(CristinProject projectFromQuery, HttpResponse<String> response,
+                                                  Throwable failure) {
+        if (failure != null || !isSuccessfulRequest(response)) {
+            return projectFromQuery;
+        }
+
+        return attempt(() -> fromJson(response.body(), CristinProject.class))
+            .toOptional(deserializationFailure ->
+                logError(ERROR_MESSAGE_READING_RESPONSE_FAIL, response.body(), deserializationFailure.getException()))
+            .filter(CristinProject::hasValidContent)
+            .orElse(projectFromQuery);
+    }
+
+    protected CompletableFuture<HttpResponse<String>> fetchGetResultAsync(URI uri) {
+        return transport.sendAsync(uri).thenApply(TransportResponse::toHttpResponse);
+    }
+
+    /**
+     * Opens a connection to the Cristin host, so the first request does not pay for connection and TLS setup.
+     *
+     * @return a future completing when Cristin has responded
+     */
+    public CompletableFuture<Void> openConnectionToCristin() {
+        return transport.openConnection(URI.create(CRISTIN_API_BASE_URL));
+    }
+
+    protected CompletableFuture<HttpResponse<String>> fetchQueryResultsAsync(URI uri) {
+        return transport.sendAsync(uri).thenApply(TransportResponse::toHttpResponse);
+    }
+
+    private HttpResponse<String> fetchWithResilience(Supplier<HttpResponse<String>> request)
+        throws ServiceUnavailableException {
+
+        Supplier<HttpResponse<String>> guardedRequest = () -> concurrencyLimiter.execute(
+            () -> circuitBreaker.execute(request, this::isServerError), this::isServerError);
+        try {
+            return retryPolicy.execute(guardedRequest, this::isServerError);
+        } catch (UpstreamCallRejectedException e) {
+            throw new ServiceUnavailableException(ERROR_MESSAGE_BACKEND_UNAVAILABLE);
+        }
+    }
+
+    /**
+     * Makes the request once the concurrency limiter grants a permit and the circuit breaker permits it. The breaker is
+     * passed inside the permit, so time spent waiting for a permit is not counted as a slow call, and calls rejected by
+     * the limiter never reach the breaker.
+     */
+    private CompletableFuture<HttpResponse<String>> guarded(Supplier<CompletableFuture<HttpResponse<String>>> request) {
+        return concurrencyLimiter.executeAsync(() -> circuitBreaker.executeAsync(request, this::isServerError),
+            this::isServerError);
+    }
+
+    private CompletableFuture<HttpResponse<String>> fetchWithResilienceAsync(
+        Supplier<CompletableFuture<HttpResponse<String>>> request) {
+
+        return retryPolicy.executeAsync(request, this::isServerError);
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private List<HttpResponse<String>> waitForAllResponses(
+        List<CompletableFuture<HttpResponse<String>>> responsesContainer) throws ServiceUnavailableException {
+
+        try {
+            return responsesContainer.stream()
+                .map(attempt(CompletableFuture::get))
+                .map(Try::orElseThrow)
+                .collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            if (UpstreamCallRejectedException.isCauseOf(e)) {
+                throw new ServiceUnavailableException(ERROR_MESSAGE_BACKEND_UNAVAILABLE);
+            }
+            throw e;
+        }
+    }
+
     protected boolean isSuccessfulRequest(HttpResponse<String> response) {
         try {
             checkHttpStatusCode(nullableUriToString(response.uri()), response.statusCode());
@@ -211,13 +633,6 @@ public class CristinApiClient {
         return Optional.ofNullable(uri).orElse(new URI(EMPTY_STRING)).toString();
     }
 
-    private List<URI> extractCristinUrisFromProjects(String language, List<CristinProject> projectsFromQuery) {
-        return projectsFromQuery.stream()
-            .map(attempt(project -> generateGetProjectUri(project.getCristinProjectId(), language)))
-            .map(Try::orElseThrow)
-            .collect(Collectors.toList());
-    }
-
     private QueryType getQueryTypeBasedOnParams(Map<String, String> requestQueryParams) {
         return Utils.isPositiveInteger(requestQueryParams.get(QUERY)) ? QUERY_USING_GRANT_ID : QUERY_USING_TITLE;
     }
@@ -243,19 +658,8 @@ public class CristinApiClient {
         return endRequestTime - startRequestTime;
     }
 
-    @JacocoGenerated
     protected HttpResponse<String> fetchGetResult(URI uri) {
-        HttpRequest httpRequest = HttpRequest.newBuilder(uri).build();
-
-        return attempt(() -> client.send(httpRequest, BodyHandlers.ofString(StandardCharsets.UTF_8))).orElseThrow();
-    }
-
-    private List<CristinProject> mapValidResponsesToCristinProjects(List<HttpResponse<String>> responses) {
-        return responses.stream()
-            .map(attempt(response -> getDeserializedResponse(response, CristinProject.class)))
-            .map(Try::orElseThrow)
-            .filter(CristinProject::hasValidContent)
-            .collect(Collectors.toList());
+        return attempt(() -> transport.send(uri)).orElseThrow().toHttpResponse();
     }
 
     private BadGatewayException projectHasNotValidContent(String id) {
@@ -263,11 +667,8 @@ public class CristinApiClient {
         return new BadGatewayException(String.format(ERROR_MESSAGE_CRISTIN_PROJECT_MATCHING_ID_IS_NOT_VALID, id));
     }
 
-    @JacocoGenerated
     protected HttpResponse<String> fetchQueryResults(URI uri) {
-        HttpRequest httpRequest = HttpRequest.newBuilder(uri).build();
-
-        return attempt(() -> client.send(httpRequest, BodyHandlers.ofString(StandardCharsets.UTF_8))).orElseThrow();
+        return attempt(() -> transport.send(uri)).orElseThrow().toHttpResponse();
     }
 
     private <T> T getDeserializedResponse(HttpResponse<String> response, Class<T> classOfT)
@@ -305,6 +706,10 @@ public class CristinApiClient {
         return statusCode >= FIRST_NON_SUCCESS_CODE;
     }
 
+    private boolean isServerError(HttpResponse<String> response) {
+        return remoteServerHasInternalProblems(response.statusCode());
+    }
+
     private boolean remoteServerHasInternalProblems(int statusCode) {
         return statusCode >= HttpURLConnection.HTTP_INTERNAL_ERROR;
     }
@@ -313,14 +718,26 @@ public class CristinApiClient {
         logger.error(String.format(ERROR_MESSAGE_BACKEND_FAILED_WITH_STATUSCODE, statusCode, uri));
     }
 
-    private List<NvaProject> mapValidCristinProjectsToNvaProjects(List<CristinProject> cristinProjects) {
-        return cristinProjects.stream()
-            .filter(CristinProject::hasValidContent)
-            .map(CristinProject::toNvaProject)
-            .collect(Collectors.toList());
-    }
-
     private void logError(String message, String data, Exception failure) {
         logger.error(String.format(message, data, failure.getMessage()));
     }
+
+    /**
+     * Indexes of the local store built together from the same complete harvest.
+     */
+    private static final class StoreIndexes {
+
+        private static final StoreIndexes NOT_BUILT = new StoreIndexes(Optional.empty(),
+            new LocalProjectSearch(ProjectStore.empty()), TitleSuggester.of(List.of()));
+
+        private final Optional<Instant> snapshotTime;
+        private final LocalProjectSearch search;
+        private final TitleSuggester suggester;
+
+        private StoreIndexes(Optional<Instant> snapshotTime, LocalProjectSearch search, TitleSuggester suggester) {
+            this.snapshotTime = snapshotTime;
+            this.search = search;
+            this.suggester = suggester;
+        }
+    }
 }
@@ -1,41 +1,328 @@
 package no.unit.nva.cristin.projects;
 
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_SNAPSHOT_FALLBACK_ENABLED;
+import static no.unit.nva.cristin.projects.Constants.DEFAULT_NUMBER_OF_RESULTS;
+import static no.unit.nva.cristin.projects.Constants.FIRST_PAGE;
 import static no.unit.nva.cristin.projects.Constants.LANGUAGE;
+import static no.unit.nva.cristin.projects.Constants.MAX_NUMBER_OF_RESULTS;
+import static no.unit.nva.cristin.projects.Constants.NUMBER_OF_RESULTS;
+import static no.unit.nva.cristin.projects.Constants.OBJECT_MAPPER;
+import static no.unit.nva.cristin.projects.Constants.PAGE;
+import static no.unit.nva.cristin.projects.Constants.TRACKED_REQUESTS_MAXIMUM_SIZE;
+import static no.unit.nva.cristin.projects.Constants.WARM_UP_REFRESH_COUNT;
+import static no.unit.nva.cristin.projects.Constants.WARM_UP_RESPONSE_MAX_AGE_MILLIS;
+import static no.unit.nva.cristin.projects.Constants.WARM_UP_TIME_BUDGET_MILLIS;
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_LANGUAGE_INVALID;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_NUMBER_OF_RESULTS_VALUE_INVALID;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_PAGE_VALUE_INVALID;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_SERVING_FROM_SNAPSHOT;
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_UNACCEPTABLE_CONTENT_TYPE;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_WARM_UP_CONNECTION_FAILED;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_WARM_UP_REFRESH_FAILED;
 import static nva.commons.apigateway.ContentTypes.APPLICATION_JSON;
 import static nva.commons.apigateway.ContentTypes.APPLICATION_JSON_LD;
 import static nva.commons.core.attempt.Try.attempt;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import no.unit.nva.cristin.projects.RequestTracker.TrackedRequest;
 import nva.commons.apigateway.ApiGatewayHandler;
 import nva.commons.apigateway.HttpHeaders;
 import nva.commons.apigateway.RequestInfo;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.BadGatewayException;
 import nva.commons.apigateway.exceptions.BadRequestException;
 import nva.commons.core.Environment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public abstract class CristinHandler<I, O> extends ApiGatewayHandler<I, O> {
 
     protected static final String DEFAULT_LANGUAGE_CODE = "nb";
+    protected static final String WARM_UP_REFRESH_HEADER = "X-Warm-Up-Refresh";
+    private static final Logger logger = LoggerFactory.getLogger(CristinHandler.class);
+    private static final String EVENT_SOURCE = "source";
+    private static final String EVENT_DETAIL_TYPE = "detail-type";
+    private static final String SCHEDULED_EVENT_SOURCE = "aws.events";
+    private static final String SCHEDULED_EVENT_DETAIL_TYPE = "Scheduled Event";
+    private static final String WARM_UP = "warmup";
+    private static final String WARM_UP_KEY = "\"warmup\"";
+    private static final String SCHEDULED_EVENT_SOURCE_VALUE = "\"aws.events\"";
+    private static final int WARM_UP_EVENT_MAXIMUM_SIZE = 4096;
+    private static final String REFRESHED_REQUESTS = "refreshedRequests";
+    private static final String WARNING = "Warning";
+    private static final String AGE = "Age";
+    private static final String STALE_RESPONSE_WARNING = "110 - \"Response is Stale\"";
     private static final Set<String> VALID_LANGUAGE_CODES = Set.of("en", "nb", "nn");
     private static final Set<String> SUPPORTED_CONTENT_TYPES = Set.of(APPLICATION_JSON, APPLICATION_JSON_LD);
     private static final Set<String> DEFAULT_ACCEPT_HEADERS = Set.of("*/*", "");
-    private final transient Map<String, String> additionalHeaders;
+    private final transient ThreadLocal<Map<String, String>> negotiatedHeaders =
+        ThreadLocal.withInitial(ConcurrentHashMap::new);
+    private final transient RequestTracker requestTracker = new RequestTracker(TRACKED_REQUESTS_MAXIMUM_SIZE);
+    private final transient Map<TrackedRequest, RefreshedResponse<O>> refreshedResponses = new ConcurrentHashMap<>();
+    protected final transient CristinApiClient cristinApiClient;
 
-    public CristinHandler(Class<I> iclass, Environment environment) {
+    /**
+     * Creates a handler and starts indexing the local store of the client in the background, so the indexes are built
+     * while the container initializes rather than on the first request.
+     *
+     * @param iclass           class of the request body
+     * @param cristinApiClient client calling Cristin and searching the local store
+     * @param environment      environment the handler is configured by
+     */
+    public CristinHandler(Class<I> iclass, CristinApiClient cristinApiClient, Environment environment) {
         super(iclass, environment);
-        this.additionalHeaders = new ConcurrentHashMap<>();
+        this.cristinApiClient = cristinApiClient;
+        cristinApiClient.refreshStoreIndexesAsync();
+    }
+
+    /**
+     * Handles scheduled warm-up events without going through the API Gateway request handling, and passes all other
+     * events on to it. Only the start of the event is buffered to tell warm-up events apart, and it is only parsed if
+     * the whole event fits in it and contains one of the warm-up keys.
+     */
+    @Override
+    public void handleRequest(InputStream inputStream, OutputStream outputStream, Context context)
+        throws IOException {
+        BufferedInputStream event = new BufferedInputStream(inputStream, WARM_UP_EVENT_MAXIMUM_SIZE + 1);
+        event.mark(WARM_UP_EVENT_MAXIMUM_SIZE + 1);
+        byte[] start = event.readNBytes(WARM_UP_EVENT_MAXIMUM_SIZE + 1);
+        if (isWarmUpEvent(start)) {
+            int refreshedRequests = warmUp(context);
+            OBJECT_MAPPER.writeValue(outputStream, Map.of(WARM_UP, true, REFRESHED_REQUESTS, refreshedRequests));
+            return;
+        }
+        event.reset();
+
+        clearNegotiatedHeaders();
+        try {
+            super.handleRequest(event, outputStream, context);
+        } finally {
+            clearNegotiatedHeaders();
+        }
+    }
+
+    /**
+     * Reopens the connection to Cristin, reindexes the local store in the background if it has been harvested since it
+     * was indexed, and processes the most requested requests seen by this handler again, most requested first, until
+     * WARM_UP_REFRESH_COUNT requests are refreshed or WARM_UP_TIME_BUDGET_MILLIS has passed. The refreshed responses
+     * are kept, and answer the same requests until WARM_UP_RESPONSE_MAX_AGE_MILLIS has passed. Responses of requests
+     * that are no longer refreshed are discarded. Afterwards the request counts are halved, so the refreshed set
+     * follows changes in traffic. Only the connection is reopened when the maximum age is 0.
+     *
+     * @param context the Lambda context of the warm-up invocation
+     * @return the number of requests refreshed successfully
+     */
+    protected int warmUp(Context context) {
+        long deadline = System.currentTimeMillis() + WARM_UP_TIME_BUDGET_MILLIS;
+        ColdStartPrimer.primeOnceIfEnabled(cristinApiClient);
+        cristinApiClient.refreshStoreIndexesAsync();
+        attempt(() -> cristinApiClient.openConnectionToCristin().get(WARM_UP_TIME_BUDGET_MILLIS, TimeUnit.MILLISECONDS))
+            .toOptional(failure -> logger.warn(ERROR_MESSAGE_WARM_UP_CONNECTION_FAILED, failure.getException()));
+
+        Set<TrackedRequest> refreshed = new HashSet<>();
+        if (WARM_UP_RESPONSE_MAX_AGE_MILLIS > 0) {
+            for (TrackedRequest request : requestTracker.mostRequested(WARM_UP_REFRESH_COUNT)) {
+                if (System.currentTimeMillis() >= deadline) {
+                    break;
+                }
+                if (refresh(request, context)) {
+                    refreshed.add(request);
+                }
+            }
+        }
+        refreshedResponses.keySet().retainAll(refreshed);
+        requestTracker.decay();
+        logger.info("Upstream metrics: {}", UpstreamMetrics.defaultMetrics().snapshot());
+        return refreshed.size();
+    }
+
+    /**
+     * Answers the request with the response refreshed for it on the last warm-up, if there is one younger than
+     * WARM_UP_RESPONSE_MAX_AGE_MILLIS, and otherwise with the supplied call. The response is marked with an Age header
+     * when it was refreshed earlier. The request is counted, so it can be refreshed on warm-up, unless it is made by
+     * the warm-up itself.
+     *
+     * @param requestInfo the request being processed
+     * @param call        the call answering the request
+     * @return the response to the request
+     * @throws ApiGatewayException the failure of the call
+     */
+    protected O trackedResponse(RequestInfo requestInfo, CristinCall<O> call) throws ApiGatewayException {
+        return trackedResponse(requestInfo, Optional.ofNullable(requestInfo.getQueryParameters()).orElse(Map.of()),
+            call);
+    }
+
+    /**
+     * Like trackedResponse(RequestInfo, CristinCall), but looks up and counts the request under the supplied query
+     * parameters, so requests only differing in how their parameters were typed are answered and counted as one.
+     *
+     * @param requestInfo     the request being processed
+     * @param queryParameters the normalized query parameters of the request
+     * @param call            the call answering the request
+     * @return the response to the request
+     * @throws ApiGatewayException the failure of the call
+     */
+    protected O trackedResponse(RequestInfo requestInfo, Map<String, String> queryParameters, CristinCall<O> call)
+        throws ApiGatewayException {
+        boolean isRefresh = Optional.ofNullable(requestInfo.getHeaders())
+            .map(headers -> headers.containsKey(WARM_UP_REFRESH_HEADER))
+            .orElse(false);
+        if (isRefresh) {
+            return call.call();
+        }
+        TrackedRequest request = new TrackedRequest(
+            Optional.ofNullable(requestInfo.getPathParameters()).orElse(Map.of()), queryParameters);
+        O response = refreshedResponse(request).orElse(null);
+        if (response == null) {
+            response = call.call();
+        }
+        requestTracker.record(request);
+        return response;
+    }
+
+    protected RequestTracker getRequestTracker() {
+        return requestTracker;
+    }
+
+    private Optional<O> refreshedResponse(TrackedRequest request) {
+        RefreshedResponse<O> refreshed = refreshedResponses.get(request);
+        if (refreshed == null) {
+            return Optional.empty();
+        }
+        long ageMillis = System.currentTimeMillis() - refreshed.refreshedAtMillis;
+        if (ageMillis >= WARM_UP_RESPONSE_MAX_AGE_MILLIS) {
+            return Optional.empty();
+        }
+        negotiatedHeaders.get().put(AGE, String.valueOf(TimeUnit.MILLISECONDS.toSeconds(Math.max(0, ageMillis))));
+        return Optional.of(refreshed.response);
+    }
+
+    /**
+     * Processes the request again and keeps the response. A response answered from the snapshot is not kept, so
+     * requests keep going to Cristin when it is available again.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private boolean refresh(TrackedRequest request, Context context) {
+        RequestInfo requestInfo = new RequestInfo();
+        requestInfo.setHeaders(Map.of(WARM_UP_REFRESH_HEADER, Boolean.TRUE.toString()));
+        requestInfo.setPathParameters(request.getPathParameters());
+        requestInfo.setQueryParameters(request.getQueryParameters());
+        try {
+            O response = processInput(null, requestInfo, context);
+            if (negotiatedHeaders.get().containsKey(WARNING)) {
+                refreshedResponses.remove(request);
+                return false;
+            }
+            refreshedResponses.put(request, new RefreshedResponse<>(response, System.currentTimeMillis()));
+            return true;
+        } catch (ApiGatewayException | RuntimeException e) {
+            logger.warn(ERROR_MESSAGE_WARM_UP_REFRESH_FAILED, e);
+            refreshedResponses.remove(request);
+            return false;
+        } finally {
+            clearNegotiatedHeaders();
+        }
+    }
+
+    /**
+     * Calls Cristin, and when Cristin is unavailable answers from the snapshot of the local store instead if
+     * CRISTIN_SNAPSHOT_FALLBACK_ENABLED is set. A response from the snapshot is marked stale with a Warning header,
+     * and an Age header when the time of the snapshot is known.
+     *
+     * @param upstreamCall the call to Cristin
+     * @param snapshotCall the call answering from the snapshot, empty when the snapshot cannot answer
+     * @param <T>          type of the response
+     * @return the response from Cristin, or from the snapshot when Cristin is unavailable
+     * @throws ApiGatewayException the failure of the call to Cristin if the snapshot cannot answer
+     */
+    protected <T> T withSnapshotFallback(CristinCall<T> upstreamCall, CristinCall<Optional<T>> snapshotCall)
+        throws ApiGatewayException {
+        return withSnapshotFallback(upstreamCall, snapshotCall, CRISTIN_SNAPSHOT_FALLBACK_ENABLED);
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    protected <T> T withSnapshotFallback(CristinCall<T> upstreamCall, CristinCall<Optional<T>> snapshotCall,
+                                         boolean fallbackEnabled) throws ApiGatewayException {
+        try {
+            return upstreamCall.call();
+        } catch (BadGatewayException | ServiceUnavailableException e) {
+            return fromSnapshotOrRethrow(snapshotCall, fallbackEnabled, e);
+        } catch (RuntimeException e) {
+            if (!isUpstreamFailure(e)) {
+                throw e;
+            }
+            return fromSnapshotOrRethrow(snapshotCall, fallbackEnabled, e);
+        }
+    }
+
+    private <T, E extends Exception> T fromSnapshotOrRethrow(CristinCall<Optional<T>> snapshotCall,
+                                                             boolean fallbackEnabled, E upstreamFailure)
+        throws ApiGatewayException, E {
+        if (!fallbackEnabled) {
+            throw upstreamFailure;
+        }
+        Optional<T> snapshotResponse = snapshotCall.call();
+        if (snapshotResponse.isEmpty()) {
+            throw upstreamFailure;
+        }
+        logger.warn(ERROR_MESSAGE_SERVING_FROM_SNAPSHOT, upstreamFailure);
+        negotiatedHeaders.get().put(WARNING, STALE_RESPONSE_WARNING);
+        cristinApiClient.snapshotAge()
+            .ifPresent(age -> negotiatedHeaders.get().put(AGE, String.valueOf(Math.max(0, age.toSeconds()))));
+        return snapshotResponse.get();
+    }
+
+    private static boolean isUpstreamFailure(RuntimeException e) {
+        return e instanceof UpstreamCallRejectedException || e.getCause() instanceof IOException;
+    }
+
+    private static boolean isWarmUpEvent(byte[] event) {
+        if (event.length > WARM_UP_EVENT_MAXIMUM_SIZE) {
+            return false;
+        }
+        String text = new String(event, StandardCharsets.UTF_8);
+        if (!text.contains(WARM_UP_KEY) && !text.contains(SCHEDULED_EVENT_SOURCE_VALUE)) {
+            return false;
+        }
+        return attempt(() -> OBJECT_MAPPER.readTree(event))
+            .toOptional()
+            .filter(JsonNode::isObject)
+            .map(CristinHandler::isScheduledOrWarmUpEvent)
+            .orElse(false);
+    }
+
+    private static boolean isScheduledOrWarmUpEvent(JsonNode event) {
+        return event.path(WARM_UP).asBoolean(false)
+            || SCHEDULED_EVENT_SOURCE.equals(event.path(EVENT_SOURCE).asText())
+            && SCHEDULED_EVENT_DETAIL_TYPE.equals(event.path(EVENT_DETAIL_TYPE).asText());
     }
 
     @Override
     protected Map<String, String> defaultHeaders() {
         Map<String, String> headers = super.defaultHeaders();
-        headers.putAll(additionalHeaders);
+        headers.putAll(negotiatedHeaders.get());
         return headers;
     }
 
+    /**
+     * Discards the headers negotiated for the request handled by the current thread. The headers are kept per thread
+     * from processInput until the response is written, so one handler instance can serve requests concurrently.
+     */
+    protected void clearNegotiatedHeaders() {
+        negotiatedHeaders.remove();
+    }
+
     protected static String getValidLanguage(RequestInfo requestInfo) throws BadRequestException {
         return Optional.of(getQueryParam(requestInfo, LANGUAGE)
             .orElse(DEFAULT_LANGUAGE_CODE))
@@ -43,6 +330,21 @@ public abstract class CristinHandler<I, O> extends ApiGatewayHandler<I, O> {
             .orElseThrow(() -> new BadRequestException(ERROR_MESSAGE_LANGUAGE_INVALID));
     }
 
+    protected static String getValidPage(RequestInfo requestInfo) throws BadRequestException {
+        return Optional.of(getQueryParam(requestInfo, PAGE)
+            .orElse(FIRST_PAGE))
+            .filter(Utils::isPositiveInteger)
+            .orElseThrow(() -> new BadRequestException(ERROR_MESSAGE_PAGE_VALUE_INVALID));
+    }
+
+    protected static String getValidNumberOfResults(RequestInfo requestInfo) throws BadRequestException {
+        return Optional.of(getQueryParam(requestInfo, NUMBER_OF_RESULTS)
+            .orElse(DEFAULT_NUMBER_OF_RESULTS))
+            .filter(Utils::isPositiveInteger)
+            .filter(numberOfResults -> Integer.parseInt(numberOfResults) <= MAX_NUMBER_OF_RESULTS)
+            .orElseThrow(() -> new BadRequestException(ERROR_MESSAGE_NUMBER_OF_RESULTS_VALUE_INVALID));
+    }
+
     protected static Optional<String> getQueryParam(RequestInfo requestInfo, String queryParameter) {
         return attempt(() -> requestInfo.getQueryParameter(queryParameter)).toOptional();
     }
@@ -60,7 +362,7 @@ public abstract class CristinHandler<I, O> extends ApiGatewayHandler<I, O> {
     }
 
     private void addContentTypeHeader(String contentType) {
-        this.additionalHeaders.put(HttpHeaders.CONTENT_TYPE, contentType);
+        negotiatedHeaders.get().put(HttpHeaders.CONTENT_TYPE, contentType);
     }
 
     private Optional<String> getRequestedContentType(RequestInfo requestInfo) {
@@ -77,4 +379,25 @@ public abstract class CristinHandler<I, O> extends ApiGatewayHandler<I, O> {
             .orElseThrow(() -> new NotAcceptableException(
                 String.format(ERROR_MESSAGE_UNACCEPTABLE_CONTENT_TYPE, acceptHeader)));
     }
+
+    private static final class RefreshedResponse<T> {
+
+        private final T response;
+        private final long refreshedAtMillis;
+
+        private RefreshedResponse(T response, long refreshedAtMillis) {
+            this.response = response;
+            this.refreshedAtMillis = refreshedAtMillis;
+        }
+    }
+
+    /**
+     * A call made while processing a request.
+     *
+     * @param <T> type of the result
+     */
+    protected interface CristinCall<T> {
+
+        T call() throws ApiGatewayException;
+    }
 }
@@ -0,0 +1,83 @@
+package no.unit.nva.cristin.projects;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Translates a page requested by the client into one or more smaller pages fetched from Cristin. When the number of
+ * results requested fits in one upstream page the window is a single page identical to the one requested.
+ */
+public class CristinPageWindow {
+
+    private final int upstreamPageSize;
+    private final transient long firstUpstreamPage;
+    private final transient int numberOfUpstreamPages;
+    private final transient int offsetInFirstUpstreamPage;
+    private final transient int numberOfResults;
+
+    private CristinPageWindow(int upstreamPageSize, long firstUpstreamPage, int numberOfUpstreamPages,
+                              int offsetInFirstUpstreamPage, int numberOfResults) {
+        this.upstreamPageSize = upstreamPageSize;
+        this.firstUpstreamPage = firstUpstreamPage;
+        this.numberOfUpstreamPages = numberOfUpstreamPages;
+        this.offsetInFirstUpstreamPage = offsetInFirstUpstreamPage;
+        this.numberOfResults = numberOfResults;
+    }
+
+    /**
+     * Creates a window covering the records of the page requested by the client.
+     *
+     * @param page                the page requested by the client, starting at 1
+     * @param numberOfResults     the number of results per page requested by the client
+     * @param maxUpstreamPageSize the largest page size to request from Cristin in one call
+     * @return a CristinPageWindow describing which upstream pages to fetch and how to slice them
+     */
+    public static CristinPageWindow fromClientPage(int page, int numberOfResults, int maxUpstreamPageSize) {
+        if (numberOfResults <= maxUpstreamPageSize) {
+            return new CristinPageWindow(numberOfResults, page, 1, 0, numberOfResults);
+        }
+
+        long indexOfFirstRecord = (long) (page - 1) * numberOfResults;
+        long indexOfLastRecord = indexOfFirstRecord + numberOfResults - 1;
+        long firstUpstreamPage = indexOfFirstRecord / maxUpstreamPageSize + 1;
+        long lastUpstreamPage = indexOfLastRecord / maxUpstreamPageSize + 1;
+
+        return new CristinPageWindow(
+            maxUpstreamPageSize,
+            firstUpstreamPage,
+            (int) (lastUpstreamPage - firstUpstreamPage + 1),
+            (int) (indexOfFirstRecord % maxUpstreamPageSize),
+            numberOfResults);
+    }
+
+    public boolean isSingleUpstreamPage() {
+        return numberOfUpstreamPages == 1;
+    }
+
+    public int getUpstreamPageSize() {
+        return upstreamPageSize;
+    }
+
+    public List<Long> getUpstreamPages() {
+        return LongStream.range(firstUpstreamPage, firstUpstreamPage + numberOfUpstreamPages)
+            .boxed()
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Picks the records belonging to the client page from the merged upstream pages.
+     *
+     * @param mergedUpstreamResults results from all upstream pages in this window, in page order
+     * @param <T>                   type of the records
+     * @return the records of the page requested by the client
+     */
+    public <T> List<T> sliceMergedResults(List<T> mergedUpstreamResults) {
+        if (offsetInFirstUpstreamPage >= mergedUpstreamResults.size()) {
+            return Collections.emptyList();
+        }
+        int endOfWindow = Math.min(offsetInFirstUpstreamPage + numberOfResults, mergedUpstreamResults.size());
+        return mergedUpstreamResults.subList(offsetInFirstUpstreamPage, endOfWindow);
+    }
+}
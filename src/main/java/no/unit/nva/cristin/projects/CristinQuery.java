@@ -1,9 +1,5 @@
 package no.unit.nva.cristin.projects;
 
-import static no.unit.nva.cristin.projects.Constants.CRISTIN_API_HOST;
-import static no.unit.nva.cristin.projects.Constants.EMPTY_FRAGMENT;
-import static no.unit.nva.cristin.projects.Constants.HTTPS;
-import static no.unit.nva.cristin.projects.UriUtils.queryParameters;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Map;
@@ -18,7 +14,6 @@ public class CristinQuery {
     private static final String CRISTIN_QUERY_PARAMETER_PAGE_DEFAULT_VALUE = "1";
     private static final String CRISTIN_QUERY_PARAMETER_PER_PAGE_KEY = "per_page";
     private static final String CRISTIN_QUERY_PARAMETER_PER_PAGE_DEFAULT_VALUE = "5";
-    private static final String CRISTIN_API_PROJECTS_PATH = "/v2/projects/";
 
     private final transient Map<String, String> cristinQueryParameters;
 
@@ -44,12 +39,8 @@ public class CristinQuery {
      * @throws URISyntaxException if URI is invalid
      */
     public static URI fromIdAndLanguage(String id, String language) throws URISyntaxException {
-        return new URI(
-            HTTPS,
-            CRISTIN_API_HOST,
-            CRISTIN_API_PROJECTS_PATH + id,
-            queryParameters(Map.of(CRISTIN_QUERY_PARAMETER_LANGUAGE_KEY, language)),
-            EMPTY_FRAGMENT);
+        return UriFactory.defaultFactory()
+            .cristinProjectUri(id, Map.of(CRISTIN_QUERY_PARAMETER_LANGUAGE_KEY, language));
     }
 
     public CristinQuery withGrantId(String grantId) {
@@ -84,11 +75,6 @@ public class CristinQuery {
      * @throws URISyntaxException if URI is invalid
      */
     public URI toURI() throws URISyntaxException {
-        return new URI(
-            HTTPS,
-            CRISTIN_API_HOST,
-            CRISTIN_API_PROJECTS_PATH,
-            queryParameters(cristinQueryParameters),
-            EMPTY_FRAGMENT);
+        return UriFactory.defaultFactory().cristinProjectsUriWithParams(cristinQueryParameters);
     }
 }
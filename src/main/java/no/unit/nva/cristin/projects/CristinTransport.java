@@ -0,0 +1,57 @@
+package no.unit.nva.cristin.projects;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Sends GET requests to Cristin. CristinApiClient does all its I/O through a transport, so the JDK client can be
+ * replaced by recorded traffic in tests and benchmarks, and decorators such as coalescing or recording can be stacked
+ * on top of each other.
+ */
+public interface CristinTransport {
+
+    /**
+     * Sends a GET request without blocking.
+     *
+     * @param uri the URI to get
+     * @return a future completing with the response, or failing with an IOException
+     */
+    CompletableFuture<TransportResponse> sendAsync(URI uri);
+
+    /**
+     * Sends a GET request and waits for the response. Implementations with a cheaper blocking call override this.
+     *
+     * @param uri the URI to get
+     * @return the response
+     * @throws IOException if the request fails or the thread is interrupted
+     */
+    default TransportResponse send(URI uri) throws IOException {
+        try {
+            return sendAsync(uri).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Opens a connection to the host of the URI, so later requests do not pay for connection setup.
+     *
+     * @param uri a URI on the host
+     * @return a future completing when the host has responded
+     */
+    default CompletableFuture<Void> openConnection(URI uri) {
+        return sendAsync(uri).thenAccept(response -> { });
+    }
+}
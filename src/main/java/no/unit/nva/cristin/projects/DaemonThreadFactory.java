@@ -0,0 +1,25 @@
+package no.unit.nva.cristin.projects;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates named daemon threads, so pools owned by the handlers never keep the JVM alive after the handler is done.
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class DaemonThreadFactory implements ThreadFactory {
+
+    private final transient String namePrefix;
+    private final transient AtomicInteger threadNumber = new AtomicInteger();
+
+    public DaemonThreadFactory(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, namePrefix + "-" + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
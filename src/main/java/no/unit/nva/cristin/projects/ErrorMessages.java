@@ -26,13 +26,67 @@ public class ErrorMessages {
     public static final String ERROR_MESSAGE_PAGE_VALUE_INVALID = "Parameter 'page' has invalid value";
     public static final String ERROR_MESSAGE_BACKEND_FAILED_WITH_STATUSCODE =
         "Remote service responded with status: %s when client called uri: %s";
-    public static final String ERROR_MESSAGE_NUMBER_OF_RESULTS_VALUE_INVALID = "Parameter 'results' has invalid value";
+    public static final String ERROR_MESSAGE_NUMBER_OF_RESULTS_VALUE_INVALID =
+        "Parameter 'results' has invalid value. Must be a positive integer not larger than 500";
     public static final String ERROR_MESSAGE_PAGE_OUT_OF_SCOPE =
         "Page requested is out of scope. Query contains %s results";
     public static final String ERROR_MESSAGE_UNACCEPTABLE_CONTENT_TYPE =
         "Your request cannot be processed because the supplied content-type '%s' cannot be understood";
     public static final String ERROR_MESSAGE_INVALID_QUERY_PARAMS_ON_SEARCH =
-        "Invalid query param supplied. Valid ones are 'query', 'page', 'results' and 'language'";
+        "Invalid query param supplied. Valid ones are 'query', 'page', 'results', 'language', 'startDateFrom', "
+            + "'startDateTo', 'status' and 'sort'";
+    public static final String ERROR_MESSAGE_START_DATE_VALUE_INVALID =
+        "Parameters 'startDateFrom' and 'startDateTo' must be dates formatted as yyyy-MM-dd";
+    public static final String ERROR_MESSAGE_START_DATE_RANGE_INVALID =
+        "Parameter 'startDateFrom' must not be later than 'startDateTo'";
+    public static final String ERROR_MESSAGE_STATUS_VALUE_INVALID =
+        "Parameter 'status' has invalid value. Valid ones are ACTIVE, CONCLUDED and NOT_STARTED";
+    public static final String ERROR_MESSAGE_SORT_VALUE_INVALID =
+        "Parameter 'sort' has invalid value. Valid ones are startDate, -startDate, endDate and -endDate";
+    public static final String ERROR_MESSAGE_INVALID_QUERY_PARAMS_ON_PARTICIPANT_PROJECTS =
+        "Invalid query param supplied. Valid ones are 'page' and 'results'";
+    public static final String ERROR_MESSAGE_INVALID_PATH_PARAMETER_FOR_ORGANIZATION_ID =
+        "Invalid path parameter for id, needs to be an institution number or a unit id like 194.63.10.0";
+    public static final String ERROR_MESSAGE_PARTICIPANT_PROJECTS_NOT_AVAILABLE =
+        "Projects of persons and organizations are not available, as there is no local project index";
+    public static final String ERROR_MESSAGE_FILTERING_NOT_AVAILABLE =
+        "Filtering and sorting projects is not available, as there is no local project index";
+    public static final String ERROR_MESSAGE_FILTERING_LANGUAGE_NOT_SUPPORTED =
+        "Filtering and sorting projects is only supported with language '%s'";
+    public static final String ERROR_MESSAGE_SUGGESTIONS_NOT_AVAILABLE =
+        "Title suggestions are not available, as there is no local project index";
+    public static final String ERROR_MESSAGE_RESOURCE_NOT_FOUND = "Resource not found: %s";
+    public static final String ERROR_MESSAGE_METHOD_NOT_ALLOWED = "Method %s is not allowed. Only GET is supported";
+    public static final String ERROR_MESSAGE_PRIMING_FAILED = "Priming failed, continuing without it";
+    public static final String ERROR_MESSAGE_WARM_UP_CONNECTION_FAILED =
+        "Could not open connection to Cristin on warm-up";
+    public static final String ERROR_MESSAGE_WARM_UP_REFRESH_FAILED = "Refreshing request on warm-up failed";
+    public static final String ERROR_MESSAGE_CIRCUIT_BREAKER_OPEN = "Circuit breaker for Cristin is open";
+    public static final String ERROR_MESSAGE_CONCURRENCY_LIMIT_EXCEEDED =
+        "Concurrency limit for calls to Cristin is reached";
+    public static final String ERROR_MESSAGE_BACKEND_UNAVAILABLE =
+        "Your request cannot be processed at this time because the upstream service is unavailable";
+    public static final String ERROR_MESSAGE_RECORDING_FAILED = "Could not record exchange with Cristin to corpus";
+    public static final String ERROR_MESSAGE_RECORDING_DROPPED =
+        "Too many exchanges with Cristin waiting to be recorded, dropping exchange with {}";
+    public static final String ERROR_MESSAGE_CORPUS_NOT_READABLE = "Could not read corpus of Cristin traffic from %s";
+    public static final String ERROR_MESSAGE_CORPUS_PSEUDONYM_KEY_MISSING =
+        "CRISTIN_CORPUS_PSEUDONYM_KEY must be set to record or replay a corpus of Cristin traffic";
+    public static final String ERROR_MESSAGE_CORPUS_FORMAT_NOT_SUPPORTED = "Unsupported corpus record format: %d";
+    public static final String ERROR_MESSAGE_READING_STORED_PROJECT_FAILED =
+        "Could not read project %s from local store, fetching it from Cristin";
+    public static final String ERROR_MESSAGE_INVALID_PROJECT_ID_TO_STORE = "Cannot store project with id %s";
+    public static final String ERROR_MESSAGE_STORE_INDEXING_FAILED =
+        "Could not index local project store, serving the previous indexes";
+    public static final String ERROR_MESSAGE_OPENING_STORE_FAILED =
+        "Could not open local project store, all lookups go to Cristin";
+    public static final String ERROR_MESSAGE_HARVEST_FAILED = "Harvest of Cristin projects failed on page %d";
     public static final String ERROR_MESSAGE_INVALID_QUERY_PARAMS_ON_LOOKUP =
         "Invalid query param supplied. Valid one are 'language'";
+    public static final String ERROR_MESSAGE_SERVING_FROM_SNAPSHOT =
+        "Cristin is unavailable, serving response from local snapshot";
+    public static final String ERROR_MESSAGE_INVALID_QUERY_PARAMS_ON_SUGGEST =
+        "Invalid query param supplied. Valid ones are 'query' and 'results'";
+    public static final String ERROR_MESSAGE_NUMBER_OF_SUGGESTIONS_VALUE_INVALID =
+        "Parameter 'results' has invalid value. Must be a positive integer not larger than 10";
 }
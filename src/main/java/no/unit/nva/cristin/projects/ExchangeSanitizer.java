@@ -0,0 +1,166 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_CORPUS_PSEUDONYM_KEY;
+import static no.unit.nva.cristin.projects.Constants.LINK;
+import static no.unit.nva.cristin.projects.Constants.OBJECT_MAPPER;
+import static no.unit.nva.cristin.projects.Constants.X_TOTAL_COUNT;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_CORPUS_PSEUDONYM_KEY_MISSING;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Removes what should not be kept in a corpus of recorded traffic. Only the headers read by CristinApiClient are kept.
+ * Names and contact details of persons in JSON bodies, and the values of query parameters other than language and
+ * paging in URIs, are replaced by pseudonyms of the same length, so payload sizes stay realistic. Pseudonyms are HMACs
+ * keyed by CRISTIN_CORPUS_PSEUDONYM_KEY. The key is never written to the corpus, so values cannot be recovered from it
+ * by trying likely names. With the same key, the same value always gets the same pseudonym, so a person or search is
+ * still recognisable across exchanges, and a request is found in the corpus by sanitising its URI. Bodies that are not
+ * JSON are kept as they are.
+ */
+public final class ExchangeSanitizer {
+
+    public static final String CONTENT_TYPE = "Content-Type";
+    public static final Set<String> KEPT_HEADERS = Set.of(CONTENT_TYPE.toLowerCase(), X_TOTAL_COUNT.toLowerCase(),
+        LINK.toLowerCase());
+    public static final Set<String> PERSONAL_FIELDS = Set.of("first_name", "surname", "email", "phone");
+    public static final Set<String> KEPT_QUERY_PARAMETERS = Set.of("lang", "page", "per_page");
+
+    private static final String PSEUDONYM_LETTERS = "abcdefghijklmnopqrstuvwxyz";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final byte[] PSEUDONYM_KEY = CRISTIN_CORPUS_PSEUDONYM_KEY.getBytes(StandardCharsets.UTF_8);
+    private static final String QUERY_SEPARATOR = "&";
+    private static final String VALUE_SEPARATOR = "=";
+
+    private ExchangeSanitizer() {
+    }
+
+    public static boolean hasPseudonymKey() {
+        return PSEUDONYM_KEY.length > 0;
+    }
+
+    /**
+     * Returns a copy of the exchange with headers and body sanitised.
+     *
+     * @param exchange the exchange as received from Cristin
+     * @return the sanitised exchange
+     */
+    public static RecordedExchange sanitize(RecordedExchange exchange) {
+        TransportResponse response = exchange.getResponse();
+        Map<String, List<String>> headers = response.getHeaders().entrySet().stream()
+            .filter(header -> KEPT_HEADERS.contains(header.getKey().toLowerCase()))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        TransportResponse sanitized = new TransportResponse(sanitizeUri(response.getUri()), response.getStatusCode(),
+            headers, sanitizeBody(response.getBody()), response.getVersion());
+        return new RecordedExchange(sanitizeUri(exchange.getUri()), sanitized, exchange.getLatency());
+    }
+
+    /**
+     * Returns a pseudonym of the same length as the value, made of lower case letters.
+     *
+     * @param value the value to replace
+     * @return the pseudonym
+     * @throws IllegalStateException if CRISTIN_CORPUS_PSEUDONYM_KEY is not set
+     */
+    public static String pseudonym(String value) {
+        StringBuilder pseudonym = new StringBuilder(value.length());
+        Mac mac = newMac();
+        for (int block = 0; pseudonym.length() < value.length(); block++) {
+            mac.update(value.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) block);
+            byte[] letters = mac.doFinal();
+            for (int i = 0; i < letters.length && pseudonym.length() < value.length(); i++) {
+                pseudonym.append(PSEUDONYM_LETTERS.charAt(Byte.toUnsignedInt(letters[i]) % PSEUDONYM_LETTERS.length()));
+            }
+        }
+        return pseudonym.toString();
+    }
+
+    /**
+     * Returns the URI with the values of its query parameters, other than KEPT_QUERY_PARAMETERS, replaced by
+     * pseudonyms.
+     *
+     * @param uri the URI as requested
+     * @return the sanitised URI
+     */
+    public static URI sanitizeUri(URI uri) {
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return uri;
+        }
+        String sanitizedQuery = Arrays.stream(query.split(QUERY_SEPARATOR))
+            .map(ExchangeSanitizer::sanitizeQueryParameter)
+            .collect(Collectors.joining(QUERY_SEPARATOR));
+        String uriWithoutQuery = uri.toString().substring(0, uri.toString().indexOf('?'));
+        return URI.create(uriWithoutQuery + '?' + sanitizedQuery);
+    }
+
+    private static String sanitizeQueryParameter(String parameter) {
+        int separator = parameter.indexOf(VALUE_SEPARATOR);
+        if (separator < 0 || KEPT_QUERY_PARAMETERS.contains(parameter.substring(0, separator))) {
+            return parameter;
+        }
+        String value = URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8);
+        return parameter.substring(0, separator + 1) + pseudonym(value);
+    }
+
+    private static Mac newMac() {
+        if (!hasPseudonymKey()) {
+            throw new IllegalStateException(ERROR_MESSAGE_CORPUS_PSEUDONYM_KEY_MISSING);
+        }
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(PSEUDONYM_KEY, HMAC_ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ByteBuffer sanitizeBody(ByteBuffer body) {
+        byte[] bytes = new byte[body.remaining()];
+        body.get(bytes);
+        try {
+            JsonNode json = OBJECT_MAPPER.readTree(bytes);
+            if (json == null || !json.isContainerNode()) {
+                return ByteBuffer.wrap(bytes);
+            }
+            replacePersonalFields(json);
+            return ByteBuffer.wrap(OBJECT_MAPPER.writeValueAsBytes(json));
+        } catch (IOException e) {
+            return ByteBuffer.wrap(bytes);
+        }
+    }
+
+    private static void replacePersonalFields(JsonNode node) {
+        if (node instanceof ObjectNode) {
+            ObjectNode object = (ObjectNode) node;
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (PERSONAL_FIELDS.contains(field.getKey()) && field.getValue().isTextual()) {
+                    field.setValue(new TextNode(pseudonym(field.getValue().asText())));
+                } else {
+                    replacePersonalFields(field.getValue());
+                }
+            }
+        } else if (node instanceof ArrayNode) {
+            node.forEach(ExchangeSanitizer::replacePersonalFields);
+        }
+    }
+}
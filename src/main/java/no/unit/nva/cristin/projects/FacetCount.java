@@ -0,0 +1,39 @@
+package no.unit.nva.cristin.projects;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import nva.commons.core.JacocoGenerated;
+
+@JacocoGenerated
+@JsonPropertyOrder({"value", "count"})
+public class FacetCount {
+
+    @JsonProperty
+    private String value;
+    @JsonProperty
+    private int count;
+
+    public FacetCount() {
+    }
+
+    public FacetCount(String value, int count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+}
@@ -1,17 +1,25 @@
 package no.unit.nva.cristin.projects;
 
-import static no.unit.nva.cristin.projects.Constants.DEFAULT_NUMBER_OF_RESULTS;
-import static no.unit.nva.cristin.projects.Constants.FIRST_PAGE;
 import static no.unit.nva.cristin.projects.Constants.LANGUAGE;
 import static no.unit.nva.cristin.projects.Constants.NUMBER_OF_RESULTS;
 import static no.unit.nva.cristin.projects.Constants.PAGE;
+import static no.unit.nva.cristin.projects.Constants.PROJECT_STATUSES;
 import static no.unit.nva.cristin.projects.Constants.QUERY;
+import static no.unit.nva.cristin.projects.Constants.SORT;
+import static no.unit.nva.cristin.projects.Constants.START_DATE_FROM;
+import static no.unit.nva.cristin.projects.Constants.START_DATE_TO;
+import static no.unit.nva.cristin.projects.Constants.STATUS;
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_INVALID_QUERY_PARAMS_ON_SEARCH;
-import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_NUMBER_OF_RESULTS_VALUE_INVALID;
-import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_PAGE_VALUE_INVALID;
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_QUERY_MISSING_OR_HAS_ILLEGAL_CHARACTERS;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_SORT_VALUE_INVALID;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_START_DATE_RANGE_INVALID;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_START_DATE_VALUE_INVALID;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_STATUS_VALUE_INVALID;
+import static nva.commons.core.attempt.Try.attempt;
 import com.amazonaws.services.lambda.runtime.Context;
 import java.net.HttpURLConnection;
+import java.time.LocalDate;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -30,9 +38,8 @@ public class FetchCristinProjects extends CristinHandler<Void, ProjectsWrapper>
     private static final char CHARACTER_DASH = '-';
     private static final char CHARACTER_COMMA = ',';
     private static final char CHARACTER_PERIOD = '.';
-    private static final Set<String> VALID_QUERY_PARAMS = Set.of(QUERY, LANGUAGE, PAGE, NUMBER_OF_RESULTS);
-
-    private final transient CristinApiClient cristinApiClient;
+    private static final Set<String> VALID_QUERY_PARAMS =
+        Set.of(QUERY, LANGUAGE, PAGE, NUMBER_OF_RESULTS, START_DATE_FROM, START_DATE_TO, STATUS, SORT);
 
     @SuppressWarnings("unused")
     @JacocoGenerated
@@ -43,11 +50,11 @@ public class FetchCristinProjects extends CristinHandler<Void, ProjectsWrapper>
     @JacocoGenerated
     public FetchCristinProjects(Environment environment) {
         this(new CristinApiClient(), environment);
+        ColdStartPrimer.primeOnceIfEnabled(cristinApiClient);
     }
 
     protected FetchCristinProjects(CristinApiClient cristinApiClient, Environment environment) {
-        super(Void.class, environment);
-        this.cristinApiClient = cristinApiClient;
+        super(Void.class, cristinApiClient, environment);
     }
 
     @Override
@@ -57,13 +64,15 @@ public class FetchCristinProjects extends CristinHandler<Void, ProjectsWrapper>
         validateThatSuppliedQueryParamsIsSupported(requestInfo);
 
         String language = getValidLanguage(requestInfo);
-        String query = getValidQuery(requestInfo);
+        Map<String, String> filters = getValidFilters(requestInfo);
+        Optional<String> query = getValidQuery(requestInfo, filters);
         String page = getValidPage(requestInfo);
         String numberOfResults = getValidNumberOfResults(requestInfo);
 
         addRequestedContentTypeToResponseIfSupported(requestInfo);
 
-        return getTransformedCristinProjectsUsingWrapperObject(language, query, page, numberOfResults);
+        return trackedResponse(requestInfo, withNormalizedQuery(requestInfo, query),
+            () -> getTransformedCristinProjectsUsingWrapperObject(language, query, page, numberOfResults, filters));
     }
 
     private void validateThatSuppliedQueryParamsIsSupported(RequestInfo requestInfo) throws BadRequestException {
@@ -77,38 +86,87 @@ public class FetchCristinProjects extends CristinHandler<Void, ProjectsWrapper>
         return HttpURLConnection.HTTP_OK;
     }
 
-    private String getValidQuery(RequestInfo requestInfo) throws BadRequestException {
-        return getQueryParam(requestInfo, QUERY)
+    /**
+     * Returns the query in canonical form with whitespace escaped, so variants of a query differing only in case,
+     * Unicode compatibility forms or whitespace share one upstream call. The query is validated as typed, before it is
+     * normalized, so characters removed by normalization are still rejected. The query may only be left out of
+     * searches that are filtered or sorted, which list all matching stored projects.
+     */
+    private Optional<String> getValidQuery(RequestInfo requestInfo, Map<String, String> filters)
+        throws BadRequestException {
+
+        Optional<String> query = getQueryParam(requestInfo, QUERY);
+        if (query.isEmpty() && !filters.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(query
+            .filter(value -> !value.isBlank())
             .filter(this::isValidQuery)
+            .map(QueryNormalizer::canonical)
             .map(UriUtils::escapeWhiteSpace)
-            .orElseThrow(() -> new BadRequestException(ERROR_MESSAGE_QUERY_MISSING_OR_HAS_ILLEGAL_CHARACTERS));
+            .orElseThrow(() -> new BadRequestException(ERROR_MESSAGE_QUERY_MISSING_OR_HAS_ILLEGAL_CHARACTERS)));
     }
 
-    private String getValidPage(RequestInfo requestInfo) throws BadRequestException {
-        return Optional.of(getQueryParam(requestInfo, PAGE)
-            .orElse(FIRST_PAGE))
-            .filter(Utils::isPositiveInteger)
-            .orElseThrow(() -> new BadRequestException(ERROR_MESSAGE_PAGE_VALUE_INVALID));
+    /**
+     * Returns the query parameters of the request with the query in canonical form, so variants of a query differing
+     * only in case, Unicode compatibility forms or whitespace are tracked and refreshed as the same request.
+     */
+    private static Map<String, String> withNormalizedQuery(RequestInfo requestInfo, Optional<String> query) {
+        Map<String, String> queryParameters = new ConcurrentHashMap<>(requestInfo.getQueryParameters());
+        query.ifPresent(value -> queryParameters.put(QUERY, QueryNormalizer.canonical(value)));
+        return queryParameters;
+    }
+
+    /**
+     * Returns the supplied filter and sort parameters, with the status in upper case. These are only supported when
+     * searching the local project index, since Cristin has no such parameters. A date range ending before it starts is
+     * rejected rather than answered with no projects.
+     */
+    private Map<String, String> getValidFilters(RequestInfo requestInfo) throws BadRequestException {
+        Map<String, String> filters = new ConcurrentHashMap<>();
+        for (String dateParameter : Set.of(START_DATE_FROM, START_DATE_TO)) {
+            Optional<String> date = getQueryParam(requestInfo, dateParameter);
+            if (date.isPresent()) {
+                filters.put(dateParameter, date.filter(FetchCristinProjects::isValidDate)
+                    .orElseThrow(() -> new BadRequestException(ERROR_MESSAGE_START_DATE_VALUE_INVALID)));
+            }
+        }
+        if (filters.containsKey(START_DATE_FROM) && filters.containsKey(START_DATE_TO)
+            && LocalDate.parse(filters.get(START_DATE_FROM)).isAfter(LocalDate.parse(filters.get(START_DATE_TO)))) {
+            throw new BadRequestException(ERROR_MESSAGE_START_DATE_RANGE_INVALID);
+        }
+        Optional<String> status = getQueryParam(requestInfo, STATUS);
+        if (status.isPresent()) {
+            filters.put(STATUS, status.map(value -> value.toUpperCase(Locale.ROOT))
+                .filter(PROJECT_STATUSES::contains)
+                .orElseThrow(() -> new BadRequestException(ERROR_MESSAGE_STATUS_VALUE_INVALID)));
+        }
+        Optional<String> sort = getQueryParam(requestInfo, SORT);
+        if (sort.isPresent()) {
+            filters.put(SORT, sort.filter(value -> ProjectColumns.SortOrder.fromParameterValue(value).isPresent())
+                .orElseThrow(() -> new BadRequestException(ERROR_MESSAGE_SORT_VALUE_INVALID)));
+        }
+        return filters;
     }
 
-    private String getValidNumberOfResults(RequestInfo requestInfo) throws BadRequestException {
-        return Optional.of(getQueryParam(requestInfo, NUMBER_OF_RESULTS)
-            .orElse(DEFAULT_NUMBER_OF_RESULTS))
-            .filter(Utils::isPositiveInteger)
-            .orElseThrow(() -> new BadRequestException(ERROR_MESSAGE_NUMBER_OF_RESULTS_VALUE_INVALID));
+    private static boolean isValidDate(String date) {
+        return attempt(() -> LocalDate.parse(date)).isSuccess();
     }
 
-    private ProjectsWrapper getTransformedCristinProjectsUsingWrapperObject(String language, String query, String page,
-                                                                            String numberOfResults)
+    private ProjectsWrapper getTransformedCristinProjectsUsingWrapperObject(String language, Optional<String> query,
+                                                                            String page, String numberOfResults,
+                                                                            Map<String, String> filters)
         throws ApiGatewayException {
 
-        Map<String, String> requestQueryParams = new ConcurrentHashMap<>();
-        requestQueryParams.put(QUERY, query);
+        Map<String, String> requestQueryParams = new ConcurrentHashMap<>(filters);
+        query.ifPresent(value -> requestQueryParams.put(QUERY, value));
         requestQueryParams.put(LANGUAGE, language);
         requestQueryParams.put(PAGE, page);
         requestQueryParams.put(NUMBER_OF_RESULTS, numberOfResults);
 
-        return cristinApiClient.queryCristinProjectsIntoWrapperObjectWithAdditionalMetadata(requestQueryParams);
+        return withSnapshotFallback(
+            () -> cristinApiClient.queryCristinProjectsIntoWrapperObjectWithAdditionalMetadata(requestQueryParams),
+            () -> cristinApiClient.queryCristinProjectsFromSnapshot(requestQueryParams));
     }
 
     private boolean isValidQuery(String str) {
@@ -19,8 +19,6 @@ public class FetchOneCristinProject extends CristinHandler<Void, NvaProject> {
 
     private static final Set<String> VALID_QUERY_PARAMS = Set.of(LANGUAGE);
 
-    private final transient CristinApiClient cristinApiClient;
-
     @SuppressWarnings("unused")
     @JacocoGenerated
     public FetchOneCristinProject() {
@@ -30,11 +28,11 @@ public class FetchOneCristinProject extends CristinHandler<Void, NvaProject> {
     @JacocoGenerated
     public FetchOneCristinProject(Environment environment) {
         this(new CristinApiClient(), environment);
+        ColdStartPrimer.primeOnceIfEnabled(cristinApiClient);
     }
 
     public FetchOneCristinProject(CristinApiClient cristinApiClient, Environment environment) {
-        super(Void.class, environment);
-        this.cristinApiClient = cristinApiClient;
+        super(Void.class, cristinApiClient, environment);
     }
 
     @Override
@@ -48,7 +46,7 @@ public class FetchOneCristinProject extends CristinHandler<Void, NvaProject> {
 
         addRequestedContentTypeToResponseIfSupported(requestInfo);
 
-        return getTransformedProjectFromCristin(id, language);
+        return trackedResponse(requestInfo, () -> getTransformedProjectFromCristin(id, language));
     }
 
     private void validateThatSuppliedQueryParamsIsSupported(RequestInfo requestInfo) throws BadRequestException {
@@ -70,6 +68,8 @@ public class FetchOneCristinProject extends CristinHandler<Void, NvaProject> {
     }
 
     private NvaProject getTransformedProjectFromCristin(String id, String language) throws ApiGatewayException {
-        return cristinApiClient.queryOneCristinProjectUsingIdIntoNvaProject(id, language);
+        return withSnapshotFallback(
+            () -> cristinApiClient.queryOneCristinProjectUsingIdIntoNvaProject(id, language),
+            () -> cristinApiClient.queryOneCristinProjectFromSnapshot(id, language));
     }
 }
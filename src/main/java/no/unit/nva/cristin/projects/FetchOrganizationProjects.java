@@ -0,0 +1,41 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_INVALID_PATH_PARAMETER_FOR_ORGANIZATION_ID;
+import java.util.regex.Pattern;
+import no.unit.nva.cristin.projects.ParticipantIndex.Participant;
+import nva.commons.core.Environment;
+import nva.commons.core.JacocoGenerated;
+
+/**
+ * Handler listing the projects an organization takes part in, either as coordinating institution or through the roles
+ * of participants. The id is either a Cristin institution number or a Cristin unit id.
+ */
+public class FetchOrganizationProjects extends FetchParticipantProjects {
+
+    private static final Pattern ORGANIZATION_ID = Pattern.compile("\\d+(\\.\\d+){0,3}");
+
+    @SuppressWarnings("unused")
+    @JacocoGenerated
+    public FetchOrganizationProjects() {
+        this(new Environment());
+    }
+
+    @JacocoGenerated
+    public FetchOrganizationProjects(Environment environment) {
+        this(new CristinApiClient(), environment);
+    }
+
+    public FetchOrganizationProjects(CristinApiClient cristinApiClient, Environment environment) {
+        super(Participant.ORGANIZATION, cristinApiClient, environment);
+    }
+
+    @Override
+    protected boolean isValidId(String id) {
+        return ORGANIZATION_ID.matcher(id).matches();
+    }
+
+    @Override
+    protected String invalidIdMessage() {
+        return ERROR_MESSAGE_INVALID_PATH_PARAMETER_FOR_ORGANIZATION_ID;
+    }
+}
@@ -0,0 +1,72 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.ID;
+import static no.unit.nva.cristin.projects.Constants.NUMBER_OF_RESULTS;
+import static no.unit.nva.cristin.projects.Constants.PAGE;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_INVALID_QUERY_PARAMS_ON_PARTICIPANT_PROJECTS;
+import static nva.commons.core.attempt.Try.attempt;
+import com.amazonaws.services.lambda.runtime.Context;
+import java.net.HttpURLConnection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import no.unit.nva.cristin.projects.ParticipantIndex.Participant;
+import nva.commons.apigateway.RequestInfo;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.core.Environment;
+
+/**
+ * Lists the projects a person or an organization takes part in, one page at a time, from the participant indexes of
+ * the local project store.
+ */
+public abstract class FetchParticipantProjects extends CristinHandler<Void, ProjectsWrapper> {
+
+    private static final Set<String> VALID_QUERY_PARAMS = Set.of(PAGE, NUMBER_OF_RESULTS);
+
+    private final transient Participant participant;
+
+    protected FetchParticipantProjects(Participant participant, CristinApiClient cristinApiClient,
+                                       Environment environment) {
+        super(Void.class, cristinApiClient, environment);
+        this.participant = participant;
+    }
+
+    @Override
+    protected ProjectsWrapper processInput(Void input, RequestInfo requestInfo, Context context)
+        throws ApiGatewayException {
+
+        validateThatSuppliedQueryParamsIsSupported(requestInfo);
+
+        String id = getValidId(requestInfo);
+        Map<String, String> requestQueryParams = new ConcurrentHashMap<>();
+        requestQueryParams.put(PAGE, getValidPage(requestInfo));
+        requestQueryParams.put(NUMBER_OF_RESULTS, getValidNumberOfResults(requestInfo));
+
+        addRequestedContentTypeToResponseIfSupported(requestInfo);
+
+        return trackedResponse(requestInfo,
+            () -> cristinApiClient.queryProjectsOfParticipant(participant, id, requestQueryParams));
+    }
+
+    @Override
+    protected Integer getSuccessStatusCode(Void input, ProjectsWrapper output) {
+        return HttpURLConnection.HTTP_OK;
+    }
+
+    protected abstract boolean isValidId(String id);
+
+    protected abstract String invalidIdMessage();
+
+    private void validateThatSuppliedQueryParamsIsSupported(RequestInfo requestInfo) throws BadRequestException {
+        if (!VALID_QUERY_PARAMS.containsAll(requestInfo.getQueryParameters().keySet())) {
+            throw new BadRequestException(ERROR_MESSAGE_INVALID_QUERY_PARAMS_ON_PARTICIPANT_PROJECTS);
+        }
+    }
+
+    private String getValidId(RequestInfo requestInfo) throws BadRequestException {
+        return attempt(() -> requestInfo.getPathParameter(ID)).toOptional()
+            .filter(this::isValidId)
+            .orElseThrow(() -> new BadRequestException(invalidIdMessage()));
+    }
+}
@@ -0,0 +1,37 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_INVALID_PATH_PARAMETER_FOR_ID;
+import no.unit.nva.cristin.projects.ParticipantIndex.Participant;
+import nva.commons.core.Environment;
+import nva.commons.core.JacocoGenerated;
+
+/**
+ * Handler listing the projects a person participates in, by the Cristin id of the person.
+ */
+public class FetchPersonProjects extends FetchParticipantProjects {
+
+    @SuppressWarnings("unused")
+    @JacocoGenerated
+    public FetchPersonProjects() {
+        this(new Environment());
+    }
+
+    @JacocoGenerated
+    public FetchPersonProjects(Environment environment) {
+        this(new CristinApiClient(), environment);
+    }
+
+    public FetchPersonProjects(CristinApiClient cristinApiClient, Environment environment) {
+        super(Participant.PERSON, cristinApiClient, environment);
+    }
+
+    @Override
+    protected boolean isValidId(String id) {
+        return Utils.isPositiveInteger(id);
+    }
+
+    @Override
+    protected String invalidIdMessage() {
+        return ERROR_MESSAGE_INVALID_PATH_PARAMETER_FOR_ID;
+    }
+}
@@ -0,0 +1,81 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.DEFAULT_NUMBER_OF_SUGGESTIONS;
+import static no.unit.nva.cristin.projects.Constants.NUMBER_OF_RESULTS;
+import static no.unit.nva.cristin.projects.Constants.QUERY;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_INVALID_QUERY_PARAMS_ON_SUGGEST;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_NUMBER_OF_SUGGESTIONS_VALUE_INVALID;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_QUERY_MISSING_OR_HAS_ILLEGAL_CHARACTERS;
+import com.amazonaws.services.lambda.runtime.Context;
+import java.net.HttpURLConnection;
+import java.util.Optional;
+import java.util.Set;
+import nva.commons.apigateway.RequestInfo;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.core.Environment;
+import nva.commons.core.JacocoGenerated;
+
+/**
+ * Handler for title suggestions while the user types. Suggestions come from the local project store only, so no
+ * request is made to Cristin.
+ */
+public class FetchProjectSuggestions extends CristinHandler<Void, ProjectSuggestions> {
+
+    private static final Set<String> VALID_QUERY_PARAMS = Set.of(QUERY, NUMBER_OF_RESULTS);
+
+    @SuppressWarnings("unused")
+    @JacocoGenerated
+    public FetchProjectSuggestions() {
+        this(new Environment());
+    }
+
+    @JacocoGenerated
+    public FetchProjectSuggestions(Environment environment) {
+        this(new CristinApiClient(), environment);
+    }
+
+    public FetchProjectSuggestions(CristinApiClient cristinApiClient, Environment environment) {
+        super(Void.class, cristinApiClient, environment);
+    }
+
+    @Override
+    protected ProjectSuggestions processInput(Void input, RequestInfo requestInfo, Context context)
+        throws ApiGatewayException {
+
+        validateThatSuppliedQueryParamsIsSupported(requestInfo);
+
+        String query = getValidQuery(requestInfo);
+        int numberOfSuggestions = getValidNumberOfSuggestions(requestInfo);
+
+        addRequestedContentTypeToResponseIfSupported(requestInfo);
+
+        return trackedResponse(requestInfo, () -> cristinApiClient.suggestProjectTitles(query, numberOfSuggestions));
+    }
+
+    @Override
+    protected Integer getSuccessStatusCode(Void input, ProjectSuggestions output) {
+        return HttpURLConnection.HTTP_OK;
+    }
+
+    private void validateThatSuppliedQueryParamsIsSupported(RequestInfo requestInfo) throws BadRequestException {
+        if (!VALID_QUERY_PARAMS.containsAll(requestInfo.getQueryParameters().keySet())) {
+            throw new BadRequestException(ERROR_MESSAGE_INVALID_QUERY_PARAMS_ON_SUGGEST);
+        }
+    }
+
+    private String getValidQuery(RequestInfo requestInfo) throws BadRequestException {
+        return getQueryParam(requestInfo, QUERY)
+            .filter(query -> !TitleSuggester.normalize(query).isEmpty())
+            .orElseThrow(() -> new BadRequestException(ERROR_MESSAGE_QUERY_MISSING_OR_HAS_ILLEGAL_CHARACTERS));
+    }
+
+    private int getValidNumberOfSuggestions(RequestInfo requestInfo) throws BadRequestException {
+        return Optional.of(getQueryParam(requestInfo, NUMBER_OF_RESULTS)
+            .orElse(DEFAULT_NUMBER_OF_SUGGESTIONS))
+            .filter(Utils::isPositiveInteger)
+            .map(Integer::parseInt)
+            .filter(numberOfSuggestions -> numberOfSuggestions <= TitleSuggester.MAX_SUGGESTIONS)
+            .orElseThrow(() -> new BadRequestException(ERROR_MESSAGE_NUMBER_OF_SUGGESTIONS_VALUE_INVALID));
+    }
+}
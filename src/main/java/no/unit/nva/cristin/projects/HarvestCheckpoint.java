@@ -0,0 +1,71 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.OBJECT_MAPPER;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Progress of ProjectHarvester, saved after every page so an interrupted harvest resumes on the page it was working
+ * on. The checkpoint is written to a temporary file first and then moved into place, so it is never partially written.
+ */
+public class HarvestCheckpoint {
+
+    public static final long FIRST_PAGE = 1;
+
+    private long nextPage = FIRST_PAGE;
+    private long completedHarvests;
+    private String lastCompletedAt;
+
+    public long getNextPage() {
+        return nextPage;
+    }
+
+    public void setNextPage(long nextPage) {
+        this.nextPage = nextPage;
+    }
+
+    public long getCompletedHarvests() {
+        return completedHarvests;
+    }
+
+    public void setCompletedHarvests(long completedHarvests) {
+        this.completedHarvests = completedHarvests;
+    }
+
+    public String getLastCompletedAt() {
+        return lastCompletedAt;
+    }
+
+    public void setLastCompletedAt(String lastCompletedAt) {
+        this.lastCompletedAt = lastCompletedAt;
+    }
+
+    /**
+     * Reads the checkpoint saved at the path.
+     *
+     * @param path where the checkpoint is saved
+     * @return the saved checkpoint, or a checkpoint starting on the first page if none is saved
+     * @throws IOException if the checkpoint cannot be read
+     */
+    public static HarvestCheckpoint load(Path path) throws IOException {
+        return Files.exists(path)
+            ? OBJECT_MAPPER.readValue(path.toFile(), HarvestCheckpoint.class)
+            : new HarvestCheckpoint();
+    }
+
+    /**
+     * Saves the checkpoint at the path.
+     *
+     * @param path where to save the checkpoint
+     * @throws IOException if the checkpoint cannot be written
+     */
+    public void save(Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        OBJECT_MAPPER.writeValue(temporaryFile.toFile(), this);
+        Files.move(temporaryFile, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,139 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_ACCEPT_GZIP;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_CONNECT_TIMEOUT_MILLIS;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_HTTP_THREADS;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_HTTP_VERSION;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_REQUEST_TIMEOUT_MILLIS;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Settings of the HttpClient used by JdkCristinTransport. Builds the client, the requests and the body handler, so
+ * every request gets the same timeout and Accept-Encoding, and gzip encoded responses are decompressed transparently.
+ */
+public class HttpClientSettings {
+
+    public static final String ACCEPT_ENCODING = "Accept-Encoding";
+    public static final String CONTENT_ENCODING = "Content-Encoding";
+    public static final String GZIP = "gzip";
+    public static final int DEFAULT_EXECUTOR = 0;
+
+    private final transient Version version;
+    private final transient Duration connectTimeout;
+    private final transient Duration requestTimeout;
+    private final transient int threads;
+    private final transient boolean acceptGzip;
+
+    /**
+     * Creates settings for the client calling Cristin.
+     *
+     * @param version        preferred HTTP version, HTTP_2 falls back to HTTP/1.1 if the server does not support it
+     * @param connectTimeout time allowed for opening a connection
+     * @param requestTimeout time allowed for a response to arrive
+     * @param threads        size of the executor of the client, DEFAULT_EXECUTOR uses the unbounded default executor
+     * @param acceptGzip     ask for gzip encoded responses
+     */
+    public HttpClientSettings(Version version, Duration connectTimeout, Duration requestTimeout, int threads,
+                              boolean acceptGzip) {
+        this.version = version;
+        this.connectTimeout = connectTimeout;
+        this.requestTimeout = requestTimeout;
+        this.threads = threads;
+        this.acceptGzip = acceptGzip;
+    }
+
+    /**
+     * Creates settings from the CRISTIN_HTTP_*, CRISTIN_*_TIMEOUT_MILLIS and CRISTIN_ACCEPT_GZIP environment variables.
+     *
+     * @return the settings of the environment
+     */
+    public static HttpClientSettings fromEnvironment() {
+        return new HttpClientSettings(Version.valueOf(CRISTIN_HTTP_VERSION),
+            Duration.ofMillis(CRISTIN_CONNECT_TIMEOUT_MILLIS),
+            Duration.ofMillis(CRISTIN_REQUEST_TIMEOUT_MILLIS),
+            CRISTIN_HTTP_THREADS,
+            CRISTIN_ACCEPT_GZIP);
+    }
+
+    /**
+     * Creates a client with these settings.
+     *
+     * @return a new HttpClient
+     */
+    @SuppressWarnings("PMD.DoNotUseThreads")
+    public HttpClient newHttpClient() {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+            .version(version)
+            .connectTimeout(connectTimeout);
+        if (threads != DEFAULT_EXECUTOR) {
+            builder.executor(Executors.newFixedThreadPool(threads, new DaemonThreadFactory("cristin-http")));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Starts a request with the request timeout and Accept-Encoding of these settings.
+     *
+     * @param uri the URI to request
+     * @return a request builder for a GET request
+     */
+    public HttpRequest.Builder newRequest(URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(requestTimeout);
+        if (acceptGzip) {
+            builder.header(ACCEPT_ENCODING, GZIP);
+        }
+        return builder;
+    }
+
+    /**
+     * Returns a handler reading the body as bytes, decompressing it first if it is gzip encoded.
+     *
+     * @return the body handler
+     */
+    public BodyHandler<byte[]> bodyHandler() {
+        return responseInfo -> isGzipEncoded(responseInfo.headers())
+            ? BodySubscribers.mapping(BodySubscribers.ofByteArray(), HttpClientSettings::decompress)
+            : BodySubscribers.ofByteArray();
+    }
+
+    public Version getVersion() {
+        return version;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public boolean isAcceptGzip() {
+        return acceptGzip;
+    }
+
+    private static boolean isGzipEncoded(HttpHeaders headers) {
+        return headers.firstValue(CONTENT_ENCODING).map(GZIP::equalsIgnoreCase).orElse(false);
+    }
+
+    private static byte[] decompress(byte[] body) {
+        try (InputStream decompressed = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return decompressed.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package no.unit.nva.cristin.projects;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A bounded cache handing out one shared instance per key. The least recently used entry is evicted when the cache is
+ * full, so memory use stays bounded no matter how many distinct keys are seen.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the interned values
+ */
+public class InternCache<K, V> {
+
+    private final transient LeastRecentlyUsedMap<K, V> entries;
+
+    public InternCache(int maximumSize) {
+        this.entries = new LeastRecentlyUsedMap<>(maximumSize);
+    }
+
+    /**
+     * Returns the cached value for the key if it is still current, otherwise creates, caches and returns a new value.
+     *
+     * @param key       the key to look up
+     * @param isCurrent tells whether a cached value still matches the data it would be created from
+     * @param factory   creates a new value for the key
+     * @return the shared value for the key
+     */
+    public V intern(K key, Predicate<V> isCurrent, Function<K, V> factory) {
+        synchronized (entries) {
+            V cached = entries.get(key);
+            if (cached != null && isCurrent.test(cached)) {
+                return cached;
+            }
+            V created = factory.apply(key);
+            entries.put(key, created);
+            return created;
+        }
+    }
+
+    /**
+     * Returns the cached value equal to the supplied one, or caches a copy of the supplied value and returns it. Only
+     * meaningful for caches where keys and values have the same type.
+     *
+     * @param value  the value to intern
+     * @param copier creates the copy that is cached, so later changes to the supplied value do not leak into the cache
+     * @return the shared value equal to the supplied one
+     */
+    @SuppressWarnings("unchecked")
+    public V internValue(V value, UnaryOperator<V> copier) {
+        synchronized (entries) {
+            V cached = entries.get(value);
+            if (cached != null) {
+                return cached;
+            }
+            V copy = copier.apply(value);
+            entries.put((K) copy, copy);
+            return copy;
+        }
+    }
+
+    /**
+     * Number of entries currently cached.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static class LeastRecentlyUsedMap<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+        private static final float LOAD_FACTOR = 0.75f;
+        private static final boolean ACCESS_ORDER = true;
+        private final transient int maximumSize;
+
+        public LeastRecentlyUsedMap(int maximumSize) {
+            super(16, LOAD_FACTOR, ACCESS_ORDER);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maximumSize;
+        }
+    }
+}
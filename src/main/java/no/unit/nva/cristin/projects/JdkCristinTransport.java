@@ -0,0 +1,67 @@
+package no.unit.nva.cristin.projects;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transport using java.net.http.HttpClient, configured by HttpClientSettings.
+ */
+public class JdkCristinTransport implements CristinTransport {
+
+    private static final String HEAD = "HEAD";
+
+    private static final JdkCristinTransport DEFAULT_TRANSPORT =
+        new JdkCristinTransport(HttpClientSettings.fromEnvironment());
+
+    private final transient HttpClientSettings settings;
+    private final transient HttpClient client;
+
+    public JdkCristinTransport(HttpClientSettings settings) {
+        this.settings = settings;
+        this.client = settings.newHttpClient();
+    }
+
+    /**
+     * The transport configured by the environment. All clients share it, and with it the connections to Cristin.
+     *
+     * @return the default transport
+     */
+    public static JdkCristinTransport defaultTransport() {
+        return DEFAULT_TRANSPORT;
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(URI uri) {
+        return client.sendAsync(settings.newRequest(uri).GET().build(), settings.bodyHandler())
+            .thenApply(JdkCristinTransport::toTransportResponse);
+    }
+
+    @Override
+    public TransportResponse send(URI uri) throws IOException {
+        try {
+            return toTransportResponse(client.send(settings.newRequest(uri).GET().build(), settings.bodyHandler()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> openConnection(URI uri) {
+        HttpRequest request = settings.newRequest(uri).method(HEAD, BodyPublishers.noBody()).build();
+        return client.sendAsync(request, BodyHandlers.discarding()).thenAccept(response -> { });
+    }
+
+    private static TransportResponse toTransportResponse(HttpResponse<byte[]> response) {
+        return new TransportResponse(response.uri(), response.statusCode(), response.headers().map(),
+            ByteBuffer.wrap(response.body()), response.version());
+    }
+}
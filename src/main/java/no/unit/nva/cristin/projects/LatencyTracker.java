@@ -0,0 +1,66 @@
+package no.unit.nva.cristin.projects;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Keeps the latest latencies observed for one endpoint and reports a percentile of them. The percentile is recomputed
+ * after every RECOMPUTE_INTERVAL new samples, and is not reported until minimumSamples latencies have been seen.
+ */
+public class LatencyTracker {
+
+    private static final int RECOMPUTE_INTERVAL = 32;
+
+    private final transient long[] samples;
+    private final transient double percentile;
+    private final transient int minimumSamples;
+    private transient int next;
+    private transient int count;
+    private transient int samplesSinceRecompute;
+    private transient long cachedPercentileNanos;
+
+    /**
+     * Creates a tracker with room for windowSize samples.
+     *
+     * @param windowSize     number of latest samples kept
+     * @param percentile     the percentile reported, e.g. 0.95
+     * @param minimumSamples samples needed before a percentile is reported
+     */
+    public LatencyTracker(int windowSize, double percentile, int minimumSamples) {
+        this.samples = new long[windowSize];
+        this.percentile = percentile;
+        this.minimumSamples = minimumSamples;
+    }
+
+    /**
+     * Adds a latency to the window, replacing the oldest one when the window is full.
+     *
+     * @param latency the observed latency
+     */
+    public synchronized void record(Duration latency) {
+        samples[next] = latency.toNanos();
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        samplesSinceRecompute++;
+    }
+
+    /**
+     * Returns the percentile of the latencies in the window.
+     *
+     * @return the percentile, or empty while fewer than minimumSamples latencies have been recorded
+     */
+    public synchronized Optional<Duration> percentile() {
+        if (count < minimumSamples) {
+            return Optional.empty();
+        }
+        if (samplesSinceRecompute >= RECOMPUTE_INTERVAL || cachedPercentileNanos == 0) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = Math.min(count - 1, (int) Math.ceil(percentile * count) - 1);
+            cachedPercentileNanos = sorted[Math.max(0, index)];
+            samplesSinceRecompute = 0;
+        }
+        return Optional.of(Duration.ofNanos(cachedPercentileNanos));
+    }
+}
@@ -0,0 +1,189 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.NUMBER_OF_RESULTS;
+import static no.unit.nva.cristin.projects.Constants.PAGE;
+import static no.unit.nva.cristin.projects.Constants.QUERY;
+import static no.unit.nva.cristin.projects.Constants.SORT;
+import static no.unit.nva.cristin.projects.Constants.START_DATE_FROM;
+import static no.unit.nva.cristin.projects.Constants.START_DATE_TO;
+import static no.unit.nva.cristin.projects.Constants.STATUS;
+import static no.unit.nva.cristin.projects.Constants.X_TOTAL_COUNT;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_READING_STORED_PROJECT_FAILED;
+import static nva.commons.core.attempt.Try.attempt;
+import java.net.http.HttpHeaders;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import no.unit.nva.cristin.projects.ParticipantIndex.Participant;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import no.unit.nva.cristin.projects.model.nva.NvaProject;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Answers project searches from the projects of a local store using a TitleIndex built when the search is created.
+ * Like Cristin, a query of digits is first looked up as the project code of a funding source, and searched for in the
+ * titles if no project has that code. Only the projects of the requested page are read from the store, while facets
+ * of all matching projects are counted from ProjectColumns. Matches may be filtered by start date and status, and
+ * ordered by start or end date instead of relevance, also using ProjectColumns. The projects of a person or an
+ * organization are listed from a ParticipantIndex.
+ */
+public class LocalProjectSearch {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalProjectSearch.class);
+    private static final String SLASH = "/";
+    private static final Set<String> FILTER_AND_SORT_PARAMS = Set.of(START_DATE_FROM, START_DATE_TO, STATUS, SORT);
+
+    private final transient ProjectStore projectStore;
+    private final transient TitleIndex titleIndex;
+    private final transient ProjectColumns projectColumns;
+    private final transient ParticipantIndex participantIndex;
+
+    /**
+     * Builds a title index, the columns and the participant indexes of the stored projects in one pass over the store.
+     * Documents are numbered in the order of the Cristin ids, so ties in ranking are broken by Cristin id.
+     *
+     * @param projectStore the store to index
+     */
+    public LocalProjectSearch(ProjectStore projectStore) {
+        TitleIndex.Builder titleIndexBuilder = TitleIndex.builder();
+        ProjectColumns.Builder projectColumnsBuilder = ProjectColumns.builder();
+        ParticipantIndex.Builder participantIndexBuilder = ParticipantIndex.builder();
+        readProjects(projectStore).forEach(project -> {
+            titleIndexBuilder.add(project);
+            projectColumnsBuilder.add(project);
+            participantIndexBuilder.add(project);
+        });
+        this.projectStore = projectStore;
+        this.titleIndex = titleIndexBuilder.build();
+        this.projectColumns = projectColumnsBuilder.build();
+        this.participantIndex = participantIndexBuilder.build();
+    }
+
+    /**
+     * Reads the stored projects with valid content in order of Cristin id.
+     *
+     * @param projectStore the store to read
+     * @return the projects that could be read from the store
+     */
+    public static Stream<CristinProject> readProjects(ProjectStore projectStore) {
+        return projectStore.projectIds().stream()
+            .sorted((left, right) -> Long.compare(Long.parseLong(left), Long.parseLong(right)))
+            .map(id -> readProject(projectStore, id))
+            .flatMap(Optional::stream)
+            .filter(CristinProject::hasValidContent);
+    }
+
+    /**
+     * Tells whether a search is filtered or sorted, which only a local search can do.
+     *
+     * @param requestQueryParams the parameters of the search
+     * @return true if the search has a filter or a sort order
+     */
+    public static boolean hasFiltersOrSortOrder(Map<String, String> requestQueryParams) {
+        return requestQueryParams.keySet().stream().anyMatch(FILTER_AND_SORT_PARAMS::contains);
+    }
+
+    public boolean isEmpty() {
+        return titleIndex.size() == 0;
+    }
+
+    /**
+     * Searches the stored projects using the parameters of a search request.
+     *
+     * @param requestQueryParams request parameters containing language, page and number of results, and optionally
+     *                           query, startDateFrom, startDateTo, status and sort. Without a query all stored
+     *                           projects match, in order of Cristin id unless sorted
+     * @return the requested page of matching projects, with the facets of all matching projects
+     * @throws BadRequestException if the page requested is beyond the matching projects
+     */
+    public ProjectsWrapper search(Map<String, String> requestQueryParams) throws BadRequestException {
+        long startRequestTime = System.currentTimeMillis();
+        int[] matches = projectColumns.filter(findMatches(requestQueryParams.get(QUERY)),
+            parseDate(requestQueryParams.get(START_DATE_FROM)), parseDate(requestQueryParams.get(START_DATE_TO)),
+            requestQueryParams.get(STATUS));
+
+        int numberOfResults = Integer.parseInt(requestQueryParams.get(NUMBER_OF_RESULTS));
+        long firstIndex = (Long.parseLong(requestQueryParams.get(PAGE)) - 1) * numberOfResults;
+        int[] ordered = Optional.ofNullable(requestQueryParams.get(SORT))
+            .flatMap(ProjectColumns.SortOrder::fromParameterValue)
+            .map(sortOrder -> projectColumns.top(matches, sortOrder,
+                (int) Math.min(firstIndex + numberOfResults, matches.length)))
+            .orElse(matches);
+        int[] page = Arrays.stream(ordered).skip(firstIndex).limit(numberOfResults).toArray();
+
+        return new ProjectsWrapper()
+            .usingMergedHeadersAndQueryParams(totalCountHeaders(matches.length), requestQueryParams)
+            .withProcessingTime(System.currentTimeMillis() - startRequestTime)
+            .withHits(readHits(page))
+            .withFacets(projectColumns.facets(matches));
+    }
+
+    /**
+     * Lists the projects a person or an organization takes part in, newest start date first. Only the documents of the
+     * requested page are copied from the ParticipantIndex, so the time taken does not depend on the number of projects
+     * of the participant.
+     *
+     * @param participant        whether the id is of a person or an organization
+     * @param id                 the Cristin id of the person, institution or unit
+     * @param requestQueryParams request parameters containing page and number of results
+     * @return the requested page of projects of the participant
+     * @throws BadRequestException if the page requested is beyond the projects of the participant
+     */
+    public ProjectsWrapper projectsOf(Participant participant, String id, Map<String, String> requestQueryParams)
+        throws BadRequestException {
+        long startRequestTime = System.currentTimeMillis();
+        int numberOfResults = Integer.parseInt(requestQueryParams.get(NUMBER_OF_RESULTS));
+        long firstIndex = (Long.parseLong(requestQueryParams.get(PAGE)) - 1) * numberOfResults;
+        ParticipantIndex.Page page = participantIndex.page(participant, id, firstIndex, numberOfResults);
+
+        return new ProjectsWrapper()
+            .withSubPath(participant.getPath() + SLASH + id)
+            .usingMergedHeadersAndQueryParams(totalCountHeaders(page.getTotal()), requestQueryParams)
+            .withProcessingTime(System.currentTimeMillis() - startRequestTime)
+            .withHits(readHits(page.getDocuments()));
+    }
+
+    private List<NvaProject> readHits(int[] documents) {
+        return Arrays.stream(documents)
+            .mapToObj(titleIndex::projectId)
+            .map(id -> readProject(projectStore, id))
+            .flatMap(Optional::stream)
+            .map(CristinProject::toNvaProject)
+            .collect(Collectors.toList());
+    }
+
+    private static HttpHeaders totalCountHeaders(int totalCount) {
+        return HttpHeaders.of(Map.of(X_TOTAL_COUNT, List.of(String.valueOf(totalCount))), (name, value) -> true);
+    }
+
+    private static LocalDate parseDate(String date) {
+        return Optional.ofNullable(date).map(LocalDate::parse).orElse(null);
+    }
+
+    private int[] findMatches(String query) {
+        if (query == null) {
+            return IntStream.range(0, titleIndex.size()).toArray();
+        }
+        if (Utils.isPositiveInteger(query)) {
+            int[] projectCodeMatches = titleIndex.searchProjectCode(query);
+            if (projectCodeMatches.length > 0) {
+                return projectCodeMatches;
+            }
+        }
+        return titleIndex.search(query);
+    }
+
+    private static Optional<CristinProject> readProject(ProjectStore projectStore, String id) {
+        return attempt(() -> projectStore.getProject(id))
+            .toOptional(failure -> logger.warn(ERROR_MESSAGE_READING_STORED_PROJECT_FAILED, id, failure.getException()))
+            .flatMap(project -> project);
+    }
+}
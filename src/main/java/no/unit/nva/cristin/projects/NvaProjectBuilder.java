@@ -1,12 +1,16 @@
 package no.unit.nva.cristin.projects;
 
+import static no.unit.nva.cristin.projects.Constants.INTERN_CACHE_MAXIMUM_SIZE;
 import static no.unit.nva.cristin.projects.UriUtils.getNvaProjectUriWithId;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import no.unit.nva.cristin.projects.model.cristin.CristinInstitution;
 import no.unit.nva.cristin.projects.model.cristin.CristinPerson;
 import no.unit.nva.cristin.projects.model.cristin.CristinProject;
 import no.unit.nva.cristin.projects.model.cristin.CristinRole;
@@ -16,6 +20,13 @@ import no.unit.nva.cristin.projects.model.nva.NvaPerson;
 import no.unit.nva.cristin.projects.model.nva.NvaProject;
 import nva.commons.core.language.LanguageMapper;
 
+/**
+ * Transforms a CristinProject into an immutable NvaProject. The builder only reads from the CristinProject, so the same
+ * CristinProject can be transformed any number of times, also concurrently from several threads. Persons and
+ * organizations are interned here, and not when NVA models are deserialized, so the same instance is returned for every
+ * occurrence of a person or an institution as long as its names are unchanged, and equal institution name maps are
+ * shared.
+ */
 public class NvaProjectBuilder {
 
     private static final String PROJECT_TYPE = "Project";
@@ -27,12 +38,22 @@ public class NvaProjectBuilder {
     private static final Map<String, String> cristinRolesToNva = Map.of("PRO_MANAGER", "ProjectManager",
         "PRO_PARTICIPANT", "ProjectParticipant");
 
+    private static final InternCache<String, NvaPerson> PERSONS = new InternCache<>(INTERN_CACHE_MAXIMUM_SIZE);
+    private static final InternCache<String, NvaOrganization> ORGANIZATIONS =
+        new InternCache<>(INTERN_CACHE_MAXIMUM_SIZE);
+    private static final InternCache<Map<String, String>, Map<String, String>> NAMES =
+        new InternCache<>(INTERN_CACHE_MAXIMUM_SIZE);
+
     private final transient CristinProject cristinProject;
-    private final transient NvaProject nvaProject;
+    private final transient String context;
 
     public NvaProjectBuilder(CristinProject cristinProject) {
+        this(cristinProject, null);
+    }
+
+    private NvaProjectBuilder(CristinProject cristinProject, String context) {
         this.cristinProject = cristinProject;
-        nvaProject = new NvaProject();
+        this.context = context;
     }
 
     /**
@@ -41,25 +62,25 @@ public class NvaProjectBuilder {
      * @return a NvaProject converted from a CristinProject
      */
     public NvaProject build() {
-        nvaProject.setId(getNvaProjectUriWithId(cristinProject.getCristinProjectId()));
-        nvaProject.setType(PROJECT_TYPE);
-        nvaProject.setIdentifiers(createCristinIdentifier());
-        nvaProject.setTitle(extractMainTitle());
-        nvaProject.setAlternativeTitles(extractAlternativeTitles());
-        nvaProject.setLanguage(LanguageMapper.toUri(cristinProject.getMainLanguage()));
-        nvaProject.setStartDate(cristinProject.getStartDate());
-        nvaProject.setEndDate(cristinProject.getEndDate());
-        nvaProject.setGrants(Collections.emptyList());
-        nvaProject.setCoordinatingInstitution(extractCoordinatingInstitution());
-        nvaProject.setContributors(extractContributors());
-
-        return nvaProject;
+        return new NvaProject(
+            context,
+            getNvaProjectUriWithId(cristinProject.getCristinProjectId()),
+            PROJECT_TYPE,
+            createCristinIdentifier(),
+            extractMainTitle(),
+            LanguageMapper.toUri(cristinProject.getMainLanguage()),
+            extractAlternativeTitles(),
+            cristinProject.getStartDate(),
+            cristinProject.getEndDate(),
+            Collections.emptyList(),
+            extractCoordinatingInstitution(),
+            extractContributors());
     }
 
     private static List<NvaContributor> transformCristinPersonsToNvaContributors(List<CristinPerson> participants) {
         return participants.stream()
             .flatMap(NvaProjectBuilder::generateRoleBasedContribution)
-            .collect(Collectors.toList());
+            .collect(Collectors.toUnmodifiableList());
     }
 
     private List<Map<String, String>> createCristinIdentifier() {
@@ -74,17 +95,36 @@ public class NvaProjectBuilder {
 
     private static NvaContributor createNvaContributorFromCristinPersonByRole(CristinPerson cristinPerson,
                                                                               CristinRole role) {
-        NvaContributor nvaContributor = new NvaContributor();
-        nvaContributor.setType(cristinRolesToNva.get(role.getRoleCode()));
-        nvaContributor.setIdentity(NvaPerson.fromCristinPerson(cristinPerson));
-        nvaContributor.setAffiliation(NvaOrganization.fromCristinInstitution(role.getInstitution()));
-        return nvaContributor;
+        return new NvaContributor(
+            cristinRolesToNva.get(role.getRoleCode()),
+            internPerson(cristinPerson),
+            internOrganization(role.getInstitution()));
+    }
+
+    private static NvaPerson internPerson(CristinPerson cristinPerson) {
+        return PERSONS.intern(cristinPerson.getCristinPersonId(),
+            cached -> Objects.equals(cached.getFirstName(), cristinPerson.getFirstName())
+                && Objects.equals(cached.getLastName(), cristinPerson.getSurname()),
+            id -> NvaPerson.fromCristinPerson(cristinPerson));
+    }
+
+    private static NvaOrganization internOrganization(CristinInstitution cristinInstitution) {
+        if (cristinInstitution == null) {
+            return null;
+        }
+
+        return ORGANIZATIONS.intern(cristinInstitution.getCristinInstitutionId(),
+            cached -> Objects.equals(cached.getName(), cristinInstitution.getInstitutionName()),
+            id -> NvaOrganization.fromCristinInstitution(cristinInstitution, NvaProjectBuilder::internName));
+    }
+
+    private static Map<String, String> internName(Map<String, String> name) {
+        return NAMES.internValue(name, original -> Collections.unmodifiableMap(new LinkedHashMap<>(original)));
     }
 
     private NvaOrganization extractCoordinatingInstitution() {
         return Optional.ofNullable(cristinProject.getCoordinatingInstitution())
-            .map(coordinatingInstitution -> NvaOrganization
-                .fromCristinInstitution(coordinatingInstitution.getInstitution()))
+            .map(coordinatingInstitution -> internOrganization(coordinatingInstitution.getInstitution()))
             .orElse(null);
     }
 
@@ -96,21 +136,36 @@ public class NvaProjectBuilder {
 
     private List<Map<String, String>> extractAlternativeTitles() {
         return Optional.ofNullable(cristinProject.getTitle())
-            .filter(titles -> titles.keySet().remove(cristinProject.getMainLanguage()))
+            .map(this::titlesInOtherLanguagesThanMainLanguage)
             .filter(remainingTitles -> !remainingTitles.isEmpty())
             .map(Collections::singletonList)
             .orElse(Collections.emptyList());
     }
 
+    private Map<String, String> titlesInOtherLanguagesThanMainLanguage(Map<String, String> titles) {
+        Map<String, String> remainingTitles = new LinkedHashMap<>();
+        titles.forEach((language, title) -> {
+            if (!Objects.equals(language, cristinProject.getMainLanguage())) {
+                remainingTitles.put(language, title);
+            }
+        });
+        return Collections.unmodifiableMap(remainingTitles);
+    }
+
     private List<NvaContributor> extractContributors() {
         return Optional.ofNullable(cristinProject.getParticipants())
             .map(NvaProjectBuilder::transformCristinPersonsToNvaContributors)
             .orElse(Collections.emptyList());
     }
 
+    /**
+     * Returns a builder which sets the supplied context on the built project. This builder is left unchanged.
+     *
+     * @param context the JSON-LD context of the project
+     * @return a new NvaProjectBuilder for the same CristinProject with the supplied context
+     */
     public NvaProjectBuilder withContext(String context) {
-        this.nvaProject.setContext(context);
-        return this;
+        return new NvaProjectBuilder(cristinProject, context);
     }
 
 }
@@ -0,0 +1,189 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.ORGANIZATION_PROJECTS_PATH;
+import static no.unit.nva.cristin.projects.Constants.PERSON_PROJECTS_PATH;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import no.unit.nva.cristin.projects.model.cristin.CristinInstitution;
+import no.unit.nva.cristin.projects.model.cristin.CristinPerson;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import no.unit.nva.cristin.projects.model.cristin.CristinUnit;
+
+/**
+ * Reverse indexes from participating persons and organizations to the projects they take part in, with documents
+ * numbered like in TitleIndex. Every person or organization has an array of its documents, ordered newest start date
+ * first when the index is built, so a page of projects is a hash lookup and a copy of the page.
+ */
+public final class ParticipantIndex {
+
+    private static final int[] NO_DOCUMENTS = new int[0];
+
+    private final transient Map<Participant, Map<String, int[]>> documents;
+
+    private ParticipantIndex(Map<Participant, Map<String, int[]>> documents) {
+        this.documents = documents;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a page of the projects a person or an organization takes part in.
+     *
+     * @param participant  whether the id is of a person or an organization
+     * @param id           the Cristin id of the person, institution or unit
+     * @param firstIndex   the index of the first project of the page among all projects of the participant
+     * @param numberOfHits the maximum number of projects on the page
+     * @return the documents of the page, newest start date first, and the number of projects of the participant
+     */
+    public Page page(Participant participant, String id, long firstIndex, int numberOfHits) {
+        int[] all = documents.get(participant).getOrDefault(id, NO_DOCUMENTS);
+        int from = (int) Math.min(firstIndex, all.length);
+        int to = (int) Math.min(firstIndex + numberOfHits, all.length);
+        return new Page(Arrays.copyOfRange(all, from, to), all.length);
+    }
+
+    public int size(Participant participant) {
+        return documents.get(participant).size();
+    }
+
+    /**
+     * The kinds of participants indexed, with the path listing their projects.
+     */
+    public enum Participant {
+        PERSON(PERSON_PROJECTS_PATH),
+        ORGANIZATION(ORGANIZATION_PROJECTS_PATH);
+
+        private final String path;
+
+        Participant(String path) {
+            this.path = path;
+        }
+
+        /**
+         * Returns the path below the project path listing the projects of participants of this kind.
+         *
+         * @return the path, without slashes
+         */
+        public String getPath() {
+            return path;
+        }
+    }
+
+    /**
+     * A page of documents of a participant.
+     */
+    public static final class Page {
+
+        private final int[] documents;
+        private final int total;
+
+        private Page(int[] documents, int total) {
+            this.documents = documents;
+            this.total = total;
+        }
+
+        public int[] getDocuments() {
+            return documents.clone();
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+
+    /**
+     * Adds projects to new indexes. Projects must be added in the same order as to the TitleIndex searched.
+     */
+    public static final class Builder {
+
+        private final transient Map<Participant, Map<String, List<Integer>>> documents =
+            new EnumMap<>(Participant.class);
+        private final transient List<Long> startEpochDays = new ArrayList<>();
+
+        private Builder() {
+            for (Participant participant : Participant.values()) {
+                documents.put(participant, new HashMap<>());
+            }
+        }
+
+        /**
+         * Adds the document of a project to its participating persons, and to the institutions and units of the
+         * coordinating institution and of the roles of the participants.
+         *
+         * @param project the project to add
+         * @return this builder
+         */
+        public Builder add(CristinProject project) {
+            int document = startEpochDays.size();
+            startEpochDays.add(Optional.ofNullable(project.getStartDate())
+                .map(Builder::epochDay)
+                .orElse(Long.MIN_VALUE));
+            List<CristinPerson> participants = Optional.ofNullable(project.getParticipants()).orElse(List.of());
+            Set<String> persons = new LinkedHashSet<>();
+            Set<String> organizations = new LinkedHashSet<>();
+            participants.stream()
+                .map(CristinPerson::getCristinPersonId)
+                .flatMap(Stream::ofNullable)
+                .forEach(persons::add);
+            Optional.ofNullable(project.getCoordinatingInstitution()).ifPresent(organization ->
+                addOrganization(organizations, organization.getInstitution(), organization.getInstitutionUnit()));
+            participants.stream()
+                .map(CristinPerson::getRoles)
+                .flatMap(roles -> Optional.ofNullable(roles).orElse(List.of()).stream())
+                .forEach(role -> addOrganization(organizations, role.getInstitution(), role.getInstitutionUnit()));
+            persons.forEach(id -> add(Participant.PERSON, id, document));
+            organizations.forEach(id -> add(Participant.ORGANIZATION, id, document));
+            return this;
+        }
+
+        /**
+         * Creates the indexes of the projects added, ordering the projects of every participant by start date, newest
+         * first, and then by the order they were added. Projects without a start date come last.
+         *
+         * @return the indexes
+         */
+        public ParticipantIndex build() {
+            Comparator<Integer> newestFirst = Comparator.<Integer>comparingLong(startEpochDays::get).reversed()
+                .thenComparingInt(Integer::intValue);
+            Map<Participant, Map<String, int[]>> indexes = new EnumMap<>(Participant.class);
+            documents.forEach((participant, index) -> {
+                Map<String, int[]> sorted = new HashMap<>(index.size() * 2);
+                index.forEach((id, list) ->
+                    sorted.put(id, list.stream().sorted(newestFirst).mapToInt(Integer::intValue).toArray()));
+                indexes.put(participant, sorted);
+            });
+            return new ParticipantIndex(indexes);
+        }
+
+        private void add(Participant participant, String id, int document) {
+            documents.get(participant).computeIfAbsent(id, key -> new ArrayList<>()).add(document);
+        }
+
+        private static void addOrganization(Set<String> organizations, CristinInstitution institution,
+                                            CristinUnit unit) {
+            Optional.ofNullable(institution)
+                .map(CristinInstitution::getCristinInstitutionId)
+                .ifPresent(organizations::add);
+            Optional.ofNullable(unit)
+                .map(CristinUnit::getCristinUnitId)
+                .ifPresent(organizations::add);
+        }
+
+        private static long epochDay(Instant date) {
+            return date.atOffset(ZoneOffset.UTC).toLocalDate().toEpochDay();
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package no.unit.nva.cristin.projects;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import no.unit.nva.cristin.projects.model.cristin.CristinFundingSource;
+import no.unit.nva.cristin.projects.model.cristin.CristinInstitution;
+import no.unit.nva.cristin.projects.model.cristin.CristinOrganization;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+
+/**
+ * Attributes of indexed projects stored column by column, with documents numbered like in TitleIndex. Text values are
+ * replaced by ordinals into a dictionary per column, so facets of a result set are counted in arrays of primitive
+ * counters indexed by ordinal, without looking up any project. Start and end dates are kept as epoch days, so result
+ * sets are filtered and ordered by date without reading the projects.
+ */
+public final class ProjectColumns {
+
+    public static final String INSTITUTION = "institution";
+    public static final String FUNDING_SOURCE = "fundingSource";
+    public static final String STATUS = "status";
+    public static final String START_YEAR = "startYear";
+    public static final int MAX_FACET_VALUES = 20;
+    private static final int NO_VALUE = -1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int POSITION_BITS = 32;
+    private static final long POSITION_MASK = 0xFFFF_FFFFL;
+
+    private final transient Column institutions;
+    private final transient Column statuses;
+    private final transient Column startYears;
+    private final transient int[] fundingSourceOffsets;
+    private final transient int[] fundingSourceOrdinals;
+    private final transient String[] fundingSources;
+    private final transient int[] startEpochDays;
+    private final transient int[] endEpochDays;
+
+    private ProjectColumns(Builder builder) {
+        this.institutions = builder.institutions.build();
+        this.statuses = builder.statuses.build();
+        this.startYears = builder.startYears.build();
+        this.fundingSourceOffsets = toArray(builder.fundingSourceOffsets);
+        this.fundingSourceOrdinals = toArray(builder.fundingSourceOrdinals);
+        this.fundingSources = builder.fundingSources.values();
+        this.startEpochDays = toArray(builder.startEpochDays);
+        this.endEpochDays = toArray(builder.endEpochDays);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Counts the projects of the result set having each institution, funding source, status and start year. A project
+     * with several funding sources is counted once for each of them.
+     *
+     * @param documents the documents of the result set
+     * @return the MAX_FACET_VALUES most frequent values of each facet, most frequent first
+     */
+    public Map<String, List<FacetCount>> facets(int[] documents) {
+        int[] fundingSourceCounts = new int[fundingSources.length];
+        for (int document : documents) {
+            for (int i = fundingSourceOffsets[document]; i < fundingSourceOffsets[document + 1]; i++) {
+                fundingSourceCounts[fundingSourceOrdinals[i]]++;
+            }
+        }
+        Map<String, List<FacetCount>> facets = new LinkedHashMap<>();
+        facets.put(INSTITUTION, institutions.facet(documents));
+        facets.put(FUNDING_SOURCE, mostFrequent(fundingSources, fundingSourceCounts));
+        facets.put(STATUS, statuses.facet(documents));
+        facets.put(START_YEAR, startYears.facet(documents));
+        return facets;
+    }
+
+    /**
+     * Keeps the documents of projects with the status and starting within the date range, in the order given.
+     *
+     * @param documents     the documents to filter
+     * @param startDateFrom the first start date to keep, or null to keep projects starting on any earlier date
+     * @param startDateTo   the last start date to keep, or null to keep projects starting on any later date
+     * @param status        the status to keep, or null to keep projects of any status
+     * @return the documents kept
+     */
+    public int[] filter(int[] documents, LocalDate startDateFrom, LocalDate startDateTo, String status) {
+        boolean anyStartDate = startDateFrom == null && startDateTo == null;
+        long firstDay = startDateFrom == null ? Long.MIN_VALUE : startDateFrom.toEpochDay();
+        long lastDay = startDateTo == null ? Long.MAX_VALUE : startDateTo.toEpochDay();
+        int statusOrdinal = status == null ? NO_VALUE : statuses.ordinalOf(status);
+        if (status != null && statusOrdinal == NO_VALUE) {
+            return new int[0];
+        }
+        int[] kept = new int[documents.length];
+        int size = 0;
+        for (int document : documents) {
+            int startDay = startEpochDays[document];
+            if ((anyStartDate || startDay != NO_DATE && startDay >= firstDay && startDay <= lastDay)
+                && (status == null || statuses.ordinals[document] == statusOrdinal)) {
+                kept[size++] = document;
+            }
+        }
+        return Arrays.copyOf(kept, size);
+    }
+
+    /**
+     * Selects the first documents in the sort order without sorting all of them. A max-heap holds the best limit
+     * documents seen so far, so selecting k of n documents takes O(n log k) time and only the k selected are sorted.
+     * Documents with equal dates, or without the date, keep the order given, and documents without the date come
+     * last.
+     *
+     * @param documents the documents to select from, in order of relevance
+     * @param sortOrder the order to select in
+     * @param limit     the number of documents to select
+     * @return the first documents in the sort order, at most limit of them
+     */
+    public int[] top(int[] documents, SortOrder sortOrder, int limit) {
+        int[] epochDays = sortOrder.byStartDate ? startEpochDays : endEpochDays;
+        long[] heap = new long[Math.min(limit, documents.length)];
+        int size = 0;
+        for (int position = 0; position < documents.length && heap.length > 0; position++) {
+            long key = sortKey(epochDays[documents[position]], sortOrder.descending, position);
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(heap, size++);
+            } else if (key < heap[0]) {
+                heap[0] = key;
+                siftDown(heap, size);
+            }
+        }
+        Arrays.sort(heap);
+        int[] top = new int[heap.length];
+        for (int i = 0; i < heap.length; i++) {
+            top[i] = documents[(int) (heap[i] & POSITION_MASK)];
+        }
+        return top;
+    }
+
+    public int size() {
+        return institutions.ordinals.length;
+    }
+
+    /**
+     * Packs the date in the sort order and the position in the result set into one long, so keys compare like the
+     * documents should be ordered.
+     */
+    private static long sortKey(int epochDay, boolean descending, int position) {
+        long day = epochDay == NO_DATE ? Integer.MAX_VALUE : descending ? -(long) epochDay : epochDay;
+        return day << POSITION_BITS | position;
+    }
+
+    private static void siftUp(long[] heap, int index) {
+        int child = index;
+        while (child > 0) {
+            int parent = (child - 1) / 2;
+            if (heap[parent] >= heap[child]) {
+                return;
+            }
+            swap(heap, parent, child);
+            child = parent;
+        }
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        int parent = 0;
+        while (2 * parent + 1 < size) {
+            int child = 2 * parent + 1;
+            if (child + 1 < size && heap[child + 1] > heap[child]) {
+                child++;
+            }
+            if (heap[parent] >= heap[child]) {
+                return;
+            }
+            swap(heap, parent, child);
+            parent = child;
+        }
+    }
+
+    private static void swap(long[] heap, int first, int second) {
+        long value = heap[first];
+        heap[first] = heap[second];
+        heap[second] = value;
+    }
+
+    private static List<FacetCount> mostFrequent(String[] values, int[] counts) {
+        List<FacetCount> facet = new ArrayList<>();
+        for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+            if (counts[ordinal] > 0) {
+                facet.add(new FacetCount(values[ordinal], counts[ordinal]));
+            }
+        }
+        return facet.stream()
+            .sorted(Comparator.comparingInt(FacetCount::getCount).reversed().thenComparing(FacetCount::getValue))
+            .limit(MAX_FACET_VALUES)
+            .collect(Collectors.toList());
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * A column of at most one value per document.
+     */
+    private static final class Column {
+
+        private final transient int[] ordinals;
+        private final transient String[] values;
+
+        private Column(int[] ordinals, String[] values) {
+            this.ordinals = ordinals;
+            this.values = values;
+        }
+
+        private List<FacetCount> facet(int[] documents) {
+            int[] counts = new int[values.length];
+            for (int document : documents) {
+                int ordinal = ordinals[document];
+                if (ordinal != NO_VALUE) {
+                    counts[ordinal]++;
+                }
+            }
+            return mostFrequent(values, counts);
+        }
+
+        private int ordinalOf(String value) {
+            for (int ordinal = 0; ordinal < values.length; ordinal++) {
+                if (values[ordinal].equals(value)) {
+                    return ordinal;
+                }
+            }
+            return NO_VALUE;
+        }
+    }
+
+    private static final class Dictionary {
+
+        private final transient Map<String, Integer> ordinals = new HashMap<>();
+
+        private int ordinal(String value) {
+            return value == null ? NO_VALUE : ordinals.computeIfAbsent(value, key -> ordinals.size());
+        }
+
+        private String[] values() {
+            String[] values = new String[ordinals.size()];
+            ordinals.forEach((value, ordinal) -> values[ordinal] = value);
+            return values;
+        }
+    }
+
+    private static final class ColumnBuilder {
+
+        private final transient Dictionary dictionary = new Dictionary();
+        private final transient List<Integer> ordinals = new ArrayList<>();
+
+        private void add(String value) {
+            ordinals.add(dictionary.ordinal(value));
+        }
+
+        private Column build() {
+            return new Column(toArray(ordinals), dictionary.values());
+        }
+    }
+
+    /**
+     * Adds projects to new columns. Projects must be added in the same order as to the TitleIndex searched.
+     */
+    public static final class Builder {
+
+        private final transient ColumnBuilder institutions = new ColumnBuilder();
+        private final transient ColumnBuilder statuses = new ColumnBuilder();
+        private final transient ColumnBuilder startYears = new ColumnBuilder();
+        private final transient Dictionary fundingSources = new Dictionary();
+        private final transient List<Integer> fundingSourceOffsets = new ArrayList<>(List.of(0));
+        private final transient List<Integer> fundingSourceOrdinals = new ArrayList<>();
+        private final transient List<Integer> startEpochDays = new ArrayList<>();
+        private final transient List<Integer> endEpochDays = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds the attributes of the next document.
+         *
+         * @param project the project to add
+         * @return this builder
+         */
+        public Builder add(CristinProject project) {
+            institutions.add(Optional.ofNullable(project.getCoordinatingInstitution())
+                .map(CristinOrganization::getInstitution)
+                .map(CristinInstitution::getCristinInstitutionId)
+                .orElse(null));
+            statuses.add(project.getStatus());
+            startYears.add(Optional.ofNullable(project.getStartDate())
+                .map(startDate -> String.valueOf(startDate.atOffset(ZoneOffset.UTC).getYear()))
+                .orElse(null));
+            Optional.ofNullable(project.getProjectFundingSources()).orElse(List.of()).stream()
+                .map(CristinFundingSource::getFundingSourceCode)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(code -> fundingSourceOrdinals.add(fundingSources.ordinal(code)));
+            fundingSourceOffsets.add(fundingSourceOrdinals.size());
+            startEpochDays.add(epochDay(project.getStartDate()));
+            endEpochDays.add(epochDay(project.getEndDate()));
+            return this;
+        }
+
+        public ProjectColumns build() {
+            return new ProjectColumns(this);
+        }
+
+        private static int epochDay(Instant date) {
+            return date == null ? NO_DATE : (int) date.atOffset(ZoneOffset.UTC).toLocalDate().toEpochDay();
+        }
+    }
+
+    /**
+     * Orders of search results other than by relevance, named by the value of the sort parameter.
+     */
+    public enum SortOrder {
+        START_DATE("startDate", true, false),
+        START_DATE_DESCENDING("-startDate", true, true),
+        END_DATE("endDate", false, false),
+        END_DATE_DESCENDING("-endDate", false, true);
+
+        private final String parameterValue;
+        private final boolean byStartDate;
+        private final boolean descending;
+
+        SortOrder(String parameterValue, boolean byStartDate, boolean descending) {
+            this.parameterValue = parameterValue;
+            this.byStartDate = byStartDate;
+            this.descending = descending;
+        }
+
+        /**
+         * Finds the sort order named by the value of the sort parameter.
+         *
+         * @param parameterValue the value of the sort parameter
+         * @return the sort order, or empty if the value names none
+         */
+        public static Optional<SortOrder> fromParameterValue(String parameterValue) {
+            return Arrays.stream(values())
+                .filter(sortOrder -> sortOrder.parameterValue.equals(parameterValue))
+                .findAny();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_HARVEST_LANGUAGE;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_HARVEST_PAGE_SIZE;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_STORE_PATH;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_HARVEST_FAILED;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.NotFoundException;
+import nva.commons.core.JacocoGenerated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Mirrors the projects of Cristin into a ProjectStore. The project listing is paged through, and a project is fetched
+ * only when it is not stored yet or its last_modified differs from the stored version, so later harvests only fetch
+ * what has changed. The next page is checkpointed after every page, so a harvest that is interrupted resumes where it
+ * left off. A harvest that pages through the whole listing in one run removes the stored projects it did not see, as
+ * they have been deleted in Cristin. A harvest resumed from a checkpoint has not seen the earlier pages, so it removes
+ * nothing.
+ */
+public class ProjectHarvester {
+
+    public static final String CHECKPOINT_FILE = "harvest-checkpoint.json";
+    public static final double COMPACTION_GARBAGE_RATIO = 0.5;
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectHarvester.class);
+
+    private final transient CristinApiClient cristinApiClient;
+    private final transient ProjectStore projectStore;
+    private final transient Path checkpointPath;
+    private final transient String language;
+    private final transient int pageSize;
+
+    /**
+     * Creates a harvester.
+     *
+     * @param cristinApiClient client used to page through and fetch projects
+     * @param projectStore     store the projects are mirrored into
+     * @param checkpointPath   where the progress of the harvest is saved
+     * @param language         language the projects are fetched in
+     * @param pageSize         projects per page of the listing
+     */
+    public ProjectHarvester(CristinApiClient cristinApiClient, ProjectStore projectStore, Path checkpointPath,
+                            String language, int pageSize) {
+        this.cristinApiClient = cristinApiClient;
+        this.projectStore = projectStore;
+        this.checkpointPath = checkpointPath;
+        this.language = language;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Harvests into the store at CRISTIN_STORE_PATH, in CRISTIN_HARVEST_LANGUAGE with CRISTIN_HARVEST_PAGE_SIZE
+     * projects per page. The store is compacted afterwards when more than half of it is superseded records.
+     *
+     * @param args not used
+     * @throws ApiGatewayException if Cristin fails, the harvest resumes from the checkpoint on the next run
+     * @throws IOException         if the store or the checkpoint cannot be written
+     */
+    @JacocoGenerated
+    public static void main(String... args) throws ApiGatewayException, IOException {
+        Path storePath = Path.of(CRISTIN_STORE_PATH);
+        try (SegmentLogProjectStore store = new SegmentLogProjectStore(storePath)) {
+            ProjectHarvester harvester = new ProjectHarvester(new CristinApiClient(), store,
+                storePath.resolve(CHECKPOINT_FILE), CRISTIN_HARVEST_LANGUAGE, CRISTIN_HARVEST_PAGE_SIZE);
+            Result result = harvester.harvest();
+            logger.info("Harvested {} pages, fetched {} projects, {} unchanged, {} removed", result.getPages(),
+                result.getFetched(), result.getUnchanged(), result.getRemoved());
+            if (store.garbageRatio() > COMPACTION_GARBAGE_RATIO) {
+                store.compact();
+            }
+        }
+    }
+
+    /**
+     * Harvests from the checkpointed page until the last page of the listing. When the last page is done the
+     * checkpoint is reset to the first page for the next harvest. When the harvest started on the first page, stored
+     * projects that were not in the listing are removed.
+     *
+     * @return what was harvested
+     * @throws ApiGatewayException if Cristin fails
+     * @throws IOException         if the store or the checkpoint cannot be read or written
+     */
+    public Result harvest() throws ApiGatewayException, IOException {
+        HarvestCheckpoint checkpoint = HarvestCheckpoint.load(checkpointPath);
+        boolean completeListing = checkpoint.getNextPage() == HarvestCheckpoint.FIRST_PAGE;
+        Set<String> listedIds = new HashSet<>();
+        Result result = new Result();
+        for (long page = checkpoint.getNextPage(); ; page++) {
+            List<CristinProject> projects = fetchPage(page);
+            for (CristinProject project : projects) {
+                Optional.ofNullable(project.getCristinProjectId()).ifPresent(listedIds::add);
+                harvestProject(project, result);
+            }
+            result.pages++;
+            if (projects.size() < pageSize) {
+                break;
+            }
+            checkpoint.setNextPage(page + 1);
+            checkpoint.save(checkpointPath);
+        }
+        if (completeListing && !listedIds.isEmpty()) {
+            removeProjectsNotListed(listedIds, result);
+        }
+        checkpoint.setNextPage(HarvestCheckpoint.FIRST_PAGE);
+        checkpoint.setCompletedHarvests(checkpoint.getCompletedHarvests() + 1);
+        checkpoint.setLastCompletedAt(Instant.now().toString());
+        checkpoint.save(checkpointPath);
+        return result;
+    }
+
+    private List<CristinProject> fetchPage(long page) throws ApiGatewayException {
+        try {
+            return cristinApiClient.fetchProjectPage(page, pageSize, language);
+        } catch (ApiGatewayException e) {
+            logger.warn(String.format(ERROR_MESSAGE_HARVEST_FAILED, page), e);
+            throw e;
+        }
+    }
+
+    private void harvestProject(CristinProject projectFromListing, Result result)
+        throws ApiGatewayException, IOException {
+
+        if (!projectFromListing.hasValidContent()) {
+            return;
+        }
+        String id = projectFromListing.getCristinProjectId();
+        Optional<CristinProject> storedProject = projectStore.getProject(id);
+        if (storedProject.isPresent() && isUnchanged(projectFromListing, storedProject.get())) {
+            result.unchanged++;
+            return;
+        }
+        try {
+            projectStore.putProject(cristinApiClient.fetchProjectFromCristin(id, language));
+            result.fetched++;
+        } catch (NotFoundException e) {
+            logger.info("Project {} was removed from Cristin during harvest", id);
+            if (storedProject.isPresent()) {
+                projectStore.removeProject(id);
+                result.removed++;
+            }
+        }
+    }
+
+    /**
+     * Removes the stored projects missing from the listing. An empty listing is taken as a failure of Cristin rather
+     * than as all projects being deleted, so the caller does not remove anything then.
+     */
+    private void removeProjectsNotListed(Set<String> listedIds, Result result) throws IOException {
+        for (String id : projectStore.projectIds()) {
+            if (!listedIds.contains(id)) {
+                projectStore.removeProject(id);
+                result.removed++;
+            }
+        }
+    }
+
+    private static boolean isUnchanged(CristinProject projectFromListing, CristinProject storedProject) {
+        return projectFromListing.getLastModified() != null
+            && projectFromListing.getLastModified().equals(storedProject.getLastModified());
+    }
+
+    public static final class Result {
+
+        private long pages;
+        private long fetched;
+        private long unchanged;
+        private long removed;
+
+        public long getPages() {
+            return pages;
+        }
+
+        public long getFetched() {
+            return fetched;
+        }
+
+        public long getUnchanged() {
+            return unchanged;
+        }
+
+        public long getRemoved() {
+            return removed;
+        }
+    }
+}
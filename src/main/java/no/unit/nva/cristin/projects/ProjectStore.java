@@ -0,0 +1,127 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_LOCAL_STORE_ENABLED;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_SNAPSHOT_FALLBACK_ENABLED;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_STORE_PATH;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_OPENING_STORE_FAILED;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local copy of Cristin projects, filled by ProjectHarvester and read by CristinApiClient before calling Cristin.
+ */
+public interface ProjectStore {
+
+    /**
+     * Returns the stored version of a project.
+     *
+     * @param id the Cristin id of the project
+     * @return the project, or empty if it is not stored
+     * @throws IOException if the store cannot be read
+     */
+    Optional<CristinProject> getProject(String id) throws IOException;
+
+    /**
+     * Stores a project, replacing any earlier version of it.
+     *
+     * @param project the project to store
+     * @throws IOException if the store cannot be written
+     */
+    void putProject(CristinProject project) throws IOException;
+
+    /**
+     * Removes a project, e.g. one deleted in Cristin. Removing a project that is not stored does nothing.
+     *
+     * @param id the Cristin id of the project
+     * @throws IOException if the store cannot be written
+     */
+    void removeProject(String id) throws IOException;
+
+    /**
+     * Returns the ids of all stored projects.
+     *
+     * @return the ids, in no particular order
+     */
+    Set<String> projectIds();
+
+    /**
+     * Returns when the store was last harvested completely.
+     *
+     * @return the time of the last complete harvest, or empty if it is not known
+     */
+    default Optional<Instant> snapshotTime() {
+        return Optional.empty();
+    }
+
+    /**
+     * The store at CRISTIN_STORE_PATH when CRISTIN_LOCAL_STORE_ENABLED or CRISTIN_SNAPSHOT_FALLBACK_ENABLED is set,
+     * otherwise a store that is always empty.
+     * The store is opened once per JVM, so warm containers keep its index and mappings between invocations. If it
+     * cannot be opened, the empty store is used and all lookups go to Cristin.
+     *
+     * @return the store configured by the environment
+     */
+    static ProjectStore defaultStore() {
+        return DefaultStoreHolder.DEFAULT_STORE;
+    }
+
+    /**
+     * A store that never has any projects and ignores projects put into or removed from it.
+     *
+     * @return the empty store
+     */
+    static ProjectStore empty() {
+        return EmptyProjectStore.INSTANCE;
+    }
+
+    final class DefaultStoreHolder {
+
+        private static final ProjectStore DEFAULT_STORE =
+            CRISTIN_LOCAL_STORE_ENABLED || CRISTIN_SNAPSHOT_FALLBACK_ENABLED ? openStore() : empty();
+
+        private DefaultStoreHolder() {
+        }
+
+        private static ProjectStore openStore() {
+            try {
+                return new SegmentLogProjectStore(Path.of(CRISTIN_STORE_PATH));
+            } catch (IOException e) {
+                LoggerFactory.getLogger(ProjectStore.class).warn(ERROR_MESSAGE_OPENING_STORE_FAILED, e);
+                return empty();
+            }
+        }
+    }
+
+    final class EmptyProjectStore implements ProjectStore {
+
+        private static final EmptyProjectStore INSTANCE = new EmptyProjectStore();
+
+        private EmptyProjectStore() {
+        }
+
+        @Override
+        public Optional<CristinProject> getProject(String id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void putProject(CristinProject project) {
+            // nothing is stored
+        }
+
+        @Override
+        public void removeProject(String id) {
+            // nothing is stored
+        }
+
+        @Override
+        public Set<String> projectIds() {
+            return Set.of();
+        }
+    }
+}
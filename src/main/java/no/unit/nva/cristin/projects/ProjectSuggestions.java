@@ -0,0 +1,125 @@
+package no.unit.nva.cristin.projects;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.ALWAYS;
+import static no.unit.nva.cristin.projects.JsonPropertyNames.HITS;
+import static no.unit.nva.cristin.projects.JsonPropertyNames.ID;
+import static no.unit.nva.cristin.projects.JsonPropertyNames.LANGUAGE;
+import static no.unit.nva.cristin.projects.JsonPropertyNames.PROCESSING_TIME;
+import static no.unit.nva.cristin.projects.JsonPropertyNames.SEARCH_STRING;
+import static no.unit.nva.cristin.projects.JsonPropertyNames.TITLE;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Collectors;
+import nva.commons.core.JacocoGenerated;
+
+@SuppressWarnings("unused")
+@JacocoGenerated
+@JsonInclude(ALWAYS)
+@JsonPropertyOrder({SEARCH_STRING, PROCESSING_TIME, HITS})
+public class ProjectSuggestions {
+
+    @JsonProperty
+    private String searchString;
+    @JsonProperty
+    private Long processingTime;
+    @JsonProperty
+    private List<Hit> hits;
+
+    public ProjectSuggestions() {
+    }
+
+    /**
+     * Creates a response with suggestions for a prefix.
+     *
+     * @param searchString   the prefix typed by the user
+     * @param processingTime time spent finding the suggestions in milliseconds
+     * @param suggestions    the suggestions, best first
+     */
+    public ProjectSuggestions(String searchString, Long processingTime, List<TitleSuggester.Suggestion> suggestions) {
+        this.searchString = searchString;
+        this.processingTime = processingTime;
+        this.hits = suggestions.stream()
+            .map(suggestion -> new Hit(UriUtils.getNvaProjectUriWithId(suggestion.getProjectId()),
+                suggestion.getTitle(), suggestion.getLanguage()))
+            .collect(Collectors.toList());
+    }
+
+    public String getSearchString() {
+        return searchString;
+    }
+
+    public void setSearchString(String searchString) {
+        this.searchString = searchString;
+    }
+
+    public Long getProcessingTime() {
+        return processingTime;
+    }
+
+    public void setProcessingTime(Long processingTime) {
+        this.processingTime = processingTime;
+    }
+
+    public List<Hit> getHits() {
+        return hits;
+    }
+
+    public void setHits(List<Hit> hits) {
+        this.hits = hits;
+    }
+
+    @JacocoGenerated
+    @JsonPropertyOrder({ID, TITLE, LANGUAGE})
+    public static class Hit {
+
+        @JsonProperty
+        private URI id;
+        @JsonProperty
+        private String title;
+        @JsonProperty
+        private String language;
+
+        public Hit() {
+        }
+
+        /**
+         * Creates a suggested title of a project.
+         *
+         * @param id       the NVA id of the project
+         * @param title    the title
+         * @param language the language of the title
+         */
+        public Hit(URI id, String title, String language) {
+            this.id = id;
+            this.title = title;
+            this.language = language;
+        }
+
+        public URI getId() {
+            return id;
+        }
+
+        public void setId(URI id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getLanguage() {
+            return language;
+        }
+
+        public void setLanguage(String language) {
+            this.language = language;
+        }
+    }
+}
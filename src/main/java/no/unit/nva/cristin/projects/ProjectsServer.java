@@ -0,0 +1,265 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.BASE_PATH;
+import static no.unit.nva.cristin.projects.Constants.ID;
+import static no.unit.nva.cristin.projects.Constants.OBJECT_MAPPER;
+import static no.unit.nva.cristin.projects.Constants.ORGANIZATION_PROJECTS_PATH;
+import static no.unit.nva.cristin.projects.Constants.PERSON_PROJECTS_PATH;
+import static no.unit.nva.cristin.projects.Constants.SERVER_PORT;
+import static no.unit.nva.cristin.projects.Constants.SERVER_THREADS;
+import static no.unit.nva.cristin.projects.Constants.SUGGEST_PATH;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_METHOD_NOT_ALLOWED;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_RESOURCE_NOT_FOUND;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_SERVER_ERROR;
+import static nva.commons.apigateway.ContentTypes.APPLICATION_JSON;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import nva.commons.apigateway.HttpHeaders;
+import nva.commons.apigateway.RequestInfo;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.core.Environment;
+import nva.commons.core.JacocoGenerated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Standalone HTTP server exposing the same endpoints as the Lambda functions, for running the API as a long-lived
+ * container. Requests are passed to processInput of the handlers on a bounded pool of worker threads, and all handlers
+ * share one CristinApiClient.
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class ProjectsServer {
+
+    public static final String HEALTH_PATH = "/health";
+    public static final String METRICS_PATH = "/metrics";
+    public static final String APPLICATION_PROBLEM_JSON = "application/problem+json";
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectsServer.class);
+
+    private static final String ROOT_PATH = "/";
+    private static final String GET = "GET";
+    private static final String SUGGEST_SUB_PATH = ROOT_PATH + SUGGEST_PATH;
+    private static final String PERSON_SUB_PATH = ROOT_PATH + PERSON_PROJECTS_PATH + ROOT_PATH;
+    private static final String ORGANIZATION_SUB_PATH = ROOT_PATH + ORGANIZATION_PROJECTS_PATH + ROOT_PATH;
+    private static final char PARAMETER_DELIMITER = '&';
+    private static final char KEY_VALUE_DELIMITER = '=';
+    private static final String EMPTY_VALUE = "";
+    private static final int SYSTEM_DEFAULT_BACKLOG = 0;
+    private static final int STOP_DELAY_SECONDS = 1;
+    private static final String PROBLEM_STATUS = "status";
+    private static final String PROBLEM_DETAIL = "detail";
+    private static final byte[] HEALTHY_RESPONSE = "{\"status\":\"UP\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final transient HttpServer httpServer;
+    private final transient ExecutorService executor;
+    private final transient String projectPath;
+    private final transient FetchCristinProjects fetchCristinProjects;
+    private final transient FetchOneCristinProject fetchOneCristinProject;
+    private final transient FetchProjectSuggestions fetchProjectSuggestions;
+    private final transient FetchPersonProjects fetchPersonProjects;
+    private final transient FetchOrganizationProjects fetchOrganizationProjects;
+
+    /**
+     * Creates a server bound to the supplied address. The server does not accept requests until started.
+     *
+     * @param address          address to listen on, port 0 picks a free port
+     * @param threads          number of worker threads handling requests
+     * @param cristinApiClient client shared by all handlers
+     * @param environment      environment passed on to the handlers
+     * @throws IOException if the server cannot bind to the address
+     */
+    public ProjectsServer(InetSocketAddress address, int threads, CristinApiClient cristinApiClient,
+                          Environment environment) throws IOException {
+        this.projectPath = ROOT_PATH + BASE_PATH;
+        this.fetchCristinProjects = new FetchCristinProjects(cristinApiClient, environment);
+        this.fetchOneCristinProject = new FetchOneCristinProject(cristinApiClient, environment);
+        this.fetchProjectSuggestions = new FetchProjectSuggestions(cristinApiClient, environment);
+        this.fetchPersonProjects = new FetchPersonProjects(cristinApiClient, environment);
+        this.fetchOrganizationProjects = new FetchOrganizationProjects(cristinApiClient, environment);
+        this.executor = Executors.newFixedThreadPool(threads, new DaemonThreadFactory("projects-server"));
+        this.httpServer = HttpServer.create(address, SYSTEM_DEFAULT_BACKLOG);
+        httpServer.setExecutor(executor);
+        httpServer.createContext(ROOT_PATH, this::handleUnknownResource);
+        httpServer.createContext(HEALTH_PATH, this::handleHealthCheck);
+        httpServer.createContext(METRICS_PATH, this::handleMetrics);
+        httpServer.createContext(projectPath, this::handleProjectRequest);
+    }
+
+    /**
+     * Starts a server on SERVER_PORT with SERVER_THREADS worker threads, calling Cristin over the network.
+     *
+     * @param args not used
+     * @throws IOException if the server cannot bind to the port
+     */
+    @JacocoGenerated
+    public static void main(String... args) throws IOException {
+        CristinApiClient cristinApiClient = new CristinApiClient();
+        ColdStartPrimer.primeOnceIfEnabled(cristinApiClient);
+        cristinApiClient.refreshStoreIndexesAsync();
+        ProjectsServer server = new ProjectsServer(new InetSocketAddress(SERVER_PORT), SERVER_THREADS,
+            cristinApiClient, new Environment());
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        server.start();
+        logger.info("Serving {} on port {}", server.projectPath, server.getPort());
+    }
+
+    public void start() {
+        httpServer.start();
+    }
+
+    public void stop() {
+        httpServer.stop(STOP_DELAY_SECONDS);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    private void handleProjectRequest(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String subPath = path.substring(projectPath.length());
+        if (!GET.equals(exchange.getRequestMethod())) {
+            writeProblem(exchange, fetchCristinProjects, HttpURLConnection.HTTP_BAD_METHOD,
+                String.format(ERROR_MESSAGE_METHOD_NOT_ALLOWED, exchange.getRequestMethod()));
+        } else if (subPath.isEmpty() || ROOT_PATH.equals(subPath)) {
+            respond(exchange, fetchCristinProjects, Collections.emptyMap(),
+                requestInfo -> fetchCristinProjects.processInput(null, requestInfo, null));
+        } else if (SUGGEST_SUB_PATH.equals(subPath)) {
+            respond(exchange, fetchProjectSuggestions, Collections.emptyMap(),
+                requestInfo -> fetchProjectSuggestions.processInput(null, requestInfo, null));
+        } else if (isParticipantPath(subPath, PERSON_SUB_PATH)) {
+            respond(exchange, fetchPersonProjects, Map.of(ID, subPath.substring(PERSON_SUB_PATH.length())),
+                requestInfo -> fetchPersonProjects.processInput(null, requestInfo, null));
+        } else if (isParticipantPath(subPath, ORGANIZATION_SUB_PATH)) {
+            respond(exchange, fetchOrganizationProjects, Map.of(ID, subPath.substring(ORGANIZATION_SUB_PATH.length())),
+                requestInfo -> fetchOrganizationProjects.processInput(null, requestInfo, null));
+        } else if (isIdentifierPath(subPath)) {
+            respond(exchange, fetchOneCristinProject, Map.of(ID, subPath.substring(1)),
+                requestInfo -> fetchOneCristinProject.processInput(null, requestInfo, null));
+        } else {
+            handleUnknownResource(exchange);
+        }
+    }
+
+    private void handleHealthCheck(HttpExchange exchange) throws IOException {
+        writeResponse(exchange, HttpURLConnection.HTTP_OK, Map.of(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON),
+            HEALTHY_RESPONSE);
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        writeResponse(exchange, HttpURLConnection.HTTP_OK, Map.of(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON),
+            OBJECT_MAPPER.writeValueAsBytes(UpstreamMetrics.defaultMetrics().snapshot()));
+    }
+
+    private void handleUnknownResource(HttpExchange exchange) throws IOException {
+        writeProblem(exchange, fetchCristinProjects, HttpURLConnection.HTTP_NOT_FOUND,
+            String.format(ERROR_MESSAGE_RESOURCE_NOT_FOUND, exchange.getRequestURI().getPath()));
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void respond(HttpExchange exchange, CristinHandler<Void, ?> handler, Map<String, String> pathParameters,
+                         RequestProcessor requestProcessor) throws IOException {
+        try {
+            Object output = requestProcessor.process(toRequestInfo(exchange, pathParameters));
+            writeResponse(exchange, HttpURLConnection.HTTP_OK, handler.defaultHeaders(),
+                OBJECT_MAPPER.writeValueAsBytes(output));
+        } catch (ApiGatewayException e) {
+            writeProblem(exchange, handler, e.getStatusCode(), e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error(ERROR_MESSAGE_SERVER_ERROR, e);
+            writeProblem(exchange, handler, HttpURLConnection.HTTP_INTERNAL_ERROR, ERROR_MESSAGE_SERVER_ERROR);
+        } finally {
+            handler.clearNegotiatedHeaders();
+        }
+    }
+
+    private static boolean isIdentifierPath(String subPath) {
+        return subPath.length() > 1 && subPath.lastIndexOf(ROOT_PATH) == 0;
+    }
+
+    private static boolean isParticipantPath(String subPath, String participantSubPath) {
+        return subPath.startsWith(participantSubPath) && subPath.length() > participantSubPath.length()
+            && subPath.indexOf(ROOT_PATH, participantSubPath.length()) < 0;
+    }
+
+    private static RequestInfo toRequestInfo(HttpExchange exchange, Map<String, String> pathParameters) {
+        RequestInfo requestInfo = new RequestInfo();
+        requestInfo.setPath(exchange.getRequestURI().getPath());
+        requestInfo.setPathParameters(pathParameters);
+        requestInfo.setQueryParameters(parseQueryParameters(exchange.getRequestURI().getRawQuery()));
+        requestInfo.setHeaders(firstHeaderValues(exchange.getRequestHeaders()));
+        return requestInfo;
+    }
+
+    private static Map<String, String> parseQueryParameters(String rawQuery) {
+        Map<String, String> queryParameters = new ConcurrentHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return queryParameters;
+        }
+        for (String parameter : rawQuery.split(String.valueOf(PARAMETER_DELIMITER))) {
+            int delimiterIndex = parameter.indexOf(KEY_VALUE_DELIMITER);
+            String key = delimiterIndex < 0 ? parameter : parameter.substring(0, delimiterIndex);
+            String value = delimiterIndex < 0 ? EMPTY_VALUE : parameter.substring(delimiterIndex + 1);
+            if (!key.isEmpty()) {
+                queryParameters.put(decode(key), decode(value));
+            }
+        }
+        return queryParameters;
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> firstHeaderValues(Headers requestHeaders) {
+        Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<String, List<String>> header : requestHeaders.entrySet()) {
+            if (!header.getValue().isEmpty()) {
+                headers.put(header.getKey(), header.getValue().get(0));
+            }
+        }
+        return headers;
+    }
+
+    private static void writeProblem(HttpExchange exchange, CristinHandler<Void, ?> handler, int statusCode,
+                                     String detail) throws IOException {
+        Map<String, Object> problem = new LinkedHashMap<>();
+        problem.put(PROBLEM_STATUS, statusCode);
+        problem.put(PROBLEM_DETAIL, detail);
+        Map<String, String> headers = handler.defaultHeaders();
+        headers.put(HttpHeaders.CONTENT_TYPE, APPLICATION_PROBLEM_JSON);
+        writeResponse(exchange, statusCode, headers, OBJECT_MAPPER.writeValueAsBytes(problem));
+    }
+
+    private static void writeResponse(HttpExchange exchange, int statusCode, Map<String, String> headers,
+                                      byte[] body) throws IOException {
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            headers.forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+            exchange.sendResponseHeaders(statusCode, body.length);
+            responseBody.write(body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private interface RequestProcessor {
+
+        Object process(RequestInfo requestInfo) throws ApiGatewayException;
+    }
+}
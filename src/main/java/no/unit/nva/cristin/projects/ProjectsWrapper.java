@@ -1,6 +1,7 @@
 package no.unit.nva.cristin.projects;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.ALWAYS;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 import static no.unit.nva.cristin.projects.Constants.LINK;
 import static no.unit.nva.cristin.projects.Constants.NUMBER_OF_RESULTS;
 import static no.unit.nva.cristin.projects.Constants.PAGE;
@@ -10,6 +11,7 @@ import static no.unit.nva.cristin.projects.Constants.REL_PREV;
 import static no.unit.nva.cristin.projects.Constants.X_TOTAL_COUNT;
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_PAGE_OUT_OF_SCOPE;
 import static no.unit.nva.cristin.projects.JsonPropertyNames.CONTEXT;
+import static no.unit.nva.cristin.projects.JsonPropertyNames.FACETS;
 import static no.unit.nva.cristin.projects.JsonPropertyNames.FIRST_RECORD;
 import static no.unit.nva.cristin.projects.JsonPropertyNames.HITS;
 import static no.unit.nva.cristin.projects.JsonPropertyNames.ID;
@@ -37,7 +39,7 @@ import nva.commons.core.JacocoGenerated;
 @JacocoGenerated
 @JsonInclude(ALWAYS)
 @JsonPropertyOrder({CONTEXT, ID, SIZE, SEARCH_STRING, PROCESSING_TIME, FIRST_RECORD, NEXT_RESULTS, PREVIOUS_RESULTS,
-    HITS})
+    HITS, FACETS})
 public class ProjectsWrapper {
 
     @JsonIgnore
@@ -59,6 +61,11 @@ public class ProjectsWrapper {
     private URI previousResults;
     @JsonProperty
     private List<NvaProject> hits;
+    @JsonProperty
+    @JsonInclude(NON_NULL)
+    private Map<String, List<FacetCount>> facets;
+    @JsonIgnore
+    private String subPath;
 
     public String getContext() {
         return context;
@@ -129,6 +136,14 @@ public class ProjectsWrapper {
         this.hits = hits;
     }
 
+    public Map<String, List<FacetCount>> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(Map<String, List<FacetCount>> facets) {
+        this.facets = facets;
+    }
+
     /**
      * Assigns value to some of the field values using supplied headers and query parameters.
      *
@@ -140,8 +155,33 @@ public class ProjectsWrapper {
     public ProjectsWrapper usingHeadersAndQueryParams(HttpHeaders headers, Map<String, String> queryParams)
         throws BadRequestException {
 
-        this.size = getSizeHeader(headers);
-        this.id = getNvaProjectUriWithParams(queryParams);
+        String linkHeader = headers.firstValue(LINK).orElse(EMPTY_STRING);
+
+        return usingSizeAndQueryParams(getSizeHeader(headers), queryParams, linkHeader.contains(REL_NEXT),
+            linkHeader.contains(REL_PREV));
+    }
+
+    /**
+     * Assigns value to some of the field values using headers from the first of several upstream pages merged into
+     * one page for the client. The link header is ignored since it describes the pagination of the upstream pages.
+     *
+     * @param headers     the headers from the first upstream response
+     * @param queryParams the query params from request
+     * @return ProjectsWrapper object with some of the field values set using the supplied parameters
+     * @throws BadRequestException if page requested is invalid
+     */
+    public ProjectsWrapper usingMergedHeadersAndQueryParams(HttpHeaders headers, Map<String, String> queryParams)
+        throws BadRequestException {
+
+        return usingSizeAndQueryParams(getSizeHeader(headers), queryParams, true, true);
+    }
+
+    private ProjectsWrapper usingSizeAndQueryParams(int size, Map<String, String> queryParams, boolean hasNextLink,
+                                                    boolean hasPreviousLink)
+        throws BadRequestException {
+
+        this.size = size;
+        this.id = generateIdUriFromParams(queryParams);
         this.firstRecord = this.size > 0 ? indexOfFirstEntryInPageCalculatedFromParams(queryParams) :
             FIRST_RECORD_ZERO_WHEN_NO_HITS;
 
@@ -151,13 +191,11 @@ public class ProjectsWrapper {
             throw new BadRequestException(String.format(ERROR_MESSAGE_PAGE_OUT_OF_SCOPE, this.size));
         }
 
-        String linkHeader = headers.firstValue(LINK).orElse(EMPTY_STRING);
-
-        if (linkHeader.contains(REL_NEXT) && matchesCriteriaForNextRel(queryParams)) {
+        if (hasNextLink && matchesCriteriaForNextRel(queryParams)) {
             this.nextResults = generateIdUriWithPageFromParams(currentPage + 1, queryParams);
         }
 
-        if (linkHeader.contains(REL_PREV) && matchesCriteriaForPrevRel(currentPage)) {
+        if (hasPreviousLink && matchesCriteriaForPrevRel(currentPage)) {
             this.previousResults = generateIdUriWithPageFromParams(currentPage - 1, queryParams);
         }
 
@@ -179,7 +217,12 @@ public class ProjectsWrapper {
     private URI generateIdUriWithPageFromParams(int newPage, Map<String, String> queryParams) {
         Map<String, String> newParams = new ConcurrentHashMap<>(queryParams);
         newParams.put(PAGE, String.valueOf(newPage));
-        return getNvaProjectUriWithParams(newParams);
+        return generateIdUriFromParams(newParams);
+    }
+
+    private URI generateIdUriFromParams(Map<String, String> queryParams) {
+        return subPath == null ? getNvaProjectUriWithParams(queryParams)
+            : getNvaProjectUriWithParams(subPath, queryParams);
     }
 
     private Integer indexOfFirstEntryInPageCalculatedFromParams(Map<String, String> queryParams) {
@@ -202,4 +245,21 @@ public class ProjectsWrapper {
         this.hits = hits;
         return this;
     }
+
+    /**
+     * Makes the id and the links to other pages point to a resource below the project path, like the projects of a
+     * participant. Must be called before the id is assigned from the query params.
+     *
+     * @param subPath the path of the resource relative to the project path
+     * @return this ProjectsWrapper
+     */
+    public ProjectsWrapper withSubPath(String subPath) {
+        this.subPath = subPath;
+        return this;
+    }
+
+    public ProjectsWrapper withFacets(Map<String, List<FacetCount>> facets) {
+        this.facets = facets;
+        return this;
+    }
 }
@@ -0,0 +1,93 @@
+package no.unit.nva.cristin.projects;
+
+import java.text.Normalizer;
+import java.text.Normalizer.Form;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Normalizes search text in one place, so variants of the same query share upstream calls, cache entries and local
+ * index terms. The canonical form is NFKC normalized, case folded and has its whitespace collapsed. It keeps the
+ * letters as typed and is safe to send to Cristin. The folded form also folds the Norwegian letters to their common
+ * ASCII spellings and strips accents from other letters, so a title typed without Norwegian letters still matches. It
+ * is used for the terms of the local indexes.
+ */
+public final class QueryNormalizer {
+
+    public static final Set<String> STOP_WORDS = Set.of(
+        "og", "i", "paa", "for", "av", "til", "med", "som", "om", "en", "et", "ei", "den", "det", "de", "aa", "eller",
+        "the", "of", "and", "in", "on", "to", "with", "an", "or");
+
+    private static final Pattern WHITESPACE = Pattern.compile("[\\s+]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD_CHARACTERS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String SPACE = " ";
+    private static final char LATIN_SMALL_AE = '\u00e6';
+    private static final char LATIN_SMALL_A_WITH_DIAERESIS = '\u00e4';
+    private static final char LATIN_SMALL_O_WITH_STROKE = '\u00f8';
+    private static final char LATIN_SMALL_O_WITH_DIAERESIS = '\u00f6';
+    private static final char LATIN_SMALL_A_WITH_RING = '\u00e5';
+
+    private QueryNormalizer() {
+    }
+
+    /**
+     * Normalizes text to NFKC, folds its case and collapses runs of whitespace or '+' to single spaces.
+     *
+     * @param text the text to normalize
+     * @return the canonical form of the text, trimmed
+     */
+    public static String canonical(String text) {
+        String compatible = Normalizer.normalize(text, Form.NFKC);
+        String caseFolded = compatible.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(caseFolded).replaceAll(SPACE).trim();
+    }
+
+    /**
+     * Returns the canonical form of the text with the Norwegian letters folded to their ASCII spellings ae, o and aa,
+     * and other letters stripped of their accents.
+     *
+     * @param text the text to fold
+     * @return the folded text
+     */
+    public static String fold(String text) {
+        String canonical = canonical(text);
+        StringBuilder folded = new StringBuilder(canonical.length() + 4);
+        for (int i = 0; i < canonical.length(); i++) {
+            char character = canonical.charAt(i);
+            switch (character) {
+                case LATIN_SMALL_AE:
+                case LATIN_SMALL_A_WITH_DIAERESIS:
+                    folded.append("ae");
+                    break;
+                case LATIN_SMALL_O_WITH_STROKE:
+                case LATIN_SMALL_O_WITH_DIAERESIS:
+                    folded.append('o');
+                    break;
+                case LATIN_SMALL_A_WITH_RING:
+                    folded.append("aa");
+                    break;
+                default:
+                    folded.append(character);
+            }
+        }
+        return COMBINING_MARKS.matcher(Normalizer.normalize(folded, Form.NFD)).replaceAll("");
+    }
+
+    /**
+     * Splits the folded text into terms at every character that is not a letter or a digit.
+     *
+     * @param text            the text to split
+     * @param removeStopWords leave out the words of STOP_WORDS
+     * @return the terms of the text in order
+     */
+    public static List<String> terms(String text, boolean removeStopWords) {
+        return NON_WORD_CHARACTERS.splitAsStream(fold(text))
+            .filter(term -> !term.isEmpty())
+            .filter(term -> !removeStopWords || !STOP_WORDS.contains(term))
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,39 @@
+package no.unit.nva.cristin.projects;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * A request to Cristin, the response it got and the time the response took.
+ */
+public final class RecordedExchange {
+
+    private final URI uri;
+    private final TransportResponse response;
+    private final Duration latency;
+
+    /**
+     * Creates a recorded exchange.
+     *
+     * @param uri      the URI that was requested
+     * @param response the response received
+     * @param latency  time from sending the request until the response was received
+     */
+    public RecordedExchange(URI uri, TransportResponse response, Duration latency) {
+        this.uri = uri;
+        this.response = response;
+        this.latency = latency;
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public TransportResponse getResponse() {
+        return response;
+    }
+
+    public Duration getLatency() {
+        return latency;
+    }
+}
@@ -0,0 +1,48 @@
+package no.unit.nva.cristin.projects;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Passes requests on to another transport and hands every successful exchange, with its latency, to a recorder.
+ */
+public class RecordingCristinTransport implements CristinTransport {
+
+    private final transient CristinTransport delegate;
+    private final transient Consumer<RecordedExchange> recorder;
+
+    public RecordingCristinTransport(CristinTransport delegate, Consumer<RecordedExchange> recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(URI uri) {
+        long start = System.nanoTime();
+        return delegate.sendAsync(uri).whenComplete((response, failure) -> {
+            if (failure == null) {
+                record(uri, response, start);
+            }
+        });
+    }
+
+    @Override
+    public TransportResponse send(URI uri) throws IOException {
+        long start = System.nanoTime();
+        TransportResponse response = delegate.send(uri);
+        record(uri, response, start);
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<Void> openConnection(URI uri) {
+        return delegate.openConnection(uri);
+    }
+
+    private void record(URI uri, TransportResponse response, long start) {
+        recorder.accept(new RecordedExchange(uri, response, Duration.ofNanos(System.nanoTime() - start)));
+    }
+}
@@ -0,0 +1,81 @@
+package no.unit.nva.cristin.projects;
+
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Serves recorded responses from memory without any network access. A URI recorded more than once is answered with its
+ * recordings in turn. URIs without a recording are answered with 404 Not Found. When replayTimings is set, every
+ * response is delayed by the latency it was recorded with. Requests are looked up by their URI as mapped by
+ * recordedUri, so URIs sanitised when recorded are found by sanitising the URI requested the same way.
+ */
+public class ReplayCristinTransport implements CristinTransport {
+
+    private static final String EMPTY_BODY = "";
+
+    private final transient Map<URI, List<RecordedExchange>> exchanges = new ConcurrentHashMap<>();
+    private final transient Map<URI, AtomicInteger> replayCounts = new ConcurrentHashMap<>();
+    private final transient boolean replayTimings;
+    private final transient UnaryOperator<URI> recordedUri;
+
+    /**
+     * Creates a transport replaying the supplied exchanges for the URIs they were recorded with.
+     *
+     * @param exchanges     the exchanges to replay
+     * @param replayTimings delay responses by their recorded latency
+     */
+    public ReplayCristinTransport(Collection<RecordedExchange> exchanges, boolean replayTimings) {
+        this(exchanges, replayTimings, UnaryOperator.identity());
+    }
+
+    /**
+     * Creates a transport replaying the supplied exchanges.
+     *
+     * @param exchanges     the exchanges to replay
+     * @param replayTimings delay responses by their recorded latency
+     * @param recordedUri   maps a requested URI to the URI its exchange was recorded with
+     */
+    public ReplayCristinTransport(Collection<RecordedExchange> exchanges, boolean replayTimings,
+                                  UnaryOperator<URI> recordedUri) {
+        this.replayTimings = replayTimings;
+        this.recordedUri = recordedUri;
+        exchanges.forEach(this::add);
+    }
+
+    /**
+     * Adds an exchange to replay.
+     *
+     * @param exchange the exchange
+     * @return this transport
+     */
+    public final ReplayCristinTransport add(RecordedExchange exchange) {
+        exchanges.computeIfAbsent(exchange.getUri(), uri -> new ArrayList<>()).add(exchange);
+        return this;
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(URI uri) {
+        URI lookupUri = recordedUri.apply(uri);
+        List<RecordedExchange> recordings = exchanges.get(lookupUri);
+        if (recordings == null) {
+            return CompletableFuture.completedFuture(
+                TransportResponse.of(uri, HttpURLConnection.HTTP_NOT_FOUND, Map.of(), EMPTY_BODY));
+        }
+        int replayCount = replayCounts.computeIfAbsent(lookupUri, key -> new AtomicInteger()).getAndIncrement();
+        RecordedExchange exchange = recordings.get(replayCount % recordings.size());
+        if (!replayTimings || exchange.getLatency().isZero()) {
+            return CompletableFuture.completedFuture(exchange.getResponse());
+        }
+        return CompletableFuture.supplyAsync(exchange::getResponse,
+            CompletableFuture.delayedExecutor(exchange.getLatency().toNanos(), TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,158 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_HEDGING_BUDGET_RATIO;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_HEDGING_ENABLED;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_HEDGING_MINIMUM_DELAY_MILLIS;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_HEDGING_PERCENTILE;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends a second, identical request when the first one has not completed within the observed percentile latency of
+ * the endpoint. The first successful response wins and the other request is cancelled. Hedges are drawn from a
+ * budget, so they never add more than budgetRatio of extra requests, and no hedge is sent until the endpoint has
+ * enough latency samples to estimate the percentile.
+ */
+public class RequestHedger {
+
+    public static final String HEDGING_REQUESTS = "cristin.hedging.requests";
+    public static final String HEDGES_SENT = "cristin.hedging.hedgesSent";
+    public static final String HEDGE_WINS = "cristin.hedging.hedgeWins";
+    public static final String HEDGING_DELAY_MILLIS = "cristin.hedging.delayMillis";
+
+    private static final int LATENCY_WINDOW_SIZE = 1000;
+    private static final int MINIMUM_LATENCY_SAMPLES = 50;
+    private static final int BUDGET_MAXIMUM_HEDGES = 10;
+
+    private final transient boolean enabled;
+    private final transient LatencyTracker latencyTracker;
+    private final transient Duration minimumDelay;
+    private final transient RetryBudget hedgeBudget;
+    private final transient UpstreamMetrics metrics;
+
+    /**
+     * Creates a hedger.
+     *
+     * @param enabled        false sends every request once, without tracking latencies
+     * @param latencyTracker latencies of the endpoint, the reported percentile is used as hedging delay
+     * @param minimumDelay   lower bound of the hedging delay
+     * @param hedgeBudget    budget each hedge is drawn from
+     * @param metrics        metrics the hedging counters are added to
+     */
+    public RequestHedger(boolean enabled, LatencyTracker latencyTracker, Duration minimumDelay,
+                         RetryBudget hedgeBudget, UpstreamMetrics metrics) {
+        this.enabled = enabled;
+        this.latencyTracker = latencyTracker;
+        this.minimumDelay = minimumDelay;
+        this.hedgeBudget = hedgeBudget;
+        this.metrics = metrics;
+        metrics.registerGauge(HEDGING_DELAY_MILLIS, () -> hedgingDelay().toMillis());
+    }
+
+    /**
+     * Creates a hedger for the project lookups made while enriching search results, configured from the environment.
+     *
+     * @return a hedger, disabled unless CRISTIN_HEDGING_ENABLED is set
+     */
+    public static RequestHedger defaultHedger() {
+        return new RequestHedger(CRISTIN_HEDGING_ENABLED,
+            new LatencyTracker(LATENCY_WINDOW_SIZE, CRISTIN_HEDGING_PERCENTILE, MINIMUM_LATENCY_SAMPLES),
+            Duration.ofMillis(CRISTIN_HEDGING_MINIMUM_DELAY_MILLIS),
+            new RetryBudget(CRISTIN_HEDGING_BUDGET_RATIO, BUDGET_MAXIMUM_HEDGES),
+            UpstreamMetrics.defaultMetrics());
+    }
+
+    /**
+     * Makes the request, hedging it if it is slower than the hedging delay.
+     *
+     * @param request supplier sending the request, called once more for a hedge
+     * @param <T>     type of the response
+     * @return the first successful response, or the last failure if all requests fail
+     */
+    public <T> CompletableFuture<T> hedge(Supplier<CompletableFuture<T>> request) {
+        if (!enabled) {
+            return request.get();
+        }
+        metrics.increment(HEDGING_REQUESTS);
+        hedgeBudget.recordRequest();
+        HedgedRequest<T> hedgedRequest = new HedgedRequest<>(request);
+        latencyTracker.percentile().ifPresent(percentile -> CompletableFuture
+            .delayedExecutor(Math.max(percentile.toNanos(), minimumDelay.toNanos()), TimeUnit.NANOSECONDS)
+            .execute(hedgedRequest::sendHedge));
+        return hedgedRequest.result;
+    }
+
+    /**
+     * Returns the delay after which a request is hedged.
+     *
+     * @return the delay, or zero while the endpoint has too few latency samples to hedge
+     */
+    public Duration hedgingDelay() {
+        return latencyTracker.percentile()
+            .map(percentile -> percentile.compareTo(minimumDelay) < 0 ? minimumDelay : percentile)
+            .orElse(Duration.ZERO);
+    }
+
+    private final class HedgedRequest<T> {
+
+        private final transient CompletableFuture<T> result = new CompletableFuture<>();
+        private final transient AtomicInteger outstandingRequests = new AtomicInteger(1);
+        private final transient AtomicBoolean answered = new AtomicBoolean();
+        private final transient long start = System.nanoTime();
+        private final transient Supplier<CompletableFuture<T>> request;
+        private final transient CompletableFuture<T> primary;
+        private transient volatile CompletableFuture<T> hedge;
+
+        private HedgedRequest(Supplier<CompletableFuture<T>> request) {
+            this.request = request;
+            this.primary = request.get();
+            primary.whenComplete((response, failure) -> complete(response, failure, false));
+        }
+
+        private void sendHedge() {
+            if (isAnswered() || !hedgeBudget.tryAcquireRetry()) {
+                return;
+            }
+            outstandingRequests.incrementAndGet();
+            if (isAnswered()) {
+                return;
+            }
+            metrics.increment(HEDGES_SENT);
+            hedge = request.get();
+            hedge.whenComplete((response, failure) -> complete(response, failure, true));
+            if (isAnswered() && !hedge.isDone()) {
+                hedge.cancel(true);
+            }
+        }
+
+        private void complete(T response, Throwable failure, boolean fromHedge) {
+            if (failure == null) {
+                if (answered.compareAndSet(false, true)) {
+                    latencyTracker.record(Duration.ofNanos(System.nanoTime() - start));
+                    if (fromHedge) {
+                        metrics.increment(HEDGE_WINS);
+                    }
+                    cancelLoser(fromHedge);
+                    result.complete(response);
+                }
+            } else if (outstandingRequests.decrementAndGet() == 0) {
+                result.completeExceptionally(failure);
+            }
+        }
+
+        private boolean isAnswered() {
+            return answered.get() || result.isDone();
+        }
+
+        private void cancelLoser(boolean fromHedge) {
+            CompletableFuture<T> loser = fromHedge ? primary : hedge;
+            if (loser != null) {
+                loser.cancel(true);
+            }
+        }
+    }
+}
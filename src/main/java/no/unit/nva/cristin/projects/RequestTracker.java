@@ -0,0 +1,112 @@
+package no.unit.nva.cristin.projects;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Counts how often each request has been seen by this container, so the most requested ones can be refreshed when the
+ * container is warmed up. At most maximumSize distinct requests are tracked. Counts are halved on every decay, so
+ * requests that are no longer popular fall out and make room for new ones.
+ */
+public class RequestTracker {
+
+    private final transient int maximumSize;
+    private final transient Map<TrackedRequest, Long> counts = new ConcurrentHashMap<>();
+
+    public RequestTracker(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Counts one more occurrence of the request. New requests are ignored while the tracker is full.
+     *
+     * @param pathParameters  path parameters of the request
+     * @param queryParameters query parameters of the request
+     */
+    public void record(Map<String, String> pathParameters, Map<String, String> queryParameters) {
+        record(new TrackedRequest(pathParameters, queryParameters));
+    }
+
+    /**
+     * Counts one more occurrence of the request. New requests are ignored while the tracker is full. The count is
+     * updated atomically, so no occurrence is lost when a decay runs at the same time.
+     *
+     * @param request the request to count
+     */
+    public void record(TrackedRequest request) {
+        if (!counts.containsKey(request) && counts.size() >= maximumSize) {
+            return;
+        }
+        counts.merge(request, 1L, Long::sum);
+    }
+
+    /**
+     * Returns the most requested requests, most requested first.
+     *
+     * @param limit the maximum number of requests to return
+     * @return the most requested requests
+     */
+    public List<TrackedRequest> mostRequested(int limit) {
+        return counts.entrySet().stream()
+            .sorted(Map.Entry.<TrackedRequest, Long>comparingByValue(Comparator.reverseOrder()))
+            .limit(limit)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Halves all counts and stops tracking requests whose count reaches zero. Each count is halved atomically, so
+     * occurrences recorded at the same time are kept.
+     */
+    public void decay() {
+        counts.keySet().forEach(request -> counts.computeIfPresent(request, (key, count) -> halved(count)));
+    }
+
+    private static Long halved(long count) {
+        return count / 2 == 0 ? null : count / 2;
+    }
+
+    public int size() {
+        return counts.size();
+    }
+
+    public static final class TrackedRequest {
+
+        private final Map<String, String> pathParameters;
+        private final Map<String, String> queryParameters;
+
+        public TrackedRequest(Map<String, String> pathParameters, Map<String, String> queryParameters) {
+            this.pathParameters = Map.copyOf(pathParameters);
+            this.queryParameters = Map.copyOf(queryParameters);
+        }
+
+        public Map<String, String> getPathParameters() {
+            return pathParameters;
+        }
+
+        public Map<String, String> getQueryParameters() {
+            return queryParameters;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TrackedRequest)) {
+                return false;
+            }
+            TrackedRequest that = (TrackedRequest) o;
+            return pathParameters.equals(that.pathParameters) && queryParameters.equals(that.queryParameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pathParameters, queryParameters);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package no.unit.nva.cristin.projects;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits retries to a share of the requests made. Every request deposits retryRatio of a retry into the budget and
+ * every retry withdraws one whole retry. The budget holds at most maximumRetries retries and starts full, so a quiet
+ * container can still retry a few requests while an outage can never multiply the load by more than 1 + retryRatio.
+ * The balance is kept in thousandths of a retry, so fractional deposits are counted exactly in a long.
+ */
+public class RetryBudget {
+
+    private static final long MILLI_RETRIES_PER_RETRY = 1000;
+
+    private final transient long depositPerRequest;
+    private final transient long maximumBalance;
+    private final transient AtomicLong balance;
+
+    /**
+     * Creates a full budget.
+     *
+     * @param retryRatio     retries allowed per request, e.g. 0.1 for 10%
+     * @param maximumRetries retries the budget can hold
+     */
+    public RetryBudget(double retryRatio, int maximumRetries) {
+        this.depositPerRequest = Math.round(retryRatio * MILLI_RETRIES_PER_RETRY);
+        this.maximumBalance = maximumRetries * MILLI_RETRIES_PER_RETRY;
+        this.balance = new AtomicLong(maximumBalance);
+    }
+
+    public void recordRequest() {
+        balance.getAndUpdate(current -> Math.min(maximumBalance, current + depositPerRequest));
+    }
+
+    /**
+     * Withdraws one retry from the budget if the budget holds one.
+     *
+     * @return true if the retry may be made
+     */
+    public boolean tryAcquireRetry() {
+        long current = balance.get();
+        while (current >= MILLI_RETRIES_PER_RETRY) {
+            if (balance.compareAndSet(current, current - MILLI_RETRIES_PER_RETRY)) {
+                return true;
+            }
+            current = balance.get();
+        }
+        return false;
+    }
+
+    public double availableRetries() {
+        return (double) balance.get() / MILLI_RETRIES_PER_RETRY;
+    }
+}
@@ -0,0 +1,206 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_RETRY_BASE_DELAY_MILLIS;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_RETRY_BUDGET_MAXIMUM_RETRIES;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_RETRY_BUDGET_RATIO;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_RETRY_DEADLINE_MILLIS;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_RETRY_MAX_ATTEMPTS;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_RETRY_MAX_DELAY_MILLIS;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Retries idempotent calls failing with an IOException or returning a retryable result. The delay before retry n is
+ * drawn uniformly between zero and min(maxDelay, baseDelay * 2^(n-1)), so clients retrying at the same time spread out.
+ * No retry is started if it would begin after the deadline of the call, or if the retry budget is spent.
+ */
+public class RetryPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryPolicy.class);
+    private static final int MAX_BACKOFF_EXPONENT = 30;
+
+    private static final RetryPolicy DEFAULT_POLICY = new RetryPolicy(
+        CRISTIN_RETRY_MAX_ATTEMPTS,
+        Duration.ofMillis(CRISTIN_RETRY_BASE_DELAY_MILLIS),
+        Duration.ofMillis(CRISTIN_RETRY_MAX_DELAY_MILLIS),
+        Duration.ofMillis(CRISTIN_RETRY_DEADLINE_MILLIS),
+        new RetryBudget(CRISTIN_RETRY_BUDGET_RATIO, CRISTIN_RETRY_BUDGET_MAXIMUM_RETRIES));
+
+    private final transient int maxAttempts;
+    private final transient long baseDelayNanos;
+    private final transient long maxDelayNanos;
+    private final transient long deadlineNanos;
+    private final transient RetryBudget retryBudget;
+
+    /**
+     * Creates a retry policy.
+     *
+     * @param maxAttempts attempts made at most, including the first one
+     * @param baseDelay   upper bound of the delay before the first retry
+     * @param maxDelay    upper bound of the delay before any retry
+     * @param deadline    time from the first attempt after which no retry is started
+     * @param retryBudget budget shared by all calls using this policy
+     */
+    public RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay, Duration deadline,
+                       RetryBudget retryBudget) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.deadlineNanos = deadline.toNanos();
+        this.retryBudget = retryBudget;
+    }
+
+    /**
+     * The policy configured by the CRISTIN_RETRY_* environment variables. All clients share its retry budget.
+     *
+     * @return the default retry policy
+     */
+    public static RetryPolicy defaultPolicy() {
+        return DEFAULT_POLICY;
+    }
+
+    /**
+     * Makes the call, retrying it on the calling thread while it fails with an IOException or its result is retryable.
+     *
+     * @param call              the call to make
+     * @param isRetryableResult tells whether a result should be retried
+     * @param <T>               type of the result
+     * @return the first result that is not retried
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public <T> T execute(Supplier<T> call, Predicate<T> isRetryableResult) {
+        long deadline = System.nanoTime() + deadlineNanos;
+        retryBudget.recordRequest();
+        for (int attempt = 1; ; attempt++) {
+            T result = null;
+            RuntimeException failure = null;
+            try {
+                result = call.get();
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            Optional<Long> delay = isRetryable(result, failure, isRetryableResult)
+                ? delayBeforeRetry(attempt, deadline)
+                : Optional.empty();
+            if (delay.isEmpty() || !sleep(delay.get())) {
+                return resultOrThrow(result, failure);
+            }
+        }
+    }
+
+    /**
+     * Makes the asynchronous call, retrying it after a delay while it fails with an IOException or its result is
+     * retryable. No thread is blocked while waiting for a retry.
+     *
+     * @param call              the call to make
+     * @param isRetryableResult tells whether a result should be retried
+     * @param <T>               type of the result
+     * @return a future completing with the first result that is not retried
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call,
+                                                 Predicate<T> isRetryableResult) {
+        long deadline = System.nanoTime() + deadlineNanos;
+        retryBudget.recordRequest();
+        return attemptAsync(call, isRetryableResult, 1, deadline);
+    }
+
+    /**
+     * Draws the delay before the supplied retry.
+     *
+     * @param retry the number of the retry, starting at 1
+     * @return a random delay between zero and the capped exponential backoff
+     */
+    public Duration backoffDelay(int retry) {
+        int exponent = Math.min(retry - 1, MAX_BACKOFF_EXPONENT);
+        long cappedDelay = Math.min(maxDelayNanos, baseDelayNanos << exponent);
+        return Duration.ofNanos(cappedDelay <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cappedDelay + 1));
+    }
+
+    private <T> CompletableFuture<T> attemptAsync(Supplier<CompletableFuture<T>> call, Predicate<T> isRetryableResult,
+                                                  int attempt, long deadline) {
+        return callAsync(call)
+            .handle((result, failure) -> nextAttempt(result, failure, call, isRetryableResult, attempt, deadline))
+            .thenCompose(Function.identity());
+    }
+
+    private <T> CompletableFuture<T> nextAttempt(T result, Throwable failure, Supplier<CompletableFuture<T>> call,
+                                                 Predicate<T> isRetryableResult, int attempt, long deadline) {
+        Optional<Long> delay = isRetryable(result, failure, isRetryableResult)
+            ? delayBeforeRetry(attempt, deadline)
+            : Optional.empty();
+        return delay
+            .map(delayNanos -> retryAfter(delayNanos, call, isRetryableResult, attempt + 1, deadline))
+            .orElseGet(() -> completedOrFailed(result, failure));
+    }
+
+    private <T> CompletableFuture<T> retryAfter(long delayNanos, Supplier<CompletableFuture<T>> call,
+                                                Predicate<T> isRetryableResult, int attempt, long deadline) {
+        return CompletableFuture.runAsync(() -> { },
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS))
+            .thenCompose(ignored -> attemptAsync(call, isRetryableResult, attempt, deadline));
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private static <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Optional<Long> delayBeforeRetry(int attempt, long deadline) {
+        if (attempt >= maxAttempts) {
+            return Optional.empty();
+        }
+        long delay = backoffDelay(attempt).toNanos();
+        if (System.nanoTime() + delay >= deadline || !retryBudget.tryAcquireRetry()) {
+            return Optional.empty();
+        }
+        logger.debug("Retrying attempt {} after {} ms", attempt, TimeUnit.NANOSECONDS.toMillis(delay));
+        return Optional.of(delay);
+    }
+
+    private static <T> boolean isRetryable(T result, Throwable failure, Predicate<T> isRetryableResult) {
+        return failure == null ? isRetryableResult.test(result) : isCausedByIoException(failure);
+    }
+
+    private static boolean isCausedByIoException(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean sleep(long delayNanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(delayNanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static <T> T resultOrThrow(T result, RuntimeException failure) {
+        if (failure != null) {
+            throw failure;
+        }
+        return result;
+    }
+
+    private static <T> CompletableFuture<T> completedOrFailed(T result, Throwable failure) {
+        return failure == null ? CompletableFuture.completedFuture(result) : CompletableFuture.failedFuture(failure);
+    }
+}
@@ -0,0 +1,376 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.OBJECT_MAPPER;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_INVALID_PROJECT_ID_TO_STORE;
+import static nva.commons.core.attempt.Try.attempt;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only log of serialized projects, split into segment files in a directory. Every put appends a record to the
+ * active segment, and an in-memory index maps each project id to the offset of its latest record. A remove appends a
+ * tombstone record holding only the id, which drops the project from the index. Segments are read
+ * through read-only memory mappings, so a lookup parses the project straight from the page cache without copying it.
+ *
+ * <p>Opening the store scans the record headers of all segments to rebuild the index. A record cut short by a crash
+ * at the end of the last segment, or with a corrupt header, is truncated together with everything after it in its
+ * segment. Records replaced by a later put stay in the log until compact rewrites
+ * the live records into new segments and deletes the old ones, which also drops the tombstones.
+ *
+ * <p>The store is meant for a single process, which is also its only writer. The index is built when the store is
+ * opened and then only follows the puts, removes and compactions of this instance, so records appended by another
+ * process are not seen, opening a store that another process is appending to may truncate the record being written,
+ * and a compaction by another process deletes segments this instance still reads. A process that only reads the
+ * store, e.g. an API serving a store harvested elsewhere, opens a copy of it that no one writes to, and opens a new
+ * copy to see a later harvest.
+ */
+public class SegmentLogProjectStore implements ProjectStore, Closeable {
+
+    public static final long DEFAULT_MAX_SEGMENT_BYTES = 64L * 1024 * 1024;
+    public static final byte RECORD_FORMAT = 1;
+    public static final byte TOMBSTONE_FORMAT = 2;
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentLogProjectStore.class);
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SEGMENT_NAME_FORMAT = SEGMENT_PREFIX + "%010d" + SEGMENT_SUFFIX;
+    private static final int LENGTH_BYTES = Integer.BYTES;
+    private static final int HEADER_BYTES = Byte.BYTES + Short.BYTES;
+
+    private final transient Path directory;
+    private final transient long maxSegmentBytes;
+    private final transient Map<String, RecordLocation> index = new ConcurrentHashMap<>();
+    private final transient List<Segment> segments = new ArrayList<>();
+    private transient long nextSegmentNumber;
+    private transient long liveBytes;
+    private transient long totalBytes;
+
+    /**
+     * Opens the store in the directory, creating the directory if it does not exist, and rebuilds the index.
+     *
+     * @param directory       directory of the segment files
+     * @param maxSegmentBytes size after which a new segment is started
+     * @throws IOException if the segments cannot be read
+     */
+    public SegmentLogProjectStore(Path directory, long maxSegmentBytes) throws IOException {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        Files.createDirectories(directory);
+        for (Path segmentFile : segmentFiles()) {
+            Segment segment = new Segment(segmentFile, segmentNumber(segmentFile));
+            segments.add(segment);
+            nextSegmentNumber = segment.number + 1;
+            indexRecords(segment);
+        }
+        logger.info("Opened store {} with {} projects in {} segments", directory, index.size(), segments.size());
+    }
+
+    public SegmentLogProjectStore(Path directory) throws IOException {
+        this(directory, DEFAULT_MAX_SEGMENT_BYTES);
+    }
+
+    @Override
+    public Optional<CristinProject> getProject(String id) throws IOException {
+        Optional<ByteBuffer> json = getProjectJson(id);
+        if (json.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(OBJECT_MAPPER.readValue(new ByteBufferBackedInputStream(json.get()), CristinProject.class));
+    }
+
+    /**
+     * Returns the serialized project as a read-only view of the mapped segment.
+     *
+     * @param id the Cristin id of the project
+     * @return the JSON of the project, or empty if it is not stored
+     * @throws IOException if the segment cannot be mapped
+     */
+    public Optional<ByteBuffer> getProjectJson(String id) throws IOException {
+        RecordLocation location = index.get(id);
+        if (location == null) {
+            return Optional.empty();
+        }
+        return Optional.of(location.segment.read(location.jsonOffset, location.jsonLength));
+    }
+
+    @Override
+    public synchronized void putProject(CristinProject project) throws IOException {
+        String id = project.getCristinProjectId();
+        if (!Utils.isPositiveInteger(id)) {
+            throw new IllegalArgumentException(String.format(ERROR_MESSAGE_INVALID_PROJECT_ID_TO_STORE, id));
+        }
+        append(id, OBJECT_MAPPER.writeValueAsBytes(project));
+    }
+
+    @Override
+    public synchronized void removeProject(String id) throws IOException {
+        if (!index.containsKey(id)) {
+            return;
+        }
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        int recordLength = HEADER_BYTES + idBytes.length;
+        ByteBuffer record = ByteBuffer.allocate(LENGTH_BYTES + recordLength)
+            .putInt(recordLength)
+            .put(TOMBSTONE_FORMAT)
+            .putShort((short) idBytes.length)
+            .put(idBytes)
+            .flip();
+        activeSegment(record.remaining()).append(record);
+        removeFromIndex(id, LENGTH_BYTES + recordLength);
+    }
+
+    /**
+     * Rewrites the latest record of every project into new segments and deletes the old segments, dropping all
+     * superseded records. Lookups are served from the old segments until the index points to the new ones.
+     *
+     * @throws IOException if the new segments cannot be written
+     */
+    public synchronized void compact() throws IOException {
+        List<Segment> oldSegments = new ArrayList<>(segments);
+        segments.clear();
+        totalBytes = 0;
+        for (Map.Entry<String, RecordLocation> entry : index.entrySet()) {
+            RecordLocation location = entry.getValue();
+            ByteBuffer json = location.segment.read(location.jsonOffset, location.jsonLength);
+            byte[] bytes = new byte[json.remaining()];
+            json.get(bytes);
+            append(entry.getKey(), bytes);
+        }
+        liveBytes = totalBytes;
+        for (Segment segment : oldSegments) {
+            segment.close();
+            Files.delete(segment.path);
+        }
+        logger.info("Compacted store {} from {} to {} segments", directory, oldSegments.size(), segments.size());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments) {
+            segment.close();
+        }
+    }
+
+    @Override
+    public Set<String> projectIds() {
+        return Set.copyOf(index.keySet());
+    }
+
+    /**
+     * Reads the time of the last complete harvest from the checkpoint of ProjectHarvester in the store directory.
+     */
+    @Override
+    public Optional<Instant> snapshotTime() {
+        return attempt(() -> HarvestCheckpoint.load(directory.resolve(ProjectHarvester.CHECKPOINT_FILE)))
+            .toOptional()
+            .map(HarvestCheckpoint::getLastCompletedAt)
+            .map(Instant::parse);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Share of the log taken by superseded records, which compact would drop.
+     *
+     * @return a ratio between 0 and 1
+     */
+    public synchronized double garbageRatio() {
+        return totalBytes == 0 ? 0 : (double) (totalBytes - liveBytes) / totalBytes;
+    }
+
+    private void append(String id, byte[] json) throws IOException {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        int recordLength = HEADER_BYTES + idBytes.length + json.length;
+        ByteBuffer record = ByteBuffer.allocate(LENGTH_BYTES + recordLength)
+            .putInt(recordLength)
+            .put(RECORD_FORMAT)
+            .putShort((short) idBytes.length)
+            .put(idBytes)
+            .put(json)
+            .flip();
+        Segment segment = activeSegment(record.remaining());
+        long offset = segment.append(record);
+        long jsonOffset = offset + LENGTH_BYTES + HEADER_BYTES + idBytes.length;
+        addToIndex(id, new RecordLocation(segment, jsonOffset, json.length), LENGTH_BYTES + recordLength);
+    }
+
+    private Segment activeSegment(int recordBytes) throws IOException {
+        Segment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (active == null || active.size > 0 && active.size + recordBytes > maxSegmentBytes) {
+            active = new Segment(directory.resolve(String.format(SEGMENT_NAME_FORMAT, nextSegmentNumber)),
+                nextSegmentNumber);
+            nextSegmentNumber++;
+            segments.add(active);
+        }
+        return active;
+    }
+
+    private void indexRecords(Segment segment) throws IOException {
+        ByteBuffer buffer = segment.read(0, (int) segment.size);
+        while (buffer.remaining() >= LENGTH_BYTES) {
+            int recordStart = buffer.position();
+            int recordLength = buffer.getInt();
+            if (recordLength < HEADER_BYTES || buffer.remaining() < recordLength) {
+                segment.truncate(recordStart);
+                return;
+            }
+            byte format = buffer.get();
+            if (format != RECORD_FORMAT && format != TOMBSTONE_FORMAT) {
+                segment.truncate(recordStart);
+                return;
+            }
+            int idLength = Short.toUnsignedInt(buffer.getShort());
+            if (idLength > recordLength - HEADER_BYTES) {
+                segment.truncate(recordStart);
+                return;
+            }
+            byte[] idBytes = new byte[idLength];
+            buffer.get(idBytes);
+            String id = new String(idBytes, StandardCharsets.UTF_8);
+            int jsonOffset = buffer.position();
+            int jsonLength = recordStart + LENGTH_BYTES + recordLength - jsonOffset;
+            buffer.position(jsonOffset + jsonLength);
+            if (format == TOMBSTONE_FORMAT) {
+                removeFromIndex(id, LENGTH_BYTES + recordLength);
+            } else {
+                addToIndex(id, new RecordLocation(segment, jsonOffset, jsonLength), LENGTH_BYTES + recordLength);
+            }
+        }
+        if (buffer.hasRemaining()) {
+            segment.truncate(buffer.position());
+        }
+    }
+
+    private void addToIndex(String id, RecordLocation location, int recordBytes) {
+        RecordLocation previous = index.put(id, location);
+        if (previous != null) {
+            liveBytes -= previous.recordBytes;
+        }
+        location.recordBytes = recordBytes;
+        liveBytes += recordBytes;
+        totalBytes += recordBytes;
+    }
+
+    private void removeFromIndex(String id, int tombstoneBytes) {
+        RecordLocation previous = index.remove(id);
+        if (previous != null) {
+            liveBytes -= previous.recordBytes;
+        }
+        totalBytes += tombstoneBytes;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                .filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    private static long segmentNumber(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class RecordLocation {
+
+        private final Segment segment;
+        private final long jsonOffset;
+        private final int jsonLength;
+        private int recordBytes;
+
+        private RecordLocation(Segment segment, long jsonOffset, int jsonLength) {
+            this.segment = segment;
+            this.jsonOffset = jsonOffset;
+            this.jsonLength = jsonLength;
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private static final class Segment implements Closeable {
+
+        private final Path path;
+        private final long number;
+        private final FileChannel channel;
+        private volatile long size;
+        private volatile MappedByteBuffer mapped;
+
+        private Segment(Path path, long number) throws IOException {
+            this.path = path;
+            this.number = number;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            this.size = channel.size();
+            this.mapped = channel.map(MapMode.READ_ONLY, 0, size);
+        }
+
+        private long append(ByteBuffer record) throws IOException {
+            long offset = size;
+            while (record.hasRemaining()) {
+                channel.write(record, offset + record.position());
+            }
+            size = offset + record.limit();
+            return offset;
+        }
+
+        private ByteBuffer read(long offset, int length) throws IOException {
+            MappedByteBuffer buffer = mapped;
+            if (offset + length > buffer.capacity()) {
+                buffer = remap();
+            }
+            return buffer.duplicate()
+                .position((int) offset)
+                .limit((int) offset + length)
+                .slice()
+                .asReadOnlyBuffer();
+        }
+
+        private synchronized MappedByteBuffer remap() throws IOException {
+            if (mapped.capacity() < size) {
+                mapped = channel.map(MapMode.READ_ONLY, 0, size);
+            }
+            return mapped;
+        }
+
+        private void truncate(long validSize) throws IOException {
+            logger.warn("Truncating incomplete record at offset {} of {}", validSize, path);
+            channel.truncate(validSize);
+            size = validSize;
+            mapped = channel.map(MapMode.READ_ONLY, 0, size);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
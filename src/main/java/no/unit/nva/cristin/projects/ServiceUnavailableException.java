@@ -0,0 +1,16 @@
+package no.unit.nva.cristin.projects;
+
+import java.net.HttpURLConnection;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+
+public class ServiceUnavailableException extends ApiGatewayException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    @Override
+    protected Integer statusCode() {
+        return HttpURLConnection.HTTP_UNAVAILABLE;
+    }
+}
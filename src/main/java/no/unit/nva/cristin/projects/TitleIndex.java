@@ -0,0 +1,355 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_SEARCH_STOP_WORDS_REMOVED;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import no.unit.nva.cristin.projects.model.cristin.CristinFundingSource;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+
+/**
+ * In-memory inverted index over the titles of projects in all languages. Every project is a document numbered in the
+ * order it was added, and every term of its titles has a posting list of the documents containing it. Posting lists
+ * are stored as variable-length encoded gaps between document numbers followed by the term frequency, so a posting
+ * usually takes two bytes. Searches return the documents containing all terms of the query, ranked by BM25.
+ */
+public final class TitleIndex {
+
+    private static final double TERM_FREQUENCY_SATURATION = 1.2;
+    private static final double LENGTH_NORMALIZATION = 0.75;
+    private static final int[] NO_DOCUMENTS = new int[0];
+
+    private final transient String[] projectIds;
+    private final transient int[] documentLengths;
+    private final transient double averageDocumentLength;
+    private final transient Map<String, PostingList> postings;
+    private final transient Map<String, int[]> projectCodes;
+
+    private TitleIndex(String[] projectIds, int[] documentLengths, Map<String, PostingList> postings,
+                       Map<String, int[]> projectCodes) {
+        this.projectIds = projectIds;
+        this.documentLengths = documentLengths;
+        this.averageDocumentLength = Math.max(1, Arrays.stream(documentLengths).average().orElse(1));
+        this.postings = postings;
+        this.projectCodes = projectCodes;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Splits a text into folded terms, leaving out stop words when CRISTIN_SEARCH_STOP_WORDS_REMOVED is set. Titles
+     * and queries are split the same way, so they have the same terms.
+     *
+     * @param text the text to split, a query may use '+' between terms
+     * @return the terms of the text in order
+     */
+    public static List<String> tokenize(String text) {
+        return QueryNormalizer.terms(text, CRISTIN_SEARCH_STOP_WORDS_REMOVED);
+    }
+
+    /**
+     * Finds the projects whose titles contain all terms of the query, in one or more languages.
+     *
+     * @param query the query
+     * @return the matching documents, best match first and ties in the order they were added
+     */
+    public int[] search(String query) {
+        List<PostingList> queryPostings = new ArrayList<>();
+        for (String term : Set.copyOf(tokenize(query))) {
+            PostingList postingList = postings.get(term);
+            if (postingList == null) {
+                return NO_DOCUMENTS;
+            }
+            queryPostings.add(postingList);
+        }
+        if (queryPostings.isEmpty()) {
+            return NO_DOCUMENTS;
+        }
+        queryPostings.sort(Comparator.comparingInt(PostingList::getDocumentFrequency));
+        return rank(intersect(queryPostings));
+    }
+
+    /**
+     * Finds the projects with a funding source having the project code.
+     *
+     * @param projectCode the project code, as given by the funding source
+     * @return the matching documents in the order they were added
+     */
+    public int[] searchProjectCode(String projectCode) {
+        return Optional.ofNullable(projectCodes.get(projectCode)).map(int[]::clone).orElse(NO_DOCUMENTS);
+    }
+
+    public String projectId(int document) {
+        return projectIds[document];
+    }
+
+    public int size() {
+        return projectIds.length;
+    }
+
+    public int termCount() {
+        return postings.size();
+    }
+
+    private ScoredDocuments intersect(List<PostingList> queryPostings) {
+        PostingList rarest = queryPostings.get(0);
+        ScoredDocuments candidates = new ScoredDocuments(rarest.getDocumentFrequency());
+        rarest.forEach((document, termFrequency) -> candidates.add(document, score(rarest, document, termFrequency)));
+        for (PostingList postingList : queryPostings.subList(1, queryPostings.size())) {
+            candidates.retainAll(postingList);
+            if (candidates.size == 0) {
+                break;
+            }
+        }
+        return candidates;
+    }
+
+    private double score(PostingList postingList, int document, int termFrequency) {
+        double inverseDocumentFrequency = Math.log(1 + (projectIds.length - postingList.getDocumentFrequency() + 0.5)
+                                                       / (postingList.getDocumentFrequency() + 0.5));
+        double lengthRatio = documentLengths[document] / averageDocumentLength;
+        return inverseDocumentFrequency * termFrequency * (TERM_FREQUENCY_SATURATION + 1)
+               / (termFrequency + TERM_FREQUENCY_SATURATION
+                                  * (1 - LENGTH_NORMALIZATION + LENGTH_NORMALIZATION * lengthRatio));
+    }
+
+    private static int[] rank(ScoredDocuments candidates) {
+        Integer[] order = new Integer[candidates.size];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.<Integer>comparingDouble(i -> candidates.scores[i]).reversed()
+            .thenComparingInt(i -> candidates.documents[i]));
+        int[] ranked = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            ranked[i] = candidates.documents[order[i]];
+        }
+        return ranked;
+    }
+
+    private final class ScoredDocuments {
+
+        private final transient int[] documents;
+        private final transient double[] scores;
+        private transient int size;
+
+        private ScoredDocuments(int capacity) {
+            this.documents = new int[capacity];
+            this.scores = new double[capacity];
+        }
+
+        private void add(int document, double score) {
+            documents[size] = document;
+            scores[size] = score;
+            size++;
+        }
+
+        /**
+         * Keeps the documents also in the posting list and adds their score for its term. Both are in document order.
+         */
+        private void retainAll(PostingList postingList) {
+            PostingList.Cursor cursor = postingList.cursor();
+            int kept = 0;
+            for (int i = 0; i < size && cursor.advanceTo(documents[i]); i++) {
+                if (cursor.document() == documents[i]) {
+                    documents[kept] = documents[i];
+                    scores[kept] = scores[i] + score(postingList, documents[i], cursor.termFrequency());
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+
+    /**
+     * Documents containing a term, encoded as variable-length gaps between document numbers each followed by the
+     * frequency of the term in the document.
+     */
+    static final class PostingList {
+
+        private static final int PAYLOAD_BITS = 7;
+        private static final int PAYLOAD_MASK = 0x7F;
+        private static final int CONTINUATION_BIT = 0x80;
+
+        private final transient byte[] encoded;
+        private final transient int documentFrequency;
+
+        private PostingList(byte[] encoded, int documentFrequency) {
+            this.encoded = encoded;
+            this.documentFrequency = documentFrequency;
+        }
+
+        int getDocumentFrequency() {
+            return documentFrequency;
+        }
+
+        int encodedLength() {
+            return encoded.length;
+        }
+
+        void forEach(PostingConsumer consumer) {
+            Cursor cursor = cursor();
+            while (cursor.next()) {
+                consumer.accept(cursor.document(), cursor.termFrequency());
+            }
+        }
+
+        Cursor cursor() {
+            return new Cursor();
+        }
+
+        private static int writeVarInt(byte[] target, int offset, int value) {
+            int position = offset;
+            int remaining = value;
+            while ((remaining & ~PAYLOAD_MASK) != 0) {
+                target[position++] = (byte) (remaining & PAYLOAD_MASK | CONTINUATION_BIT);
+                remaining >>>= PAYLOAD_BITS;
+            }
+            target[position++] = (byte) remaining;
+            return position;
+        }
+
+        final class Cursor {
+
+            private transient int position;
+            private transient int document = -1;
+            private transient int termFrequency;
+
+            boolean next() {
+                if (position >= encoded.length) {
+                    return false;
+                }
+                document += readVarInt();
+                termFrequency = readVarInt();
+                return true;
+            }
+
+            /**
+             * Moves to the first document at or after the target.
+             *
+             * @return false if there is no such document
+             */
+            boolean advanceTo(int target) {
+                while (document < target) {
+                    if (!next()) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            int document() {
+                return document;
+            }
+
+            int termFrequency() {
+                return termFrequency;
+            }
+
+            private int readVarInt() {
+                int value = 0;
+                int shift = 0;
+                byte current;
+                do {
+                    current = encoded[position++];
+                    value |= (current & PAYLOAD_MASK) << shift;
+                    shift += PAYLOAD_BITS;
+                } while ((current & CONTINUATION_BIT) != 0);
+                return value;
+            }
+        }
+    }
+
+    interface PostingConsumer {
+
+        void accept(int document, int termFrequency);
+    }
+
+    /**
+     * Adds projects to a new index. Documents are numbered in the order the projects are added.
+     */
+    public static final class Builder {
+
+        private static final int MAX_VAR_INT_BYTES = 5;
+        private static final int INITIAL_POSTINGS_CAPACITY = 8;
+
+        private final transient List<String> projectIds = new ArrayList<>();
+        private final transient List<Integer> documentLengths = new ArrayList<>();
+        private final transient Map<String, PostingListWriter> writers = new HashMap<>();
+        private final transient Map<String, List<Integer>> projectCodes = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds the titles in all languages and the funding project codes of a project.
+         *
+         * @param project the project to add
+         * @return this builder
+         */
+        public Builder add(CristinProject project) {
+            int document = projectIds.size();
+            projectIds.add(project.getCristinProjectId());
+            Map<String, Integer> termFrequencies = new HashMap<>();
+            int length = 0;
+            for (String title : Optional.ofNullable(project.getTitle()).orElse(Map.of()).values()) {
+                for (String term : tokenize(Objects.toString(title, ""))) {
+                    termFrequencies.merge(term, 1, Integer::sum);
+                    length++;
+                }
+            }
+            documentLengths.add(length);
+            termFrequencies.forEach((term, frequency) ->
+                writers.computeIfAbsent(term, key -> new PostingListWriter()).add(document, frequency));
+            Optional.ofNullable(project.getProjectFundingSources()).orElse(List.of()).stream()
+                .map(CristinFundingSource::getProjectCode)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(code -> projectCodes.computeIfAbsent(code, key -> new ArrayList<>()).add(document));
+            return this;
+        }
+
+        /**
+         * Creates the index of the projects added.
+         *
+         * @return the index
+         */
+        public TitleIndex build() {
+            Map<String, PostingList> postings = new HashMap<>(writers.size() * 2);
+            writers.forEach((term, writer) -> postings.put(term.intern(), writer.toPostingList()));
+            Map<String, int[]> codes = new HashMap<>(projectCodes.size() * 2);
+            projectCodes.forEach((code, documents) ->
+                codes.put(code, documents.stream().mapToInt(Integer::intValue).toArray()));
+            return new TitleIndex(projectIds.toArray(String[]::new),
+                documentLengths.stream().mapToInt(Integer::intValue).toArray(), postings, codes);
+        }
+
+        private static final class PostingListWriter {
+
+            private transient byte[] encoded = new byte[INITIAL_POSTINGS_CAPACITY];
+            private transient int length;
+            private transient int documentFrequency;
+            private transient int lastDocument = -1;
+
+            private void add(int document, int termFrequency) {
+                if (encoded.length - length < 2 * MAX_VAR_INT_BYTES) {
+                    encoded = Arrays.copyOf(encoded, encoded.length * 2);
+                }
+                length = PostingList.writeVarInt(encoded, length, document - lastDocument);
+                length = PostingList.writeVarInt(encoded, length, termFrequency);
+                lastDocument = document;
+                documentFrequency++;
+            }
+
+            private PostingList toPostingList() {
+                return new PostingList(Arrays.copyOf(encoded, length), documentFrequency);
+            }
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package no.unit.nva.cristin.projects;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+
+/**
+ * Suggests project titles starting with a prefix, from a radix trie over the titles of a snapshot of projects. Every
+ * title is inserted from the start of each of its first words, so a prefix also matches words inside titles. The trie
+ * is built once from sorted keys, and every node keeps the best suggestions below it, so a lookup only walks the
+ * prefix. Suggestions are ranked by start date, newest first, and each project is suggested at most once.
+ */
+public final class TitleSuggester {
+
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final int MAX_WORD_STARTS = 8;
+    private static final char WORD_SEPARATOR = ' ';
+    private static final int[] NO_SUGGESTIONS = new int[0];
+
+    private final transient String[] titles;
+    private final transient String[] languages;
+    private final transient String[] projectIds;
+    private final transient int[] projectOrdinals;
+    private final transient Node root;
+
+    private TitleSuggester(List<Suggestion> suggestions, List<Key> keys) {
+        this.titles = suggestions.stream().map(Suggestion::getTitle).toArray(String[]::new);
+        this.languages = suggestions.stream().map(Suggestion::getLanguage).toArray(String[]::new);
+        this.projectIds = suggestions.stream().map(Suggestion::getProjectId).toArray(String[]::new);
+        this.projectOrdinals = projectOrdinals(projectIds);
+        this.root = keys.isEmpty() ? new Node(new char[0], NO_SUGGESTIONS) : build(keys, 0, keys.size(), 0, 0);
+    }
+
+    /**
+     * Builds a suggester for the titles in all languages of the projects.
+     *
+     * @param projects the projects to suggest
+     * @return the suggester
+     */
+    public static TitleSuggester of(Iterable<CristinProject> projects) {
+        List<Suggestion> suggestions = new ArrayList<>();
+        for (CristinProject project : projects) {
+            Optional.ofNullable(project.getTitle()).orElse(Map.of()).forEach((language, title) -> {
+                if (title != null && !normalize(title).isEmpty()) {
+                    suggestions.add(new Suggestion(project.getCristinProjectId(), title, language,
+                        project.getStartDate()));
+                }
+            });
+        }
+        suggestions.sort(Comparator.comparing(Suggestion::getStartDate, Comparator.reverseOrder())
+            .thenComparing(Suggestion::getProjectId)
+            .thenComparing(Suggestion::getLanguage));
+
+        List<Key> keys = new ArrayList<>();
+        for (int suggestion = 0; suggestion < suggestions.size(); suggestion++) {
+            String normalized = normalize(suggestions.get(suggestion).getTitle());
+            int wordStart = 0;
+            for (int word = 0; word < MAX_WORD_STARTS && wordStart >= 0; word++) {
+                keys.add(new Key(normalized, wordStart, suggestion));
+                int separator = normalized.indexOf(WORD_SEPARATOR, wordStart);
+                wordStart = separator < 0 ? -1 : separator + 1;
+            }
+        }
+        keys.sort(Key::compareTo);
+        return new TitleSuggester(suggestions, keys);
+    }
+
+    /**
+     * Normalizes a title or a prefix to its folded terms separated by single spaces. Stop words are kept, as the user
+     * may not have finished typing the word.
+     *
+     * @param text the title or prefix
+     * @return the normalized text
+     */
+    public static String normalize(String text) {
+        return String.join(String.valueOf(WORD_SEPARATOR), QueryNormalizer.terms(text, false));
+    }
+
+    /**
+     * Returns the best titles starting with the prefix, or having a word starting with it.
+     *
+     * @param prefix the prefix typed by the user
+     * @param limit  the maximum number of suggestions, at most MAX_SUGGESTIONS
+     * @return the suggestions, best first
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.isEmpty()) {
+            return List.of();
+        }
+        if (prefix.endsWith(String.valueOf(WORD_SEPARATOR)) || prefix.endsWith("+")) {
+            normalizedPrefix += WORD_SEPARATOR;
+        }
+        int[] best = find(normalizedPrefix);
+        List<Suggestion> suggestions = new ArrayList<>();
+        for (int i = 0; i < best.length && i < limit; i++) {
+            suggestions.add(new Suggestion(projectIds[best[i]], titles[best[i]], languages[best[i]], null));
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        return projectIds.length;
+    }
+
+    private int[] find(String prefix) {
+        Node node = root;
+        int matched = 0;
+        while (matched < prefix.length()) {
+            Node child = node.child(prefix.charAt(matched));
+            if (child == null) {
+                return NO_SUGGESTIONS;
+            }
+            int labelMatched = 0;
+            while (labelMatched < child.label.length && matched < prefix.length()) {
+                if (child.label[labelMatched] != prefix.charAt(matched)) {
+                    return NO_SUGGESTIONS;
+                }
+                labelMatched++;
+                matched++;
+            }
+            node = child;
+        }
+        return node.best;
+    }
+
+    /**
+     * Builds the node for keys[from, to), which share their first depth characters. The label of the node is the
+     * characters the keys share from labelStart to depth.
+     */
+    private Node build(List<Key> keys, int from, int to, int labelStart, int depth) {
+        char[] label = keys.get(from).subSequence(labelStart, depth).toCharArray();
+        List<Node> children = new ArrayList<>();
+        List<int[]> candidates = new ArrayList<>();
+        int index = from;
+        while (index < to && keys.get(index).length() == depth) {
+            index++;
+        }
+        candidates.add(keys.subList(from, index).stream().mapToInt(Key::getSuggestion).toArray());
+        while (index < to) {
+            char next = keys.get(index).charAt(depth);
+            int groupEnd = index + 1;
+            while (groupEnd < to && keys.get(groupEnd).charAt(depth) == next) {
+                groupEnd++;
+            }
+            int childDepth = commonPrefixLength(keys.get(index), keys.get(groupEnd - 1));
+            Node child = build(keys, index, groupEnd, depth, childDepth);
+            children.add(child);
+            candidates.add(child.best);
+            index = groupEnd;
+        }
+        Node node = new Node(label, best(candidates));
+        node.setChildren(children);
+        return node;
+    }
+
+    /**
+     * Merges lists of suggestions, each sorted best first, into the best MAX_SUGGESTIONS of distinct projects.
+     * Suggestions are numbered best first, so the best suggestion is the lowest number.
+     */
+    private int[] best(List<int[]> candidates) {
+        int[] positions = new int[candidates.size()];
+        int[] best = new int[MAX_SUGGESTIONS];
+        int size = 0;
+        while (size < MAX_SUGGESTIONS) {
+            int bestList = -1;
+            for (int list = 0; list < candidates.size(); list++) {
+                if (positions[list] < candidates.get(list).length && (bestList < 0
+                    || candidates.get(list)[positions[list]] < candidates.get(bestList)[positions[bestList]])) {
+                    bestList = list;
+                }
+            }
+            if (bestList < 0) {
+                break;
+            }
+            int suggestion = candidates.get(bestList)[positions[bestList]++];
+            if (!containsProject(best, size, suggestion)) {
+                best[size++] = suggestion;
+            }
+        }
+        return Arrays.copyOf(best, size);
+    }
+
+    private boolean containsProject(int[] suggestions, int size, int suggestion) {
+        for (int i = 0; i < size; i++) {
+            if (projectOrdinals[suggestions[i]] == projectOrdinals[suggestion]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int commonPrefixLength(Key first, Key last) {
+        int length = 0;
+        int maximum = Math.min(first.length(), last.length());
+        while (length < maximum && first.charAt(length) == last.charAt(length)) {
+            length++;
+        }
+        return length;
+    }
+
+    private static int[] projectOrdinals(String[] projectIds) {
+        Map<String, Integer> ordinals = new HashMap<>();
+        int[] projectOrdinals = new int[projectIds.length];
+        for (int i = 0; i < projectIds.length; i++) {
+            projectOrdinals[i] = ordinals.computeIfAbsent(projectIds[i], id -> ordinals.size());
+        }
+        return projectOrdinals;
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_CHILD_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private final transient char[] label;
+        private final transient int[] best;
+        private transient char[] childKeys = NO_CHILD_KEYS;
+        private transient Node[] children = NO_CHILDREN;
+
+        private Node(char[] label, int[] best) {
+            this.label = label;
+            this.best = best;
+        }
+
+        private void setChildren(List<Node> nodes) {
+            if (!nodes.isEmpty()) {
+                children = nodes.toArray(Node[]::new);
+                childKeys = new char[children.length];
+                for (int i = 0; i < children.length; i++) {
+                    childKeys[i] = children[i].label[0];
+                }
+            }
+        }
+
+        private Node child(char key) {
+            int index = Arrays.binarySearch(childKeys, key);
+            return index < 0 ? null : children[index];
+        }
+    }
+
+    /**
+     * A normalized title from the start of one of its words, without copying the characters of the title.
+     */
+    private static final class Key implements Comparable<Key> {
+
+        private final transient String title;
+        private final transient int start;
+        private final int suggestion;
+
+        private Key(String title, int start, int suggestion) {
+            this.title = title;
+            this.start = start;
+            this.suggestion = suggestion;
+        }
+
+        public int getSuggestion() {
+            return suggestion;
+        }
+
+        private int length() {
+            return title.length() - start;
+        }
+
+        private char charAt(int index) {
+            return title.charAt(start + index);
+        }
+
+        private String subSequence(int from, int to) {
+            return title.substring(start + from, start + to);
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int length = Math.min(length(), other.length());
+            for (int i = 0; i < length; i++) {
+                int difference = charAt(i) - other.charAt(i);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            return length() == other.length() ? Integer.compare(suggestion, other.suggestion)
+                : Integer.compare(length(), other.length());
+        }
+    }
+
+    /**
+     * A title of a project in one language.
+     */
+    public static final class Suggestion {
+
+        private final String projectId;
+        private final String title;
+        private final String language;
+        private final Instant startDate;
+
+        public Suggestion(String projectId, String title, String language, Instant startDate) {
+            this.projectId = projectId;
+            this.title = title;
+            this.language = language;
+            this.startDate = Objects.requireNonNullElse(startDate, Instant.EPOCH);
+        }
+
+        public String getProjectId() {
+            return projectId;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getLanguage() {
+            return language;
+        }
+
+        public Instant getStartDate() {
+            return startDate;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_CORPUS_MAX_PENDING_EXCHANGES;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_CORPUS_FORMAT_NOT_SUPPORTED;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_RECORDING_DROPPED;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_RECORDING_FAILED;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient.Version;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A file of recorded exchanges with Cristin. Every exchange is appended as its own gzip member holding a binary record,
+ * so the file stays readable after each append and a recording container can be stopped at any time. Exchanges are
+ * handed to a single background writer, which sanitises them by ExchangeSanitizer and appends them, so recording adds
+ * no work to the HTTP client threads. When more than CRISTIN_CORPUS_MAX_PENDING_EXCHANGES exchanges wait to be
+ * written, further exchanges are dropped. Records of the first format, which did not keep the HTTP
+ * version, are read as received over HTTP/1.1.
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class TrafficCorpus {
+
+    public static final int RECORD_FORMAT = 2;
+    public static final int RECORD_FORMAT_WITHOUT_VERSION = 1;
+
+    private static final Logger logger = LoggerFactory.getLogger(TrafficCorpus.class);
+    private static final int END_OF_CORPUS = -1;
+    private static final long WRITER_KEEP_ALIVE_SECONDS = 60;
+
+    private final transient Path path;
+    private final transient ThreadPoolExecutor writer;
+
+    /**
+     * Creates a corpus in the file.
+     *
+     * @param path the file recorded to or read from
+     */
+    public TrafficCorpus(Path path) {
+        this.path = path;
+        this.writer = new ThreadPoolExecutor(1, 1, WRITER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(CRISTIN_CORPUS_MAX_PENDING_EXCHANGES), new DaemonThreadFactory("cristin-corpus"),
+            (dropped, executor) -> drop(dropped));
+        writer.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Hands the exchange to the background writer, which sanitises it and appends it to the corpus. Failures are logged
+     * and never thrown, as recording must not fail the request that is recorded.
+     *
+     * @param exchange the exchange to record
+     */
+    public void record(RecordedExchange exchange) {
+        writer.execute(() -> {
+            try {
+                append(ExchangeSanitizer.sanitize(exchange));
+            } catch (IOException e) {
+                logger.warn(ERROR_MESSAGE_RECORDING_FAILED, e);
+            }
+        });
+    }
+
+    /**
+     * Waits until the exchanges recorded so far have been written.
+     *
+     * @throws InterruptedException  if interrupted while waiting
+     * @throws CancellationException if too many exchanges are waiting to be written to wait for them
+     */
+    public void flush() throws InterruptedException {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Appends the exchange to the corpus as it is, creating the file if it does not exist.
+     *
+     * @param exchange the exchange to append
+     * @throws IOException if the corpus cannot be written
+     */
+    public synchronized void append(RecordedExchange exchange) throws IOException {
+        try (OutputStream file = Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+             DataOutputStream output = new DataOutputStream(
+                 new GZIPOutputStream(new BufferedOutputStream(file)))) {
+            writeRecord(output, exchange);
+        }
+    }
+
+    /**
+     * Reads all exchanges of the corpus in the order they were recorded.
+     *
+     * @return the recorded exchanges
+     * @throws IOException if the corpus cannot be read or contains a record of an unknown format
+     */
+    public synchronized List<RecordedExchange> read() throws IOException {
+        List<RecordedExchange> exchanges = new ArrayList<>();
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream input = new DataInputStream(new GZIPInputStream(new BufferedInputStream(file)))) {
+            for (int format = input.read(); format != END_OF_CORPUS; format = input.read()) {
+                if (format != RECORD_FORMAT && format != RECORD_FORMAT_WITHOUT_VERSION) {
+                    throw new IOException(String.format(ERROR_MESSAGE_CORPUS_FORMAT_NOT_SUPPORTED, format));
+                }
+                exchanges.add(readRecord(input, format));
+            }
+        }
+        return exchanges;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    private void drop(Runnable dropped) {
+        logger.warn(ERROR_MESSAGE_RECORDING_DROPPED, path);
+        if (dropped instanceof Future) {
+            ((Future<?>) dropped).cancel(false);
+        }
+    }
+
+    private static void writeRecord(DataOutputStream output, RecordedExchange exchange) throws IOException {
+        TransportResponse response = exchange.getResponse();
+        output.writeByte(RECORD_FORMAT);
+        output.writeUTF(exchange.getUri().toString());
+        output.writeLong(exchange.getLatency().toNanos());
+        output.writeUTF(response.getVersion().name());
+        output.writeShort(response.getStatusCode());
+        output.writeShort(response.getHeaders().size());
+        for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+            output.writeUTF(header.getKey());
+            output.writeShort(header.getValue().size());
+            for (String value : header.getValue()) {
+                output.writeUTF(value);
+            }
+        }
+        ByteBuffer body = response.getBody();
+        output.writeInt(body.remaining());
+        byte[] bodyBytes = new byte[body.remaining()];
+        body.get(bodyBytes);
+        output.write(bodyBytes);
+    }
+
+    private static RecordedExchange readRecord(DataInputStream input, int format) throws IOException {
+        URI uri = URI.create(input.readUTF());
+        Duration latency = Duration.ofNanos(input.readLong());
+        Version version = format == RECORD_FORMAT_WITHOUT_VERSION ? Version.HTTP_1_1 : Version.valueOf(input.readUTF());
+        int statusCode = input.readUnsignedShort();
+        int headerCount = input.readUnsignedShort();
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (int header = 0; header < headerCount; header++) {
+            String name = input.readUTF();
+            int valueCount = input.readUnsignedShort();
+            List<String> values = new ArrayList<>(valueCount);
+            for (int value = 0; value < valueCount; value++) {
+                values.add(input.readUTF());
+            }
+            headers.put(name, values);
+        }
+        byte[] body = new byte[input.readInt()];
+        input.readFully(body);
+        return new RecordedExchange(uri, new TransportResponse(uri, statusCode, headers, ByteBuffer.wrap(body),
+            version), latency);
+    }
+}
@@ -0,0 +1,64 @@
+package no.unit.nva.cristin.projects;
+
+import java.net.URI;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import javax.net.ssl.SSLSession;
+
+/**
+ * Presents a TransportResponse as the HttpResponse read by CristinApiClient, with the HTTP version the response was
+ * received over. The transport does not keep the TLS session, so no session is reported.
+ */
+public final class TransportHttpResponse implements HttpResponse<String> {
+
+    private final transient TransportResponse response;
+    private final transient String body;
+
+    public TransportHttpResponse(TransportResponse response) {
+        this.response = response;
+        this.body = response.getBodyAsString();
+    }
+
+    @Override
+    public int statusCode() {
+        return response.getStatusCode();
+    }
+
+    @Override
+    public HttpRequest request() {
+        return HttpRequest.newBuilder(response.getUri()).build();
+    }
+
+    @Override
+    public Optional<HttpResponse<String>> previousResponse() {
+        return Optional.empty();
+    }
+
+    @Override
+    public HttpHeaders headers() {
+        return response.httpHeaders();
+    }
+
+    @Override
+    public String body() {
+        return body;
+    }
+
+    @Override
+    public Optional<SSLSession> sslSession() {
+        return Optional.empty();
+    }
+
+    @Override
+    public URI uri() {
+        return response.getUri();
+    }
+
+    @Override
+    public Version version() {
+        return response.getVersion();
+    }
+}
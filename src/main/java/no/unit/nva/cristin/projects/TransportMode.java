@@ -0,0 +1,76 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_CORPUS_PATH;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_TRANSPORT_MODE;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_CORPUS_NOT_READABLE;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_CORPUS_PSEUDONYM_KEY_MISSING;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * How CristinApiClient reaches Cristin. RECORD calls Cristin and appends every exchange, sanitised, to a corpus.
+ * REPLAY answers from such a corpus with the recorded latencies and never calls Cristin, so benchmarks and load tests
+ * can run offline against production-shaped data. Both need CRISTIN_CORPUS_PSEUDONYM_KEY, and a corpus can only be
+ * replayed with the key it was recorded with, since requests are found in it by their sanitised URI.
+ */
+public enum TransportMode {
+    NETWORK,
+    RECORD,
+    REPLAY;
+
+    /**
+     * Creates a transport working in this mode.
+     *
+     * @param network transport calling Cristin
+     * @param corpus  corpus recorded to or replayed from
+     * @return the transport
+     * @throws UncheckedIOException if the corpus to replay cannot be read
+     * @throws IllegalStateException if recording or replaying without CRISTIN_CORPUS_PSEUDONYM_KEY
+     */
+    public CristinTransport createTransport(CristinTransport network, TrafficCorpus corpus) {
+        return createTransport(network, corpus, ExchangeSanitizer.hasPseudonymKey());
+    }
+
+    CristinTransport createTransport(CristinTransport network, TrafficCorpus corpus, boolean hasPseudonymKey) {
+        if (this != NETWORK && !hasPseudonymKey) {
+            throw new IllegalStateException(ERROR_MESSAGE_CORPUS_PSEUDONYM_KEY_MISSING);
+        }
+        switch (this) {
+            case RECORD:
+                return new RecordingCristinTransport(network, corpus::record);
+            case REPLAY:
+                return new ReplayCristinTransport(readCorpus(corpus), true, ExchangeSanitizer::sanitizeUri);
+            default:
+                return network;
+        }
+    }
+
+    /**
+     * The transport selected by CRISTIN_TRANSPORT_MODE, using the corpus at CRISTIN_CORPUS_PATH. It is created on first
+     * use and shared by all clients.
+     *
+     * @return the default transport
+     */
+    public static CristinTransport defaultTransport() {
+        return DefaultTransportHolder.DEFAULT_TRANSPORT;
+    }
+
+    private static List<RecordedExchange> readCorpus(TrafficCorpus corpus) {
+        try {
+            return corpus.read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format(ERROR_MESSAGE_CORPUS_NOT_READABLE, corpus.getPath()), e);
+        }
+    }
+
+    private static final class DefaultTransportHolder {
+
+        private static final CristinTransport DEFAULT_TRANSPORT =
+            TransportMode.valueOf(CRISTIN_TRANSPORT_MODE.toUpperCase(Locale.ROOT))
+                .createTransport(JdkCristinTransport.defaultTransport(),
+                    new TrafficCorpus(Path.of(CRISTIN_CORPUS_PATH)));
+    }
+}
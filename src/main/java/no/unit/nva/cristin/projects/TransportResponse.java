@@ -0,0 +1,92 @@
+package no.unit.nva.cristin.projects;
+
+import java.net.URI;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Status, headers and body of a response from Cristin, independent of the HTTP client that received it. Header names
+ * are case-insensitive and the body is read-only.
+ */
+public final class TransportResponse {
+
+    private final URI uri;
+    private final int statusCode;
+    private final Map<String, List<String>> headers;
+    private final ByteBuffer body;
+    private final Version version;
+
+    /**
+     * Creates a response received over HTTP/1.1.
+     *
+     * @param uri        the URI that was requested
+     * @param statusCode the HTTP status code
+     * @param headers    the response headers
+     * @param body       the response body, after any content encoding has been removed
+     */
+    public TransportResponse(URI uri, int statusCode, Map<String, List<String>> headers, ByteBuffer body) {
+        this(uri, statusCode, headers, body, Version.HTTP_1_1);
+    }
+
+    /**
+     * Creates a response.
+     *
+     * @param uri        the URI that was requested
+     * @param statusCode the HTTP status code
+     * @param headers    the response headers
+     * @param body       the response body, after any content encoding has been removed
+     * @param version    the HTTP version the response was received over
+     */
+    public TransportResponse(URI uri, int statusCode, Map<String, List<String>> headers, ByteBuffer body,
+                             Version version) {
+        this.uri = uri;
+        this.statusCode = statusCode;
+        Map<String, List<String>> caseInsensitiveHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.forEach((name, values) -> caseInsensitiveHeaders.put(name, List.copyOf(values)));
+        this.headers = caseInsensitiveHeaders;
+        this.body = body.asReadOnlyBuffer();
+        this.version = version;
+    }
+
+    public static TransportResponse of(URI uri, int statusCode, Map<String, List<String>> headers, String body) {
+        return new TransportResponse(uri, statusCode, headers, ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    public ByteBuffer getBody() {
+        return body.duplicate();
+    }
+
+    public Version getVersion() {
+        return version;
+    }
+
+    public String getBodyAsString() {
+        return StandardCharsets.UTF_8.decode(getBody()).toString();
+    }
+
+    public HttpHeaders httpHeaders() {
+        return HttpHeaders.of(headers, (name, value) -> true);
+    }
+
+    public HttpResponse<String> toHttpResponse() {
+        return new TransportHttpResponse(this);
+    }
+}
@@ -0,0 +1,26 @@
+package no.unit.nva.cristin.projects;
+
+/**
+ * Thrown instead of calling Cristin when a call is rejected by this service to protect Cristin or itself.
+ */
+public class UpstreamCallRejectedException extends RuntimeException {
+
+    public UpstreamCallRejectedException(String message) {
+        super(message);
+    }
+
+    /**
+     * Tells whether the failure, or one of its causes, is a rejection.
+     *
+     * @param failure the failure of a call
+     * @return true if the call was rejected without reaching Cristin
+     */
+    public static boolean isCauseOf(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UpstreamCallRejectedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
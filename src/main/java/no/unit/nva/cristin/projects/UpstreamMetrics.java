@@ -0,0 +1,49 @@
+package no.unit.nva.cristin.projects;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Counters and gauges describing the calls made to Cristin. Counters only grow, gauges are read when a snapshot is
+ * taken. The standalone server exposes the snapshot on /metrics and the handlers log it on warm-up.
+ */
+public class UpstreamMetrics {
+
+    private static final UpstreamMetrics DEFAULT_METRICS = new UpstreamMetrics();
+
+    private final transient Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final transient Map<String, Supplier<Number>> gauges = new ConcurrentHashMap<>();
+
+    public static UpstreamMetrics defaultMetrics() {
+        return DEFAULT_METRICS;
+    }
+
+    public void increment(String name) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).increment();
+    }
+
+    public long count(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    public void registerGauge(String name, Supplier<Number> gauge) {
+        gauges.put(name, gauge);
+    }
+
+    /**
+     * Reads all counters and gauges.
+     *
+     * @return the current values, sorted by name
+     */
+    public SortedMap<String, Number> snapshot() {
+        SortedMap<String, Number> snapshot = new TreeMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        gauges.forEach((name, gauge) -> snapshot.put(name, gauge.get()));
+        return snapshot;
+    }
+}
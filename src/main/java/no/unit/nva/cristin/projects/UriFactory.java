@@ -0,0 +1,166 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.BASE_PATH;
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_API_HOST;
+import static no.unit.nva.cristin.projects.Constants.DOMAIN_NAME;
+import static no.unit.nva.cristin.projects.Constants.EMPTY_FRAGMENT;
+import static no.unit.nva.cristin.projects.Constants.HTTPS;
+import static no.unit.nva.cristin.projects.Constants.INSTITUTION_PATH;
+import static no.unit.nva.cristin.projects.Constants.PERSON_PATH;
+import static nva.commons.core.attempt.Try.attempt;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Creates the NVA and Cristin URIs used on every hit from precomputed prefixes. The URIs are equal to the ones created
+ * by the quoting multi-argument {@link URI} constructors. Values containing characters those constructors would quote
+ * are handed over to them, while all other values are appended to the prefix and parsed directly.
+ */
+public class UriFactory {
+
+    private static final String SLASH_DELIMITER = "/";
+    private static final char QUERY_DELIMITER = '?';
+    private static final char PARAMETER_DELIMITER = '&';
+    private static final char KEY_VALUE_DELIMITER = '=';
+    private static final String UNRESERVED_PUNCTUATION = "-_.~";
+    private static final String LEGAL_QUERY_PUNCTUATION = "-_.!~*'();/?:@&=+$,";
+    private static final int ASCII_LIMIT = 128;
+    private static final int ESTIMATED_PARAMETER_LENGTH = 16;
+    private static final String CRISTIN_API_VERSION_PATH = "/v2/";
+    private static final String CRISTIN_PROJECTS_PATH = "projects";
+
+    private static final UriFactory DEFAULT_FACTORY = new UriFactory(DOMAIN_NAME, BASE_PATH, CRISTIN_API_HOST);
+
+    private final transient String nvaDomainName;
+    private final transient String nvaProjectPath;
+    private final transient String nvaProjectPrefix;
+    private final transient String cristinApiHost;
+    private final transient String cristinProjectsPath;
+    private final transient String cristinProjectsPrefix;
+    private final transient String cristinPersonsPrefix;
+    private final transient String cristinInstitutionsPrefix;
+
+    /**
+     * Creates a factory with prefixes for the supplied hosts.
+     *
+     * @param nvaDomainName  the domain name of the NVA API
+     * @param nvaBasePath    the base path of the NVA project API
+     * @param cristinApiHost the host name of the Cristin API
+     */
+    public UriFactory(String nvaDomainName, String nvaBasePath, String cristinApiHost) {
+        this.nvaDomainName = nvaDomainName;
+        this.nvaProjectPath = SLASH_DELIMITER + nvaBasePath + SLASH_DELIMITER;
+        this.nvaProjectPrefix = legacyUri(nvaDomainName, nvaProjectPath, null).toString();
+        this.cristinApiHost = cristinApiHost;
+        this.cristinProjectsPath = CRISTIN_API_VERSION_PATH + CRISTIN_PROJECTS_PATH + SLASH_DELIMITER;
+        this.cristinProjectsPrefix = legacyUri(cristinApiHost, cristinProjectsPath, null).toString();
+        this.cristinPersonsPrefix = cristinApiPrefix(cristinApiHost, PERSON_PATH);
+        this.cristinInstitutionsPrefix = cristinApiPrefix(cristinApiHost, INSTITUTION_PATH);
+    }
+
+    public static UriFactory defaultFactory() {
+        return DEFAULT_FACTORY;
+    }
+
+    public URI nvaProjectUri(String id) {
+        return isLegalPathSegment(id) ? URI.create(nvaProjectPrefix + id)
+            : attempt(() -> new URI(HTTPS, nvaDomainName, nvaProjectPath + id, EMPTY_FRAGMENT)).orElseThrow();
+    }
+
+    public URI nvaProjectUriWithParams(Map<String, String> parameters) {
+        return withQuery(nvaDomainName, nvaProjectPath, nvaProjectPrefix, formatQueryParameters(parameters));
+    }
+
+    public URI nvaProjectUriWithParams(String subPath, Map<String, String> parameters) {
+        return withQuery(nvaDomainName, nvaProjectPath + subPath, nvaProjectPrefix + subPath,
+            formatQueryParameters(parameters));
+    }
+
+    public URI cristinProjectUri(String id, Map<String, String> parameters) {
+        return withQuery(cristinApiHost, cristinProjectsPath + id, cristinProjectsPrefix + id,
+            formatQueryParameters(parameters));
+    }
+
+    public URI cristinProjectsUriWithParams(Map<String, String> parameters) {
+        return withQuery(cristinApiHost, cristinProjectsPath, cristinProjectsPrefix, formatQueryParameters(parameters));
+    }
+
+    public URI cristinPersonUri(String id) {
+        return URI.create(cristinPersonsPrefix + id);
+    }
+
+    public URI cristinInstitutionUri(String id) {
+        return URI.create(cristinInstitutionsPrefix + id);
+    }
+
+    /**
+     * Formats query parameters sorted by key, as key=value pairs separated by ampersand.
+     *
+     * @param parameters the query parameters, may be null
+     * @return the formatted query string, or null if there are no parameters
+     */
+    public static String formatQueryParameters(Map<String, String> parameters) {
+        if (parameters == null) {
+            return null;
+        }
+
+        String[] keys = parameters.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        StringBuilder query = new StringBuilder(keys.length * ESTIMATED_PARAMETER_LENGTH);
+        for (String key : keys) {
+            if (query.length() > 0) {
+                query.append(PARAMETER_DELIMITER);
+            }
+            query.append(key).append(KEY_VALUE_DELIMITER).append(parameters.get(key));
+        }
+        return query.toString();
+    }
+
+    private URI withQuery(String host, String path, String prefix, String query) {
+        if (query == null) {
+            return URI.create(prefix);
+        }
+        return isLegalQuery(query) && isLegalPathSegment(path.substring(path.lastIndexOf(SLASH_DELIMITER) + 1))
+            ? URI.create(prefix + QUERY_DELIMITER + query)
+            : legacyUri(host, path, query);
+    }
+
+    private static String cristinApiPrefix(String cristinApiHost, String path) {
+        return HTTPS + "://" + cristinApiHost + CRISTIN_API_VERSION_PATH + path + SLASH_DELIMITER;
+    }
+
+    private static URI legacyUri(String host, String path, String query) {
+        return attempt(() -> new URI(HTTPS, host, path, query, EMPTY_FRAGMENT)).orElseThrow();
+    }
+
+    private static boolean isLegalPathSegment(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (!isAsciiLetterOrDigit(c) && UNRESERVED_PUNCTUATION.indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLegalQuery(String query) {
+        for (int i = 0; i < query.length(); i++) {
+            if (!isLegalQueryCharacter(query.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLegalQueryCharacter(char c) {
+        if (c < ASCII_LIMIT) {
+            return isAsciiLetterOrDigit(c) || LEGAL_QUERY_PUNCTUATION.indexOf(c) >= 0;
+        }
+        return !Character.isISOControl(c) && !Character.isSpaceChar(c);
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9';
+    }
+}
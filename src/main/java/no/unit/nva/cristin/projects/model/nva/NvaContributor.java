@@ -3,6 +3,8 @@ package no.unit.nva.cristin.projects.model.nva;
 import static no.unit.nva.cristin.projects.JsonPropertyNames.AFFILIATION;
 import static no.unit.nva.cristin.projects.JsonPropertyNames.IDENTITY;
 import static no.unit.nva.cristin.projects.JsonPropertyNames.TYPE;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import nva.commons.core.JacocoGenerated;
 
@@ -11,31 +13,35 @@ import nva.commons.core.JacocoGenerated;
 @JsonPropertyOrder({TYPE, IDENTITY, AFFILIATION})
 public class NvaContributor {
 
-    private String type;
-    private NvaPerson identity;
-    private NvaOrganization affiliation;
+    private final String type;
+    private final NvaPerson identity;
+    private final NvaOrganization affiliation;
+
+    /**
+     * Creates an immutable NvaContributor.
+     *
+     * @param type        the role of the contributor in the project
+     * @param identity    the person contributing
+     * @param affiliation the organization the person contributes on behalf of
+     */
+    @JsonCreator
+    public NvaContributor(@JsonProperty(TYPE) String type,
+                          @JsonProperty(IDENTITY) NvaPerson identity,
+                          @JsonProperty(AFFILIATION) NvaOrganization affiliation) {
+        this.type = type;
+        this.identity = identity;
+        this.affiliation = affiliation;
+    }
 
     public String getType() {
         return type;
     }
 
-    public void setType(String type) {
-        this.type = type;
-    }
-
     public NvaPerson getIdentity() {
         return identity;
     }
 
-    public void setIdentity(NvaPerson identity) {
-        this.identity = identity;
-    }
-
     public NvaOrganization getAffiliation() {
         return affiliation;
     }
-
-    public void setAffiliation(NvaOrganization affiliation) {
-        this.affiliation = affiliation;
-    }
 }
@@ -1,15 +1,18 @@
 package no.unit.nva.cristin.projects.model.nva;
 
-import static no.unit.nva.cristin.projects.Constants.CRISTIN_API_BASE_URL;
-import static no.unit.nva.cristin.projects.Constants.INSTITUTION_PATH;
 import static no.unit.nva.cristin.projects.JsonPropertyNames.ID;
 import static no.unit.nva.cristin.projects.JsonPropertyNames.NAME;
 import static no.unit.nva.cristin.projects.JsonPropertyNames.TYPE;
-import static no.unit.nva.cristin.projects.UriUtils.buildUri;
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.UnaryOperator;
+import no.unit.nva.cristin.projects.UriFactory;
 import no.unit.nva.cristin.projects.model.cristin.CristinInstitution;
 import nva.commons.core.JacocoGenerated;
 
@@ -21,51 +24,61 @@ public class NvaOrganization {
     @JsonIgnore
     private static final String ORGANIZATION_TYPE = "Organization";
 
-    private URI id;
-    private String type;
+    private final URI id;
+    private final String type;
     @JsonPropertyOrder(alphabetic = true)
-    private Map<String, String> name;
+    private final Map<String, String> name;
 
-    public URI getId() {
-        return id;
+    /**
+     * Creates an immutable NvaOrganization.
+     *
+     * @param id   URI of the institution in Cristin
+     * @param type the type of the organization object
+     * @param name names of the institution by language, stored as an unmodifiable copy
+     */
+    @JsonCreator
+    public NvaOrganization(@JsonProperty(ID) URI id,
+                           @JsonProperty(TYPE) String type,
+                           @JsonProperty(NAME) Map<String, String> name) {
+        this.id = id;
+        this.type = type;
+        this.name = name == null ? null : Collections.unmodifiableMap(new LinkedHashMap<>(name));
     }
 
-    public void setId(URI id) {
+    private NvaOrganization(URI id, Map<String, String> name) {
         this.id = id;
+        this.type = ORGANIZATION_TYPE;
+        this.name = name;
     }
 
-    public String getType() {
-        return type;
+    public URI getId() {
+        return id;
     }
 
-    public void setType(String type) {
-        this.type = type;
+    public String getType() {
+        return type;
     }
 
     public Map<String, String> getName() {
         return name;
     }
 
-    public void setName(Map<String, String> name) {
-        this.name = name;
-    }
-
     /**
      * Build a NvaOrganization datamodel from a CristinInstitution datamodel.
      *
      * @param cristinInstitution the model to convert from
+     * @param names              returns the unmodifiable map stored as the names of the institution
      * @return a NvaOrganization converted from a CristinInstitution
      */
-    public static NvaOrganization fromCristinInstitution(CristinInstitution cristinInstitution) {
+    public static NvaOrganization fromCristinInstitution(CristinInstitution cristinInstitution,
+                                                         UnaryOperator<Map<String, String>> names) {
         if (cristinInstitution == null) {
             return null;
         }
 
-        NvaOrganization nvaOrganization = new NvaOrganization();
-        nvaOrganization.setId(buildUri(CRISTIN_API_BASE_URL, INSTITUTION_PATH,
-            cristinInstitution.getCristinInstitutionId()));
-        nvaOrganization.setType(ORGANIZATION_TYPE);
-        nvaOrganization.setName(cristinInstitution.getInstitutionName());
-        return nvaOrganization;
+        Map<String, String> name = cristinInstitution.getInstitutionName();
+        return new NvaOrganization(
+            UriFactory.defaultFactory().cristinInstitutionUri(cristinInstitution.getCristinInstitutionId()),
+            name == null ? null : names.apply(name));
     }
 }
@@ -1,15 +1,15 @@
 package no.unit.nva.cristin.projects.model.nva;
 
-import static no.unit.nva.cristin.projects.Constants.CRISTIN_API_BASE_URL;
-import static no.unit.nva.cristin.projects.Constants.PERSON_PATH;
 import static no.unit.nva.cristin.projects.JsonPropertyNames.FIRST_NAME;
 import static no.unit.nva.cristin.projects.JsonPropertyNames.ID;
 import static no.unit.nva.cristin.projects.JsonPropertyNames.LAST_NAME;
 import static no.unit.nva.cristin.projects.JsonPropertyNames.TYPE;
-import static no.unit.nva.cristin.projects.UriUtils.buildUri;
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import java.net.URI;
+import no.unit.nva.cristin.projects.UriFactory;
 import no.unit.nva.cristin.projects.model.cristin.CristinPerson;
 import nva.commons.core.JacocoGenerated;
 
@@ -21,43 +21,46 @@ public class NvaPerson {
     @JsonIgnore
     private static final String PERSON_TYPE = "Person";
 
-    private URI id;
-    private String type;
-    private String firstName;
-    private String lastName;
+    private final URI id;
+    private final String type;
+    private final String firstName;
+    private final String lastName;
 
-    public URI getId() {
-        return id;
+    /**
+     * Creates an immutable NvaPerson.
+     *
+     * @param id        URI of the person in Cristin
+     * @param type      the type of the person object
+     * @param firstName first name of the person
+     * @param lastName  last name of the person
+     */
+    @JsonCreator
+    public NvaPerson(@JsonProperty(ID) URI id,
+                     @JsonProperty(TYPE) String type,
+                     @JsonProperty(FIRST_NAME) String firstName,
+                     @JsonProperty(LAST_NAME) String lastName) {
+        this.id = id;
+        this.type = type;
+        this.firstName = firstName;
+        this.lastName = lastName;
     }
 
-    public void setId(URI id) {
-        this.id = id;
+    public URI getId() {
+        return id;
     }
 
     public String getType() {
         return type;
     }
 
-    public void setType(String type) {
-        this.type = type;
-    }
-
     public String getFirstName() {
         return firstName;
     }
 
-    public void setFirstName(String firstName) {
-        this.firstName = firstName;
-    }
-
     public String getLastName() {
         return lastName;
     }
 
-    public void setLastName(String lastName) {
-        this.lastName = lastName;
-    }
-
     /**
      * Build a NvaPerson datamodel from a CristinPerson datamodel.
      *
@@ -69,11 +72,10 @@ public class NvaPerson {
             return null;
         }
 
-        NvaPerson identity = new NvaPerson();
-        identity.setId(buildUri(CRISTIN_API_BASE_URL, PERSON_PATH, cristinPerson.getCristinPersonId()));
-        identity.setType(PERSON_TYPE);
-        identity.setFirstName(cristinPerson.getFirstName());
-        identity.setLastName(cristinPerson.getSurname());
-        return identity;
+        return new NvaPerson(
+            UriFactory.defaultFactory().cristinPersonUri(cristinPerson.getCristinPersonId()),
+            PERSON_TYPE,
+            cristinPerson.getFirstName(),
+            cristinPerson.getSurname());
     }
 }
@@ -14,16 +14,18 @@ import static no.unit.nva.cristin.projects.JsonPropertyNames.LANGUAGE;
 import static no.unit.nva.cristin.projects.JsonPropertyNames.START_DATE;
 import static no.unit.nva.cristin.projects.JsonPropertyNames.TITLE;
 import static no.unit.nva.cristin.projects.JsonPropertyNames.TYPE;
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import java.net.URI;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import nva.commons.core.JacocoGenerated;
 
-@SuppressWarnings("unused")
+@SuppressWarnings({"unused", "PMD.ExcessiveParameterList"})
 @JacocoGenerated
 @JsonInclude(ALWAYS)
 @JsonPropertyOrder({CONTEXT, ID, TYPE, IDENTIFIERS, TITLE, LANGUAGE, ALTERNATIVE_TITLES, START_DATE, END_DATE,
@@ -32,126 +34,112 @@ public class NvaProject {
 
     @JsonProperty(CONTEXT)
     @JsonInclude(NON_NULL)
-    private String context;
+    private final String context;
     @JsonProperty
-    private URI id;
+    private final URI id;
     @JsonProperty
-    private String type;
+    private final String type;
     @JsonProperty
     @JsonPropertyOrder(alphabetic = true)
-    private List<Map<String, String>> identifiers;
+    private final List<Map<String, String>> identifiers;
     @JsonProperty
-    private String title;
+    private final String title;
     @JsonProperty
-    private URI language;
+    private final URI language;
     @JsonProperty
     @JsonPropertyOrder(alphabetic = true)
-    private List<Map<String, String>> alternativeTitles;
+    private final List<Map<String, String>> alternativeTitles;
     @JsonProperty
-    private Instant startDate;
+    private final Instant startDate;
     @JsonProperty
-    private Instant endDate;
+    private final Instant endDate;
     // TODO: NP-2155: Populate Grant/Funding field later
     @JsonProperty
-    private List<Object> grants;
+    private final List<Object> grants;
     @JsonProperty
-    private NvaOrganization coordinatingInstitution;
+    private final NvaOrganization coordinatingInstitution;
     @JsonProperty
-    private List<NvaContributor> contributors;
+    private final List<NvaContributor> contributors;
+
+    /**
+     * Creates an immutable NvaProject. Lists are kept as unmodifiable views and should not be changed by the caller.
+     */
+    @JsonCreator
+    public NvaProject(@JsonProperty(CONTEXT) String context,
+                      @JsonProperty(ID) URI id,
+                      @JsonProperty(TYPE) String type,
+                      @JsonProperty(IDENTIFIERS) List<Map<String, String>> identifiers,
+                      @JsonProperty(TITLE) String title,
+                      @JsonProperty(LANGUAGE) URI language,
+                      @JsonProperty(ALTERNATIVE_TITLES) List<Map<String, String>> alternativeTitles,
+                      @JsonProperty(START_DATE) Instant startDate,
+                      @JsonProperty(END_DATE) Instant endDate,
+                      @JsonProperty(GRANTS) List<Object> grants,
+                      @JsonProperty(COORDINATING_INSTITUTION) NvaOrganization coordinatingInstitution,
+                      @JsonProperty(CONTRIBUTORS) List<NvaContributor> contributors) {
+        this.context = context;
+        this.id = id;
+        this.type = type;
+        this.identifiers = unmodifiable(identifiers);
+        this.title = title;
+        this.language = language;
+        this.alternativeTitles = unmodifiable(alternativeTitles);
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.grants = unmodifiable(grants);
+        this.coordinatingInstitution = coordinatingInstitution;
+        this.contributors = unmodifiable(contributors);
+    }
 
     public String getContext() {
         return context;
     }
 
-    public void setContext(String context) {
-        this.context = context;
-    }
-
     public URI getId() {
         return id;
     }
 
-    public void setId(URI id) {
-        this.id = id;
-    }
-
     public String getType() {
         return type;
     }
 
-    public void setType(String type) {
-        this.type = type;
-    }
-
     public List<Map<String, String>> getIdentifiers() {
         return identifiers;
     }
 
-    public void setIdentifiers(List<Map<String, String>> identifiers) {
-        this.identifiers = identifiers;
-    }
-
     public String getTitle() {
         return title;
     }
 
-    public void setTitle(String title) {
-        this.title = title;
-    }
-
     public URI getLanguage() {
         return language;
     }
 
-    public void setLanguage(URI language) {
-        this.language = language;
-    }
-
     public List<Map<String, String>> getAlternativeTitles() {
         return alternativeTitles;
     }
 
-    public void setAlternativeTitles(List<Map<String, String>> alternativeTitles) {
-        this.alternativeTitles = alternativeTitles;
-    }
-
     public Instant getStartDate() {
         return startDate;
     }
 
-    public void setStartDate(Instant startDate) {
-        this.startDate = startDate;
-    }
-
     public Instant getEndDate() {
         return endDate;
     }
 
-    public void setEndDate(Instant endDate) {
-        this.endDate = endDate;
-    }
-
     public List<Object> getGrants() {
         return grants;
     }
 
-    public void setGrants(List<Object> grants) {
-        this.grants = grants;
-    }
-
     public NvaOrganization getCoordinatingInstitution() {
         return coordinatingInstitution;
     }
 
-    public void setCoordinatingInstitution(NvaOrganization coordinatingInstitution) {
-        this.coordinatingInstitution = coordinatingInstitution;
-    }
-
     public List<NvaContributor> getContributors() {
         return contributors;
     }
 
-    public void setContributors(List<NvaContributor> contributors) {
-        this.contributors = contributors;
+    private static <T> List<T> unmodifiable(List<T> list) {
+        return list == null ? null : Collections.unmodifiableList(list);
     }
 }
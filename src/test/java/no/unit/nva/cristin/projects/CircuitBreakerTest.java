@@ -0,0 +1,178 @@
+package no.unit.nva.cristin.projects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import no.unit.nva.cristin.projects.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+public class CircuitBreakerTest {
+
+    private static final int WINDOW_SIZE = 10;
+    private static final int MINIMUM_CALLS = 4;
+    private static final double RATE_THRESHOLD = 0.5;
+    private static final Duration ONE_MINUTE = Duration.ofMinutes(1);
+    private static final Duration SHORT_OPEN_DURATION = Duration.ofMillis(20);
+    private static final int HALF_OPEN_PROBES = 2;
+    private static final String SUCCESS = "success";
+    private static final String FAILURE = "failure";
+
+    private final UpstreamMetrics metrics = new UpstreamMetrics();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void breakerStaysClosedUntilMinimumCallsHaveBeenMade() {
+        CircuitBreaker breaker = breaker(ONE_MINUTE);
+
+        IntStream.range(1, MINIMUM_CALLS).forEach(i -> breaker.execute(() -> FAILURE, FAILURE::equals));
+
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void breakerOpensWhenFailureRateReachesThreshold() {
+        CircuitBreaker breaker = breaker(ONE_MINUTE);
+
+        IntStream.range(0, MINIMUM_CALLS).forEach(i -> breaker.execute(() -> i % 2 == 0 ? SUCCESS : FAILURE,
+            FAILURE::equals));
+
+        assertEquals(State.OPEN, breaker.getState());
+        assertEquals(1L, metrics.count(CircuitBreaker.TRANSITIONS + State.OPEN));
+        assertEquals(State.OPEN.ordinal(), metrics.snapshot().get(CircuitBreaker.STATE));
+    }
+
+    @Test
+    void breakerCountsThrownExceptionsAsFailures() {
+        CircuitBreaker breaker = breaker(ONE_MINUTE);
+
+        IntStream.range(0, MINIMUM_CALLS).forEach(i -> assertThrows(UncheckedIOException.class,
+            () -> breaker.execute(this::timeout, FAILURE::equals)));
+
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void breakerDoesNotCountCallsRejectedBeforeReachingCristin() {
+        CircuitBreaker breaker = breaker(ONE_MINUTE);
+
+        IntStream.range(0, MINIMUM_CALLS).forEach(i -> assertThrows(ConcurrencyLimitExceededException.class,
+            () -> breaker.execute(this::rejected, FAILURE::equals)));
+
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void breakerOpensWhenSlowCallRateReachesThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker(WINDOW_SIZE, MINIMUM_CALLS, RATE_THRESHOLD, Duration.ZERO,
+            RATE_THRESHOLD, ONE_MINUTE, HALF_OPEN_PROBES, metrics);
+
+        IntStream.range(0, MINIMUM_CALLS).forEach(i -> breaker.execute(this::slowSuccess, FAILURE::equals));
+
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void breakerOnlyConsidersLatestCallsInWindow() {
+        CircuitBreaker breaker = breaker(ONE_MINUTE);
+        IntStream.range(0, WINDOW_SIZE).forEach(i -> breaker.execute(() -> SUCCESS, FAILURE::equals));
+
+        IntStream.range(1, WINDOW_SIZE / 2).forEach(i -> breaker.execute(() -> FAILURE, FAILURE::equals));
+        assertEquals(State.CLOSED, breaker.getState());
+
+        breaker.execute(() -> FAILURE, FAILURE::equals);
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void openBreakerRejectsCallsWithoutMakingThem() {
+        CircuitBreaker breaker = openBreaker(ONE_MINUTE);
+
+        assertThrows(CircuitBreakerOpenException.class, () -> breaker.execute(this::countedSuccess, FAILURE::equals));
+        CompletableFuture<String> rejected = breaker.executeAsync(
+            () -> CompletableFuture.completedFuture(countedSuccess()), FAILURE::equals);
+
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        assertTrue(exception.getCause() instanceof CircuitBreakerOpenException);
+        assertEquals(0, calls.get());
+        assertEquals(2L, metrics.count(CircuitBreaker.REJECTED_CALLS));
+    }
+
+    @Test
+    void breakerLetsLimitedNumberOfProbesThroughWhenHalfOpen() throws InterruptedException {
+        CircuitBreaker breaker = openBreaker(SHORT_OPEN_DURATION);
+        Thread.sleep(SHORT_OPEN_DURATION.toMillis() * 2);
+        CompletableFuture<String> pendingProbe = new CompletableFuture<>();
+
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        IntStream.range(0, HALF_OPEN_PROBES).forEach(i -> breaker.executeAsync(() -> pendingProbe, FAILURE::equals));
+
+        assertThrows(CircuitBreakerOpenException.class, () -> breaker.execute(this::countedSuccess, FAILURE::equals));
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void breakerClosesWhenAllProbesSucceed() throws InterruptedException {
+        CircuitBreaker breaker = openBreaker(SHORT_OPEN_DURATION);
+        Thread.sleep(SHORT_OPEN_DURATION.toMillis() * 2);
+
+        IntStream.range(0, HALF_OPEN_PROBES).forEach(i -> breaker.execute(this::countedSuccess, FAILURE::equals));
+
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(1L, metrics.count(CircuitBreaker.TRANSITIONS + State.HALF_OPEN));
+        assertEquals(1L, metrics.count(CircuitBreaker.TRANSITIONS + State.CLOSED));
+        breaker.execute(() -> FAILURE, FAILURE::equals);
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void breakerOpensAgainWhenProbeFails() throws InterruptedException {
+        CircuitBreaker breaker = openBreaker(SHORT_OPEN_DURATION);
+        Thread.sleep(SHORT_OPEN_DURATION.toMillis() * 2);
+
+        breaker.executeAsync(() -> CompletableFuture.failedFuture(new UncheckedIOException(
+            new SocketTimeoutException())), FAILURE::equals);
+
+        assertEquals(State.OPEN, breaker.getState());
+        assertEquals(2L, metrics.count(CircuitBreaker.TRANSITIONS + State.OPEN));
+    }
+
+    private CircuitBreaker breaker(Duration openDuration) {
+        return new CircuitBreaker(WINDOW_SIZE, MINIMUM_CALLS, RATE_THRESHOLD, ONE_MINUTE, RATE_THRESHOLD,
+            openDuration, HALF_OPEN_PROBES, metrics);
+    }
+
+    private CircuitBreaker openBreaker(Duration openDuration) {
+        CircuitBreaker breaker = breaker(openDuration);
+        IntStream.range(0, MINIMUM_CALLS).forEach(i -> breaker.execute(() -> FAILURE, FAILURE::equals));
+        return breaker;
+    }
+
+    private String countedSuccess() {
+        calls.incrementAndGet();
+        return SUCCESS;
+    }
+
+    private String slowSuccess() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return SUCCESS;
+    }
+
+    private String rejected() {
+        throw new ConcurrencyLimitExceededException(FAILURE);
+    }
+
+    private String timeout() {
+        throw new UncheckedIOException(new SocketTimeoutException());
+    }
+}
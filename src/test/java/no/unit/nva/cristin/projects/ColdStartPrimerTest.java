@@ -0,0 +1,74 @@
+package no.unit.nva.cristin.projects;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class ColdStartPrimerTest {
+
+    private static final String PRIMING_PROJECT_ID = "https://api.dev.nva.aws.unit.no/project/0";
+    private static final String PRIMING_QUERY_HIT_ID = "https://api.dev.nva.aws.unit.no/project/1";
+
+    private final AtomicInteger connectionsOpened = new AtomicInteger();
+
+    @Test
+    void primeSerializationTransformsAndSerializesBundledLookupAndQueryResponses() throws Exception {
+        String serialized = new ColdStartPrimer(new CristinApiClientStub(), false).primeSerialization();
+
+        assertThat(serialized, containsString(PRIMING_PROJECT_ID));
+        assertThat(serialized, containsString(PRIMING_QUERY_HIT_ID));
+        assertThat(serialized, containsString(Constants.PROJECT_LOOKUP_CONTEXT_URL));
+        assertThat(serialized, containsString(Constants.PROJECT_SEARCH_CONTEXT_URL));
+    }
+
+    @Test
+    void primeOpensConnectionToCristinWhenEnabled() {
+        new ColdStartPrimer(countingClient(CompletableFuture.completedFuture(null)), true).prime();
+
+        assertEquals(1, connectionsOpened.get());
+    }
+
+    @Test
+    void primeDoesNotOpenConnectionToCristinWhenDisabled() {
+        new ColdStartPrimer(countingClient(CompletableFuture.completedFuture(null)), false).prime();
+
+        assertEquals(0, connectionsOpened.get());
+    }
+
+    @Test
+    void primeDoesNotThrowWhenConnectionOrSerializationFails() {
+        ColdStartPrimer primer = new ColdStartPrimer(
+            countingClient(CompletableFuture.failedFuture(new IOException("Connection refused"))), true) {
+            @Override
+            protected String primeSerialization() throws IOException {
+                throw new IOException("Missing resource");
+            }
+        };
+
+        assertDoesNotThrow(primer::prime);
+        assertEquals(1, connectionsOpened.get());
+    }
+
+    @Test
+    void primeOnceIfEnabledDoesNotThrowWhenCalledRepeatedly() {
+        assertDoesNotThrow(() -> {
+            ColdStartPrimer.primeOnceIfEnabled(new CristinApiClientStub());
+            ColdStartPrimer.primeOnceIfEnabled(new CristinApiClientStub());
+        });
+    }
+
+    private CristinApiClient countingClient(CompletableFuture<Void> connection) {
+        return new CristinApiClientStub() {
+            @Override
+            public CompletableFuture<Void> openConnectionToCristin() {
+                connectionsOpened.incrementAndGet();
+                return connection;
+            }
+        };
+    }
+}
@@ -0,0 +1,204 @@
+package no.unit.nva.cristin.projects;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrencyLimiterTest {
+
+    private static final int LIMIT = 2;
+    private static final int MAX_LIMIT = 10;
+    private static final double RTT_TOLERANCE = 2.0;
+    private static final Duration ONE_MINUTE = Duration.ofMinutes(1);
+    private static final String SUCCESS = "success";
+    private static final String FAILURE = "failure";
+
+    private final UpstreamMetrics metrics = new UpstreamMetrics();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void executeAsyncQueuesCallsExceedingLimitUntilPermitIsReleased() {
+        ConcurrencyLimiter limiter = fixedLimiter(1, ONE_MINUTE);
+        List<CompletableFuture<String>> responses = List.of(new CompletableFuture<>(), new CompletableFuture<>(),
+            new CompletableFuture<>());
+
+        List<CompletableFuture<String>> results = responses.stream()
+            .map(response -> limiter.executeAsync(() -> counted(response), FAILURE::equals))
+            .collect(Collectors.toList());
+
+        assertEquals(LIMIT, calls.get());
+        assertEquals(LIMIT, limiter.getInFlight());
+        assertEquals(1, limiter.getQueued());
+        responses.get(0).complete(SUCCESS);
+        assertEquals(LIMIT + 1, calls.get());
+        assertEquals(0, limiter.getQueued());
+        assertEquals(SUCCESS, results.get(0).join());
+        assertEquals(1L, metrics.count(ConcurrencyLimiter.QUEUED_CALLS));
+    }
+
+    @Test
+    void executeAsyncRejectsCallWhenQueueIsFull() {
+        ConcurrencyLimiter limiter = fixedLimiter(0, ONE_MINUTE);
+        IntStream.range(0, LIMIT).forEach(i -> limiter.executeAsync(CompletableFuture::new, FAILURE::equals));
+
+        CompletableFuture<String> rejected = limiter.executeAsync(() -> counted(new CompletableFuture<>()),
+            FAILURE::equals);
+
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        assertTrue(exception.getCause() instanceof ConcurrencyLimitExceededException);
+        assertEquals(0, calls.get());
+        assertEquals(1L, metrics.count(ConcurrencyLimiter.REJECTED_CALLS));
+    }
+
+    @Test
+    void executeAsyncRemovesQueuedCallWithoutMakingItWhenItsFutureIsCancelled() {
+        ConcurrencyLimiter limiter = fixedLimiter(LIMIT, ONE_MINUTE);
+        List<CompletableFuture<String>> responses = List.of(new CompletableFuture<>(), new CompletableFuture<>());
+        responses.forEach(response -> limiter.executeAsync(() -> response, FAILURE::equals));
+        CompletableFuture<String> cancelled = limiter.executeAsync(() -> counted(new CompletableFuture<>()),
+            FAILURE::equals);
+        CompletableFuture<String> waiting = new CompletableFuture<>();
+        limiter.executeAsync(() -> counted(waiting), FAILURE::equals);
+
+        cancelled.cancel(true);
+        assertEquals(1, limiter.getQueued());
+        responses.get(0).complete(SUCCESS);
+
+        assertEquals(1, calls.get());
+        assertEquals(0, limiter.getQueued());
+        assertEquals(LIMIT, limiter.getInFlight());
+        waiting.complete(SUCCESS);
+        responses.get(1).complete(SUCCESS);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void executeRejectsQueuedCallWhenNoPermitIsReleasedWithinMaxQueueTime() {
+        ConcurrencyLimiter limiter = fixedLimiter(1, Duration.ofMillis(10));
+        IntStream.range(0, LIMIT).forEach(i -> limiter.executeAsync(CompletableFuture::new, FAILURE::equals));
+
+        assertThrows(ConcurrencyLimitExceededException.class, () -> limiter.execute(() -> SUCCESS, FAILURE::equals));
+
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    void limitIncreasesWhileCallsAreFastAndLimitIsInUse() {
+        ConcurrencyLimiter limiter = adaptiveLimiter(LIMIT);
+        List<CompletableFuture<String>> responses = List.of(new CompletableFuture<>(), new CompletableFuture<>());
+        responses.forEach(response -> limiter.executeAsync(() -> response, FAILURE::equals));
+
+        responses.forEach(response -> response.complete(SUCCESS));
+
+        assertThat(limiter.getLimit(), greaterThan(LIMIT));
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limitDecreasesWhenCallsFail() {
+        ConcurrencyLimiter limiter = adaptiveLimiter(MAX_LIMIT);
+
+        IntStream.range(0, LIMIT).forEach(i -> limiter.execute(() -> FAILURE, FAILURE::equals));
+        assertThrows(IllegalStateException.class, () -> limiter.execute(() -> {
+            throw new IllegalStateException();
+        }, FAILURE::equals));
+
+        assertThat(limiter.getLimit(), lessThan(MAX_LIMIT));
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limitDecreasesOnceWhenCallsInFlightTogetherFail() {
+        ConcurrencyLimiter limiter = adaptiveLimiter(MAX_LIMIT);
+        List<CompletableFuture<String>> responses = IntStream.range(0, MAX_LIMIT)
+            .mapToObj(i -> new CompletableFuture<String>())
+            .collect(Collectors.toList());
+        responses.forEach(response -> limiter.executeAsync(() -> response, FAILURE::equals));
+
+        responses.forEach(response -> response.complete(FAILURE));
+
+        assertEquals(MAX_LIMIT - 1, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limitDecreasesWhenRoundTripTimeExceedsToleranceOfNoLoadRoundTripTime() {
+        ConcurrencyLimiter limiter = adaptiveLimiter(MAX_LIMIT);
+        limiter.execute(() -> SUCCESS, FAILURE::equals);
+
+        limiter.execute(this::slowSuccess, FAILURE::equals);
+
+        assertThat(limiter.getLimit(), lessThan(MAX_LIMIT));
+    }
+
+    @Test
+    void limitIsUnchangedWhenCallsAreRejectedBeforeReachingCristin() {
+        ConcurrencyLimiter limiter = adaptiveLimiter(MAX_LIMIT);
+
+        IntStream.range(0, LIMIT).forEach(i -> assertThrows(CircuitBreakerOpenException.class,
+            () -> limiter.execute(() -> {
+                throw new CircuitBreakerOpenException(FAILURE);
+            }, FAILURE::equals)));
+        CompletableFuture<String> rejected = limiter.executeAsync(
+            () -> CompletableFuture.failedFuture(new CircuitBreakerOpenException(FAILURE)), FAILURE::equals);
+
+        assertThrows(CompletionException.class, rejected::join);
+        assertEquals(MAX_LIMIT, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limitIsNeverLoweredBelowMinimum() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(LIMIT, LIMIT, MAX_LIMIT, RTT_TOLERANCE, 0, ONE_MINUTE,
+            metrics);
+
+        IntStream.range(0, MAX_LIMIT).forEach(i -> limiter.execute(() -> FAILURE, FAILURE::equals));
+
+        assertEquals(LIMIT, limiter.getLimit());
+    }
+
+    @Test
+    void limiterReportsLimitInFlightAndQueuedCallsAsMetrics() {
+        ConcurrencyLimiter limiter = fixedLimiter(1, ONE_MINUTE);
+        IntStream.range(0, LIMIT + 1).forEach(i -> limiter.executeAsync(CompletableFuture::new, FAILURE::equals));
+
+        assertEquals(LIMIT, metrics.snapshot().get(ConcurrencyLimiter.LIMIT));
+        assertEquals(LIMIT, metrics.snapshot().get(ConcurrencyLimiter.IN_FLIGHT));
+        assertEquals(1, metrics.snapshot().get(ConcurrencyLimiter.QUEUED));
+        assertFalse(metrics.snapshot().containsKey(ConcurrencyLimiter.REJECTED_CALLS));
+    }
+
+    private ConcurrencyLimiter fixedLimiter(int maxQueueSize, Duration maxQueueTime) {
+        return new ConcurrencyLimiter(LIMIT, LIMIT, LIMIT, RTT_TOLERANCE, maxQueueSize, maxQueueTime, metrics);
+    }
+
+    private ConcurrencyLimiter adaptiveLimiter(int initialLimit) {
+        return new ConcurrencyLimiter(initialLimit, 1, MAX_LIMIT, RTT_TOLERANCE, 0, ONE_MINUTE, metrics);
+    }
+
+    private CompletableFuture<String> counted(CompletableFuture<String> response) {
+        calls.incrementAndGet();
+        return response;
+    }
+
+    private String slowSuccess() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return SUCCESS;
+    }
+}
@@ -11,6 +11,18 @@ public class CristinApiClientStub extends CristinApiClient {
     protected static final String CRISTIN_QUERY_PROJECTS_RESPONSE_JSON_FILE = "cristinQueryProjectsResponse.json";
     private static final String CRISTIN_GET_PROJECT_RESPONSE_JSON_FILE = "cristinGetProjectResponse.json";
 
+    public CristinApiClientStub() {
+        super();
+    }
+
+    public CristinApiClientStub(RetryPolicy retryPolicy, CircuitBreaker circuitBreaker) {
+        super(retryPolicy, RequestHedger.defaultHedger(), circuitBreaker);
+    }
+
+    public CristinApiClientStub(RetryPolicy retryPolicy, ConcurrencyLimiter concurrencyLimiter) {
+        super(retryPolicy, RequestHedger.defaultHedger(), CircuitBreaker.defaultBreaker(), concurrencyLimiter);
+    }
+
     @Override
     protected long calculateProcessingTime(long startRequestTime, long endRequestTime) {
         return 1000;
@@ -21,6 +33,11 @@ public class CristinApiClientStub extends CristinApiClient {
         return mockQueryResponse();
     }
 
+    @Override
+    protected CompletableFuture<HttpResponse<String>> fetchQueryResultsAsync(URI uri) {
+        return CompletableFuture.completedFuture(fetchQueryResults(uri));
+    }
+
     @Override
     protected HttpResponse<String> fetchGetResult(URI uri) {
         return mockGetResponse();
@@ -31,6 +48,11 @@ public class CristinApiClientStub extends CristinApiClient {
         return CompletableFuture.completedFuture(mockGetResponse());
     }
 
+    @Override
+    public CompletableFuture<Void> openConnectionToCristin() {
+        return CompletableFuture.completedFuture(null);
+    }
+
     private HttpResponse<String> mockGetResponse() {
         String body = IoUtils.stringFromResources(Path.of(CRISTIN_GET_PROJECT_RESPONSE_JSON_FILE));
         return new HttpResponseStub(body);
@@ -1,28 +1,46 @@
 package no.unit.nva.cristin.projects;
 
+import static no.unit.nva.cristin.projects.Constants.CRISTIN_HARVEST_LANGUAGE;
 import static no.unit.nva.cristin.projects.Constants.DEFAULT_NUMBER_OF_RESULTS;
 import static no.unit.nva.cristin.projects.Constants.FIRST_PAGE;
 import static no.unit.nva.cristin.projects.Constants.LANGUAGE;
+import static no.unit.nva.cristin.projects.Constants.MAX_NUMBER_OF_RESULTS;
 import static no.unit.nva.cristin.projects.Constants.NUMBER_OF_RESULTS;
+import static no.unit.nva.cristin.projects.Constants.OBJECT_MAPPER;
 import static no.unit.nva.cristin.projects.Constants.PAGE;
 import static no.unit.nva.cristin.projects.Constants.QUERY;
 import static no.unit.nva.cristin.projects.Constants.QueryType.QUERY_USING_GRANT_ID;
 import static no.unit.nva.cristin.projects.Constants.QueryType.QUERY_USING_TITLE;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_FILTERING_LANGUAGE_NOT_SUPPORTED;
 import static no.unit.nva.cristin.projects.FetchCristinProjectsTest.GRANT_ID_EXAMPLE;
 import static no.unit.nva.cristin.projects.FetchCristinProjectsTest.LANGUAGE_NB;
 import static no.unit.nva.cristin.projects.FetchCristinProjectsTest.RANDOM_TITLE;
+import static nva.commons.core.attempt.Try.attempt;
 import static org.hamcrest.CoreMatchers.equalTo;
-import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.contains;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.net.URI;
-import java.util.ArrayList;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import no.unit.nva.cristin.projects.model.nva.NvaProject;
+import nva.commons.apigateway.exceptions.BadGatewayException;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.core.ioutils.IoUtils;
 import org.junit.jupiter.api.Test;
 
 public class CristinApiClientTest {
@@ -34,7 +52,14 @@ public class CristinApiClientTest {
     public static final String EXAMPLE_TITLE = "Example Title";
     public static final String EXAMPLE_BODY = "Example Body";
     public static final String EMPTY_URL = "";
-    private Set<String> ids = Set.of("123", "456", "789");
+    public static final String ENRICHED_TITLE = "Enriched Title";
+    private static final String FIRST_ID = "123";
+    private static final String LAST_ID = "789";
+    private static final String VALUE = "value";
+    private static final String LANGUAGE_EN = "en";
+    private static final long SLOW_CALL_MILLIS = 200;
+    private static final long ENRICHMENT_MILLIS = 5;
+    private final List<String> ids = List.of(FIRST_ID, "456", LAST_ID);
 
     CristinApiClient cristinApiClient = new CristinApiClient();
 
@@ -63,24 +88,286 @@ public class CristinApiClientTest {
     }
 
     @Test
-    void returnsListOfResultsFromBothQueryAndEnrichmentIfAnyEnrichmentsFail() {
+    void returnsListOfResultsFromBothQueryAndEnrichmentIfAnyEnrichmentsFail() throws Exception {
         List<CristinProject> queryProjects = getSomeCristinProjects();
-        List<CristinProject> enrichedProjects = new ArrayList<>(queryProjects);
-        // Remove one element to fake a failed enrichment
-        enrichedProjects.remove(enrichedProjects.size() - 1);
+        CristinApiClient clientFailingLastEnrichment = clientFailingEnrichmentOf(LAST_ID);
+        HttpResponse<String> queryResponse = new HttpResponseStub(OBJECT_MAPPER.writeValueAsString(queryProjects));
 
-        assertThat(enrichedProjects.size(), not(queryProjects.size()));
-        assertThat(getCristinIdsFromProjects(enrichedProjects), not(containsInAnyOrder(ids.toArray(String[]::new))));
-
-        List<CristinProject> combinedProjects =
-            cristinApiClient.combineResultsWithQueryInCaseEnrichmentFails(queryProjects, enrichedProjects);
+        List<NvaProject> combinedProjects =
+            clientFailingLastEnrichment.getEnrichedProjectsUsingQueryResponse(queryResponse, LANGUAGE_NB);
 
         assertThat(combinedProjects.size(), equalTo(queryProjects.size()));
-        assertThat(getCristinIdsFromProjects(combinedProjects), containsInAnyOrder(ids.toArray(String[]::new)));
+        assertThat(getIdentifiersFromNvaProjects(combinedProjects), contains(ids.toArray(String[]::new)));
+        assertThat(titleOfProjectWithId(combinedProjects, FIRST_ID), equalTo(ENRICHED_TITLE));
+        assertThat(titleOfProjectWithId(combinedProjects, LAST_ID), equalTo(EXAMPLE_TITLE));
+    }
+
+    @Test
+    void enrichAndTransformAsyncReturnsProjectFromQueryWhenEnrichmentResponseCannotBeRead() throws Exception {
+        CristinApiClient clientWithUnreadableEnrichment = new CristinApiClient() {
+            @Override
+            protected CompletableFuture<HttpResponse<String>> fetchGetResultAsync(URI uri) {
+                return CompletableFuture.completedFuture(new HttpResponseStub(EXAMPLE_BODY));
+            }
+        };
+
+        Optional<NvaProject> nvaProject = clientWithUnreadableEnrichment
+            .enrichAndTransformAsync(getValidCristinProjectFromId(FIRST_ID), LANGUAGE_NB).get();
+
+        assertThat(nvaProject.map(NvaProject::getTitle).orElseThrow(), equalTo(EXAMPLE_TITLE));
+    }
+
+    @Test
+    void enrichAndTransformAsyncReturnsEmptyWhenNeitherQueryNorEnrichedProjectIsValid() throws Exception {
+        CristinApiClient clientFailingEnrichment = clientFailingEnrichmentOf(FIRST_ID);
+        CristinProject projectWithoutTitle = getValidCristinProjectFromId(FIRST_ID);
+        projectWithoutTitle.setTitle(null);
+
+        Optional<NvaProject> nvaProject =
+            clientFailingEnrichment.enrichAndTransformAsync(projectWithoutTitle, LANGUAGE_NB).get();
+
+        assertThat(nvaProject.isEmpty(), equalTo(true));
+    }
+
+    @Test
+    void queryOneCristinProjectRetriesServerErrorsFromCristin() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CristinApiClient clientWithTransientError = new CristinApiClientStub() {
+            @Override
+            protected HttpResponse<String> fetchGetResult(URI uri) {
+                return calls.incrementAndGet() == 1
+                    ? new HttpResponseStub(EMPTY_URL, HttpURLConnection.HTTP_UNAVAILABLE)
+                    : super.fetchGetResult(uri);
+            }
+        };
+
+        NvaProject nvaProject = clientWithTransientError.queryOneCristinProjectUsingIdIntoNvaProject(FIRST_ID,
+            LANGUAGE_NB);
+
+        assertThat(nvaProject.getTitle(), equalTo(EXAMPLE_TITLE));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void enrichAndTransformAsyncRetriesEnrichmentFailingWithIoException() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CristinApiClient enrichingClient = clientFailingEnrichmentOf(LAST_ID);
+        CristinApiClient clientWithTransientFailure = new CristinApiClient() {
+            @Override
+            protected CompletableFuture<HttpResponse<String>> fetchGetResultAsync(URI uri) {
+                return calls.incrementAndGet() == 1
+                    ? CompletableFuture.failedFuture(new IOException(EXAMPLE_BODY))
+                    : enrichingClient.fetchGetResultAsync(uri);
+            }
+        };
+
+        Optional<NvaProject> nvaProject = clientWithTransientFailure
+            .enrichAndTransformAsync(getValidCristinProjectFromId(FIRST_ID), LANGUAGE_NB).get();
+
+        assertThat(nvaProject.map(NvaProject::getTitle).orElseThrow(), equalTo(ENRICHED_TITLE));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void queryOneCristinProjectFailsFastWithServiceUnavailableWhileCircuitBreakerIsOpen() {
+        AtomicInteger calls = new AtomicInteger();
+        CristinApiClient clientWithUnavailableCristin = new CristinApiClientStub(singleAttemptPolicy(), breaker()) {
+            @Override
+            protected HttpResponse<String> fetchGetResult(URI uri) {
+                calls.incrementAndGet();
+                return new HttpResponseStub(EMPTY_URL, HttpURLConnection.HTTP_UNAVAILABLE);
+            }
+        };
+
+        assertThrows(BadGatewayException.class,
+            () -> clientWithUnavailableCristin.queryOneCristinProjectUsingIdIntoNvaProject(FIRST_ID, LANGUAGE_NB));
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+            () -> clientWithUnavailableCristin.queryOneCristinProjectUsingIdIntoNvaProject(FIRST_ID, LANGUAGE_NB));
+
+        assertEquals(HttpURLConnection.HTTP_UNAVAILABLE, exception.getStatusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void enrichAndTransformAsyncReturnsProjectFromQueryWithoutCallingCristinWhileCircuitBreakerIsOpen()
+        throws Exception {
+
+        AtomicInteger calls = new AtomicInteger();
+        CircuitBreaker circuitBreaker = breaker();
+        circuitBreaker.execute(() -> HttpURLConnection.HTTP_UNAVAILABLE, status -> true);
+        CristinApiClient clientWithOpenCircuit = new CristinApiClientStub(singleAttemptPolicy(), circuitBreaker) {
+            @Override
+            protected CompletableFuture<HttpResponse<String>> fetchGetResultAsync(URI uri) {
+                calls.incrementAndGet();
+                return super.fetchGetResultAsync(uri);
+            }
+        };
+
+        Optional<NvaProject> nvaProject = clientWithOpenCircuit
+            .enrichAndTransformAsync(getValidCristinProjectFromId(FIRST_ID), LANGUAGE_NB).get();
+
+        assertThat(nvaProject.map(NvaProject::getTitle).orElseThrow(), equalTo(EXAMPLE_TITLE));
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void queryOneCristinProjectFailsWithServiceUnavailableWhenConcurrencyLimitIsExceeded() {
+        ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter(1, 1, 1, 1, 0, Duration.ZERO,
+            new UpstreamMetrics());
+        concurrencyLimiter.executeAsync(CompletableFuture::new, response -> false);
+        CristinApiClient clientAtConcurrencyLimit = new CristinApiClientStub(singleAttemptPolicy(), concurrencyLimiter);
+
+        assertThrows(ServiceUnavailableException.class,
+            () -> clientAtConcurrencyLimit.queryOneCristinProjectUsingIdIntoNvaProject(FIRST_ID, LANGUAGE_NB));
+    }
+
+    @Test
+    void queryOneCristinProjectDoesNotCountTimeWaitingForConcurrencyPermitAsSlowCall() throws Exception {
+        ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter(1, 1, 1, 1, 1, Duration.ofMinutes(1),
+            new UpstreamMetrics());
+        CircuitBreaker circuitBreaker = new CircuitBreaker(2, 2, 1, Duration.ofMillis(SLOW_CALL_MILLIS), 0.5,
+            Duration.ofMinutes(1), 1, new UpstreamMetrics());
+        CristinApiClient clientWithOneConcurrentCall = new CristinApiClient(singleAttemptPolicy(),
+            RequestHedger.defaultHedger(), circuitBreaker, concurrencyLimiter) {
+            @Override
+            protected HttpResponse<String> fetchGetResult(URI uri) {
+                sleep(SLOW_CALL_MILLIS / 2);
+                String body = attempt(() -> OBJECT_MAPPER.writeValueAsString(getValidCristinProjectFromId(FIRST_ID)))
+                    .orElseThrow();
+                return new HttpResponseStub(body);
+            }
+        };
+
+        List<CompletableFuture<NvaProject>> queries = List.of(
+            CompletableFuture.supplyAsync(() -> queryOneProject(clientWithOneConcurrentCall)),
+            CompletableFuture.supplyAsync(() -> queryOneProject(clientWithOneConcurrentCall)));
+        for (CompletableFuture<NvaProject> query : queries) {
+            assertThat(query.get().getTitle(), equalTo(EXAMPLE_TITLE));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void getEnrichedProjectsUsingQueryResponseEnrichesEveryHitOfLargestPageUnderDefaultConcurrencyLimiter()
+        throws Exception {
+        List<CristinProject> projectsFromQuery = IntStream.range(0, MAX_NUMBER_OF_RESULTS)
+            .mapToObj(String::valueOf)
+            .map(this::getValidCristinProjectFromId)
+            .collect(Collectors.toList());
+        CristinApiClient client = new CristinApiClient(RetryPolicy.defaultPolicy(), RequestHedger.defaultHedger(),
+            CircuitBreaker.defaultBreaker(), ConcurrencyLimiter.defaultLimiter()) {
+            @Override
+            protected CompletableFuture<HttpResponse<String>> fetchGetResultAsync(URI uri) {
+                return CompletableFuture.supplyAsync(() -> enrichedResponse(uri),
+                    CompletableFuture.delayedExecutor(ENRICHMENT_MILLIS, TimeUnit.MILLISECONDS));
+            }
+        };
+
+        List<NvaProject> projects = client.getEnrichedProjectsUsingQueryResponse(
+            new HttpResponseStub(OBJECT_MAPPER.writeValueAsString(projectsFromQuery)), LANGUAGE_NB);
+
+        assertEquals(MAX_NUMBER_OF_RESULTS, projects.size());
+        assertThat(projects.stream().map(NvaProject::getTitle).collect(Collectors.toSet()), contains(ENRICHED_TITLE));
+    }
+
+    @Test
+    void queryOneCristinProjectReadsProjectFromTransport() throws Exception {
+        String id = "456789";
+        URI uri = cristinApiClient.generateGetProjectUri(id, LANGUAGE_NB);
+        TransportResponse response = TransportResponse.of(uri, HttpURLConnection.HTTP_OK, Map.of(),
+            IoUtils.stringFromResources(Path.of("cristinGetProjectResponse.json")));
+        ReplayCristinTransport transport = new ReplayCristinTransport(
+            List.of(new RecordedExchange(uri, response, Duration.ZERO)), false);
+
+        NvaProject nvaProject = new CristinApiClient(transport).queryOneCristinProjectUsingIdIntoNvaProject(id,
+            LANGUAGE_NB);
+
+        assertThat(nvaProject.getTitle(), equalTo(EXAMPLE_TITLE));
+    }
+
+    @Test
+    void queryCristinProjectsThrowsBadRequestWhenSortingInOtherLanguageThanHarvestLanguage() throws Exception {
+        try (TemporaryProjectStore projectStore = new TemporaryProjectStore()
+            .with(TemporaryProjectStore.project(FIRST_ID, EXAMPLE_TITLE))) {
+            CristinApiClient client = projectStore.storeFirstClient();
+            Map<String, String> params = Map.of(
+                LANGUAGE, LANGUAGE_EN,
+                PAGE, FIRST_PAGE,
+                NUMBER_OF_RESULTS, DEFAULT_NUMBER_OF_RESULTS,
+                Constants.SORT, "-startDate");
+
+            BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> client.queryCristinProjectsIntoWrapperObjectWithAdditionalMetadata(params));
+            Map<String, String> inHarvestLanguage = new ConcurrentHashMap<>(params);
+            inHarvestLanguage.put(LANGUAGE, CRISTIN_HARVEST_LANGUAGE);
+
+            assertEquals(String.format(ERROR_MESSAGE_FILTERING_LANGUAGE_NOT_SUPPORTED, CRISTIN_HARVEST_LANGUAGE),
+                exception.getMessage());
+            assertEquals(1, client.queryCristinProjectsIntoWrapperObjectWithAdditionalMetadata(inHarvestLanguage)
+                .getHits().size());
+        }
+    }
+
+    @Test
+    void openConnectionToCristinCompletesWhenTransportHasResponded() {
+        CristinApiClient client = new CristinApiClient(new ReplayCristinTransport(List.of(), false));
+
+        client.openConnectionToCristin().join();
+    }
+
+    private static NvaProject queryOneProject(CristinApiClient client) {
+        return attempt(() -> client.queryOneCristinProjectUsingIdIntoNvaProject(FIRST_ID, LANGUAGE_NB)).orElseThrow();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private RetryPolicy singleAttemptPolicy() {
+        return new RetryPolicy(1, Duration.ZERO, Duration.ZERO, Duration.ZERO, new RetryBudget(0, 0));
+    }
+
+    private CircuitBreaker breaker() {
+        return new CircuitBreaker(1, 1, 1, Duration.ofMinutes(1), 1, Duration.ofMinutes(1), 1, new UpstreamMetrics());
+    }
+
+    private CristinApiClient clientFailingEnrichmentOf(String failingId) {
+        return new CristinApiClient() {
+            @Override
+            protected CompletableFuture<HttpResponse<String>> fetchGetResultAsync(URI uri) {
+                if (uri.getPath().endsWith(failingId)) {
+                    return CompletableFuture.failedFuture(new IOException(EXAMPLE_BODY));
+                }
+                return CompletableFuture.completedFuture(enrichedResponse(uri));
+            }
+        };
+    }
+
+    private HttpResponse<String> enrichedResponse(URI uri) {
+        String id = uri.getPath().substring(uri.getPath().lastIndexOf('/') + 1);
+        CristinProject enrichedProject = getValidCristinProjectFromId(id);
+        enrichedProject.setTitle(Map.of(LANGUAGE_NB, ENRICHED_TITLE));
+        String body = attempt(() -> OBJECT_MAPPER.writeValueAsString(enrichedProject)).orElseThrow();
+        return new HttpResponseStub(body);
+    }
+
+    private List<String> getIdentifiersFromNvaProjects(List<NvaProject> projects) {
+        return projects.stream()
+            .map(project -> project.getIdentifiers().get(0).get(VALUE))
+            .collect(Collectors.toList());
     }
 
-    private Set<String> getCristinIdsFromProjects(List<CristinProject> projects) {
-        return projects.stream().map(CristinProject::getCristinProjectId).collect(Collectors.toSet());
+    private String titleOfProjectWithId(List<NvaProject> projects, String id) {
+        return projects.stream()
+            .filter(project -> project.getId().getPath().endsWith(id))
+            .map(NvaProject::getTitle)
+            .findFirst()
+            .orElseThrow();
     }
 
     private List<CristinProject> getSomeCristinProjects() {
@@ -91,6 +378,7 @@ public class CristinApiClientTest {
         CristinProject cristinProject = new CristinProject();
         cristinProject.setCristinProjectId(id);
         cristinProject.setTitle(Map.of(LANGUAGE_NB, EXAMPLE_TITLE));
+        cristinProject.setMainLanguage(LANGUAGE_NB);
         return cristinProject;
     }
 }
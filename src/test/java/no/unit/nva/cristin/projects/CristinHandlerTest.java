@@ -0,0 +1,283 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.ID;
+import static no.unit.nva.cristin.projects.Constants.LANGUAGE;
+import static no.unit.nva.cristin.projects.Constants.QUERY;
+import static nva.commons.apigateway.ContentTypes.APPLICATION_JSON;
+import static nva.commons.apigateway.ContentTypes.APPLICATION_JSON_LD;
+import static nva.commons.core.attempt.Try.attempt;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.unit.nva.cristin.projects.model.nva.NvaProject;
+import nva.commons.apigateway.HttpHeaders;
+import nva.commons.apigateway.RequestInfo;
+import nva.commons.apigateway.exceptions.BadGatewayException;
+import nva.commons.core.Environment;
+import org.junit.jupiter.api.Test;
+
+public class CristinHandlerTest {
+
+    private static final int NUMBER_OF_THREADS = 32;
+    private static final int NUMBER_OF_REQUESTS = 2000;
+    private static final long TIMEOUT_SECONDS = 30;
+    private static final String DEFAULT_ID = "9999";
+    private static final String RANDOM_TITLE = "reindeer";
+    private static final String LANGUAGE_NB = "nb";
+    private static final String ANY_CONTENT_TYPE = "*/*";
+    private static final String NOT_AN_ID = "Not an ID";
+    private static final String SCHEDULED_EVENT =
+        "{\"source\":\"aws.events\",\"detail-type\":\"Scheduled Event\",\"detail\":{}}";
+    private static final String CUSTOM_WARM_UP_EVENT = "{\"warmup\":true}";
+    private static final List<String> ACCEPT_HEADERS = List.of(APPLICATION_JSON, APPLICATION_JSON_LD, ANY_CONTENT_TYPE);
+
+    private static final String UNAVAILABLE = "Cristin is unavailable";
+    private static final String SNAPSHOT = "snapshot";
+    private static final String WARNING_HEADER = "Warning";
+    private static final String AGE_HEADER = "Age";
+
+    private final Environment environment = new Environment();
+
+    @Test
+    void fetchOneCristinProjectReturnsHeadersNegotiatedForEachRequestWhenServingRequestsConcurrently()
+        throws Exception {
+        FetchOneCristinProject handler = new FetchOneCristinProject(new CristinApiClientStub(), environment);
+
+        assertNoHeaderBleedBetweenConcurrentRequests(handler,
+            requestInfo -> handler.processInput(null, requestInfo, null),
+            () -> requestInfo(Map.of(ID, DEFAULT_ID), Map.of()));
+    }
+
+    @Test
+    void fetchCristinProjectsReturnsHeadersNegotiatedForEachRequestWhenServingRequestsConcurrently()
+        throws Exception {
+        FetchCristinProjects handler = new FetchCristinProjects(new CristinApiClientStub(), environment);
+
+        assertNoHeaderBleedBetweenConcurrentRequests(handler,
+            requestInfo -> handler.processInput(null, requestInfo, null),
+            () -> requestInfo(Map.of(), Map.of(QUERY, RANDOM_TITLE, LANGUAGE, LANGUAGE_NB)));
+    }
+
+    @Test
+    void defaultHeadersReturnsDefaultContentTypeWhenPreviousRequestOnSameThreadNegotiatedOtherContentType()
+        throws Exception {
+        FetchOneCristinProject handler = new FetchOneCristinProject(new CristinApiClientStub(), environment);
+        RequestInfo jsonLdRequest = requestInfo(Map.of(ID, DEFAULT_ID), Map.of());
+        jsonLdRequest.setHeaders(Map.of(HttpHeaders.ACCEPT, APPLICATION_JSON_LD));
+
+        handler.processInput(null, jsonLdRequest, null);
+        assertEquals(APPLICATION_JSON_LD, handler.defaultHeaders().get(HttpHeaders.CONTENT_TYPE));
+        handler.clearNegotiatedHeaders();
+
+        handler.processInput(null, requestInfo(Map.of(ID, DEFAULT_ID), Map.of()), null);
+        assertEquals(APPLICATION_JSON, handler.defaultHeaders().get(HttpHeaders.CONTENT_TYPE));
+    }
+
+    @Test
+    void handleRequestRefreshesMostRequestedProjectsOnScheduledEventWithoutCountingRefreshes() throws Exception {
+        List<String> fetchedIds = new CopyOnWriteArrayList<>();
+        FetchOneCristinProject handler = new FetchOneCristinProject(recordingClient(fetchedIds), environment);
+        handler.processInput(null, requestInfo(Map.of(ID, "1"), Map.of()), null);
+        handler.processInput(null, requestInfo(Map.of(ID, "1"), Map.of()), null);
+        handler.processInput(null, requestInfo(Map.of(ID, "2"), Map.of()), null);
+        fetchedIds.clear();
+
+        String response = warmUp(handler, SCHEDULED_EVENT);
+
+        assertThat(response, containsString("\"refreshedRequests\":2"));
+        assertEquals(List.of("1", "2"), fetchedIds);
+        assertEquals(1, handler.getRequestTracker().size());
+    }
+
+    @Test
+    void processInputAnswersRefreshedRequestsWithoutCallingCristinUntilTheyAreNoLongerRefreshed() throws Exception {
+        List<String> fetchedIds = new CopyOnWriteArrayList<>();
+        FetchOneCristinProject handler = new FetchOneCristinProject(recordingClient(fetchedIds), environment);
+        handler.processInput(null, requestInfo(Map.of(ID, "1"), Map.of()), null);
+        handler.processInput(null, requestInfo(Map.of(ID, "1"), Map.of()), null);
+        warmUp(handler, SCHEDULED_EVENT);
+        fetchedIds.clear();
+
+        NvaProject refreshed = handler.processInput(null, requestInfo(Map.of(ID, "1"), Map.of()), null);
+        assertEquals("0", handler.defaultHeaders().get(AGE_HEADER));
+        handler.clearNegotiatedHeaders();
+        handler.processInput(null, requestInfo(Map.of(ID, "2"), Map.of()), null);
+
+        assertEquals(List.of("2"), fetchedIds);
+        assertSame(refreshed, handler.processInput(null, requestInfo(Map.of(ID, "1"), Map.of()), null));
+        handler.clearNegotiatedHeaders();
+        handler.getRequestTracker().decay();
+        handler.getRequestTracker().decay();
+        handler.getRequestTracker().decay();
+        warmUp(handler, SCHEDULED_EVENT);
+        fetchedIds.clear();
+
+        handler.processInput(null, requestInfo(Map.of(ID, "1"), Map.of()), null);
+        assertEquals(List.of("1"), fetchedIds);
+        assertFalse(handler.defaultHeaders().containsKey(AGE_HEADER));
+    }
+
+    @Test
+    void handleRequestTreatsCustomWarmUpEventAsWarmUp() throws Exception {
+        List<String> fetchedIds = new CopyOnWriteArrayList<>();
+        FetchCristinProjects handler = new FetchCristinProjects(recordingClient(fetchedIds), environment);
+        handler.processInput(null, requestInfo(Map.of(), Map.of(QUERY, RANDOM_TITLE)), null);
+
+        String response = warmUp(handler, CUSTOM_WARM_UP_EVENT);
+
+        assertThat(response, containsString("\"refreshedRequests\":1"));
+    }
+
+    @Test
+    void warmUpSkipsRequestsFailingOnRefresh() throws Exception {
+        FetchOneCristinProject handler = new FetchOneCristinProject(new CristinApiClientStub(), environment);
+        handler.getRequestTracker().record(Map.of(ID, NOT_AN_ID), Map.of());
+        handler.getRequestTracker().record(Map.of(ID, DEFAULT_ID), Map.of());
+
+        assertEquals(1, handler.warmUp(null));
+    }
+
+    @Test
+    void withSnapshotFallbackReturnsSnapshotMarkedStaleWhenCristinIsUnavailable() throws Exception {
+        FetchOneCristinProject handler = new FetchOneCristinProject(new CristinApiClientStub(), environment);
+
+        String response = handler.withSnapshotFallback(() -> {
+            throw new BadGatewayException(UNAVAILABLE);
+        }, () -> Optional.of(SNAPSHOT), true);
+
+        assertEquals(SNAPSHOT, response);
+        assertThat(handler.defaultHeaders().get(WARNING_HEADER), containsString("110"));
+        handler.clearNegotiatedHeaders();
+        assertFalse(handler.defaultHeaders().containsKey(WARNING_HEADER));
+    }
+
+    @Test
+    void withSnapshotFallbackRethrowsUpstreamFailureWhenSnapshotCannotAnswerOrFallbackIsDisabled() {
+        FetchOneCristinProject handler = new FetchOneCristinProject(new CristinApiClientStub(), environment);
+        CristinHandler.CristinCall<String> unavailable = () -> {
+            throw new ServiceUnavailableException(UNAVAILABLE);
+        };
+        CristinHandler.CristinCall<String> timingOut = () -> {
+            throw new IllegalStateException(new IOException(UNAVAILABLE));
+        };
+
+        assertThrows(ServiceUnavailableException.class,
+            () -> handler.withSnapshotFallback(unavailable, Optional::empty, true));
+        assertThrows(ServiceUnavailableException.class,
+            () -> handler.withSnapshotFallback(unavailable, () -> Optional.of(SNAPSHOT), false));
+        assertThrows(IllegalStateException.class,
+            () -> handler.withSnapshotFallback(timingOut, Optional::empty, true));
+        assertEquals(SNAPSHOT, attempt(() -> handler.withSnapshotFallback(timingOut, () -> Optional.of(SNAPSHOT),
+            true)).orElseThrow());
+        assertThrows(IllegalArgumentException.class, () -> handler.withSnapshotFallback(() -> {
+            throw new IllegalArgumentException(UNAVAILABLE);
+        }, () -> Optional.of(SNAPSHOT), true));
+        assertFalse(handler.defaultHeaders().containsKey(AGE_HEADER));
+        handler.clearNegotiatedHeaders();
+    }
+
+    @Test
+    void fetchCristinProjectsTracksVariantsOfQueryAsOneRequest() throws Exception {
+        FetchCristinProjects handler = new FetchCristinProjects(new CristinApiClientStub(), environment);
+
+        for (String query : List.of("Reindeer  herding", " reindeer herding", "REINDEER\therding")) {
+            handler.processInput(null, requestInfo(Map.of(), Map.of(QUERY, query, LANGUAGE, LANGUAGE_NB)), null);
+            handler.clearNegotiatedHeaders();
+        }
+
+        assertEquals(1, handler.getRequestTracker().size());
+        assertEquals("reindeer herding",
+            handler.getRequestTracker().mostRequested(1).get(0).getQueryParameters().get(QUERY));
+    }
+
+    private static String warmUp(CristinHandler<Void, ?> handler, String event) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        handler.handleRequest(new ByteArrayInputStream(event.getBytes(StandardCharsets.UTF_8)), output, null);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static CristinApiClient recordingClient(List<String> fetchedIds) {
+        return new CristinApiClientStub() {
+            @Override
+            protected HttpResponse<String> fetchGetResult(URI uri) {
+                fetchedIds.add(uri.getPath().substring(uri.getPath().lastIndexOf('/') + 1));
+                return super.fetchGetResult(uri);
+            }
+        };
+    }
+
+    private void assertNoHeaderBleedBetweenConcurrentRequests(CristinHandler<Void, ?> handler,
+                                                              RequestProcessor requestProcessor,
+                                                              Callable<RequestInfo> requestSupplier)
+        throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        try {
+            List<Future<String[]>> results = IntStream.range(0, NUMBER_OF_REQUESTS)
+                .mapToObj(i -> ACCEPT_HEADERS.get(i % ACCEPT_HEADERS.size()))
+                .map(accept -> executor.submit(
+                    () -> negotiateContentType(handler, requestProcessor, requestSupplier, accept, startSignal)))
+                .collect(Collectors.toList());
+            startSignal.countDown();
+
+            for (Future<String[]> result : results) {
+                String[] expectedAndActual = result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                assertEquals(expectedAndActual[0], expectedAndActual[1]);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String[] negotiateContentType(CristinHandler<Void, ?> handler,
+                                                 RequestProcessor requestProcessor,
+                                                 Callable<RequestInfo> requestSupplier,
+                                                 String accept,
+                                                 CountDownLatch startSignal) throws Exception {
+        startSignal.await();
+        RequestInfo requestInfo = requestSupplier.call();
+        requestInfo.setHeaders(Map.of(HttpHeaders.ACCEPT, accept));
+        try {
+            requestProcessor.process(requestInfo);
+            Thread.yield();
+            String expected = ANY_CONTENT_TYPE.equals(accept) ? APPLICATION_JSON : accept;
+            return new String[]{expected, handler.defaultHeaders().get(HttpHeaders.CONTENT_TYPE)};
+        } finally {
+            handler.clearNegotiatedHeaders();
+        }
+    }
+
+    private static RequestInfo requestInfo(Map<String, String> pathParameters, Map<String, String> queryParameters) {
+        RequestInfo requestInfo = new RequestInfo();
+        requestInfo.setPathParameters(pathParameters);
+        requestInfo.setQueryParameters(queryParameters);
+        return requestInfo;
+    }
+
+    private interface RequestProcessor {
+
+        void process(RequestInfo requestInfo) throws Exception;
+    }
+}
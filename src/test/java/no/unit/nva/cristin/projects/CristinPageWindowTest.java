@@ -0,0 +1,70 @@
+package no.unit.nva.cristin.projects;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class CristinPageWindowTest {
+
+    private static final int MAX_UPSTREAM_PAGE_SIZE = 20;
+
+    @Test
+    void windowIsSameAsClientPageWhenNumberOfResultsFitsInOneUpstreamPage() {
+        CristinPageWindow pageWindow = CristinPageWindow.fromClientPage(7, 9, MAX_UPSTREAM_PAGE_SIZE);
+
+        assertTrue(pageWindow.isSingleUpstreamPage());
+        assertEquals(9, pageWindow.getUpstreamPageSize());
+        assertThat(pageWindow.getUpstreamPages(), contains(7L));
+    }
+
+    @ParameterizedTest(name = "Page {0} with {1} results is fetched from upstream pages {2} to {3}")
+    @CsvSource({"1,200,1,10", "2,50,3,5", "10,25,12,13", "3,21,3,4"})
+    void windowSpansSeveralUpstreamPagesWhenNumberOfResultsIsLargerThanUpstreamPageSize(int page, int results,
+                                                                                       long firstUpstreamPage,
+                                                                                       long lastUpstreamPage) {
+        CristinPageWindow pageWindow = CristinPageWindow.fromClientPage(page, results, MAX_UPSTREAM_PAGE_SIZE);
+
+        assertFalse(pageWindow.isSingleUpstreamPage());
+        assertEquals(MAX_UPSTREAM_PAGE_SIZE, pageWindow.getUpstreamPageSize());
+        assertEquals(firstUpstreamPage, pageWindow.getUpstreamPages().get(0));
+        assertEquals(lastUpstreamPage, pageWindow.getUpstreamPages().get(pageWindow.getUpstreamPages().size() - 1));
+    }
+
+    @Test
+    void sliceReturnsRecordsOfClientPageFromMergedUpstreamPages() {
+        CristinPageWindow pageWindow = CristinPageWindow.fromClientPage(2, 50, MAX_UPSTREAM_PAGE_SIZE);
+        List<Integer> mergedRecords = recordsStartingAt(40, 60);
+
+        List<Integer> page = pageWindow.sliceMergedResults(mergedRecords);
+
+        assertEquals(recordsStartingAt(50, 50), page);
+    }
+
+    @Test
+    void sliceReturnsRemainingRecordsWhenUpstreamHasFewerRecordsThanWindow() {
+        CristinPageWindow pageWindow = CristinPageWindow.fromClientPage(2, 50, MAX_UPSTREAM_PAGE_SIZE);
+        List<Integer> mergedRecords = recordsStartingAt(40, 25);
+
+        assertEquals(recordsStartingAt(50, 15), pageWindow.sliceMergedResults(mergedRecords));
+    }
+
+    @Test
+    void sliceReturnsEmptyListWhenUpstreamHasNoRecordsInWindow() {
+        CristinPageWindow pageWindow = CristinPageWindow.fromClientPage(2, 50, MAX_UPSTREAM_PAGE_SIZE);
+
+        assertThat(pageWindow.sliceMergedResults(recordsStartingAt(40, 5)), empty());
+    }
+
+    private List<Integer> recordsStartingAt(int firstRecord, int numberOfRecords) {
+        return IntStream.range(firstRecord, firstRecord + numberOfRecords).boxed().collect(Collectors.toList());
+    }
+}
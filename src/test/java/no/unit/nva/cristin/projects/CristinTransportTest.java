@@ -0,0 +1,238 @@
+package no.unit.nva.cristin.projects;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CristinTransportTest {
+
+    private static final String BODY = "{\"cristin_project_id\":\"123\"}";
+    private static final String OTHER_BODY = "{\"cristin_project_id\":\"456\"}";
+    private static final String TOTAL_COUNT = "42";
+    private static final URI PROJECT_URI = URI.create("https://api.cristin.no/v2/projects/123?lang=nb");
+    private static final URI UNKNOWN_URI = URI.create("https://api.cristin.no/v2/projects/999?lang=nb");
+    private static final Duration ONE_SECOND = Duration.ofSeconds(1);
+    private static final Duration RECORDED_LATENCY = Duration.ofMillis(100);
+
+    private final AtomicInteger upstreamRequests = new AtomicInteger();
+    private HttpServer upstream;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.createContext("/", this::respond);
+        upstream.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.stop(0);
+    }
+
+    @Test
+    void jdkTransportReturnsStatusHeadersAndBodyFromUpstream() throws Exception {
+        JdkCristinTransport transport = jdkTransport();
+
+        TransportResponse response = transport.send(upstreamUri());
+        TransportResponse asyncResponse = transport.sendAsync(upstreamUri()).get();
+
+        assertEquals(HttpURLConnection.HTTP_OK, response.getStatusCode());
+        assertEquals(BODY, response.getBodyAsString());
+        assertEquals(TOTAL_COUNT, response.getHeaders().get(Constants.X_TOTAL_COUNT.toLowerCase()).get(0));
+        assertEquals(BODY, asyncResponse.getBodyAsString());
+    }
+
+    @Test
+    void jdkTransportOpensConnectionWithHeadRequest() {
+        jdkTransport().openConnection(upstreamUri()).join();
+
+        assertEquals(1, upstreamRequests.get());
+    }
+
+    @Test
+    void transportResponseIsReadAsHttpResponse() {
+        TransportResponse transportResponse = response(PROJECT_URI, BODY);
+
+        HttpResponse<String> response = transportResponse.toHttpResponse();
+
+        assertEquals(HttpURLConnection.HTTP_OK, response.statusCode());
+        assertEquals(BODY, response.body());
+        assertEquals(PROJECT_URI, response.uri());
+        assertEquals(TOTAL_COUNT, response.headers().firstValue(Constants.X_TOTAL_COUNT).orElseThrow());
+        assertTrue(response.previousResponse().isEmpty());
+        assertTrue(response.sslSession().isEmpty());
+        assertEquals(Version.HTTP_1_1, response.version());
+        assertEquals(PROJECT_URI, response.request().uri());
+    }
+
+    @Test
+    void transportResponseBodyCannotBeModifiedByReaders() {
+        TransportResponse response = response(PROJECT_URI, BODY);
+
+        response.getBody().position(BODY.length());
+
+        assertEquals(BODY, response.getBodyAsString());
+        assertTrue(response.getBody().isReadOnly());
+    }
+
+    @Test
+    void replayTransportReturnsRecordedResponsesInTurnAndNotFoundForUnknownUris() throws Exception {
+        ReplayCristinTransport transport = new ReplayCristinTransport(List.of(
+            new RecordedExchange(PROJECT_URI, response(PROJECT_URI, BODY), Duration.ZERO),
+            new RecordedExchange(PROJECT_URI, response(PROJECT_URI, OTHER_BODY), Duration.ZERO)), false);
+
+        assertEquals(BODY, transport.send(PROJECT_URI).getBodyAsString());
+        assertEquals(OTHER_BODY, transport.send(PROJECT_URI).getBodyAsString());
+        assertEquals(BODY, transport.send(PROJECT_URI).getBodyAsString());
+        assertEquals(HttpURLConnection.HTTP_NOT_FOUND, transport.send(UNKNOWN_URI).getStatusCode());
+    }
+
+    @Test
+    void replayTransportDelaysResponsesByRecordedLatencyWhenReplayingTimings() throws Exception {
+        ReplayCristinTransport transport = new ReplayCristinTransport(List.of(), true)
+            .add(new RecordedExchange(PROJECT_URI, response(PROJECT_URI, BODY), RECORDED_LATENCY));
+
+        long start = System.nanoTime();
+        transport.send(PROJECT_URI);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start), greaterThanOrEqualTo(RECORDED_LATENCY));
+    }
+
+    @Test
+    void recordingTransportRecordsExchangesOfSyncAndAsyncRequests() throws Exception {
+        List<RecordedExchange> recorded = new CopyOnWriteArrayList<>();
+        RecordingCristinTransport transport = new RecordingCristinTransport(jdkTransport(), recorded::add);
+
+        transport.send(upstreamUri());
+        transport.sendAsync(upstreamUri()).get();
+        transport.openConnection(upstreamUri()).join();
+
+        assertEquals(2, recorded.size());
+        assertEquals(upstreamUri(), recorded.get(0).getUri());
+        assertEquals(BODY, recorded.get(1).getResponse().getBodyAsString());
+        assertFalse(recorded.get(0).getLatency().isNegative());
+    }
+
+    @Test
+    void recordingTransportDoesNotRecordFailedRequests() {
+        List<RecordedExchange> recorded = new CopyOnWriteArrayList<>();
+        RecordingCristinTransport transport = new RecordingCristinTransport(
+            uri -> CompletableFuture.failedFuture(new IOException(BODY)), recorded::add);
+
+        Exception exception = assertThrows(IOException.class, () -> transport.send(PROJECT_URI));
+
+        assertEquals(BODY, exception.getMessage());
+        assertTrue(recorded.isEmpty());
+    }
+
+    @Test
+    void coalescingTransportSendsConcurrentRequestsForSameUriOnce() throws Exception {
+        CompletableFuture<TransportResponse> pending = new CompletableFuture<>();
+        AtomicInteger sent = new AtomicInteger();
+        CoalescingCristinTransport transport = new CoalescingCristinTransport(uri -> {
+            sent.incrementAndGet();
+            return pending;
+        });
+
+        CompletableFuture<TransportResponse> first = transport.sendAsync(PROJECT_URI);
+        CompletableFuture<TransportResponse> second = transport.sendAsync(PROJECT_URI);
+        second.cancel(true);
+        pending.complete(response(PROJECT_URI, BODY));
+
+        assertEquals(1, sent.get());
+        assertEquals(BODY, first.get().getBodyAsString());
+        transport.sendAsync(PROJECT_URI).get();
+        assertEquals(2, sent.get());
+    }
+
+    @Test
+    void coalescingTransportPassesFailureToAllWaitingCallers() {
+        CompletableFuture<TransportResponse> pending = new CompletableFuture<>();
+        CoalescingCristinTransport transport = new CoalescingCristinTransport(uri -> pending);
+
+        CompletableFuture<TransportResponse> first = transport.sendAsync(PROJECT_URI);
+        CompletableFuture<TransportResponse> second = transport.sendAsync(PROJECT_URI);
+        pending.completeExceptionally(new IOException(BODY));
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+    }
+
+    @Test
+    void coalescingTransportOpensConnectionThroughDelegate() {
+        CoalescingCristinTransport transport = new CoalescingCristinTransport(jdkTransport());
+
+        transport.openConnection(upstreamUri()).join();
+
+        assertEquals(1, upstreamRequests.get());
+    }
+
+    @Test
+    void defaultSendUnwrapsUncheckedFailures() {
+        CristinTransport transport = uri -> CompletableFuture.failedFuture(new IllegalStateException(BODY));
+
+        Exception exception = assertThrows(IllegalStateException.class, () -> transport.send(PROJECT_URI));
+
+        assertEquals(BODY, exception.getMessage());
+    }
+
+    @Test
+    void defaultSendWrapsCheckedFailuresOtherThanIoExceptions() {
+        CristinTransport transport = uri -> CompletableFuture.failedFuture(new Exception(BODY));
+
+        Exception exception = assertThrows(IOException.class, () -> transport.send(PROJECT_URI));
+
+        assertThat(exception.getCause(), instanceOf(Exception.class));
+    }
+
+    private JdkCristinTransport jdkTransport() {
+        return new JdkCristinTransport(new HttpClientSettings(Version.HTTP_1_1, ONE_SECOND, ONE_SECOND, 2, false));
+    }
+
+    private URI upstreamUri() {
+        return URI.create("http://localhost:" + upstream.getAddress().getPort() + "/v2/projects/123");
+    }
+
+    private static TransportResponse response(URI uri, String body) {
+        return TransportResponse.of(uri, HttpURLConnection.HTTP_OK, Map.of(Constants.X_TOTAL_COUNT,
+            List.of(TOTAL_COUNT)), body);
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        upstreamRequests.incrementAndGet();
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set(Constants.X_TOTAL_COUNT, TOTAL_COUNT);
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, -1);
+            exchange.close();
+            return;
+        }
+        exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+}
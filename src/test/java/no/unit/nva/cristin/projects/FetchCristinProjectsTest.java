@@ -1,6 +1,7 @@
 package no.unit.nva.cristin.projects;
 
 import static no.unit.nva.cristin.projects.Constants.LANGUAGE;
+import static no.unit.nva.cristin.projects.Constants.MAX_NUMBER_OF_RESULTS;
 import static no.unit.nva.cristin.projects.Constants.NUMBER_OF_RESULTS;
 import static no.unit.nva.cristin.projects.Constants.OBJECT_MAPPER;
 import static no.unit.nva.cristin.projects.Constants.PAGE;
@@ -10,6 +11,7 @@ import static no.unit.nva.cristin.projects.Constants.QueryType.QUERY_USING_TITLE
 import static no.unit.nva.cristin.projects.Constants.REL_NEXT;
 import static no.unit.nva.cristin.projects.CristinApiClientStub.CRISTIN_QUERY_PROJECTS_RESPONSE_JSON_FILE;
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_BACKEND_FETCH_FAILED;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_FILTERING_NOT_AVAILABLE;
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_INVALID_QUERY_PARAMS_ON_SEARCH;
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_LANGUAGE_INVALID;
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_NUMBER_OF_RESULTS_VALUE_INVALID;
@@ -17,6 +19,7 @@ import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_PAGE_OUT_
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_PAGE_VALUE_INVALID;
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_QUERY_MISSING_OR_HAS_ILLEGAL_CHARACTERS;
 import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_SERVER_ERROR;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_START_DATE_RANGE_INVALID;
 import static no.unit.nva.cristin.projects.HttpResponseStub.LINK_EXAMPLE_VALUE;
 import static no.unit.nva.cristin.projects.HttpResponseStub.TOTAL_COUNT_EXAMPLE_VALUE;
 import static nva.commons.apigateway.ApiGatewayHandler.APPLICATION_PROBLEM_JSON;
@@ -32,6 +35,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.ByteArrayOutputStream;
@@ -42,10 +46,11 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.HttpResponse;
 import java.nio.file.Path;
-import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Stream;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
@@ -73,10 +78,13 @@ public class FetchCristinProjectsTest {
     private static final String INVALID_LANGUAGE = "ru";
     public static final String RANDOM_TITLE = "reindeer";
     private static final String TITLE_ILLEGAL_CHARACTERS = "abc123- ,-?";
+    private static final String CAPITALIZED_TITLE = "Reindeer";
+    private static final String PLUS_SIGN = "+";
     private static final String INVALID_JSON = "This is not valid JSON!";
     private static final String EMPTY_LIST_STRING = "[]";
     private static final String SECOND_PAGE = "2";
     private static final String TEN_RESULTS = "10";
+    private static final String FIFTY_RESULTS = "50";
     private static final String URI_WITH_PAGE_NUMBER_VALUE_OF_TWO =
         "https://api.dev.nva.aws.unit.no/project/?language=nb&page=2&query=reindeer&results=5";
     private static final String URI_WITH_TEN_NUMBER_OF_RESULTS =
@@ -200,6 +208,40 @@ public class FetchCristinProjectsTest {
         assertThat(gatewayResponse.getBody(), containsString(ERROR_MESSAGE_QUERY_MISSING_OR_HAS_ILLEGAL_CHARACTERS));
     }
 
+    @Test
+    void handlerReturnsBadRequestWhenTitleQueryParamContainsCharactersRemovedByNormalization() throws Exception {
+        InputStream input = requestWithQueryParameters(Map.of(QUERY, RANDOM_TITLE + PLUS_SIGN + RANDOM_TITLE));
+
+        handler.handleRequest(input, output, context);
+        GatewayResponse<ProjectsWrapper> gatewayResponse = GatewayResponse.fromOutputStream(output);
+
+        assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, gatewayResponse.getStatusCode());
+        assertThat(gatewayResponse.getBody(), containsString(ERROR_MESSAGE_QUERY_MISSING_OR_HAS_ILLEGAL_CHARACTERS));
+    }
+
+    @Test
+    void handlerSendsVariantsOfQueryDifferingInCaseAndWhitespaceToCristinAsSameUri() throws Exception {
+        List<URI> queriedUris = new CopyOnWriteArrayList<>();
+        handler = new FetchCristinProjects(new CristinApiClientStub() {
+            @Override
+            protected HttpResponse<String> fetchQueryResults(URI uri) {
+                queriedUris.add(uri);
+                return super.fetchQueryResults(uri);
+            }
+        }, environment);
+
+        for (String query : List.of(CAPITALIZED_TITLE + WHITESPACE + WHITESPACE + RANDOM_TITLE,
+            RANDOM_TITLE + WHITESPACE + RANDOM_TITLE + WHITESPACE)) {
+            InputStream input = requestWithQueryParameters(Map.of(QUERY, query, LANGUAGE, LANGUAGE_NB));
+            handler.handleRequest(input, new ByteArrayOutputStream(), context);
+        }
+
+        assertEquals(2, queriedUris.size());
+        assertEquals(queriedUris.get(0), queriedUris.get(1));
+        assertThat(queriedUris.get(0).getRawQuery(),
+            containsString("title=" + RANDOM_TITLE + PLUS_SIGN + RANDOM_TITLE));
+    }
+
     @Test
     void handlerReturnsBadRequestWhenReceivingInvalidLanguageQueryParam() throws Exception {
         InputStream input = requestWithQueryParameters(Map.of(
@@ -527,12 +569,125 @@ public class FetchCristinProjectsTest {
         assertThat(body.getDetail(), containsString(ERROR_MESSAGE_INVALID_QUERY_PARAMS_ON_SEARCH));
     }
 
+    @ParameterizedTest(name = "Bad request when {0} is {1}")
+    @CsvSource({
+        "startDateFrom,2020-13-01,must be dates formatted as yyyy-MM-dd",
+        "startDateTo,yesterday,must be dates formatted as yyyy-MM-dd",
+        "status,FINISHED,Valid ones are ACTIVE",
+        "sort,title,Valid ones are startDate"
+    })
+    void handlerThrowsBadRequestWhenFilterOrSortParameterIsInvalid(String parameter, String value, String message)
+        throws IOException {
+        InputStream input = requestWithQueryParameters(Map.of(QUERY, RANDOM_TITLE, parameter, value));
+
+        handler.handleRequest(input, output, context);
+
+        GatewayResponse<Problem> gatewayResponse = GatewayResponse.fromOutputStream(output);
+        assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, gatewayResponse.getStatusCode());
+        assertThat(gatewayResponse.getBodyObject(Problem.class).getDetail(), containsString(message));
+    }
+
+    @Test
+    void handlerReturnsServiceUnavailableWhenFilteringWithoutLocalProjectIndex() throws IOException {
+        InputStream input = requestWithQueryParameters(Map.of(
+            QUERY, RANDOM_TITLE,
+            Constants.STATUS, "active",
+            Constants.SORT, "-startDate"));
+
+        handler.handleRequest(input, output, context);
+
+        GatewayResponse<Problem> gatewayResponse = GatewayResponse.fromOutputStream(output);
+        assertEquals(HttpURLConnection.HTTP_UNAVAILABLE, gatewayResponse.getStatusCode());
+        assertThat(gatewayResponse.getBodyObject(Problem.class).getDetail(),
+            containsString(ERROR_MESSAGE_FILTERING_NOT_AVAILABLE));
+    }
+
+    @Test
+    void handlerAcceptsFilteredSearchWithoutQuery() throws IOException {
+        InputStream input = requestWithQueryParameters(Map.of(Constants.STATUS, "active"));
+
+        handler.handleRequest(input, output, context);
+
+        GatewayResponse<Problem> gatewayResponse = GatewayResponse.fromOutputStream(output);
+        assertEquals(HttpURLConnection.HTTP_UNAVAILABLE, gatewayResponse.getStatusCode());
+        assertThat(gatewayResponse.getBodyObject(Problem.class).getDetail(),
+            containsString(ERROR_MESSAGE_FILTERING_NOT_AVAILABLE));
+    }
+
+    @Test
+    void handlerThrowsBadRequestWhenStartDateFromIsLaterThanStartDateTo() throws IOException {
+        InputStream input = requestWithQueryParameters(Map.of(
+            QUERY, RANDOM_TITLE,
+            Constants.START_DATE_FROM, "2021-01-01",
+            Constants.START_DATE_TO, "2020-12-31"));
+
+        handler.handleRequest(input, output, context);
+
+        GatewayResponse<Problem> gatewayResponse = GatewayResponse.fromOutputStream(output);
+        assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, gatewayResponse.getStatusCode());
+        assertThat(gatewayResponse.getBodyObject(Problem.class).getDetail(),
+            containsString(ERROR_MESSAGE_START_DATE_RANGE_INVALID));
+    }
+
+    @Test
+    void handlerMergesSeveralSmallerUpstreamPagesWhenNumberOfResultsIsLargerThanUpstreamPageSize() throws Exception {
+        modifyQueryResponseToClient(
+            getBodyFromResource(CRISTIN_QUERY_PROJECTS_RESPONSE_JSON_FILE),
+            generateHeaders(TOTAL_COUNT_EXAMPLE_250, EMPTY_STRING));
+
+        InputStream input = requestWithQueryParameters(Map.of(
+            QUERY, RANDOM_TITLE,
+            LANGUAGE, LANGUAGE_NB,
+            PAGE, SECOND_PAGE,
+            NUMBER_OF_RESULTS, FIFTY_RESULTS));
+        handler.handleRequest(input, output, context);
+        GatewayResponse<ProjectsWrapper> gatewayResponse = GatewayResponse.fromOutputStream(output);
+        ProjectsWrapper actual = gatewayResponse.getBodyObject(ProjectsWrapper.class);
+
+        verify(cristinApiClientStub).fetchQueryResults(new URI(upstreamUriFromPage("3")));
+        verify(cristinApiClientStub).fetchQueryResults(new URI(upstreamUriFromPage("4")));
+        verify(cristinApiClientStub).fetchQueryResults(new URI(upstreamUriFromPage("5")));
+        assertEquals(HttpURLConnection.HTTP_OK, gatewayResponse.getStatusCode());
+        assertEquals(51, actual.getFirstRecord());
+        assertEquals(5, actual.getHits().size());
+        assertEquals(exampleUriFromPageAndResults("3", FIFTY_RESULTS), actual.getNextResults().toString());
+        assertEquals(exampleUriFromPageAndResults("1", FIFTY_RESULTS), actual.getPreviousResults().toString());
+    }
+
+    @Test
+    void handlerProcessesRequestWithQueryMentioningWarmUpAsSearch() throws Exception {
+        InputStream input = requestWithQueryParameters(Map.of(
+            QUERY, "warmup",
+            LANGUAGE, LANGUAGE_NB));
+        handler.handleRequest(input, output, context);
+        GatewayResponse<ProjectsWrapper> gatewayResponse = GatewayResponse.fromOutputStream(output);
+
+        assertEquals(HttpURLConnection.HTTP_OK, gatewayResponse.getStatusCode());
+        assertEquals(1, handler.getRequestTracker().size());
+    }
+
+    @Test
+    void handlerThrowsBadRequestWhenNumberOfResultsIsLargerThanMaximum() throws Exception {
+        InputStream input = requestWithQueryParameters(Map.of(
+            QUERY, RANDOM_TITLE,
+            NUMBER_OF_RESULTS, String.valueOf(MAX_NUMBER_OF_RESULTS + 1)));
+        handler.handleRequest(input, output, context);
+        GatewayResponse<Problem> gatewayResponse = GatewayResponse.fromOutputStream(output);
+
+        assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, gatewayResponse.getStatusCode());
+        assertThat(gatewayResponse.getBody(), containsString(ERROR_MESSAGE_NUMBER_OF_RESULTS_VALUE_INVALID));
+    }
+
+    private static String upstreamUriFromPage(String page) {
+        String url = "https://api.cristin.no/v2/projects/?lang=nb&page=%s&per_page=20&title=reindeer";
+        return String.format(url, page);
+    }
+
     private void fakeAnEmptyResponseFromQueryAndEnrichment() throws ApiGatewayException {
         cristinApiClientStub = spy(cristinApiClientStub);
         doReturn(new HttpResponseStub(EMPTY_LIST_STRING, HttpURLConnection.HTTP_OK,
             generateHeaders(ZERO_VALUE, LINK_EXAMPLE_VALUE)))
             .when(cristinApiClientStub).queryProjects(any(), any());
-        doReturn(Collections.emptyList()).when(cristinApiClientStub).fetchQueryResultsOneByOne(any());
         handler = new FetchCristinProjects(cristinApiClientStub, environment);
     }
 
@@ -0,0 +1,104 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_INVALID_PATH_PARAMETER_FOR_ORGANIZATION_ID;
+import static no.unit.nva.cristin.projects.TemporaryProjectStore.hitIds;
+import static no.unit.nva.cristin.projects.TemporaryProjectStore.project;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import no.unit.nva.cristin.projects.model.cristin.CristinInstitution;
+import no.unit.nva.cristin.projects.model.cristin.CristinOrganization;
+import no.unit.nva.cristin.projects.model.cristin.CristinPerson;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import no.unit.nva.cristin.projects.model.cristin.CristinRole;
+import no.unit.nva.cristin.projects.model.cristin.CristinUnit;
+import nva.commons.apigateway.RequestInfo;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.core.Environment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FetchOrganizationProjectsTest {
+
+    private static final String INSTITUTION_ID = "194";
+    private static final String UNIT_ID = "194.63.10.0";
+    private static final String OTHER_INSTITUTION_ID = "186";
+    private static final String TEN_RESULTS = "10";
+
+    private TemporaryProjectStore projectStore;
+    private FetchOrganizationProjects handler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        projectStore = new TemporaryProjectStore().with(
+            coordinatedProject("101", "2019-06-01T00:00:00Z", INSTITUTION_ID),
+            projectWithParticipantAtUnit("102", "2021-03-01T00:00:00Z", UNIT_ID),
+            coordinatedProject("103", "2020-09-01T00:00:00Z", OTHER_INSTITUTION_ID));
+        handler = new FetchOrganizationProjects(projectStore.storeFirstClient(), new Environment());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        projectStore.close();
+    }
+
+    @Test
+    void handlerListsProjectsCoordinatedByInstitutionOrWithParticipantsAtUnit() throws ApiGatewayException {
+        ProjectsWrapper institutionProjects = handler.processInput(null, request(INSTITUTION_ID), null);
+        ProjectsWrapper unitProjects = handler.processInput(null, request(UNIT_ID), null);
+
+        assertEquals(List.of("101"), hitIds(institutionProjects));
+        assertEquals(List.of("102"), hitIds(unitProjects));
+        assertTrue(unitProjects.getId().getPath().endsWith("/organization/" + UNIT_ID));
+        assertEquals(List.of("103"), hitIds(handler.processInput(null, request(OTHER_INSTITUTION_ID), null)));
+    }
+
+    @Test
+    void handlerThrowsBadRequestWhenIdIsNeitherInstitutionNumberNorUnitId() {
+        for (String id : List.of("194-63", "194.63.10.0.1", "abc")) {
+            BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> handler.processInput(null, request(id), null));
+
+            assertEquals(ERROR_MESSAGE_INVALID_PATH_PARAMETER_FOR_ORGANIZATION_ID, exception.getMessage());
+        }
+    }
+
+    private static RequestInfo request(String id) {
+        RequestInfo requestInfo = new RequestInfo();
+        requestInfo.setPathParameters(Map.of(Constants.ID, id));
+        requestInfo.setQueryParameters(Map.of(Constants.NUMBER_OF_RESULTS, TEN_RESULTS));
+        return requestInfo;
+    }
+
+    private static CristinProject coordinatedProject(String id, String startDate, String institutionId) {
+        CristinInstitution institution = new CristinInstitution();
+        institution.setCristinInstitutionId(institutionId);
+        CristinOrganization coordinatingInstitution = new CristinOrganization();
+        coordinatingInstitution.setInstitution(institution);
+        CristinProject project = project(id, "Project " + id);
+        project.setStartDate(Instant.parse(startDate));
+        project.setCoordinatingInstitution(coordinatingInstitution);
+        return project;
+    }
+
+    private static CristinProject projectWithParticipantAtUnit(String id, String startDate, String unitId) {
+        CristinUnit unit = new CristinUnit();
+        unit.setCristinUnitId(unitId);
+        CristinRole role = new CristinRole();
+        role.setRoleCode("PRO_PARTICIPANT");
+        role.setInstitutionUnit(unit);
+        CristinPerson participant = new CristinPerson();
+        participant.setCristinPersonId("12345");
+        participant.setRoles(List.of(role));
+        CristinProject project = project(id, "Project " + id);
+        project.setStartDate(Instant.parse(startDate));
+        project.setParticipants(List.of(participant));
+        return project;
+    }
+}
@@ -0,0 +1,115 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_INVALID_PATH_PARAMETER_FOR_ID;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_INVALID_QUERY_PARAMS_ON_PARTICIPANT_PROJECTS;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_PARTICIPANT_PROJECTS_NOT_AVAILABLE;
+import static no.unit.nva.cristin.projects.TemporaryProjectStore.hitIds;
+import static no.unit.nva.cristin.projects.TemporaryProjectStore.project;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import no.unit.nva.cristin.projects.model.cristin.CristinPerson;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import nva.commons.apigateway.RequestInfo;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.core.Environment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FetchPersonProjectsTest {
+
+    private static final String PERSON_ID = "12345";
+    private static final String OTHER_PERSON_ID = "67890";
+    private static final String TWO_RESULTS = "2";
+
+    private final Environment environment = new Environment();
+    private TemporaryProjectStore projectStore;
+    private FetchPersonProjects handler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        projectStore = new TemporaryProjectStore().with(
+            projectWithParticipants("101", "2019-06-01T00:00:00Z", PERSON_ID),
+            projectWithParticipants("102", "2021-03-01T00:00:00Z", PERSON_ID, OTHER_PERSON_ID),
+            projectWithParticipants("103", "2020-09-01T00:00:00Z", PERSON_ID),
+            projectWithParticipants("104", "2022-01-01T00:00:00Z", OTHER_PERSON_ID));
+        handler = new FetchPersonProjects(projectStore.storeFirstClient(), environment);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        projectStore.close();
+    }
+
+    @Test
+    void handlerListsProjectsOfPersonNewestStartDateFirstPageByPage() throws ApiGatewayException {
+        ProjectsWrapper firstPage = handler.processInput(null, request(PERSON_ID, "1"), null);
+        ProjectsWrapper secondPage = handler.processInput(null, request(PERSON_ID, "2"), null);
+
+        assertEquals(3, firstPage.getSize());
+        assertEquals(List.of("102", "103"), hitIds(firstPage));
+        assertEquals(List.of("101"), hitIds(secondPage));
+        assertTrue(firstPage.getId().getPath().endsWith("/person/" + PERSON_ID));
+        assertTrue(firstPage.getNextResults().toString().endsWith("/person/" + PERSON_ID + "?page=2&results=2"));
+    }
+
+    @Test
+    void handlerReturnsNoProjectsOfPersonWithoutStoredProjects() throws ApiGatewayException {
+        ProjectsWrapper projects = handler.processInput(null, request("1", "1"), null);
+
+        assertEquals(0, projects.getSize());
+        assertTrue(projects.getHits().isEmpty());
+    }
+
+    @Test
+    void handlerThrowsBadRequestWhenIdOrQueryParametersAreInvalid() {
+        BadRequestException invalidId = assertThrows(BadRequestException.class,
+            () -> handler.processInput(null, request("abc", "1"), null));
+        RequestInfo withQuery = request(PERSON_ID, "1");
+        withQuery.setQueryParameters(Map.of(Constants.QUERY, "reindeer"));
+        BadRequestException invalidParameter = assertThrows(BadRequestException.class,
+            () -> handler.processInput(null, withQuery, null));
+
+        assertEquals(ERROR_MESSAGE_INVALID_PATH_PARAMETER_FOR_ID, invalidId.getMessage());
+        assertEquals(ERROR_MESSAGE_INVALID_QUERY_PARAMS_ON_PARTICIPANT_PROJECTS, invalidParameter.getMessage());
+    }
+
+    @Test
+    void handlerThrowsServiceUnavailableWithoutLocalProjectIndex() throws IOException {
+        try (TemporaryProjectStore emptyStore = new TemporaryProjectStore()) {
+            FetchPersonProjects withoutIndex = new FetchPersonProjects(emptyStore.storeFirstClient(), environment);
+
+            ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> withoutIndex.processInput(null, request(PERSON_ID, "1"), null));
+
+            assertEquals(ERROR_MESSAGE_PARTICIPANT_PROJECTS_NOT_AVAILABLE, exception.getMessage());
+        }
+    }
+
+    private static RequestInfo request(String id, String page) {
+        RequestInfo requestInfo = new RequestInfo();
+        requestInfo.setPathParameters(Map.of(Constants.ID, id));
+        requestInfo.setQueryParameters(Map.of(Constants.PAGE, page, Constants.NUMBER_OF_RESULTS, TWO_RESULTS));
+        return requestInfo;
+    }
+
+    private static CristinProject projectWithParticipants(String id, String startDate, String... personIds) {
+        CristinProject project = project(id, "Project " + id);
+        project.setStartDate(Instant.parse(startDate));
+        project.setParticipants(Arrays.stream(personIds).map(personId -> {
+            CristinPerson participant = new CristinPerson();
+            participant.setCristinPersonId(personId);
+            participant.setRoles(List.of());
+            return participant;
+        }).collect(Collectors.toList()));
+        return project;
+    }
+}
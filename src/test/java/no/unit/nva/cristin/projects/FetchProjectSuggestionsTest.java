@@ -0,0 +1,96 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_INVALID_QUERY_PARAMS_ON_SUGGEST;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_NUMBER_OF_SUGGESTIONS_VALUE_INVALID;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_QUERY_MISSING_OR_HAS_ILLEGAL_CHARACTERS;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_SUGGESTIONS_NOT_AVAILABLE;
+import static no.unit.nva.cristin.projects.TemporaryProjectStore.project;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import nva.commons.apigateway.RequestInfo;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.core.Environment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FetchProjectSuggestionsTest {
+
+    private final Environment environment = new Environment();
+    private TemporaryProjectStore projectStore;
+    private FetchProjectSuggestions handler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        projectStore = new TemporaryProjectStore().with(
+            project("101", "Reindeer herding in a changing climate"),
+            project("102", "Reindeer husbandry"),
+            project("103", "Coastal climate adaptation"));
+        handler = new FetchProjectSuggestions(projectStore.storeFirstClient(), environment);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        projectStore.close();
+    }
+
+    @Test
+    void handlerSuggestsTitlesOfStoredProjectsStartingWithPrefixOrHavingWordStartingWithIt()
+        throws ApiGatewayException {
+
+        ProjectSuggestions reindeer = handler.processInput(null, request(Map.of(Constants.QUERY, "rein")), null);
+        ProjectSuggestions climate = handler.processInput(null,
+            request(Map.of(Constants.QUERY, "CLIM", Constants.NUMBER_OF_RESULTS, "1")), null);
+        ProjectSuggestions adaptation = handler.processInput(null, request(Map.of(Constants.QUERY, "adapt")), null);
+
+        assertEquals(List.of("Reindeer herding in a changing climate", "Reindeer husbandry"), titles(reindeer));
+        assertEquals(1, climate.getHits().size());
+        assertEquals(List.of("Coastal climate adaptation"), titles(adaptation));
+        assertTrue(adaptation.getHits().get(0).getId().getPath().endsWith("/103"));
+    }
+
+    @Test
+    void handlerThrowsBadRequestWhenQueryOrNumberOfResultsIsInvalid() {
+        assertEquals(ERROR_MESSAGE_QUERY_MISSING_OR_HAS_ILLEGAL_CHARACTERS, badRequestMessage(Map.of()));
+        assertEquals(ERROR_MESSAGE_QUERY_MISSING_OR_HAS_ILLEGAL_CHARACTERS,
+            badRequestMessage(Map.of(Constants.QUERY, " - ")));
+        assertEquals(ERROR_MESSAGE_NUMBER_OF_SUGGESTIONS_VALUE_INVALID,
+            badRequestMessage(Map.of(Constants.QUERY, "rein", Constants.NUMBER_OF_RESULTS, "11")));
+        assertEquals(ERROR_MESSAGE_INVALID_QUERY_PARAMS_ON_SUGGEST,
+            badRequestMessage(Map.of(Constants.QUERY, "rein", Constants.PAGE, "2")));
+    }
+
+    @Test
+    void handlerThrowsServiceUnavailableWithoutLocalProjectIndex() throws IOException {
+        try (TemporaryProjectStore emptyStore = new TemporaryProjectStore()) {
+            FetchProjectSuggestions withoutIndex = new FetchProjectSuggestions(emptyStore.storeFirstClient(),
+                environment);
+
+            ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> withoutIndex.processInput(null, request(Map.of(Constants.QUERY, "rein")), null));
+
+            assertEquals(ERROR_MESSAGE_SUGGESTIONS_NOT_AVAILABLE, exception.getMessage());
+        }
+    }
+
+    private String badRequestMessage(Map<String, String> queryParameters) {
+        return assertThrows(BadRequestException.class,
+            () -> handler.processInput(null, request(queryParameters), null)).getMessage();
+    }
+
+    private static RequestInfo request(Map<String, String> queryParameters) {
+        RequestInfo requestInfo = new RequestInfo();
+        requestInfo.setQueryParameters(queryParameters);
+        return requestInfo;
+    }
+
+    private static List<String> titles(ProjectSuggestions suggestions) {
+        return suggestions.getHits().stream().map(ProjectSuggestions.Hit::getTitle).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,141 @@
+package no.unit.nva.cristin.projects;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class HttpClientSettingsTest {
+
+    private static final String BODY = "{\"title\":\"Reinsdyr på Finnmarksvidda\"}";
+    private static final String SLOW_PATH = "/slow";
+    private static final Duration ONE_SECOND = Duration.ofSeconds(1);
+    private static final Duration SHORT_TIMEOUT = Duration.ofMillis(50);
+    private static final long SLOW_RESPONSE_MILLIS = 1000;
+
+    private HttpServer upstream;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.createContext("/", this::respond);
+        upstream.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.stop(0);
+    }
+
+    @Test
+    void bodyHandlerDecompressesGzipEncodedResponse() throws Exception {
+        HttpClientSettings settings = settings(true, ONE_SECOND);
+
+        HttpResponse<byte[]> response = send(settings, "/");
+
+        assertEquals(HttpClientSettings.GZIP,
+            response.headers().firstValue(HttpClientSettings.CONTENT_ENCODING).orElseThrow());
+        assertEquals(BODY, new String(response.body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void bodyHandlerReadsUncompressedResponseWhenGzipIsNotAccepted() throws Exception {
+        HttpClientSettings settings = settings(false, ONE_SECOND);
+
+        HttpResponse<byte[]> response = send(settings, "/");
+
+        assertEquals(Optional.empty(), response.headers().firstValue(HttpClientSettings.CONTENT_ENCODING));
+        assertEquals(BODY, new String(response.body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void requestFailsWithHttpTimeoutExceptionWhenResponseIsSlowerThanRequestTimeout() {
+        HttpClientSettings settings = settings(false, SHORT_TIMEOUT);
+
+        Exception exception = assertThrows(IOException.class, () -> send(settings, SLOW_PATH));
+
+        assertThat(exception, instanceOf(HttpTimeoutException.class));
+    }
+
+    @Test
+    void settingsFromEnvironmentPreferHttp2AndBoundedExecutor() {
+        HttpClientSettings settings = HttpClientSettings.fromEnvironment();
+
+        assertEquals(Version.HTTP_2, settings.getVersion());
+        assertEquals(Version.HTTP_2, settings.newHttpClient().version());
+        assertTrue(settings.newHttpClient().executor().isPresent());
+        assertTrue(settings.getThreads() > 0);
+        assertTrue(settings.isAcceptGzip());
+        assertEquals(Duration.ofMillis(Constants.CRISTIN_REQUEST_TIMEOUT_MILLIS), settings.getRequestTimeout());
+    }
+
+    @Test
+    void clientUsesDefaultExecutorWhenThreadsIsDefaultExecutor() {
+        HttpClientSettings settings = new HttpClientSettings(Version.HTTP_1_1, ONE_SECOND, ONE_SECOND,
+            HttpClientSettings.DEFAULT_EXECUTOR, false);
+
+        assertTrue(settings.newHttpClient().executor().isEmpty());
+    }
+
+    private HttpClientSettings settings(boolean acceptGzip, Duration requestTimeout) {
+        return new HttpClientSettings(Version.HTTP_1_1, ONE_SECOND, requestTimeout, 2, acceptGzip);
+    }
+
+    private HttpResponse<byte[]> send(HttpClientSettings settings, String path)
+        throws IOException, InterruptedException {
+
+        URI uri = URI.create("http://localhost:" + upstream.getAddress().getPort() + path);
+        return settings.newHttpClient().send(settings.newRequest(uri).GET().build(), settings.bodyHandler());
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        if (SLOW_PATH.equals(exchange.getRequestURI().getPath())) {
+            sleep();
+        }
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        String acceptEncoding = exchange.getRequestHeaders().getFirst(HttpClientSettings.ACCEPT_ENCODING);
+        if (HttpClientSettings.GZIP.equals(acceptEncoding)) {
+            body = gzip(body);
+            exchange.getResponseHeaders().set(HttpClientSettings.CONTENT_ENCODING, HttpClientSettings.GZIP);
+        }
+        exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(SLOW_RESPONSE_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package no.unit.nva.cristin.projects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class InternCacheTest {
+
+    private static final String KEY = "1234";
+    private static final String OTHER_KEY = "5678";
+    private static final String THIRD_KEY = "9012";
+
+    @Test
+    void internReturnsSameInstanceForSameKeyWhenCachedValueIsCurrent() {
+        InternCache<String, StringBuilder> cache = new InternCache<>(10);
+
+        StringBuilder first = cache.intern(KEY, cached -> true, StringBuilder::new);
+        StringBuilder second = cache.intern(KEY, cached -> true, StringBuilder::new);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void internReplacesCachedValueWhenCachedValueIsNoLongerCurrent() {
+        InternCache<String, StringBuilder> cache = new InternCache<>(10);
+
+        StringBuilder first = cache.intern(KEY, cached -> true, StringBuilder::new);
+        StringBuilder second = cache.intern(KEY, cached -> false, StringBuilder::new);
+
+        assertNotSame(first, second);
+        assertSame(second, cache.intern(KEY, cached -> true, StringBuilder::new));
+    }
+
+    @Test
+    void internEvictsLeastRecentlyUsedEntryWhenCacheIsFull() {
+        InternCache<String, StringBuilder> cache = new InternCache<>(2);
+        StringBuilder first = cache.intern(KEY, cached -> true, StringBuilder::new);
+        StringBuilder other = cache.intern(OTHER_KEY, cached -> true, StringBuilder::new);
+        cache.intern(KEY, cached -> true, StringBuilder::new);
+
+        cache.intern(THIRD_KEY, cached -> true, StringBuilder::new);
+
+        assertEquals(2, cache.size());
+        assertSame(first, cache.intern(KEY, cached -> true, StringBuilder::new));
+        assertNotSame(other, cache.intern(OTHER_KEY, cached -> true, StringBuilder::new));
+    }
+
+    @Test
+    void internValueReturnsSharedCopyOfEqualValuesWhichIsNotAffectedByChangesToOriginal() {
+        InternCache<Map<String, String>, Map<String, String>> cache = new InternCache<>(10);
+        Map<String, String> original = new HashMap<>(Map.of("en", "University"));
+
+        Map<String, String> interned = cache.internValue(original, HashMap::new);
+        original.put("nb", "Universitet");
+
+        assertNotSame(original, interned);
+        assertEquals(Map.of("en", "University"), interned);
+        assertSame(interned, cache.internValue(Map.of("en", "University"), HashMap::new));
+    }
+}
@@ -0,0 +1,38 @@
+package no.unit.nva.cristin.projects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Duration;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class LatencyTrackerTest {
+
+    private static final int WINDOW_SIZE = 100;
+    private static final int MINIMUM_SAMPLES = 10;
+    private static final double PERCENTILE = 0.95;
+
+    private final LatencyTracker latencyTracker = new LatencyTracker(WINDOW_SIZE, PERCENTILE, MINIMUM_SAMPLES);
+
+    @Test
+    void percentileIsEmptyUntilMinimumSamplesHaveBeenRecorded() {
+        IntStream.range(1, MINIMUM_SAMPLES).forEach(i -> latencyTracker.record(Duration.ofMillis(i)));
+
+        assertTrue(latencyTracker.percentile().isEmpty());
+    }
+
+    @Test
+    void percentileReturnsLatencyBelowWhichPercentileOfSamplesFall() {
+        IntStream.rangeClosed(1, WINDOW_SIZE).forEach(i -> latencyTracker.record(Duration.ofMillis(i)));
+
+        assertEquals(Duration.ofMillis(95), latencyTracker.percentile().orElseThrow());
+    }
+
+    @Test
+    void percentileOnlyConsidersLatestSamplesOnceWindowIsFull() {
+        IntStream.range(0, WINDOW_SIZE).forEach(i -> latencyTracker.record(Duration.ofSeconds(1)));
+        IntStream.range(0, WINDOW_SIZE).forEach(i -> latencyTracker.record(Duration.ofMillis(10)));
+
+        assertEquals(Duration.ofMillis(10), latencyTracker.percentile().orElseThrow());
+    }
+}
@@ -0,0 +1,152 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.TemporaryProjectStore.hitIds;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import no.unit.nva.cristin.projects.model.cristin.CristinFundingSource;
+import no.unit.nva.cristin.projects.model.cristin.CristinInstitution;
+import no.unit.nva.cristin.projects.model.cristin.CristinOrganization;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LocalProjectSearchTest {
+
+    private static final String ACTIVE = "ACTIVE";
+    private static final String CONCLUDED = "CONCLUDED";
+    private static final String NTNU = "194";
+    private static final String UIT = "186";
+    private static final String ONE_RESULT = "1";
+    private static final String TEN_RESULTS = "10";
+    private static final String PROJECT_CODE_PREFIX = "4";
+
+    private TemporaryProjectStore projectStore;
+    private LocalProjectSearch search;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        projectStore = new TemporaryProjectStore().with(
+            project("101", "Reindeer herding in Finnmark", NTNU, ACTIVE, "2020-03-01T00:00:00Z", "NFR", "EU"),
+            project("102", "Reindeer grazing on the plateau", UIT, CONCLUDED, "2015-01-01T00:00:00Z", "NFR"),
+            project("103", "Migration of reindeer", NTNU, ACTIVE, "2020-12-31T23:00:00Z"),
+            project("104", "Salmon farming", UIT, ACTIVE, "2021-05-01T00:00:00Z", "EU"));
+        search = new LocalProjectSearch(projectStore.getStore());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        projectStore.close();
+    }
+
+    @Test
+    void searchCountsFacetsOfAllMatchingProjectsAndNotOnlyOfRequestedPage() throws BadRequestException {
+        ProjectsWrapper projects = search.search(searchParams("reindeer", ONE_RESULT));
+
+        assertEquals(3, projects.getSize());
+        assertEquals(1, projects.getHits().size());
+        Map<String, List<FacetCount>> facets = projects.getFacets();
+        assertEquals(List.of(NTNU + "=2", UIT + "=1"), values(facets.get(ProjectColumns.INSTITUTION)));
+        assertEquals(List.of("NFR=2", "EU=1"), values(facets.get(ProjectColumns.FUNDING_SOURCE)));
+        assertEquals(List.of("2020=2", "2015=1"), values(facets.get(ProjectColumns.START_YEAR)));
+        assertEquals(List.of(ACTIVE + "=2", CONCLUDED + "=1"), values(facets.get(ProjectColumns.STATUS)));
+    }
+
+    @Test
+    void searchCountsFacetsOfMatchingProjectsLeftAfterFilters() throws BadRequestException {
+        Map<String, String> params = new ConcurrentHashMap<>(searchParams("reindeer", TEN_RESULTS));
+        params.put(Constants.STATUS, ACTIVE);
+
+        Map<String, List<FacetCount>> facets = search.search(params).getFacets();
+
+        assertEquals(List.of(NTNU + "=2"), values(facets.get(ProjectColumns.INSTITUTION)));
+        assertEquals(List.of("EU=1", "NFR=1"), values(facets.get(ProjectColumns.FUNDING_SOURCE)));
+        assertEquals(List.of("2020=2"), values(facets.get(ProjectColumns.START_YEAR)));
+        assertEquals(List.of(ACTIVE + "=2"), values(facets.get(ProjectColumns.STATUS)));
+    }
+
+    @Test
+    void searchFiltersAndSortsMatchesByStartDateAndStatus() throws BadRequestException {
+        Map<String, String> params = new ConcurrentHashMap<>(searchParams("reindeer", TEN_RESULTS));
+        params.put(Constants.STATUS, ACTIVE);
+        params.put(Constants.START_DATE_FROM, "2020-01-01");
+        params.put(Constants.SORT, "-startDate");
+
+        ProjectsWrapper newestFirst = search.search(params);
+        params.put(Constants.SORT, "startDate");
+        params.put(Constants.START_DATE_TO, "2020-06-30");
+        ProjectsWrapper startingInFirstHalfOf2020 = search.search(params);
+
+        assertEquals(2, newestFirst.getSize());
+        assertEquals(List.of("103", "101"), hitIds(newestFirst));
+        assertEquals(List.of("101"), hitIds(startingInFirstHalfOf2020));
+        assertTrue(newestFirst.getId().getQuery().contains("sort=-startDate"));
+    }
+
+    @Test
+    void searchWithoutQueryListsAllStoredProjectsPassingFilters() throws BadRequestException {
+        Map<String, String> params = new ConcurrentHashMap<>(searchParams("reindeer", TEN_RESULTS));
+        params.remove(Constants.QUERY);
+        params.put(Constants.STATUS, ACTIVE);
+
+        ProjectsWrapper projects = search.search(params);
+        params.remove(Constants.STATUS);
+        params.put(Constants.SORT, "-startDate");
+        ProjectsWrapper newestFirst = search.search(params);
+
+        assertEquals(List.of("101", "103", "104"), hitIds(projects));
+        assertEquals(List.of("104", "103", "101", "102"), hitIds(newestFirst));
+    }
+
+    @Test
+    void searchFindsProjectsByProjectCodeOfFundingSource() throws BadRequestException {
+        ProjectsWrapper projects = search.search(searchParams(PROJECT_CODE_PREFIX + "104", TEN_RESULTS));
+
+        assertEquals(List.of("104"), hitIds(projects));
+    }
+
+    @Test
+    void searchThrowsBadRequestWhenPageIsBeyondMatchingProjects() {
+        Map<String, String> params = new ConcurrentHashMap<>(searchParams("salmon", ONE_RESULT));
+        params.put(Constants.PAGE, "2");
+
+        assertThrows(BadRequestException.class, () -> search.search(params));
+    }
+
+    private static Map<String, String> searchParams(String query, String numberOfResults) {
+        return Map.of(Constants.QUERY, query, Constants.LANGUAGE, Constants.CRISTIN_HARVEST_LANGUAGE,
+            Constants.PAGE, "1", Constants.NUMBER_OF_RESULTS, numberOfResults);
+    }
+
+    private static List<String> values(List<FacetCount> facet) {
+        return facet.stream().map(count -> count.getValue() + "=" + count.getCount()).collect(Collectors.toList());
+    }
+
+    private static CristinProject project(String id, String title, String institutionId, String status,
+                                          String startDate, String... fundingSourceCodes) {
+        CristinInstitution institution = new CristinInstitution();
+        institution.setCristinInstitutionId(institutionId);
+        CristinOrganization coordinatingInstitution = new CristinOrganization();
+        coordinatingInstitution.setInstitution(institution);
+        CristinProject project = TemporaryProjectStore.project(id, title);
+        project.setCoordinatingInstitution(coordinatingInstitution);
+        project.setStatus(status);
+        project.setStartDate(Instant.parse(startDate));
+        project.setProjectFundingSources(Arrays.stream(fundingSourceCodes).map(code -> {
+            CristinFundingSource fundingSource = new CristinFundingSource();
+            fundingSource.setFundingSourceCode(code);
+            fundingSource.setProjectCode(PROJECT_CODE_PREFIX + id);
+            return fundingSource;
+        }).collect(Collectors.toList()));
+        return project;
+    }
+}
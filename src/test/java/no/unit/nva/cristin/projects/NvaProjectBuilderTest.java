@@ -4,8 +4,28 @@ import static no.unit.nva.cristin.projects.Constants.OBJECT_MAPPER;
 import static no.unit.nva.cristin.projects.Constants.PROJECT_LOOKUP_CONTEXT_URL;
 import static nva.commons.core.attempt.Try.attempt;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.unit.nva.cristin.projects.model.cristin.CristinInstitution;
+import no.unit.nva.cristin.projects.model.cristin.CristinOrganization;
+import no.unit.nva.cristin.projects.model.cristin.CristinPerson;
 import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import no.unit.nva.cristin.projects.model.cristin.CristinRole;
+import no.unit.nva.cristin.projects.model.nva.NvaContributor;
+import no.unit.nva.cristin.projects.model.nva.NvaOrganization;
 import no.unit.nva.cristin.projects.model.nva.NvaProject;
 import nva.commons.core.ioutils.IoUtils;
 import org.junit.jupiter.api.Test;
@@ -15,6 +35,15 @@ public class NvaProjectBuilderTest {
     private static final String API_RESPONSE_ONE_CRISTIN_PROJECT_TO_NVA_PROJECT_JSON =
         "api_response_one_cristin_project_to_nva_project.json";
     private static final String CRISTIN_GET_PROJECT_RESPONSE = "cristinGetProjectResponse.json";
+    private static final String PRO_PARTICIPANT = "PRO_PARTICIPANT";
+    private static final String INSTITUTION_ID = "1234";
+    private static final String LANGUAGE_EN = "en";
+    private static final String LANGUAGE_NB = "nb";
+    private static final String ENGLISH_TITLE = "Example Title";
+    private static final String NORWEGIAN_TITLE = "Eksempeltittel";
+    private static final int NUMBER_OF_THREADS = 16;
+    private static final int NUMBER_OF_TRANSFORMATIONS = 1000;
+    private static final long TIMEOUT_SECONDS = 10;
 
     @Test
     void returnNvaProjectWhenCallingNvaProjectBuilderMethodWithValidCristinProject() throws Exception {
@@ -22,10 +51,132 @@ public class NvaProjectBuilderTest {
         String cristinGetProject = IoUtils.stringFromResources(Path.of(CRISTIN_GET_PROJECT_RESPONSE));
         CristinProject cristinProject =
             attempt(() -> OBJECT_MAPPER.readValue(cristinGetProject, CristinProject.class)).get();
-        NvaProject nvaProject = new NvaProjectBuilder(cristinProject).build();
-        nvaProject.setContext(PROJECT_LOOKUP_CONTEXT_URL);
+        NvaProject nvaProject = new NvaProjectBuilder(cristinProject).withContext(PROJECT_LOOKUP_CONTEXT_URL).build();
         String actual = attempt(() -> OBJECT_MAPPER.writeValueAsString(nvaProject)).get();
 
         assertEquals(OBJECT_MAPPER.readTree(expected), OBJECT_MAPPER.readTree(actual));
     }
+
+    @Test
+    void buildReturnsSharedPersonAndOrganizationInstancesWhenPersonHasSeveralRolesAtSameInstitution()
+        throws Exception {
+        CristinProject cristinProject = cristinProjectFromResources();
+        CristinPerson cristinPerson = cristinProject.getParticipants().get(0);
+        List<CristinRole> roles = new ArrayList<>(cristinPerson.getRoles());
+        roles.add(roleAtInstitution(PRO_PARTICIPANT, institution(INSTITUTION_ID, Map.of("en", "University"))));
+        cristinPerson.setRoles(roles);
+
+        List<NvaContributor> contributors = new NvaProjectBuilder(cristinProject).build().getContributors();
+
+        assertEquals(2, contributors.size());
+        assertSame(contributors.get(0).getIdentity(), contributors.get(1).getIdentity());
+        assertSame(contributors.get(0).getAffiliation(), contributors.get(1).getAffiliation());
+    }
+
+    @Test
+    void buildReturnsNewCoordinatingInstitutionWithSharedNameWhenInstitutionNameHasChanged() {
+        NvaOrganization before = coordinatingInstitutionOf(institution("5678", Map.of("en", "Old name")));
+        NvaOrganization after = coordinatingInstitutionOf(institution("5678", Map.of("en", "New name")));
+        NvaOrganization otherWithSameName = coordinatingInstitutionOf(institution("9012", Map.of("en", "New name")));
+
+        assertNotSame(before, after);
+        assertEquals(Map.of("en", "New name"), after.getName());
+        assertSame(after.getName(), otherWithSameName.getName());
+        assertSame(after, coordinatingInstitutionOf(institution("5678", Map.of("en", "New name"))));
+    }
+
+    @Test
+    void deserializingNvaOrganizationDoesNotShareNamesWithOtherOrganizations() throws Exception {
+        String organization = "{\"type\":\"Organization\",\"name\":{\"en\":\"Shared name\"}}";
+
+        NvaOrganization first = OBJECT_MAPPER.readValue(organization, NvaOrganization.class);
+        NvaOrganization second = OBJECT_MAPPER.readValue(organization, NvaOrganization.class);
+
+        assertEquals(first.getName(), second.getName());
+        assertNotSame(first.getName(), second.getName());
+    }
+
+    @Test
+    void buildDoesNotModifyCristinProjectWhenProjectHasTitlesInSeveralLanguages() {
+        CristinProject cristinProject = cristinProjectFromResources();
+        Map<String, String> titles = new LinkedHashMap<>();
+        titles.put(LANGUAGE_EN, ENGLISH_TITLE);
+        titles.put(LANGUAGE_NB, NORWEGIAN_TITLE);
+        cristinProject.setTitle(titles);
+
+        NvaProject nvaProject = new NvaProjectBuilder(cristinProject).build();
+
+        assertEquals(Map.of(LANGUAGE_EN, ENGLISH_TITLE, LANGUAGE_NB, NORWEGIAN_TITLE), cristinProject.getTitle());
+        assertEquals(List.of(Map.of(LANGUAGE_NB, NORWEGIAN_TITLE)), nvaProject.getAlternativeTitles());
+    }
+
+    @Test
+    void buildReturnsEqualProjectsWhenSameCristinProjectIsTransformedConcurrentlyFromManyThreads()
+        throws Exception {
+        CristinProject cristinProject = cristinProjectFromResources();
+        cristinProject.setTitle(Map.of(LANGUAGE_EN, ENGLISH_TITLE, LANGUAGE_NB, NORWEGIAN_TITLE));
+        String expected = OBJECT_MAPPER.writeValueAsString(
+            new NvaProjectBuilder(cristinProject).withContext(PROJECT_LOOKUP_CONTEXT_URL).build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        try {
+            List<Future<String>> transformations = IntStream.range(0, NUMBER_OF_TRANSFORMATIONS)
+                .mapToObj(i -> executor.submit(() -> transformAfterSignal(cristinProject, startSignal)))
+                .collect(Collectors.toList());
+            startSignal.countDown();
+
+            for (Future<String> transformation : transformations) {
+                assertEquals(expected, transformation.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(Map.of(LANGUAGE_EN, ENGLISH_TITLE, LANGUAGE_NB, NORWEGIAN_TITLE), cristinProject.getTitle());
+    }
+
+    @Test
+    void withContextReturnsNewBuilderAndLeavesOriginalBuilderUnchanged() {
+        NvaProjectBuilder builder = new NvaProjectBuilder(cristinProjectFromResources());
+
+        NvaProject withContext = builder.withContext(PROJECT_LOOKUP_CONTEXT_URL).build();
+        NvaProject withoutContext = builder.build();
+
+        assertEquals(PROJECT_LOOKUP_CONTEXT_URL, withContext.getContext());
+        assertNull(withoutContext.getContext());
+    }
+
+    private static String transformAfterSignal(CristinProject cristinProject, CountDownLatch startSignal)
+        throws Exception {
+        startSignal.await();
+        NvaProject nvaProject = new NvaProjectBuilder(cristinProject).withContext(PROJECT_LOOKUP_CONTEXT_URL).build();
+        return OBJECT_MAPPER.writeValueAsString(nvaProject);
+    }
+
+    private static CristinProject cristinProjectFromResources() {
+        String cristinGetProject = IoUtils.stringFromResources(Path.of(CRISTIN_GET_PROJECT_RESPONSE));
+        return attempt(() -> OBJECT_MAPPER.readValue(cristinGetProject, CristinProject.class)).get();
+    }
+
+    private static NvaOrganization coordinatingInstitutionOf(CristinInstitution institution) {
+        CristinProject cristinProject = cristinProjectFromResources();
+        CristinOrganization coordinatingInstitution = new CristinOrganization();
+        coordinatingInstitution.setInstitution(institution);
+        cristinProject.setCoordinatingInstitution(coordinatingInstitution);
+        return new NvaProjectBuilder(cristinProject).build().getCoordinatingInstitution();
+    }
+
+    private static CristinInstitution institution(String id, Map<String, String> name) {
+        CristinInstitution institution = new CristinInstitution();
+        institution.setCristinInstitutionId(id);
+        institution.setInstitutionName(name);
+        return institution;
+    }
+
+    private static CristinRole roleAtInstitution(String roleCode, CristinInstitution institution) {
+        CristinRole role = new CristinRole();
+        role.setRoleCode(roleCode);
+        role.setInstitution(institution);
+        return role;
+    }
 }
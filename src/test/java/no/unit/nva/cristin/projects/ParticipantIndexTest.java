@@ -0,0 +1,99 @@
+package no.unit.nva.cristin.projects;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import no.unit.nva.cristin.projects.ParticipantIndex.Participant;
+import no.unit.nva.cristin.projects.model.cristin.CristinInstitution;
+import no.unit.nva.cristin.projects.model.cristin.CristinOrganization;
+import no.unit.nva.cristin.projects.model.cristin.CristinPerson;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import no.unit.nva.cristin.projects.model.cristin.CristinRole;
+import no.unit.nva.cristin.projects.model.cristin.CristinUnit;
+import org.junit.jupiter.api.Test;
+
+public class ParticipantIndexTest {
+
+    private static final String PERSON = "12345";
+    private static final String OTHER_PERSON = "67890";
+    private static final String NTNU = "194";
+    private static final String NTNU_UNIT = "194.63.10.0";
+    private static final String UIT = "186";
+
+    private final ParticipantIndex index = ParticipantIndex.builder()
+        .add(project("2015-01-01T00:00:00Z", NTNU, person(PERSON, UIT, null)))
+        .add(project("2021-01-01T00:00:00Z", UIT, person(PERSON, NTNU, NTNU_UNIT), person(OTHER_PERSON, NTNU, null)))
+        .add(project(null, NTNU, person(PERSON, null, null)))
+        .add(project("2019-01-01T00:00:00Z", null, person(OTHER_PERSON, UIT, null)))
+        .build();
+
+    @Test
+    void pageReturnsProjectsOfPersonNewestStartDateFirstAndProjectsWithoutStartDateLast() {
+        ParticipantIndex.Page page = index.page(Participant.PERSON, PERSON, 0, 10);
+
+        assertArrayEquals(new int[]{1, 0, 2}, page.getDocuments());
+        assertEquals(3, page.getTotal());
+        assertArrayEquals(new int[]{1, 3}, index.page(Participant.PERSON, OTHER_PERSON, 0, 10).getDocuments());
+        assertEquals(2, index.size(Participant.PERSON));
+    }
+
+    @Test
+    void pageReturnsProjectsOfCoordinatingInstitutionAndOfRolesOfParticipantsOnce() {
+        assertArrayEquals(new int[]{1, 0, 2}, index.page(Participant.ORGANIZATION, NTNU, 0, 10).getDocuments());
+        assertArrayEquals(new int[]{1, 3, 0}, index.page(Participant.ORGANIZATION, UIT, 0, 10).getDocuments());
+        assertArrayEquals(new int[]{1}, index.page(Participant.ORGANIZATION, NTNU_UNIT, 0, 10).getDocuments());
+        assertEquals(3, index.size(Participant.ORGANIZATION));
+    }
+
+    @Test
+    void pageReturnsOnlyProjectsOfRequestedPage() {
+        ParticipantIndex.Page secondPage = index.page(Participant.PERSON, PERSON, 2, 2);
+        ParticipantIndex.Page beyondLastPage = index.page(Participant.PERSON, PERSON, 4, 2);
+        ParticipantIndex.Page unknownPerson = index.page(Participant.PERSON, "1", 0, 2);
+
+        assertArrayEquals(new int[]{2}, secondPage.getDocuments());
+        assertEquals(3, secondPage.getTotal());
+        assertArrayEquals(new int[0], beyondLastPage.getDocuments());
+        assertEquals(0, unknownPerson.getTotal());
+    }
+
+    private static CristinProject project(String startDate, String coordinatingInstitutionId,
+                                          CristinPerson... participants) {
+        CristinProject project = new CristinProject();
+        if (startDate != null) {
+            project.setStartDate(Instant.parse(startDate));
+        }
+        if (coordinatingInstitutionId != null) {
+            CristinOrganization coordinatingInstitution = new CristinOrganization();
+            coordinatingInstitution.setInstitution(institution(coordinatingInstitutionId));
+            project.setCoordinatingInstitution(coordinatingInstitution);
+        }
+        project.setParticipants(Arrays.stream(participants).collect(Collectors.toList()));
+        return project;
+    }
+
+    private static CristinPerson person(String id, String institutionId, String unitId) {
+        CristinRole role = new CristinRole();
+        if (institutionId != null) {
+            role.setInstitution(institution(institutionId));
+        }
+        if (unitId != null) {
+            CristinUnit unit = new CristinUnit();
+            unit.setCristinUnitId(unitId);
+            role.setInstitutionUnit(unit);
+        }
+        CristinPerson person = new CristinPerson();
+        person.setCristinPersonId(id);
+        person.setRoles(List.of(role));
+        return person;
+    }
+
+    private static CristinInstitution institution(String id) {
+        CristinInstitution institution = new CristinInstitution();
+        institution.setCristinInstitutionId(id);
+        return institution;
+    }
+}
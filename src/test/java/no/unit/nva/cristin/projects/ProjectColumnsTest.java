@@ -0,0 +1,149 @@
+package no.unit.nva.cristin.projects;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.unit.nva.cristin.projects.ProjectColumns.SortOrder;
+import no.unit.nva.cristin.projects.model.cristin.CristinFundingSource;
+import no.unit.nva.cristin.projects.model.cristin.CristinInstitution;
+import no.unit.nva.cristin.projects.model.cristin.CristinOrganization;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import org.junit.jupiter.api.Test;
+
+public class ProjectColumnsTest {
+
+    private static final String ACTIVE = "ACTIVE";
+    private static final String CONCLUDED = "CONCLUDED";
+    private static final String NTNU = "194";
+    private static final String UIT = "186";
+
+    private final ProjectColumns columns = ProjectColumns.builder()
+        .add(project(NTNU, ACTIVE, "2020-03-01T00:00:00Z", "NFR", "EU", "NFR"))
+        .add(project(UIT, CONCLUDED, "2015-01-01T00:00:00Z", "NFR"))
+        .add(project(NTNU, ACTIVE, "2020-12-31T23:00:00Z"))
+        .add(new CristinProject())
+        .build();
+
+    @Test
+    void facetsCountValuesOfDocumentsInResultSetMostFrequentFirst() {
+        Map<String, List<FacetCount>> facets = columns.facets(new int[]{0, 1, 2, 3});
+
+        assertEquals(List.of(ProjectColumns.INSTITUTION, ProjectColumns.FUNDING_SOURCE, ProjectColumns.STATUS,
+            ProjectColumns.START_YEAR), List.copyOf(facets.keySet()));
+        assertEquals(List.of(NTNU + "=2", UIT + "=1"), values(facets.get(ProjectColumns.INSTITUTION)));
+        assertEquals(List.of("NFR=2", "EU=1"), values(facets.get(ProjectColumns.FUNDING_SOURCE)));
+        assertEquals(List.of(ACTIVE + "=2", CONCLUDED + "=1"), values(facets.get(ProjectColumns.STATUS)));
+        assertEquals(List.of("2020=2", "2015=1"), values(facets.get(ProjectColumns.START_YEAR)));
+        assertEquals(4, columns.size());
+    }
+
+    @Test
+    void facetsOnlyCountDocumentsInResultSet() {
+        Map<String, List<FacetCount>> facets = columns.facets(new int[]{1});
+
+        assertEquals(List.of(UIT + "=1"), values(facets.get(ProjectColumns.INSTITUTION)));
+        assertEquals(List.of("NFR=1"), values(facets.get(ProjectColumns.FUNDING_SOURCE)));
+        assertTrue(columns.facets(new int[0]).values().stream().allMatch(List::isEmpty));
+    }
+
+    @Test
+    void facetsKeepMostFrequentValuesWhenThereAreMoreThanMaximum() {
+        ProjectColumns.Builder builder = ProjectColumns.builder();
+        int numberOfInstitutions = ProjectColumns.MAX_FACET_VALUES + 5;
+        IntStream.range(0, numberOfInstitutions)
+            .forEach(i -> IntStream.rangeClosed(0, i)
+                .forEach(copy -> builder.add(project(String.valueOf(i), ACTIVE, "2021-01-01T00:00:00Z"))));
+        ProjectColumns manyInstitutions = builder.build();
+        int[] allDocuments = IntStream.range(0, manyInstitutions.size()).toArray();
+
+        List<FacetCount> institutions = manyInstitutions.facets(allDocuments).get(ProjectColumns.INSTITUTION);
+
+        assertEquals(ProjectColumns.MAX_FACET_VALUES, institutions.size());
+        assertEquals(String.valueOf(numberOfInstitutions - 1), institutions.get(0).getValue());
+        assertEquals(numberOfInstitutions, institutions.get(0).getCount());
+        assertEquals(allDocuments.length, manyInstitutions.facets(allDocuments).get(ProjectColumns.STATUS).get(0)
+            .getCount());
+    }
+
+    @Test
+    void filterKeepsDocumentsWithStatusStartingWithinDateRangeInOrderGiven() {
+        int[] allDocuments = {3, 2, 1, 0};
+
+        assertArrayEquals(new int[]{2, 0}, columns.filter(allDocuments, LocalDate.parse("2020-01-01"), null, null));
+        assertArrayEquals(new int[]{1}, columns.filter(allDocuments, null, LocalDate.parse("2019-12-31"), null));
+        assertArrayEquals(new int[]{0}, columns.filter(allDocuments, LocalDate.parse("2020-03-01"),
+            LocalDate.parse("2020-03-01"), ACTIVE));
+        assertArrayEquals(new int[]{1}, columns.filter(allDocuments, null, null, CONCLUDED));
+        assertArrayEquals(new int[0], columns.filter(allDocuments, null, null, "NOT_STARTED"));
+        assertArrayEquals(allDocuments, columns.filter(allDocuments, null, null, null));
+    }
+
+    @Test
+    void topSelectsFirstDocumentsInSortOrderWithDocumentsWithoutDateLast() {
+        int[] allDocuments = {0, 1, 2, 3};
+
+        assertArrayEquals(new int[]{2, 0, 1, 3}, columns.top(allDocuments, SortOrder.START_DATE_DESCENDING, 4));
+        assertArrayEquals(new int[]{1, 0}, columns.top(allDocuments, SortOrder.START_DATE, 2));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, columns.top(allDocuments, SortOrder.END_DATE, 10));
+        assertArrayEquals(new int[0], columns.top(allDocuments, SortOrder.START_DATE, 0));
+    }
+
+    @Test
+    void topSelectsSameDocumentsAsFullSortKeepingOrderOfTies() {
+        Random random = new Random(42);
+        ProjectColumns.Builder builder = ProjectColumns.builder();
+        int numberOfProjects = 5000;
+        int[] startDays = new int[numberOfProjects];
+        for (int i = 0; i < numberOfProjects; i++) {
+            startDays[i] = random.nextInt(1000);
+            builder.add(project(NTNU, ACTIVE, LocalDate.ofEpochDay(startDays[i]) + "T12:00:00Z"));
+        }
+        ProjectColumns manyProjects = builder.build();
+        int[] relevanceOrder = IntStream.range(0, numberOfProjects).map(i -> numberOfProjects - 1 - i).toArray();
+
+        int[] expected = Arrays.stream(relevanceOrder).boxed()
+            .sorted(Comparator.comparingInt((Integer document) -> startDays[document]).reversed())
+            .limit(100)
+            .mapToInt(Integer::intValue)
+            .toArray();
+
+        assertArrayEquals(expected, manyProjects.top(relevanceOrder, SortOrder.START_DATE_DESCENDING, 100));
+    }
+
+    @Test
+    void sortOrderIsFoundFromParameterValue() {
+        assertEquals(SortOrder.END_DATE_DESCENDING, SortOrder.fromParameterValue("-endDate").orElseThrow());
+        assertTrue(SortOrder.fromParameterValue("title").isEmpty());
+    }
+
+    private static List<String> values(List<FacetCount> facet) {
+        return facet.stream().map(count -> count.getValue() + "=" + count.getCount()).collect(Collectors.toList());
+    }
+
+    private static CristinProject project(String institutionId, String status, String startDate,
+                                          String... fundingSourceCodes) {
+        CristinInstitution institution = new CristinInstitution();
+        institution.setCristinInstitutionId(institutionId);
+        CristinOrganization coordinatingInstitution = new CristinOrganization();
+        coordinatingInstitution.setInstitution(institution);
+        CristinProject project = new CristinProject();
+        project.setCoordinatingInstitution(coordinatingInstitution);
+        project.setStatus(status);
+        project.setStartDate(Instant.parse(startDate));
+        project.setProjectFundingSources(Arrays.stream(fundingSourceCodes).map(code -> {
+            CristinFundingSource fundingSource = new CristinFundingSource();
+            fundingSource.setFundingSourceCode(code);
+            return fundingSource;
+        }).collect(Collectors.toList()));
+        return project;
+    }
+}
@@ -0,0 +1,282 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.OBJECT_MAPPER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.apigateway.exceptions.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ProjectHarvesterTest {
+
+    private static final String LANGUAGE = Constants.CRISTIN_HARVEST_LANGUAGE;
+    private static final String OTHER_LANGUAGE = "en";
+    private static final int PAGE_SIZE = 2;
+    private static final List<String> IDS = List.of("101", "102", "103");
+    private static final String FIRST_MODIFIED = "2021-01-01T00:00:00.000Z";
+    private static final String SECOND_MODIFIED = "2021-02-01T00:00:00.000Z";
+    private static final String LAST_PAGE = "2";
+
+    private final List<URI> requestedUris = new CopyOnWriteArrayList<>();
+    private Path storePath;
+    private SegmentLogProjectStore projectStore;
+    private Path checkpointPath;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storePath = Files.createTempDirectory("store");
+        projectStore = new SegmentLogProjectStore(storePath);
+        checkpointPath = storePath.resolve(ProjectHarvester.CHECKPOINT_FILE);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        projectStore.close();
+        try (Stream<Path> files = Files.walk(storePath)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void harvestFetchesAndStoresAllProjectsOfAllPages() throws Exception {
+        ProjectHarvester.Result result = harvester(cristin(FIRST_MODIFIED)).harvest();
+
+        assertEquals(2, result.getPages());
+        assertEquals(IDS.size(), result.getFetched());
+        for (String id : IDS) {
+            assertEquals(id, projectStore.getProject(id).orElseThrow().getCristinProjectId());
+        }
+        HarvestCheckpoint checkpoint = HarvestCheckpoint.load(checkpointPath);
+        assertEquals(HarvestCheckpoint.FIRST_PAGE, checkpoint.getNextPage());
+        assertEquals(1, checkpoint.getCompletedHarvests());
+    }
+
+    @Test
+    void laterHarvestFetchesOnlyProjectsWithChangedLastModified() throws Exception {
+        harvester(cristin(FIRST_MODIFIED)).harvest();
+        requestedUris.clear();
+
+        ProjectHarvester.Result unchanged = harvester(cristin(FIRST_MODIFIED)).harvest();
+        ProjectHarvester.Result changed = harvester(cristin(SECOND_MODIFIED)).harvest();
+
+        assertEquals(0, unchanged.getFetched());
+        assertEquals(IDS.size(), unchanged.getUnchanged());
+        assertEquals(IDS.size(), changed.getFetched());
+        assertEquals(Map.of("date", SECOND_MODIFIED), projectStore.getProject(IDS.get(0)).orElseThrow()
+            .getLastModified());
+    }
+
+    @Test
+    void harvestThroughWholeListingRemovesStoredProjectsNoLongerInCristin() throws Exception {
+        harvester(cristin(FIRST_MODIFIED)).harvest();
+
+        ProjectHarvester.Result result = harvester(cristin(FIRST_MODIFIED, IDS.subList(0, PAGE_SIZE))).harvest();
+
+        assertEquals(1, result.getRemoved());
+        assertEquals(Set.copyOf(IDS.subList(0, PAGE_SIZE)), projectStore.projectIds());
+        assertTrue(projectStore.getProject(IDS.get(PAGE_SIZE)).isEmpty());
+    }
+
+    @Test
+    void resumedHarvestDoesNotRemoveProjectsListedOnPagesItDidNotSee() throws Exception {
+        harvester(cristin(FIRST_MODIFIED)).harvest();
+        HarvestCheckpoint checkpoint = HarvestCheckpoint.load(checkpointPath);
+        checkpoint.setNextPage(2);
+        checkpoint.save(checkpointPath);
+
+        ProjectHarvester.Result result = harvester(cristin(FIRST_MODIFIED)).harvest();
+
+        assertEquals(0, result.getRemoved());
+        assertEquals(Set.copyOf(IDS), projectStore.projectIds());
+    }
+
+    @Test
+    void interruptedHarvestResumesOnPageItFailedOn() throws Exception {
+        CristinTransport cristin = cristin(FIRST_MODIFIED);
+        CristinTransport failingOnLastPage = uri -> isListingPage(uri, LAST_PAGE)
+            ? CompletableFuture.completedFuture(
+                TransportResponse.of(uri, HttpURLConnection.HTTP_NOT_FOUND, Map.of(), ""))
+            : cristin.sendAsync(uri);
+
+        assertThrows(NotFoundException.class, () -> harvester(failingOnLastPage).harvest());
+        assertEquals(2, HarvestCheckpoint.load(checkpointPath).getNextPage());
+        requestedUris.clear();
+        ProjectHarvester.Result result = harvester(cristin).harvest();
+
+        assertEquals(1, result.getPages());
+        assertTrue(requestedUris.stream().noneMatch(uri -> isListingPage(uri, "1")));
+    }
+
+    @Test
+    void clientReadsProjectFromStoreBeforeCallingCristin() throws Exception {
+        harvester(cristin(FIRST_MODIFIED)).harvest();
+        CristinApiClient client = storeFirstClient();
+
+        CristinProject project = client.getProject(IDS.get(0), LANGUAGE);
+
+        assertEquals(IDS.get(0), project.getCristinProjectId());
+        assertThrows(NotFoundException.class, () -> client.getProject(IDS.get(0), OTHER_LANGUAGE));
+        assertThrows(NotFoundException.class, () -> client.getProject("999", LANGUAGE));
+    }
+
+    @Test
+    void clientAnswersFromSnapshotWhenNotReadingStoreFirst() throws Exception {
+        harvester(cristin(FIRST_MODIFIED)).harvest();
+        CristinApiClient client = new CristinApiClient(RetryPolicy.defaultPolicy(), RequestHedger.defaultHedger(),
+            CircuitBreaker.defaultBreaker(), ConcurrencyLimiter.defaultLimiter(),
+            new ReplayCristinTransport(List.of(), false), projectStore, false);
+
+        assertThrows(NotFoundException.class, () -> client.getProject(IDS.get(0), LANGUAGE));
+        assertTrue(client.queryOneCristinProjectFromSnapshot(IDS.get(0), OTHER_LANGUAGE)
+            .orElseThrow().getId().getPath().endsWith("/" + IDS.get(0)));
+        assertTrue(client.queryOneCristinProjectFromSnapshot("999", LANGUAGE).isEmpty());
+        assertTrue(client.snapshotAge().orElseThrow().compareTo(Duration.ofMinutes(1)) < 0);
+    }
+
+    @Test
+    void clientSearchesTitleIndexOfStoreBeforeCallingCristin() throws Exception {
+        harvester(cristin(FIRST_MODIFIED)).harvest();
+        CristinApiClient client = storeFirstClient();
+        client.refreshStoreIndexes();
+
+        ProjectsWrapper firstPage = client.queryCristinProjectsIntoWrapperObjectWithAdditionalMetadata(
+            searchParams("PROJECT", "1"));
+        ProjectsWrapper secondPage = client.queryCristinProjectsFromSnapshot(searchParams("project", "2"))
+            .orElseThrow();
+        ProjectsWrapper oneHit = client.queryCristinProjectsFromSnapshot(searchParams("103+project", "1"))
+            .orElseThrow();
+
+        assertEquals(IDS.size(), firstPage.getSize());
+        assertEquals(PAGE_SIZE, firstPage.getHits().size());
+        assertEquals(1, secondPage.getHits().size());
+        assertEquals(1, oneHit.getSize());
+        assertTrue(firstPage.getFacets().get(ProjectColumns.STATUS).isEmpty());
+        assertThrows(BadRequestException.class,
+            () -> client.queryCristinProjectsFromSnapshot(searchParams("unknown", "2")));
+        assertTrue(new CristinApiClient(new ReplayCristinTransport(List.of(), false), ProjectStore.empty())
+            .queryCristinProjectsFromSnapshot(searchParams("project", "1")).isEmpty());
+    }
+
+    @Test
+    void clientSwapsInNewIndexesOnlyWhenStoreHasBeenHarvestedAgain() throws Exception {
+        harvester(cristin(FIRST_MODIFIED)).harvest();
+        CristinApiClient client = storeFirstClient();
+        assertTrue(client.queryCristinProjectsFromSnapshot(searchParams("project", "1")).isEmpty());
+        assertTrue(client.refreshStoreIndexes());
+        assertFalse(client.refreshStoreIndexes());
+
+        harvester(cristin(FIRST_MODIFIED, IDS.subList(0, PAGE_SIZE))).harvest();
+        long sizeBeforeRefresh = client.queryCristinProjectsFromSnapshot(searchParams("project", "1"))
+            .orElseThrow().getSize();
+        assertTrue(client.refreshStoreIndexesAsync().get());
+
+        assertEquals(IDS.size(), sizeBeforeRefresh);
+        assertEquals(PAGE_SIZE, client.queryCristinProjectsFromSnapshot(searchParams("project", "1"))
+            .orElseThrow().getSize());
+        assertEquals(PAGE_SIZE, client.suggestProjectTitles("project", IDS.size()).getHits().size());
+    }
+
+    @Test
+    void emptyStoreNeverHasProjects() throws IOException {
+        ProjectStore.empty().putProject(project(IDS.get(0), FIRST_MODIFIED));
+
+        assertTrue(ProjectStore.empty().getProject(IDS.get(0)).isEmpty());
+        assertTrue(ProjectStore.empty().projectIds().isEmpty());
+        assertTrue(ProjectStore.empty().snapshotTime().isEmpty());
+        assertEquals(ProjectStore.empty(), ProjectStore.defaultStore());
+    }
+
+    private static Map<String, String> searchParams(String query, String page) {
+        return Map.of(Constants.QUERY, query, Constants.LANGUAGE, LANGUAGE, Constants.PAGE, page,
+            Constants.NUMBER_OF_RESULTS, String.valueOf(PAGE_SIZE));
+    }
+
+    private CristinApiClient storeFirstClient() {
+        return new CristinApiClient(RetryPolicy.defaultPolicy(), RequestHedger.defaultHedger(),
+            CircuitBreaker.defaultBreaker(), ConcurrencyLimiter.defaultLimiter(),
+            new ReplayCristinTransport(List.of(), false), projectStore, true);
+    }
+
+    private ProjectHarvester harvester(CristinTransport cristin) {
+        CristinTransport recording = new RecordingCristinTransport(cristin,
+            exchange -> requestedUris.add(exchange.getUri()));
+        return new ProjectHarvester(new CristinApiClient(recording, ProjectStore.empty()), projectStore,
+            checkpointPath, LANGUAGE, PAGE_SIZE);
+    }
+
+    private CristinTransport cristin(String lastModified) throws URISyntaxException, JsonProcessingException {
+        return cristin(lastModified, IDS);
+    }
+
+    private CristinTransport cristin(String lastModified, List<String> ids)
+        throws URISyntaxException, JsonProcessingException {
+
+        List<RecordedExchange> exchanges = new ArrayList<>();
+        List<CristinProject> projects = ids.stream()
+            .map(id -> project(id, lastModified))
+            .collect(Collectors.toList());
+        for (int page = 1; page <= 2; page++) {
+            int from = (page - 1) * PAGE_SIZE;
+            List<CristinProject> hits = projects.subList(from, Math.min(from + PAGE_SIZE, projects.size()));
+            exchanges.add(exchange(listingUri(page), OBJECT_MAPPER.writeValueAsString(hits)));
+        }
+        for (CristinProject project : projects) {
+            exchanges.add(exchange(CristinQuery.fromIdAndLanguage(project.getCristinProjectId(), LANGUAGE),
+                OBJECT_MAPPER.writeValueAsString(project)));
+        }
+        return new ReplayCristinTransport(exchanges, false);
+    }
+
+    private static URI listingUri(int page) throws URISyntaxException {
+        return new CristinQuery()
+            .withLanguage(LANGUAGE)
+            .withFromPage(String.valueOf(page))
+            .withItemsPerPage(String.valueOf(PAGE_SIZE))
+            .toURI();
+    }
+
+    private static boolean isListingPage(URI uri, String page) {
+        try {
+            return uri.equals(listingUri(Integer.parseInt(page)));
+        } catch (URISyntaxException e) {
+            return false;
+        }
+    }
+
+    private static RecordedExchange exchange(URI uri, String body) {
+        return new RecordedExchange(uri, TransportResponse.of(uri, HttpURLConnection.HTTP_OK, Map.of(), body),
+            Duration.ZERO);
+    }
+
+    private static CristinProject project(String id, String lastModified) {
+        CristinProject project = new CristinProject();
+        project.setCristinProjectId(id);
+        project.setTitle(Map.of(OTHER_LANGUAGE, "Project " + id));
+        project.setLastModified(Map.of("date", lastModified));
+        return project;
+    }
+}
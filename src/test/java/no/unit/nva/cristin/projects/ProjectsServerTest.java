@@ -0,0 +1,196 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_INVALID_PATH_PARAMETER_FOR_ID;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_INVALID_PATH_PARAMETER_FOR_ORGANIZATION_ID;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_PARTICIPANT_PROJECTS_NOT_AVAILABLE;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_SERVER_ERROR;
+import static no.unit.nva.cristin.projects.ErrorMessages.ERROR_MESSAGE_SUGGESTIONS_NOT_AVAILABLE;
+import static nva.commons.apigateway.ContentTypes.APPLICATION_JSON;
+import static nva.commons.apigateway.ContentTypes.APPLICATION_JSON_LD;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.unit.nva.cristin.projects.model.nva.NvaProject;
+import nva.commons.apigateway.HttpHeaders;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.core.Environment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ProjectsServerTest {
+
+    private static final int NUMBER_OF_THREADS = 4;
+    private static final int NUMBER_OF_REQUESTS = 200;
+    private static final String SEARCH_PATH = "/project?query=reindeer&language=nb";
+    private static final String LOOKUP_PATH = "/project/9999";
+    private static final String SUGGEST_PATH = "/project/suggest?query=rein";
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private ProjectsServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = startServer(new CristinApiClientStub());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void healthEndpointReturnsOk() throws Exception {
+        HttpResponse<String> response = get(ProjectsServer.HEALTH_PATH, APPLICATION_JSON);
+
+        assertEquals(HttpURLConnection.HTTP_OK, response.statusCode());
+        assertThat(response.body(), containsString("UP"));
+    }
+
+    @Test
+    void metricsEndpointReturnsUpstreamMetrics() throws Exception {
+        UpstreamMetrics.defaultMetrics().increment(RequestHedger.HEDGING_REQUESTS);
+
+        HttpResponse<String> response = get(ProjectsServer.METRICS_PATH, APPLICATION_JSON);
+
+        assertEquals(HttpURLConnection.HTTP_OK, response.statusCode());
+        assertThat(response.body(), containsString(RequestHedger.HEDGING_REQUESTS));
+    }
+
+    @Test
+    void searchPathReturnsProjectsFromHandler() throws Exception {
+        HttpResponse<String> response = get(SEARCH_PATH, APPLICATION_JSON);
+
+        assertEquals(HttpURLConnection.HTTP_OK, response.statusCode());
+        JsonNode body = Constants.OBJECT_MAPPER.readTree(response.body());
+        assertFalse(body.get(JsonPropertyNames.HITS).isEmpty());
+        assertEquals(APPLICATION_JSON, response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElseThrow());
+    }
+
+    @Test
+    void lookupPathReturnsProjectWithNegotiatedContentType() throws Exception {
+        HttpResponse<String> response = get(LOOKUP_PATH, APPLICATION_JSON_LD);
+
+        assertEquals(HttpURLConnection.HTTP_OK, response.statusCode());
+        assertEquals(APPLICATION_JSON_LD, response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElseThrow());
+        assertThat(response.body(), containsString("\"type\":\"Project\""));
+    }
+
+    @Test
+    void lookupPathReturnsProblemWithStatusFromHandlerWhenIdIsInvalid() throws Exception {
+        HttpResponse<String> response = get("/project/abc", APPLICATION_JSON);
+
+        assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, response.statusCode());
+        assertEquals(ProjectsServer.APPLICATION_PROBLEM_JSON,
+            response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElseThrow());
+        assertThat(response.body(), containsString(ERROR_MESSAGE_INVALID_PATH_PARAMETER_FOR_ID));
+    }
+
+    @Test
+    void suggestPathReturnsServiceUnavailableFromHandlerWithoutLocalProjectIndex() throws Exception {
+        HttpResponse<String> response = get(SUGGEST_PATH, APPLICATION_JSON);
+
+        assertEquals(HttpURLConnection.HTTP_UNAVAILABLE, response.statusCode());
+        assertThat(response.body(), containsString(ERROR_MESSAGE_SUGGESTIONS_NOT_AVAILABLE));
+        assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, get(SUGGEST_PATH + "&results=11", APPLICATION_JSON)
+            .statusCode());
+    }
+
+    @Test
+    void participantPathsReturnProjectsOfParticipantFromHandlers() throws Exception {
+        HttpResponse<String> personProjects = get("/project/person/12345", APPLICATION_JSON);
+        HttpResponse<String> invalidOrganization = get("/project/organization/194-63", APPLICATION_JSON);
+
+        assertEquals(HttpURLConnection.HTTP_UNAVAILABLE, personProjects.statusCode());
+        assertThat(personProjects.body(), containsString(ERROR_MESSAGE_PARTICIPANT_PROJECTS_NOT_AVAILABLE));
+        assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, invalidOrganization.statusCode());
+        assertThat(invalidOrganization.body(),
+            containsString(ERROR_MESSAGE_INVALID_PATH_PARAMETER_FOR_ORGANIZATION_ID));
+        assertEquals(HttpURLConnection.HTTP_BAD_REQUEST,
+            get("/project/person/1?query=reindeer", APPLICATION_JSON).statusCode());
+        assertEquals(HttpURLConnection.HTTP_NOT_FOUND, get("/project/person/1/2", APPLICATION_JSON).statusCode());
+    }
+
+    @Test
+    void unknownPathsReturnNotFound() throws Exception {
+        for (String path : List.of("/unknown", "/projects", "/project/123/contributors")) {
+            assertEquals(HttpURLConnection.HTTP_NOT_FOUND, get(path, APPLICATION_JSON).statusCode());
+        }
+    }
+
+    @Test
+    void otherMethodsThanGetAreNotAllowed() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(LOOKUP_PATH))
+            .POST(BodyPublishers.ofString("{}"))
+            .build();
+
+        HttpResponse<String> response = httpClient.send(request, BodyHandlers.ofString());
+
+        assertEquals(HttpURLConnection.HTTP_BAD_METHOD, response.statusCode());
+    }
+
+    @Test
+    void serverReturnsInternalServerErrorWhenHandlerFailsUnexpectedly() throws Exception {
+        server.stop();
+        server = startServer(new CristinApiClientStub() {
+            @Override
+            public NvaProject queryOneCristinProjectUsingIdIntoNvaProject(
+                String id, String language) throws ApiGatewayException {
+                throw new IllegalStateException("Unexpected");
+            }
+        });
+
+        HttpResponse<String> response = get(LOOKUP_PATH, APPLICATION_JSON);
+
+        assertEquals(HttpURLConnection.HTTP_INTERNAL_ERROR, response.statusCode());
+        assertThat(response.body(), containsString(ERROR_MESSAGE_SERVER_ERROR));
+    }
+
+    @Test
+    void serverReturnsContentTypeNegotiatedForEachRequestWhenServingRequestsConcurrently() {
+        List<String> acceptHeaders = List.of(APPLICATION_JSON, APPLICATION_JSON_LD);
+        List<CompletableFuture<Void>> requests = IntStream.range(0, NUMBER_OF_REQUESTS)
+            .mapToObj(i -> acceptHeaders.get(i % acceptHeaders.size()))
+            .map(accept -> httpClient.sendAsync(request(accept), BodyHandlers.ofString())
+                .thenAccept(response -> assertEquals(accept,
+                    response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElseThrow())))
+            .collect(Collectors.toList());
+
+        CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private ProjectsServer startServer(CristinApiClient cristinApiClient) throws IOException {
+        ProjectsServer projectsServer = new ProjectsServer(new InetSocketAddress("localhost", 0), NUMBER_OF_THREADS,
+            cristinApiClient, new Environment());
+        projectsServer.start();
+        return projectsServer;
+    }
+
+    private HttpResponse<String> get(String path, String accept) throws IOException, InterruptedException {
+        return httpClient.send(HttpRequest.newBuilder(uri(path)).header(HttpHeaders.ACCEPT, accept).GET().build(),
+            BodyHandlers.ofString());
+    }
+
+    private HttpRequest request(String accept) {
+        return HttpRequest.newBuilder(uri(LOOKUP_PATH)).header(HttpHeaders.ACCEPT, accept).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+}
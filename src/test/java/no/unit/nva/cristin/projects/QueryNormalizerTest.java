@@ -0,0 +1,42 @@
+package no.unit.nva.cristin.projects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class QueryNormalizerTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Forskning på sjø", "forskning  på sjø ", " FORSKNING\tPÅ+SJØ",
+        "ｆｏｒｓｋｎｉｎｇ på sjø"})
+    void canonicalReturnsSameTextForVariantsOfCaseWhitespaceAndCompatibilityForms(String query) {
+        assertEquals("forskning på sjø", QueryNormalizer.canonical(query));
+    }
+
+    @Test
+    void canonicalFoldsCaseBeyondLowerCasing() {
+        assertEquals("strasse", QueryNormalizer.canonical("STRAßE"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Forskning på sjø", "forskning paa sjo", "FORSKNING PÅ SJÖ"})
+    void foldReturnsSameTextForNorwegianLettersAndTheirAsciiSpellings(String query) {
+        assertEquals("forskning paa sjo", QueryNormalizer.fold(query));
+    }
+
+    @Test
+    void foldStripsAccentsAndFoldsAe() {
+        assertEquals("cafe i vaerdal", QueryNormalizer.fold("Café i Værdal"));
+    }
+
+    @Test
+    void termsSplitsFoldedTextAndOptionallyRemovesStopWords() {
+        String title = "Klima og miljø på Svalbard - the effect of CO2";
+
+        assertEquals(List.of("klima", "og", "miljo", "paa", "svalbard", "the", "effect", "of", "co2"),
+            QueryNormalizer.terms(title, false));
+        assertEquals(List.of("klima", "miljo", "svalbard", "effect", "co2"), QueryNormalizer.terms(title, true));
+    }
+}
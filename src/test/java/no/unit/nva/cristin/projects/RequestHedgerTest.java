@@ -0,0 +1,198 @@
+package no.unit.nva.cristin.projects;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class RequestHedgerTest {
+
+    private static final Duration FAST = Duration.ofMillis(5);
+    private static final Duration SLOW_TAIL = Duration.ofSeconds(2);
+    private static final Duration MINIMUM_DELAY = Duration.ofMillis(1);
+    private static final int WINDOW_SIZE = 100;
+    private static final int MINIMUM_SAMPLES = 10;
+    private static final double PERCENTILE = 0.95;
+    private static final double BUDGET_RATIO = 0.05;
+    private static final int BUDGET_MAXIMUM_HEDGES = 5;
+    private static final int NUMBER_OF_REQUESTS = 200;
+    private static final int SLOW_EVERY_NTH_REQUEST = 10;
+    private static final String RESPONSE = "response";
+
+    private final UpstreamMetrics metrics = new UpstreamMetrics();
+    private final LatencyTracker latencyTracker = new LatencyTracker(WINDOW_SIZE, PERCENTILE, MINIMUM_SAMPLES);
+    private final SlowTailUpstream upstream = new SlowTailUpstream();
+
+    @Test
+    void hedgeSendsRequestOnceWhenDisabled() {
+        primeLatencies();
+        RequestHedger hedger = new RequestHedger(false, latencyTracker, MINIMUM_DELAY, fullBudget(), metrics);
+
+        String response = hedger.hedge(() -> upstream.respondAfter(FAST)).join();
+
+        assertEquals(RESPONSE, response);
+        assertEquals(1, upstream.calls.get());
+        assertEquals(0, metrics.count(RequestHedger.HEDGING_REQUESTS));
+    }
+
+    @Test
+    void hedgeDoesNotHedgeBeforeEnoughLatenciesHaveBeenObserved() {
+        RequestHedger hedger = hedger(fullBudget());
+
+        hedger.hedge(() -> upstream.respondAfter(Duration.ofMillis(50))).join();
+
+        assertEquals(1, upstream.calls.get());
+        assertEquals(0, metrics.count(RequestHedger.HEDGES_SENT));
+        assertEquals(Duration.ZERO, hedger.hedgingDelay());
+    }
+
+    @Test
+    void hedgeReturnsResponseOfHedgeAndCancelsPrimaryWhenPrimaryIsInSlowTail() {
+        primeLatencies();
+        RequestHedger hedger = hedger(fullBudget());
+        long start = System.nanoTime();
+
+        String response = hedger.hedge(() -> upstream.respondAfter(upstream.calls.get() == 0 ? SLOW_TAIL : FAST))
+            .join();
+
+        assertEquals(RESPONSE, response);
+        assertThat(Duration.ofNanos(System.nanoTime() - start), lessThan(SLOW_TAIL));
+        assertEquals(1, metrics.count(RequestHedger.HEDGES_SENT));
+        assertEquals(1, metrics.count(RequestHedger.HEDGE_WINS));
+        assertTrue(upstream.responses.get(0).isCancelled());
+    }
+
+    @Test
+    void hedgeCancelsHedgeWhenPrimaryRespondsFirst() {
+        primeLatencies();
+        RequestHedger hedger = hedger(fullBudget());
+
+        hedger.hedge(() -> upstream.respondAfter(upstream.calls.get() == 0 ? Duration.ofMillis(100) : SLOW_TAIL))
+            .join();
+
+        assertEquals(2, upstream.calls.get());
+        assertEquals(0, metrics.count(RequestHedger.HEDGE_WINS));
+        assertTrue(upstream.responses.get(1).isCancelled());
+    }
+
+    @Test
+    void hedgeReturnsResponseOfHedgeWhenPrimaryFailsAfterHedgeWasSent() {
+        primeLatencies();
+        RequestHedger hedger = hedger(fullBudget());
+
+        String response = hedger.hedge(() -> upstream.calls.get() == 0
+            ? upstream.failAfter(Duration.ofMillis(50))
+            : upstream.respondAfter(Duration.ofMillis(100))).join();
+
+        assertEquals(RESPONSE, response);
+        assertEquals(1, metrics.count(RequestHedger.HEDGE_WINS));
+    }
+
+    @Test
+    void hedgeFailsWhenAllRequestsFail() {
+        primeLatencies();
+        RequestHedger hedger = hedger(fullBudget());
+
+        CompletableFuture<String> response = hedger.hedge(() -> upstream.failAfter(Duration.ofMillis(50)));
+
+        CompletionException exception = assertThrows(CompletionException.class, response::join);
+        assertTrue(exception.getCause() instanceof IOException);
+        assertEquals(2, upstream.calls.get());
+    }
+
+    @Test
+    void hedgeFailsWithoutHedgingWhenPrimaryFailsBeforeHedgingDelay() {
+        primeLatencies();
+        RequestHedger hedger = hedger(fullBudget());
+
+        CompletableFuture<String> response = hedger.hedge(() -> upstream.failAfter(Duration.ZERO));
+
+        assertThrows(CompletionException.class, response::join);
+        assertEquals(1, upstream.calls.get());
+    }
+
+    @Test
+    void hedgeCutsSlowTailWhileKeepingHedgesWithinBudget() {
+        primeLatencies();
+        RequestHedger hedger = hedger(new RetryBudget(BUDGET_RATIO, BUDGET_MAXIMUM_HEDGES));
+        AtomicInteger requestNumber = new AtomicInteger();
+
+        List<CompletableFuture<String>> responses = IntStream.range(0, NUMBER_OF_REQUESTS)
+            .mapToObj(i -> hedger.hedge(() -> upstream.respondAfter(
+                requestNumber.incrementAndGet() % SLOW_EVERY_NTH_REQUEST == 0 ? SLOW_TAIL : FAST)))
+            .collect(Collectors.toList());
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+
+        long hedgesSent = metrics.count(RequestHedger.HEDGES_SENT);
+        long hedgesAllowed = Math.round(NUMBER_OF_REQUESTS * BUDGET_RATIO) + BUDGET_MAXIMUM_HEDGES;
+        assertThat(hedgesSent, greaterThan(0L));
+        assertThat(hedgesSent, lessThanOrEqualTo(hedgesAllowed));
+        assertThat(metrics.count(RequestHedger.HEDGE_WINS), greaterThan(0L));
+        assertEquals(NUMBER_OF_REQUESTS, metrics.count(RequestHedger.HEDGING_REQUESTS));
+    }
+
+    @Test
+    void hedgingDelayIsNeverShorterThanMinimumDelay() {
+        primeLatencies();
+        Duration minimumDelay = Duration.ofSeconds(1);
+
+        RequestHedger hedger = new RequestHedger(true, latencyTracker, minimumDelay, fullBudget(), metrics);
+
+        assertEquals(minimumDelay, hedger.hedgingDelay());
+        assertEquals(minimumDelay.toMillis(), metrics.snapshot().get(RequestHedger.HEDGING_DELAY_MILLIS));
+    }
+
+    private RequestHedger hedger(RetryBudget hedgeBudget) {
+        return new RequestHedger(true, latencyTracker, MINIMUM_DELAY, hedgeBudget, metrics);
+    }
+
+    private RetryBudget fullBudget() {
+        return new RetryBudget(1, NUMBER_OF_REQUESTS);
+    }
+
+    private void primeLatencies() {
+        IntStream.range(0, WINDOW_SIZE).forEach(i -> latencyTracker.record(Duration.ofMillis(10)));
+    }
+
+    /**
+     * Stand-in for Cristin answering after a chosen delay, so tests can inject slow tails.
+     */
+    private static class SlowTailUpstream {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final List<CompletableFuture<String>> responses = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<String> respondAfter(Duration delay) {
+            CompletableFuture<String> response = CompletableFuture.supplyAsync(() -> RESPONSE,
+                CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS));
+            return register(response);
+        }
+
+        CompletableFuture<String> failAfter(Duration delay) {
+            CompletableFuture<String> response = new CompletableFuture<>();
+            CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS)
+                .execute(() -> response.completeExceptionally(new IOException("Connection reset")));
+            return register(response);
+        }
+
+        private CompletableFuture<String> register(CompletableFuture<String> response) {
+            calls.incrementAndGet();
+            responses.add(response);
+            return response;
+        }
+    }
+}
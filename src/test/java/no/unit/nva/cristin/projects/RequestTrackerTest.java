@@ -0,0 +1,72 @@
+package no.unit.nva.cristin.projects;
+
+import static no.unit.nva.cristin.projects.Constants.ID;
+import static no.unit.nva.cristin.projects.Constants.LANGUAGE;
+import static no.unit.nva.cristin.projects.Constants.QUERY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import no.unit.nva.cristin.projects.RequestTracker.TrackedRequest;
+import org.junit.jupiter.api.Test;
+
+public class RequestTrackerTest {
+
+    private static final Map<String, String> NO_PARAMETERS = Map.of();
+
+    @Test
+    void mostRequestedReturnsRequestsOrderedByCountLimitedToRequestedNumber() {
+        RequestTracker tracker = new RequestTracker(10);
+        recordLookup(tracker, "1", 1);
+        recordLookup(tracker, "2", 3);
+        recordLookup(tracker, "3", 2);
+
+        assertEquals(List.of("2", "3"), lookupIds(tracker.mostRequested(2)));
+    }
+
+    @Test
+    void recordTreatsRequestsWithSameParametersAsSameRequest() {
+        RequestTracker tracker = new RequestTracker(10);
+        tracker.record(NO_PARAMETERS, Map.of(QUERY, "reindeer", LANGUAGE, "nb"));
+        tracker.record(NO_PARAMETERS, Map.of(LANGUAGE, "nb", QUERY, "reindeer"));
+
+        assertEquals(1, tracker.size());
+        assertEquals(Map.of(QUERY, "reindeer", LANGUAGE, "nb"), tracker.mostRequested(1).get(0).getQueryParameters());
+    }
+
+    @Test
+    void recordIgnoresNewRequestsWhenFullButKeepsCountingTrackedRequests() {
+        RequestTracker tracker = new RequestTracker(2);
+        recordLookup(tracker, "1", 1);
+        recordLookup(tracker, "2", 1);
+        recordLookup(tracker, "3", 5);
+        recordLookup(tracker, "1", 1);
+
+        assertEquals(2, tracker.size());
+        assertEquals(List.of("1", "2"), lookupIds(tracker.mostRequested(3)));
+    }
+
+    @Test
+    void decayHalvesCountsAndDropsRequestsReachingZero() {
+        RequestTracker tracker = new RequestTracker(2);
+        recordLookup(tracker, "1", 1);
+        recordLookup(tracker, "2", 4);
+
+        tracker.decay();
+        recordLookup(tracker, "3", 3);
+
+        assertEquals(List.of("3", "2"), lookupIds(tracker.mostRequested(2)));
+    }
+
+    private static void recordLookup(RequestTracker tracker, String id, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(Map.of(ID, id), NO_PARAMETERS);
+        }
+    }
+
+    private static List<String> lookupIds(List<TrackedRequest> requests) {
+        return requests.stream()
+            .map(request -> request.getPathParameters().get(ID))
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,168 @@
+package no.unit.nva.cristin.projects;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class RetryPolicyTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration ONE_MILLISECOND = Duration.ofMillis(1);
+    private static final Duration ONE_MINUTE = Duration.ofMinutes(1);
+    private static final String RETRYABLE = "retryable";
+    private static final String SUCCESS = "success";
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void executeReturnsResultWithoutRetryingWhenResultIsNotRetryable() {
+        String result = policy(fullBudget()).execute(() -> count(SUCCESS), RETRYABLE::equals);
+
+        assertEquals(SUCCESS, result);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void executeRetriesRetryableResultsUntilMaxAttemptsAndReturnsLastResult() {
+        String result = policy(fullBudget()).execute(() -> count(RETRYABLE), RETRYABLE::equals);
+
+        assertEquals(RETRYABLE, result);
+        assertEquals(MAX_ATTEMPTS, calls.get());
+    }
+
+    @Test
+    void executeRetriesFailuresCausedByIoExceptionAndReturnsFirstSuccessfulResult() {
+        String result = policy(fullBudget()).execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new UncheckedIOException(new HttpTimeoutException("Timed out"));
+            }
+            return SUCCESS;
+        }, RETRYABLE::equals);
+
+        assertEquals(SUCCESS, result);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void executeThrowsWithoutRetryingWhenFailureIsNotCausedByIoException() {
+        RetryPolicy policy = policy(fullBudget());
+
+        assertThrows(IllegalStateException.class, () -> policy.execute(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException();
+        }, RETRYABLE::equals));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void executeDoesNotRetryWhenRetryWouldStartAfterDeadline() {
+        RetryPolicy policy = new RetryPolicy(MAX_ATTEMPTS, ONE_MINUTE, ONE_MINUTE, ONE_MILLISECOND, fullBudget());
+
+        policy.execute(() -> count(RETRYABLE), RETRYABLE::equals);
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void executeStopsRetryingWhenRetryBudgetIsSpent() {
+        RetryPolicy policy = policy(new RetryBudget(0, 1));
+
+        policy.execute(() -> count(RETRYABLE), RETRYABLE::equals);
+        policy.execute(() -> count(RETRYABLE), RETRYABLE::equals);
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void executeAsyncRetriesFailedFuturesCausedByIoException() {
+        String result = policy(fullBudget()).executeAsync(() -> calls.incrementAndGet() < MAX_ATTEMPTS
+            ? CompletableFuture.failedFuture(new IOException("Connection reset"))
+            : CompletableFuture.completedFuture(SUCCESS), RETRYABLE::equals).join();
+
+        assertEquals(SUCCESS, result);
+        assertEquals(MAX_ATTEMPTS, calls.get());
+    }
+
+    @Test
+    void executeAsyncCompletesWithLastResultWhenAllAttemptsAreRetryable() {
+        String result = policy(fullBudget())
+            .executeAsync(() -> CompletableFuture.completedFuture(count(RETRYABLE)), RETRYABLE::equals).join();
+
+        assertEquals(RETRYABLE, result);
+        assertEquals(MAX_ATTEMPTS, calls.get());
+    }
+
+    @Test
+    void executeAsyncFailsWithoutRetryingWhenCallThrowsOtherException() {
+        CompletableFuture<String> result = policy(fullBudget()).executeAsync(() -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException();
+        }, RETRYABLE::equals);
+
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertTrue(exception.getCause() instanceof IllegalArgumentException);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void backoffDelayIsBetweenZeroAndCappedExponentialBackoff() {
+        RetryPolicy policy = new RetryPolicy(MAX_ATTEMPTS, Duration.ofMillis(100), Duration.ofMillis(300), ONE_MINUTE,
+            fullBudget());
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(policy.backoffDelay(1), lessThanOrEqualTo(Duration.ofMillis(100)));
+            assertThat(policy.backoffDelay(2), lessThanOrEqualTo(Duration.ofMillis(200)));
+            assertThat(policy.backoffDelay(40), lessThanOrEqualTo(Duration.ofMillis(300)));
+            assertThat(policy.backoffDelay(40), greaterThanOrEqualTo(Duration.ZERO));
+        }
+    }
+
+    @Test
+    void retryBudgetAllowsRetryRatioOfRequestsOnceInitialRetriesAreSpent() {
+        RetryBudget budget = new RetryBudget(0.1, 1);
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+
+        for (int i = 0; i < 9; i++) {
+            budget.recordRequest();
+        }
+        assertFalse(budget.tryAcquireRetry());
+        budget.recordRequest();
+        assertTrue(budget.tryAcquireRetry());
+    }
+
+    @Test
+    void retryBudgetNeverHoldsMoreThanMaximumRetries() {
+        RetryBudget budget = new RetryBudget(0.5, 2);
+        for (int i = 0; i < 100; i++) {
+            budget.recordRequest();
+        }
+
+        assertEquals(2.0, budget.availableRetries());
+    }
+
+    private String count(String result) {
+        calls.incrementAndGet();
+        return result;
+    }
+
+    private static RetryBudget fullBudget() {
+        return new RetryBudget(0.1, 100);
+    }
+
+    private static RetryPolicy policy(RetryBudget budget) {
+        return new RetryPolicy(MAX_ATTEMPTS, ONE_MILLISECOND, ONE_MILLISECOND, ONE_MINUTE, budget);
+    }
+}
@@ -0,0 +1,208 @@
+package no.unit.nva.cristin.projects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SegmentLogProjectStoreTest {
+
+    private static final long SMALL_SEGMENT_BYTES = 1024;
+    private static final int NUMBER_OF_PROJECTS = 50;
+    private static final String ID = "456789";
+    private static final String FIRST_TITLE = "Reinsdyr på vidda";
+    private static final String SECOND_TITLE = "Reinsdyr i fjellet";
+
+    private Path directory;
+    private SegmentLogProjectStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("segments");
+        store = new SegmentLogProjectStore(directory, SMALL_SEGMENT_BYTES);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void getProjectReturnsLatestVersionOfProject() throws IOException {
+        store.putProject(project(ID, FIRST_TITLE));
+        store.putProject(project(ID, SECOND_TITLE));
+
+        assertEquals(SECOND_TITLE, title(store.getProject(ID).orElseThrow()));
+        assertTrue(store.getProject("123").isEmpty());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void getProjectJsonIsReadOnlyViewOfStoredProject() throws IOException {
+        store.putProject(project(ID, FIRST_TITLE));
+
+        ByteBuffer json = store.getProjectJson(ID).orElseThrow();
+
+        assertTrue(json.isReadOnly());
+        assertTrue(StandardCharsets.UTF_8.decode(json).toString().contains(FIRST_TITLE));
+    }
+
+    @Test
+    void reopenedStoreRebuildsIndexFromAllSegments() throws IOException {
+        putProjects(FIRST_TITLE);
+        store.putProject(project(ID, SECOND_TITLE));
+        store.close();
+
+        store = new SegmentLogProjectStore(directory, SMALL_SEGMENT_BYTES);
+
+        assertTrue(store.segmentCount() > 1);
+        assertEquals(NUMBER_OF_PROJECTS + 1, store.size());
+        assertEquals(FIRST_TITLE, title(store.getProject("1").orElseThrow()));
+        assertEquals(SECOND_TITLE, title(store.getProject(ID).orElseThrow()));
+    }
+
+    @Test
+    void compactDropsSupersededVersionsAndKeepsLatestOnes() throws IOException {
+        putProjects(FIRST_TITLE);
+        putProjects(SECOND_TITLE);
+        int segmentsBeforeCompaction = store.segmentCount();
+        assertTrue(store.garbageRatio() > 0.4);
+
+        store.compact();
+        store.putProject(project(ID, FIRST_TITLE));
+
+        assertTrue(store.segmentCount() < segmentsBeforeCompaction);
+        assertEquals(0.0, store.garbageRatio());
+        for (int id = 1; id <= NUMBER_OF_PROJECTS; id++) {
+            assertEquals(SECOND_TITLE, title(store.getProject(String.valueOf(id)).orElseThrow()));
+        }
+        store.close();
+        store = new SegmentLogProjectStore(directory, SMALL_SEGMENT_BYTES);
+        assertEquals(NUMBER_OF_PROJECTS + 1, store.size());
+    }
+
+    @Test
+    void removedProjectStaysRemovedAfterReopeningAndIsDroppedByCompact() throws IOException {
+        store.putProject(project(ID, FIRST_TITLE));
+        store.putProject(project("1", FIRST_TITLE));
+
+        store.removeProject(ID);
+        store.removeProject("123");
+        store.close();
+        store = new SegmentLogProjectStore(directory, SMALL_SEGMENT_BYTES);
+
+        assertTrue(store.getProject(ID).isEmpty());
+        assertEquals(Set.of("1"), store.projectIds());
+        assertTrue(store.garbageRatio() > 0.5);
+        store.compact();
+        assertEquals(0.0, store.garbageRatio());
+        assertTrue(store.getProject(ID).isEmpty());
+    }
+
+    @Test
+    void incompleteRecordAtEndOfSegmentIsTruncatedWhenOpening() throws IOException {
+        store.putProject(project(ID, FIRST_TITLE));
+        store.close();
+        Path segment = segmentFiles().get(0);
+        long validSize = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES + 2).putInt(1000).flip());
+        }
+
+        store = new SegmentLogProjectStore(directory, SMALL_SEGMENT_BYTES);
+
+        assertEquals(validSize, Files.size(segment));
+        assertEquals(FIRST_TITLE, title(store.getProject(ID).orElseThrow()));
+    }
+
+    @Test
+    void recordWithIdLongerThanRecordIsTruncatedWhenOpening() throws IOException {
+        store.putProject(project(ID, FIRST_TITLE));
+        store.close();
+        Path segment = segmentFiles().get(0);
+        long validSize = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES + 3 + ID.length())
+                .putInt(3 + ID.length())
+                .put(SegmentLogProjectStore.RECORD_FORMAT)
+                .putShort((short) -1)
+                .put(ID.getBytes(StandardCharsets.UTF_8))
+                .flip());
+        }
+
+        store = new SegmentLogProjectStore(directory, SMALL_SEGMENT_BYTES);
+
+        assertEquals(validSize, Files.size(segment));
+        assertEquals(FIRST_TITLE, title(store.getProject(ID).orElseThrow()));
+    }
+
+    @Test
+    void storeRefusesProjectsWithoutValidId() {
+        CristinProject project = project("../outside", FIRST_TITLE);
+
+        assertThrows(IllegalArgumentException.class, () -> store.putProject(project));
+    }
+
+    @Test
+    void lookupsAreServedWhileProjectsAreAppended() throws IOException {
+        store.putProject(project(ID, FIRST_TITLE));
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> putProjects(SECOND_TITLE));
+        while (!writer.isDone()) {
+            assertEquals(FIRST_TITLE, title(store.getProject(ID).orElseThrow()));
+        }
+
+        writer.join();
+        assertEquals(NUMBER_OF_PROJECTS + 1, store.size());
+    }
+
+    private void putProjects(String title) {
+        IntStream.rangeClosed(1, NUMBER_OF_PROJECTS).forEach(id -> {
+            try {
+                store.putProject(project(String.valueOf(id), title));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        });
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static String title(CristinProject project) {
+        return project.getTitle().get("nb");
+    }
+
+    private static CristinProject project(String id, String title) {
+        CristinProject project = new CristinProject();
+        project.setCristinProjectId(id);
+        project.setTitle(Map.of("nb", title));
+        return project;
+    }
+}
@@ -0,0 +1,87 @@
+package no.unit.nva.cristin.projects;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+
+/**
+ * A SegmentLogProjectStore in a temporary directory, deleted when closed, for tests answering requests from the local
+ * store.
+ */
+public class TemporaryProjectStore implements AutoCloseable {
+
+    private final Path directory;
+    private final SegmentLogProjectStore store;
+
+    public TemporaryProjectStore() throws IOException {
+        directory = Files.createTempDirectory("store");
+        store = new SegmentLogProjectStore(directory);
+    }
+
+    /**
+     * Creates a project with a title in the harvest language.
+     *
+     * @param id    the Cristin id of the project
+     * @param title the title of the project
+     * @return the project
+     */
+    public static CristinProject project(String id, String title) {
+        CristinProject project = new CristinProject();
+        project.setCristinProjectId(id);
+        project.setTitle(Map.of(Constants.CRISTIN_HARVEST_LANGUAGE, title));
+        return project;
+    }
+
+    public TemporaryProjectStore with(CristinProject... projects) throws IOException {
+        for (CristinProject project : projects) {
+            store.putProject(project);
+        }
+        return this;
+    }
+
+    public SegmentLogProjectStore getStore() {
+        return store;
+    }
+
+    /**
+     * Creates a client reading the store before calling Cristin, with the indexes of the store built. Calls to Cristin
+     * fail, since the transport has nothing to replay.
+     *
+     * @return the client
+     */
+    public CristinApiClient storeFirstClient() {
+        CristinApiClient client = new CristinApiClient(RetryPolicy.defaultPolicy(), RequestHedger.defaultHedger(),
+            CircuitBreaker.defaultBreaker(), ConcurrencyLimiter.defaultLimiter(),
+            new ReplayCristinTransport(List.of(), false), store, true);
+        client.refreshStoreIndexes();
+        return client;
+    }
+
+    /**
+     * Returns the Cristin ids of the hits of a page of projects, in order.
+     *
+     * @param projects the page
+     * @return the ids of the hits
+     */
+    public static List<String> hitIds(ProjectsWrapper projects) {
+        return projects.getHits().stream()
+            .map(hit -> Path.of(hit.getId().getPath()).getFileName().toString())
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public void close() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package no.unit.nva.cristin.projects;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import no.unit.nva.cristin.projects.model.cristin.CristinFundingSource;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import org.junit.jupiter.api.Test;
+
+public class TitleIndexTest {
+
+    private static final String REINDEER_HERDING = "Reindeer herding in a changing climate";
+    private static final String REINDEER = "Reindeer, reindeer and more reindeer";
+    private static final String CLIMATE = "Climate adaptation of coastal towns";
+    private static final String PROJECT_CODE = "301234";
+
+    private final TitleIndex index = TitleIndex.builder()
+        .add(project("1", Map.of("en", REINDEER_HERDING, "nb", "Reindrift i et klima i endring")))
+        .add(project("2", Map.of("en", REINDEER)))
+        .add(project("3", Map.of("nn", "Klimatilpassing av kystbyar", "en", CLIMATE)))
+        .build();
+
+    @Test
+    void tokenizeSplitsOnEverythingButLettersAndDigitsAndFolds() {
+        assertEquals(List.of("okt", "co2", "fangst", "paa", "sjo"),
+            TitleIndex.tokenize("Økt CO2-fangst+på  sjø!"));
+    }
+
+    @Test
+    void searchReturnsDocumentsContainingAllTermsInAnyLanguage() {
+        assertArrayEquals(new int[]{0}, index.search("reindeer+CLIMATE"));
+        assertArrayEquals(new int[]{0}, index.search("klima endring"));
+        assertArrayEquals(new int[]{2}, index.search("kystbyar"));
+        assertArrayEquals(new int[0], index.search("reindeer towns"));
+        assertArrayEquals(new int[0], index.search("unknown"));
+        assertArrayEquals(new int[0], index.search("+ -"));
+    }
+
+    @Test
+    void searchRanksDocumentsWithMoreOccurrencesOfRarerTermsFirst() {
+        assertArrayEquals(new int[]{1, 0}, index.search("reindeer"));
+        assertArrayEquals(new int[]{2, 0}, index.search("climate"));
+    }
+
+    @Test
+    void searchProjectCodeReturnsDocumentsFundedUnderCode() {
+        TitleIndex indexWithCodes = TitleIndex.builder()
+            .add(project("1", Map.of("en", REINDEER)))
+            .add(funded(project("2", Map.of("en", CLIMATE)), PROJECT_CODE))
+            .build();
+
+        assertArrayEquals(new int[]{1}, indexWithCodes.searchProjectCode(PROJECT_CODE));
+        assertArrayEquals(new int[0], indexWithCodes.searchProjectCode("1"));
+        assertEquals("2", indexWithCodes.projectId(1));
+    }
+
+    @Test
+    void postingListsAreCompressedAndDecodeToTheDocumentsAdded() {
+        TitleIndex.Builder builder = TitleIndex.builder();
+        int numberOfProjects = 1000;
+        IntStream.range(0, numberOfProjects)
+            .mapToObj(i -> project(String.valueOf(i), Map.of("en", i % 3 == 0 ? REINDEER_HERDING : CLIMATE)))
+            .forEach(builder::add);
+        TitleIndex largeIndex = builder.build();
+
+        int[] expected = IntStream.range(0, numberOfProjects).filter(i -> i % 3 == 0).toArray();
+        int[] actual = largeIndex.search("herding");
+        Arrays.sort(actual);
+
+        assertArrayEquals(expected, actual);
+        assertEquals(numberOfProjects, largeIndex.size());
+        assertEquals(10, largeIndex.termCount());
+    }
+
+    private static CristinProject project(String id, Map<String, String> title) {
+        CristinProject project = new CristinProject();
+        project.setCristinProjectId(id);
+        project.setTitle(title);
+        return project;
+    }
+
+    private static CristinProject funded(CristinProject project, String projectCode) {
+        CristinFundingSource fundingSource = new CristinFundingSource();
+        fundingSource.setProjectCode(projectCode);
+        project.setProjectFundingSources(List.of(fundingSource));
+        return project;
+    }
+}
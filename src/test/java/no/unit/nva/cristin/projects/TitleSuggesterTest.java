@@ -0,0 +1,115 @@
+package no.unit.nva.cristin.projects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.unit.nva.cristin.projects.TitleSuggester.Suggestion;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
+import org.junit.jupiter.api.Test;
+
+public class TitleSuggesterTest {
+
+    private static final Instant OLD = Instant.parse("2010-01-01T00:00:00Z");
+    private static final Instant NEW = Instant.parse("2020-01-01T00:00:00Z");
+
+    private final TitleSuggester suggester = TitleSuggester.of(List.of(
+        project("1", OLD, Map.of("en", "Reindeer herding in a changing climate", "nb", "Reindrift i endring")),
+        project("2", NEW, Map.of("en", "Reindeer husbandry")),
+        project("3", NEW, Map.of("en", "Coastal climate adaptation", "nn", "Klimatilpassing ved kysten")),
+        project("4", null, Map.of("en", "Renewable energy"))));
+
+    @Test
+    void suggestReturnsTitlesStartingWithPrefixNewestFirst() {
+        assertEquals(List.of("2", "1", "4"), projectIds(suggester.suggest("Re", 10)));
+        assertEquals(List.of("2", "1"), projectIds(suggester.suggest("REIN", 10)));
+        assertEquals(List.of("Reindeer husbandry"), titles(suggester.suggest("reindeer h", 1)));
+    }
+
+    @Test
+    void suggestMatchesPrefixOfWordsInsideTitles() {
+        assertEquals(List.of("3", "1"), projectIds(suggester.suggest("climate", 10)));
+        assertEquals(List.of("Reindeer herding in a changing climate"), titles(suggester.suggest("changing cl", 10)));
+    }
+
+    @Test
+    void suggestReturnsEachProjectOnceAndTitleInLanguageMatched() {
+        List<Suggestion> suggestions = suggester.suggest("kli", 10);
+
+        assertEquals(List.of("Klimatilpassing ved kysten"), titles(suggestions));
+        assertEquals("nn", suggestions.get(0).getLanguage());
+        assertEquals(List.of("2", "1"), projectIds(suggester.suggest("reind", 10)));
+    }
+
+    @Test
+    void suggestTreatsTrailingSpaceAsEndOfWord() {
+        assertEquals(List.of("2", "1"), projectIds(suggester.suggest("reindeer ", 10)));
+        assertEquals(List.of("Reindrift i endring"), titles(suggester.suggest("reindrift+", 10)));
+        assertTrue(suggester.suggest("husbandry ", 10).isEmpty());
+    }
+
+    @Test
+    void suggestReturnsNothingForUnknownOrEmptyPrefix() {
+        assertTrue(suggester.suggest("reindeerx", 10).isEmpty());
+        assertTrue(suggester.suggest("x", 10).isEmpty());
+        assertTrue(suggester.suggest(" - ", 10).isEmpty());
+        assertTrue(TitleSuggester.of(List.of()).suggest("re", 10).isEmpty());
+    }
+
+    @Test
+    void suggestReturnsSameSuggestionsAsScanningAllTitles() {
+        Random random = new Random(1);
+        List<String> words = List.of("rein", "reindeer", "climate", "clim", "coast", "coastal", "energy", "en");
+        List<CristinProject> projects = IntStream.range(0, 500)
+            .mapToObj(id -> project(String.valueOf(id), Instant.ofEpochSecond(random.nextInt(1000)), Map.of("en",
+                IntStream.range(0, 3).mapToObj(i -> words.get(random.nextInt(words.size())))
+                    .collect(Collectors.joining(" ")))))
+            .collect(Collectors.toList());
+        TitleSuggester largeSuggester = TitleSuggester.of(projects);
+
+        for (String prefix : List.of("r", "rein", "reindeer c", "clim", "coastal en", "en", "energy energy")) {
+            assertEquals(scan(projects, prefix), projectIds(largeSuggester.suggest(prefix, 10)), prefix);
+        }
+    }
+
+    private static List<String> scan(List<CristinProject> projects, String prefix) {
+        List<CristinProject> matches = new ArrayList<>();
+        for (CristinProject project : projects) {
+            String title = project.getTitle().get("en");
+            List<String> words = List.of(title.split(" "));
+            boolean matchesWord = IntStream.range(0, words.size())
+                .anyMatch(i -> String.join(" ", words.subList(i, words.size())).startsWith(prefix));
+            if (matchesWord) {
+                matches.add(project);
+            }
+        }
+        return matches.stream()
+            .sorted((left, right) -> right.getStartDate().compareTo(left.getStartDate()) != 0
+                ? right.getStartDate().compareTo(left.getStartDate())
+                : left.getCristinProjectId().compareTo(right.getCristinProjectId()))
+            .limit(10)
+            .map(CristinProject::getCristinProjectId)
+            .collect(Collectors.toList());
+    }
+
+    private static List<String> projectIds(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::getProjectId).collect(Collectors.toList());
+    }
+
+    private static List<String> titles(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::getTitle).collect(Collectors.toList());
+    }
+
+    private static CristinProject project(String id, Instant startDate, Map<String, String> title) {
+        CristinProject project = new CristinProject();
+        project.setCristinProjectId(id);
+        project.setStartDate(startDate);
+        project.setTitle(title);
+        return project;
+    }
+}
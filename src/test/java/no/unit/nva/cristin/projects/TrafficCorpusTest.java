@@ -0,0 +1,225 @@
+package no.unit.nva.cristin.projects;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpClient.Version;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
+import nva.commons.core.ioutils.IoUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TrafficCorpusTest {
+
+    private static final URI PROJECT_URI = URI.create("https://api.cristin.no/v2/projects/456789?lang=nb");
+    private static final String TITLE = "reindeer";
+    private static final URI SEARCH_URI = URI.create("https://api.cristin.no/v2/projects/?lang=nb&title=" + TITLE);
+    private static final String PROJECT_RESPONSE = "cristinGetProjectResponse.json";
+    private static final String SURNAME = "Nordmann";
+    private static final String SET_COOKIE = "Set-Cookie";
+    private static final String TOTAL_COUNT = "1";
+    private static final Duration LATENCY = Duration.ofMillis(123);
+    private static final String PERSON =
+        "{\"participants\":[{\"first_name\":\"Kari\",\"surname\":\"" + SURNAME + "\",\"role_code\":\"PRO\"}]}";
+
+    private Path corpusPath;
+    private TrafficCorpus corpus;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        corpusPath = Files.createTempFile("corpus", ".bin.gz");
+        Files.delete(corpusPath);
+        corpus = new TrafficCorpus(corpusPath);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(corpusPath);
+    }
+
+    @Test
+    void readReturnsAppendedExchangesInOrderWithStatusHeadersBodyAndLatency() throws IOException {
+        String body = IoUtils.stringFromResources(Path.of(PROJECT_RESPONSE));
+        corpus.append(exchange(PROJECT_URI, body));
+        corpus.append(exchange(SEARCH_URI, "[]"));
+
+        List<RecordedExchange> exchanges = corpus.read();
+
+        assertEquals(2, exchanges.size());
+        RecordedExchange first = exchanges.get(0);
+        assertEquals(PROJECT_URI, first.getUri());
+        assertEquals(LATENCY, first.getLatency());
+        assertEquals(HttpURLConnection.HTTP_OK, first.getResponse().getStatusCode());
+        assertEquals(List.of(TOTAL_COUNT), first.getResponse().getHeaders().get(Constants.X_TOTAL_COUNT));
+        assertEquals(body, first.getResponse().getBodyAsString());
+        assertEquals(SEARCH_URI, exchanges.get(1).getUri());
+    }
+
+    @Test
+    void readReturnsExchangesWithHttpVersionTheyWereReceivedOver() throws Exception {
+        TransportResponse response = new TransportResponse(PROJECT_URI, HttpURLConnection.HTTP_OK, Map.of(),
+            ByteBuffer.wrap(PERSON.getBytes(StandardCharsets.UTF_8)), Version.HTTP_2);
+        corpus.record(new RecordedExchange(PROJECT_URI, response, LATENCY));
+        corpus.flush();
+
+        TransportResponse recorded = corpus.read().get(0).getResponse();
+
+        assertEquals(Version.HTTP_2, recorded.getVersion());
+        assertEquals(Version.HTTP_2, recorded.toHttpResponse().version());
+    }
+
+    @Test
+    void corpusIsSmallerThanTheBodiesItContains() throws IOException {
+        String body = IoUtils.stringFromResources(Path.of(PROJECT_RESPONSE));
+        corpus.append(exchange(PROJECT_URI, body));
+
+        assertTrue(Files.size(corpusPath) < body.length());
+    }
+
+    @Test
+    void readFailsWhenRecordFormatIsUnknown() throws IOException {
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(corpusPath))) {
+            output.write(TrafficCorpus.RECORD_FORMAT + 1);
+        }
+
+        Exception exception = assertThrows(IOException.class, corpus::read);
+
+        assertThat(exception.getMessage(), containsString(String.valueOf(TrafficCorpus.RECORD_FORMAT + 1)));
+    }
+
+    @Test
+    void recordSanitisesHeadersAndPersonalFieldsBeforeAppending() throws Exception {
+        corpus.record(exchange(PROJECT_URI, PERSON));
+        corpus.flush();
+
+        TransportResponse recorded = corpus.read().get(0).getResponse();
+
+        assertFalse(recorded.getHeaders().containsKey(SET_COOKIE));
+        assertEquals(List.of(TOTAL_COUNT), recorded.getHeaders().get(Constants.X_TOTAL_COUNT));
+        assertThat(recorded.getBodyAsString(), not(containsString(SURNAME)));
+        assertThat(recorded.getBodyAsString(), containsString(ExchangeSanitizer.pseudonym(SURNAME)));
+        assertThat(recorded.getBodyAsString(), containsString("PRO"));
+    }
+
+    @Test
+    void recordSanitisesQueryParameterValuesOtherThanLanguageAndPaging() throws Exception {
+        corpus.record(exchange(SEARCH_URI, "[]"));
+        corpus.flush();
+
+        RecordedExchange recorded = corpus.read().get(0);
+
+        URI expected = URI.create("https://api.cristin.no/v2/projects/?lang=nb&title="
+            + ExchangeSanitizer.pseudonym(TITLE));
+        assertEquals(expected, recorded.getUri());
+        assertEquals(expected, recorded.getResponse().getUri());
+    }
+
+    @Test
+    void recordDoesNotFailWhenCorpusCannotBeWritten() throws Exception {
+        Files.createDirectory(corpusPath);
+
+        TrafficCorpus unwritableCorpus = new TrafficCorpus(corpusPath);
+        unwritableCorpus.record(exchange(PROJECT_URI, PERSON));
+        unwritableCorpus.flush();
+
+        assertTrue(Files.isDirectory(corpusPath));
+    }
+
+    @Test
+    void sanitizerKeepsBodiesThatAreNotJsonObjectsOrArrays() {
+        for (String body : List.of("<html>Bad Gateway</html>", "\"text\"", "")) {
+            RecordedExchange sanitized = ExchangeSanitizer.sanitize(exchange(PROJECT_URI, body));
+
+            assertEquals(body, sanitized.getResponse().getBodyAsString());
+        }
+    }
+
+    @Test
+    void pseudonymHasSameLengthAndIsTheSameForTheSameValue() {
+        String pseudonym = ExchangeSanitizer.pseudonym(SURNAME);
+
+        assertEquals(SURNAME.length(), pseudonym.length());
+        assertEquals(pseudonym, ExchangeSanitizer.pseudonym(SURNAME));
+        assertFalse(pseudonym.equals(ExchangeSanitizer.pseudonym("Hansen12")));
+    }
+
+    @Test
+    void recordModeRecordsExchangesAndReplayModeServesThemWithoutNetwork() throws Exception {
+        CristinTransport network = uri -> CompletableFuture.completedFuture(exchange(uri, PERSON).getResponse());
+
+        TransportMode.RECORD.createTransport(network, corpus).send(PROJECT_URI);
+        corpus.flush();
+        CristinTransport replay = TransportMode.REPLAY.createTransport(network, corpus);
+
+        assertEquals(corpus.read().get(0).getResponse().getBodyAsString(), replay.send(PROJECT_URI).getBodyAsString());
+        assertEquals(HttpURLConnection.HTTP_NOT_FOUND, replay.send(SEARCH_URI).getStatusCode());
+        assertEquals(network, TransportMode.NETWORK.createTransport(network, corpus));
+    }
+
+    @Test
+    void replayModeServesRecordedSearchForUriRecordedWithPseudonymousQuery() throws Exception {
+        String body = "[{\"cristin_project_id\":\"456789\"}]";
+        CristinTransport network = uri -> CompletableFuture.completedFuture(exchange(uri, body).getResponse());
+
+        TransportMode.RECORD.createTransport(network, corpus).send(SEARCH_URI);
+        corpus.flush();
+        CristinTransport replay = TransportMode.REPLAY.createTransport(network, corpus);
+
+        assertEquals(HttpURLConnection.HTTP_OK, replay.send(SEARCH_URI).getStatusCode());
+        assertEquals(body, replay.send(SEARCH_URI).getBodyAsString());
+        assertEquals(HttpURLConnection.HTTP_NOT_FOUND,
+            replay.send(URI.create(SEARCH_URI + "+herding")).getStatusCode());
+    }
+
+    @Test
+    void recordAndReplayModesFailWithoutPseudonymKey() {
+        CristinTransport network = uri -> CompletableFuture.completedFuture(exchange(uri, PERSON).getResponse());
+
+        for (TransportMode mode : List.of(TransportMode.RECORD, TransportMode.REPLAY)) {
+            Exception exception = assertThrows(IllegalStateException.class,
+                () -> mode.createTransport(network, corpus, false));
+
+            assertEquals(ErrorMessages.ERROR_MESSAGE_CORPUS_PSEUDONYM_KEY_MISSING, exception.getMessage());
+        }
+        assertEquals(network, TransportMode.NETWORK.createTransport(network, corpus, false));
+    }
+
+    @Test
+    void replayModeFailsWhenCorpusCannotBeRead() {
+        CristinTransport network = uri -> CompletableFuture.completedFuture(exchange(uri, PERSON).getResponse());
+
+        Exception exception = assertThrows(UncheckedIOException.class,
+            () -> TransportMode.REPLAY.createTransport(network, corpus));
+
+        assertThat(exception.getMessage(), containsString(corpusPath.toString()));
+    }
+
+    @Test
+    void defaultTransportCallsCristinOverNetwork() {
+        assertEquals(JdkCristinTransport.defaultTransport(), TransportMode.defaultTransport());
+    }
+
+    private static RecordedExchange exchange(URI uri, String body) {
+        TransportResponse response = TransportResponse.of(uri, HttpURLConnection.HTTP_OK,
+            Map.of(Constants.X_TOTAL_COUNT, List.of(TOTAL_COUNT), SET_COOKIE, List.of("session=secret")), body);
+        return new RecordedExchange(uri, response, LATENCY);
+    }
+}
@@ -0,0 +1,106 @@
+package no.unit.nva.cristin.projects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class UriFactoryTest {
+
+    private static final String HTTPS = "https";
+    private static final String NVA_DOMAIN_NAME = "api.dev.nva.aws.unit.no";
+    private static final String NVA_BASE_PATH = "project";
+    private static final String CRISTIN_API_HOST = "api.cristin.no";
+    private static final String CRISTIN_PROJECTS_PATH = "/v2/projects/";
+    private static final String NVA_PROJECT_PATH = "/project/";
+    private static final String QUERY_KEY = "query";
+    private static final String LANGUAGE_KEY = "language";
+
+    private final UriFactory uriFactory = new UriFactory(NVA_DOMAIN_NAME, NVA_BASE_PATH, CRISTIN_API_HOST);
+
+    @ParameterizedTest(name = "NVA project URI with id {0} equals legacy URI")
+    @ValueSource(strings = {"9999", "abc-_.~", "", "id with space", "æøå", "1%202", "a/b", "a#b", "a?b", "a+b"})
+    void nvaProjectUriIsEqualToUriCreatedByQuotingConstructor(String id) throws Exception {
+        URI expected = new URI(HTTPS, NVA_DOMAIN_NAME, NVA_PROJECT_PATH + id, null);
+
+        assertEquals(expected, uriFactory.nvaProjectUri(id));
+        assertEquals(expected.toString(), uriFactory.nvaProjectUri(id).toString());
+    }
+
+    @ParameterizedTest(name = "Cristin project URI with id {0} equals legacy URI")
+    @ValueSource(strings = {"9999", "abc-_.~", "id with space", "æøå", "1%202", "a#b", "a?b"})
+    void cristinProjectUriIsEqualToUriCreatedByQuotingConstructor(String id) throws Exception {
+        Map<String, String> parameters = Map.of("lang", "nb");
+        URI expected = new URI(HTTPS, CRISTIN_API_HOST, CRISTIN_PROJECTS_PATH + id, "lang=nb", null);
+
+        assertEquals(expected.toString(), uriFactory.cristinProjectUri(id, parameters).toString());
+    }
+
+    @ParameterizedTest(name = "Query URI with value {0} equals legacy URI")
+    @ValueSource(strings = {"reindeer", "Sámi+språk", "hello world", "ærfugl", "100%", "a#b", "a?b=c", "a&b",
+        "tab\tchar", "no-break space", "!~*'();/:@$,", " ", "😀"})
+    void queryUrisAreEqualToUrisCreatedByQuotingConstructor(String value) throws Exception {
+        Map<String, String> parameters = Map.of(QUERY_KEY, value, LANGUAGE_KEY, "nb");
+        String query = legacyQueryParameters(parameters);
+
+        assertEquals(new URI(HTTPS, CRISTIN_API_HOST, CRISTIN_PROJECTS_PATH, query, null).toString(),
+            uriFactory.cristinProjectsUriWithParams(parameters).toString());
+        assertEquals(new URI(HTTPS, NVA_DOMAIN_NAME, NVA_PROJECT_PATH, query, null).toString(),
+            uriFactory.nvaProjectUriWithParams(parameters).toString());
+    }
+
+    @Test
+    void nvaProjectUrisWithSubPathAreEqualToUrisCreatedByQuotingConstructor() throws Exception {
+        Map<String, String> parameters = Map.of("page", "2", "results", "5");
+        String subPath = "organization/194.63.10.0";
+
+        assertEquals(new URI(HTTPS, NVA_DOMAIN_NAME, NVA_PROJECT_PATH + subPath, "page=2&results=5", null).toString(),
+            uriFactory.nvaProjectUriWithParams(subPath, parameters).toString());
+    }
+
+    @Test
+    void queryUrisHaveNoQueryWhenParametersAreNull() throws Exception {
+        assertEquals(new URI(HTTPS, CRISTIN_API_HOST, CRISTIN_PROJECTS_PATH, null, null),
+            uriFactory.cristinProjectsUriWithParams(null));
+        assertEquals(new URI(HTTPS, NVA_DOMAIN_NAME, NVA_PROJECT_PATH, null, null),
+            uriFactory.nvaProjectUriWithParams(null));
+    }
+
+    @Test
+    void queryUrisHaveEmptyQueryWhenParametersAreEmpty() throws Exception {
+        assertEquals(new URI(HTTPS, CRISTIN_API_HOST, CRISTIN_PROJECTS_PATH, "", null).toString(),
+            uriFactory.cristinProjectsUriWithParams(Collections.emptyMap()).toString());
+    }
+
+    @Test
+    void cristinPersonAndInstitutionUrisAreEqualToUrisJoinedFromBaseUrl() {
+        assertEquals(URI.create("https://api.cristin.no/v2/persons/12345"), uriFactory.cristinPersonUri("12345"));
+        assertEquals(URI.create("https://api.cristin.no/v2/institutions/185"),
+            uriFactory.cristinInstitutionUri("185"));
+    }
+
+    @Test
+    void formatQueryParametersReturnsNullWhenParametersAreNull() {
+        assertNull(UriFactory.formatQueryParameters(null));
+    }
+
+    @Test
+    void formatQueryParametersReturnsParametersSortedByKey() {
+        Map<String, String> parameters = Map.of("page", "2", "lang", "nb", "title", "reindeer", "per_page", "10");
+
+        assertEquals(legacyQueryParameters(parameters), UriFactory.formatQueryParameters(parameters));
+        assertEquals("lang=nb&page=2&per_page=10&title=reindeer", UriFactory.formatQueryParameters(parameters));
+    }
+
+    private static String legacyQueryParameters(Map<String, String> parameters) {
+        return new TreeMap<>(parameters).entrySet().stream()
+            .map(entry -> entry.getKey() + "=" + entry.getValue())
+            .collect(Collectors.joining("&"));
+    }
+}